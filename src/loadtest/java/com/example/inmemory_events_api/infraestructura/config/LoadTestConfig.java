@@ -0,0 +1,41 @@
+package com.example.inmemory_events_api.infraestructura.config;
+
+import com.example.inmemory_events_api.aplicacion.readmodel.EventReadModel;
+import com.example.inmemory_events_api.aplicacion.usecase.EventService;
+import com.example.inmemory_events_api.aplicacion.usecase.VenueService;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.CategoryRepository;
+import com.example.inmemory_events_api.infraestructura.loadtest.CatalogSeeder;
+import com.example.inmemory_events_api.infraestructura.loadtest.LoadTestProperties;
+import com.example.inmemory_events_api.infraestructura.loadtest.LoadTestRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Prueba de carga local (perfil "loadtest", ver el perfil Maven del mismo
+ * nombre): la aplicación siembra su propio catálogo y se llama a sí misma
+ * por HTTP con la mezcla de tráfico configurada en loadtest.*.
+ */
+@Configuration
+@Profile("loadtest")
+@EnableConfigurationProperties(LoadTestProperties.class)
+public class LoadTestConfig {
+
+    @Bean
+    public CatalogSeeder catalogSeeder(VenueService venueService, EventService eventService,
+            CategoryRepository categoryRepository, EventReadModel readModel, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate) {
+        return new CatalogSeeder(venueService, eventService, categoryRepository, readModel, jdbcTemplate,
+                transactionTemplate);
+    }
+
+    @Bean
+    public LoadTestRunner loadTestRunner(LoadTestProperties properties, CatalogSeeder catalogSeeder,
+            ObjectMapper objectMapper) {
+        return new LoadTestRunner(properties, catalogSeeder, objectMapper);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.inmemory_events_api.infraestructura.loadtest;
+
+import com.example.inmemory_events_api.aplicacion.readmodel.EventReadModel;
+import com.example.inmemory_events_api.aplicacion.usecase.EventService;
+import com.example.inmemory_events_api.aplicacion.usecase.VenueService;
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.model.VenueDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.CategoryRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.CategoryEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Siembra el catálogo de la prueba de carga: venues y eventos a través de
+ * VenueService y EventService (las mismas validaciones, índice de ocupación,
+ * change-log y modelo de lectura que una petición real), y categorías.
+ *
+ * Las categorías no tienen caso de uso propio: se crean con
+ * CategoryRepository, se asignan con un JDBC batch sobre event_categories
+ * y al final se reconstruye el modelo de lectura para que las búsquedas
+ * por categoría las vean.
+ *
+ * Calendario: el evento j va al venue j % venues, en el día
+ * hoy + 1 + 2 * (j / venues), de un solo día. Así no hay dos eventos
+ * solapados en el mismo venue y los eventos creados durante la prueba usan
+ * los huecos siguientes (ver Catalog#slotDate).
+ */
+public class CatalogSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSeeder.class);
+
+    private static final String[] CITIES = { "Bogota", "Medellin", "Cali", "Barranquilla", "Cartagena",
+            "Bucaramanga", "Pereira", "Santa Marta", "Manizales", "Pasto" };
+
+    private static final String LINK_CATEGORY_SQL = "INSERT INTO event_categories (event_id, category_id) VALUES (?, ?)";
+
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * Catálogo sembrado.
+     *
+     * @param firstFreeSlot primer hueco de dos días libre en todos los venues
+     */
+    public record Catalog(List<Long> venueIds, List<Long> eventIds, List<String> cities,
+            List<String> categories, LocalDate firstDate, int firstFreeSlot) {
+
+        /** Fecha del hueco n de cualquier venue. */
+        public LocalDate slotDate(long slot) {
+            return firstDate.plusDays(2 * slot);
+        }
+
+        public LocalDate lastSeededDate() {
+            return slotDate(Math.max(firstFreeSlot - 1, 0));
+        }
+    }
+
+    private final VenueService venueService;
+    private final EventService eventService;
+    private final CategoryRepository categoryRepository;
+    private final EventReadModel readModel;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public CatalogSeeder(VenueService venueService, EventService eventService,
+            CategoryRepository categoryRepository, EventReadModel readModel, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate) {
+        this.venueService = venueService;
+        this.eventService = eventService;
+        this.categoryRepository = categoryRepository;
+        this.readModel = readModel;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public Catalog seed(LoadTestProperties.Seed seed) {
+        long start = System.nanoTime();
+        int venues = Math.max(seed.getVenues(), 1);
+        LocalDate firstDate = LocalDate.now().plusDays(1);
+
+        List<String> cities = List.of(CITIES).subList(0, Math.min(CITIES.length, venues));
+        List<Long> venueIds = new ArrayList<>(venues);
+        for (int i = 0; i < venues; i++) {
+            VenueDTO venue = venueService.createVenue(new VenueDTO(null, "Venue " + (i + 1),
+                    "Calle " + (i + 1), cities.get(i % cities.size()), 500 + (i % 10) * 500));
+            venueIds.add(venue.getId());
+        }
+
+        List<Long> eventIds = new ArrayList<>(seed.getEvents());
+        for (int j = 0; j < seed.getEvents(); j++) {
+            LocalDate date = firstDate.plusDays(2L * (j / venues));
+            EventDTO event = eventService.createEvent(new EventDTO(null, "Evento " + (j + 1),
+                    venueIds.get(j % venues), date, date));
+            eventIds.add(event.getId());
+        }
+
+        List<String> categories = seedCategories(seed, eventIds);
+
+        int firstFreeSlot = (seed.getEvents() + venues - 1) / venues;
+        log.info("Catálogo sembrado: {} venues, {} eventos, {} categorías en {} ms", venueIds.size(),
+                eventIds.size(), categories.size(), (System.nanoTime() - start) / 1_000_000);
+        return new Catalog(List.copyOf(venueIds), List.copyOf(eventIds), cities, categories, firstDate,
+                firstFreeSlot);
+    }
+
+    private List<String> seedCategories(LoadTestProperties.Seed seed, List<Long> eventIds) {
+        int count = seed.getCategories();
+        if (count <= 0) {
+            return List.of();
+        }
+        List<CategoryEntity> entities = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            CategoryEntity category = new CategoryEntity();
+            category.setName("categoria-" + (k + 1));
+            category.setDescription("Categoría de la prueba de carga");
+            entities.add(category);
+        }
+        List<Long> categoryIds = transactionTemplate.execute(status -> categoryRepository.saveAll(entities)
+                .stream().map(CategoryEntity::getId).toList());
+
+        int perEvent = Math.min(seed.getCategoriesPerEvent(), count);
+        List<Object[]> links = new ArrayList<>(BATCH_SIZE);
+        for (int j = 0; j < eventIds.size(); j++) {
+            for (int m = 0; m < perEvent; m++) {
+                links.add(new Object[] { eventIds.get(j), categoryIds.get((j + m) % count) });
+            }
+            if (links.size() >= BATCH_SIZE || j == eventIds.size() - 1) {
+                List<Object[]> batch = List.copyOf(links);
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(LINK_CATEGORY_SQL, batch));
+                links.clear();
+            }
+        }
+        readModel.rebuild();
+        return entities.stream().map(CategoryEntity::getName).toList();
+    }
+}
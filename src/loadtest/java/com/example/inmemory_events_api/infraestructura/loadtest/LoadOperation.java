@@ -0,0 +1,35 @@
+package com.example.inmemory_events_api.infraestructura.loadtest;
+
+/**
+ * Operaciones de la mezcla de tráfico de la prueba de carga. Cada una es
+ * una llamada HTTP a EventController o VenueController; el peso de cada
+ * una se configura en loadtest.mix.
+ */
+public enum LoadOperation {
+    /** GET /api/events */
+    LIST_EVENTS,
+    /** GET /venues */
+    LIST_VENUES,
+    /** GET /api/events/{id} */
+    GET_EVENT,
+    /** GET /venues/{id} */
+    GET_VENUE,
+    /** GET /api/events/{id}/details */
+    EVENT_DETAILS,
+    /** GET /api/events?from=...&to=... (ventana de 7 días) */
+    SEARCH_RANGE,
+    /** GET /api/events?city=... */
+    SEARCH_CITY,
+    /** GET /api/events?category=... */
+    SEARCH_CATEGORY,
+    /** POST /api/events en un hueco libre de un venue */
+    CREATE_EVENT,
+    /** PUT /api/events/{id} (solo el nombre: no cambia la ocupación) */
+    UPDATE_EVENT,
+    /**
+     * DELETE /api/events/{id} de un evento creado durante la prueba (el
+     * catálogo sembrado no se toca); si aún no hay ninguno se hace
+     * GET_EVENT.
+     */
+    DELETE_EVENT
+}
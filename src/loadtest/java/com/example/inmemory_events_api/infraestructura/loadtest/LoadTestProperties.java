@@ -0,0 +1,62 @@
+package com.example.inmemory_events_api.infraestructura.loadtest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuración de la prueba de carga (prefijo "loadtest", perfil Spring
+ * "loadtest"; valores por defecto en application-loadtest.properties).
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * loadtest.rates=100,200,400
+ * loadtest.step-duration=30s
+ * loadtest.mix.get-event=35
+ * loadtest.mix.create-event=8
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "loadtest")
+public class LoadTestProperties {
+
+    /** Etiqueta de la ejecución (p. ej. el commit), parte del nombre del directorio. */
+    private String label = "";
+
+    private String outputDir = "./target/loadtest";
+
+    private Seed seed = new Seed();
+
+    private long randomSeed = 42;
+
+    /** Peticiones por segundo de cada escalón, en orden. */
+    private List<Integer> rates = List.of(50, 100, 200, 400, 800);
+
+    private Duration stepDuration = Duration.ofSeconds(30);
+
+    private Duration warmup = Duration.ofSeconds(15);
+
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    private int maxInFlight = 2000;
+
+    private int clientThreads = 16;
+
+    /** Peso relativo de cada operación; las que no aparecen no se lanzan. */
+    private Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+
+    private boolean exitOnFinish = true;
+
+    @Data
+    public static class Seed {
+        private int venues = 50;
+        private int events = 5000;
+        private int categories = 20;
+        private int categoriesPerEvent = 2;
+    }
+}
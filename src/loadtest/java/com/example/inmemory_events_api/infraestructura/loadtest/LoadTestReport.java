@@ -0,0 +1,125 @@
+package com.example.inmemory_events_api.infraestructura.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Informes de una ejecución de la prueba de carga, en
+ * output-dir/&lt;fecha&gt;[-label]/:
+ *
+ * - curve.csv: una fila por escalón con el rate pedido, el throughput
+ * conseguido, errores y percentiles de todas las operaciones juntas (la
+ * curva throughput-latencia).
+ * - operations.csv: los mismos percentiles por escalón y operación.
+ * - step-&lt;rps&gt;rps.hgrm: distribución completa de cada escalón en el
+ * formato de HdrHistogram (se compara entre commits con su plotter).
+ * - run.properties: configuración de la ejecución.
+ *
+ * Latencias en milisegundos.
+ */
+public class LoadTestReport {
+
+    private static final DateTimeFormatter DIRECTORY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private static final String PERCENTILES_HEADER = "p50_ms,p90_ms,p99_ms,p99_9_ms,p99_99_ms,max_ms";
+
+    private final Path directory;
+
+    public LoadTestReport(LoadTestProperties properties) {
+        String name = LocalDateTime.now().format(DIRECTORY_FORMAT)
+                + (properties.getLabel() == null || properties.getLabel().isBlank() ? ""
+                        : "-" + properties.getLabel().replaceAll("[^A-Za-z0-9._-]", "_"));
+        this.directory = Path.of(properties.getOutputDir()).resolve(name);
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public void write(LoadTestProperties properties, CatalogSeeder.Catalog catalog,
+            List<OpenModelDriver.StepResult> steps) throws IOException {
+        Files.createDirectories(directory);
+        writeRunProperties(properties, catalog);
+        try (PrintWriter curve = writer("curve.csv"); PrintWriter operations = writer("operations.csv")) {
+            curve.println("target_rps,throughput_rps,requests,errors,dropped," + PERCENTILES_HEADER);
+            operations.println("target_rps,operation,requests,errors," + PERCENTILES_HEADER);
+            for (OpenModelDriver.StepResult step : steps) {
+                Histogram total = step.total();
+                curve.println(step.rate() + "," + format(step.throughput()) + "," + total.getTotalCount() + ","
+                        + step.totalErrors() + "," + step.dropped() + "," + percentiles(total));
+                for (Map.Entry<LoadOperation, Histogram> entry : step.histograms().entrySet()) {
+                    operations.println(step.rate() + "," + entry.getKey().name().toLowerCase(Locale.ROOT) + ","
+                            + entry.getValue().getTotalCount() + "," + step.errors().get(entry.getKey()) + ","
+                            + percentiles(entry.getValue()));
+                }
+                try (PrintStream hgrm = new PrintStream(
+                        Files.newOutputStream(directory.resolve("step-" + step.rate() + "rps.hgrm")), false,
+                        StandardCharsets.UTF_8)) {
+                    total.outputPercentileDistribution(hgrm, 5, MICROS_PER_MILLI);
+                }
+            }
+        }
+    }
+
+    /** Tabla resumen para el log. */
+    public static String summary(List<OpenModelDriver.StepResult> steps) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%10s %12s %8s %9s %9s %9s %9s %9s%n",
+                "rps", "throughput", "errores", "p50", "p90", "p99", "p99.9", "max"));
+        for (OpenModelDriver.StepResult step : steps) {
+            Histogram total = step.total();
+            table.append(String.format(Locale.ROOT, "%10d %12.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", step.rate(),
+                    step.throughput(), step.totalErrors(), millis(total, 50), millis(total, 90), millis(total, 99),
+                    millis(total, 99.9), total.getMaxValue() / MICROS_PER_MILLI));
+        }
+        return table.toString();
+    }
+
+    private void writeRunProperties(LoadTestProperties properties, CatalogSeeder.Catalog catalog) throws IOException {
+        try (PrintWriter run = writer("run.properties")) {
+            run.println("label=" + properties.getLabel());
+            run.println("java.version=" + System.getProperty("java.version"));
+            run.println("processors=" + Runtime.getRuntime().availableProcessors());
+            run.println("seed.venues=" + catalog.venueIds().size());
+            run.println("seed.events=" + catalog.eventIds().size());
+            run.println("seed.categories=" + catalog.categories().size());
+            run.println("random-seed=" + properties.getRandomSeed());
+            run.println("rates=" + properties.getRates());
+            run.println("step-duration=" + properties.getStepDuration());
+            run.println("warmup=" + properties.getWarmup());
+            run.println("max-in-flight=" + properties.getMaxInFlight());
+            properties.getMix().forEach((operation, weight) -> run.println(
+                    "mix." + operation.name().toLowerCase(Locale.ROOT) + "=" + weight));
+        }
+    }
+
+    private PrintWriter writer(String file) throws IOException {
+        return new PrintWriter(Files.newBufferedWriter(directory.resolve(file), StandardCharsets.UTF_8));
+    }
+
+    private static String percentiles(Histogram histogram) {
+        return format(millis(histogram, 50)) + "," + format(millis(histogram, 90)) + ","
+                + format(millis(histogram, 99)) + "," + format(millis(histogram, 99.9)) + ","
+                + format(millis(histogram, 99.99)) + "," + format(histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.inmemory_events_api.infraestructura.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ejecuta la prueba de carga cuando la aplicación ya atiende peticiones:
+ * siembra el catálogo, calienta al primer rate, recorre los escalones de
+ * loadtest.rates, escribe los informes (LoadTestReport) y, con
+ * loadtest.exit-on-finish, cierra la aplicación.
+ *
+ * Corre en su propio hilo para no retrasar al resto de oyentes de
+ * ApplicationReadyEvent.
+ */
+public class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private final LoadTestProperties properties;
+    private final CatalogSeeder seeder;
+    private final ObjectMapper objectMapper;
+
+    public LoadTestRunner(LoadTestProperties properties, CatalogSeeder seeder, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.seeder = seeder;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        String port = context.getEnvironment().getProperty("local.server.port");
+        Thread thread = new Thread(() -> {
+            int exitCode = 0;
+            try {
+                run("http://localhost:" + port);
+            } catch (Exception e) {
+                log.error("La prueba de carga ha fallado", e);
+                exitCode = 1;
+            }
+            if (properties.isExitOnFinish()) {
+                int code = exitCode;
+                System.exit(SpringApplication.exit(context, () -> code));
+            }
+        }, "loadtest");
+        thread.start();
+    }
+
+    private void run(String baseUrl) throws Exception {
+        CatalogSeeder.Catalog catalog = seeder.seed(properties.getSeed());
+        List<Integer> rates = properties.getRates();
+        if (rates.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.rates está vacío");
+        }
+        List<OpenModelDriver.StepResult> steps = new ArrayList<>(rates.size());
+        try (OpenModelDriver driver = new OpenModelDriver(baseUrl, catalog, properties, objectMapper)) {
+            if (!properties.getWarmup().isZero()) {
+                log.info("Calentamiento: {} rps durante {}", rates.get(0), properties.getWarmup());
+                driver.run(rates.get(0), properties.getWarmup());
+            }
+            for (int rate : rates) {
+                log.info("Escalón: {} rps durante {}", rate, properties.getStepDuration());
+                OpenModelDriver.StepResult step = driver.run(rate, properties.getStepDuration());
+                steps.add(step);
+                log.info("{} rps: throughput {} rps, p99 {} ms, {} errores", rate,
+                        String.format(Locale.ROOT, "%.1f", step.throughput()),
+                        step.total().getValueAtPercentile(99) / 1000.0, step.totalErrors());
+            }
+        }
+        LoadTestReport report = new LoadTestReport(properties);
+        report.write(properties, catalog, steps);
+        log.info("Prueba de carga terminada. Informes en {}{}", report.directory().toAbsolutePath(),
+                LoadTestReport.summary(steps));
+    }
+}
@@ -0,0 +1,290 @@
+package com.example.inmemory_events_api.infraestructura.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Generador de carga de modelo abierto: lanza peticiones a ritmo constante
+ * (una cada 1/rate segundos) sin esperar a que terminen las anteriores,
+ * como llegarían clientes independientes.
+ *
+ * La latencia de cada petición se mide desde el instante en que TOCABA
+ * enviarla según el calendario, no desde que se envió: si el servidor (o
+ * el propio generador) se atasca, las peticiones retrasadas cargan con la
+ * espera y los percentiles altos la reflejan (sin "coordinated omission").
+ *
+ * Las peticiones se envían con HttpClient asíncrono; un solo hilo
+ * programa los envíos y genera la secuencia con una semilla fija, así que
+ * dos ejecuciones con la misma configuración lanzan las mismas peticiones.
+ */
+public class OpenModelDriver implements AutoCloseable {
+
+    /** Latencia máxima registrable (µs). */
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final int SEARCH_WINDOW_DAYS = 7;
+
+    /**
+     * Resultado de un escalón: un histograma de latencias (µs) por
+     * operación, errores (respuesta >= 400, timeout o fallo de conexión) y
+     * peticiones descartadas por superar loadtest.max-in-flight.
+     */
+    public record StepResult(int rate, Duration duration, Map<LoadOperation, Histogram> histograms,
+            Map<LoadOperation, Long> errors, long dropped) {
+
+        public Histogram total() {
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            histograms.values().forEach(total::add);
+            return total;
+        }
+
+        public long totalErrors() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        /** Respuestas por segundo (todas, incluidos errores). */
+        public double throughput() {
+            return total().getTotalCount() / (duration.toNanos() / 1e9);
+        }
+    }
+
+    /** Contadores de un escalón; cada escalón empieza con unos nuevos. */
+    private static final class StepStats {
+        final Map<LoadOperation, Recorder> recorders = new EnumMap<>(LoadOperation.class);
+        final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+        final LongAdder dropped = new LongAdder();
+
+        StepStats() {
+            for (LoadOperation operation : LoadOperation.values()) {
+                recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+                errors.put(operation, new LongAdder());
+            }
+        }
+    }
+
+    private final String baseUrl;
+    private final CatalogSeeder.Catalog catalog;
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final SplittableRandom random;
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /** Siguiente hueco libre para los eventos creados (compartido por todos los venues). */
+    private final AtomicLong nextCreateSlot = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    /** Eventos creados por la prueba, candidatos a DELETE_EVENT. */
+    private final ConcurrentLinkedQueue<Long> created = new ConcurrentLinkedQueue<>();
+
+    public OpenModelDriver(String baseUrl, CatalogSeeder.Catalog catalog, LoadTestProperties properties,
+            ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.catalog = catalog;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.executor = Executors.newFixedThreadPool(Math.max(properties.getClientThreads(), 1));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getRequestTimeout())
+                .executor(executor)
+                .build();
+        this.random = new SplittableRandom(properties.getRandomSeed());
+        this.nextCreateSlot.set(catalog.firstFreeSlot());
+
+        Map<LoadOperation, Integer> mix = properties.getMix().entrySet().stream()
+                .filter(entry -> entry.getValue() != null && entry.getValue() > 0)
+                .collect(() -> new EnumMap<>(LoadOperation.class), (map, e) -> map.put(e.getKey(), e.getValue()),
+                        Map::putAll);
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.mix no tiene ninguna operación con peso > 0");
+        }
+        this.operations = mix.keySet().toArray(LoadOperation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += mix.get(operations[i]);
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    /**
+     * Ejecuta un escalón a rate peticiones por segundo durante duration y
+     * espera a que terminen las peticiones en vuelo (como mucho
+     * loadtest.request-timeout más un segundo).
+     */
+    public StepResult run(int rate, Duration duration) {
+        StepStats stats = new StepStats();
+        long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(rate, 1);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0;; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(nextOperation(), intended, stats);
+        }
+        long drainDeadline = System.nanoTime() + properties.getRequestTimeout().plusSeconds(1).toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+        Map<LoadOperation, Long> errors = new EnumMap<>(LoadOperation.class);
+        for (LoadOperation operation : operations) {
+            histograms.put(operation, stats.recorders.get(operation).getIntervalHistogram());
+            errors.put(operation, stats.errors.get(operation).sum());
+        }
+        return new StepResult(rate, duration, histograms, errors, stats.dropped.sum());
+    }
+
+    private LoadOperation nextOperation() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private void send(LoadOperation operation, long intended, StepStats stats) {
+        Long deleteId = null;
+        if (operation == LoadOperation.DELETE_EVENT) {
+            deleteId = created.poll();
+            if (deleteId == null) {
+                operation = LoadOperation.GET_EVENT;
+            }
+        }
+        if (inFlight.get() >= properties.getMaxInFlight()) {
+            stats.dropped.increment();
+            stats.errors.get(operation).increment();
+            return;
+        }
+        LoadOperation op = operation;
+        HttpRequest request = request(op, deleteId);
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, failure) -> {
+                    long micros = (System.nanoTime() - intended) / 1_000;
+                    stats.recorders.get(op).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                    if (failure != null || response.statusCode() >= 400) {
+                        stats.errors.get(op).increment();
+                    } else if (op == LoadOperation.CREATE_EVENT) {
+                        rememberCreated(response.body());
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private HttpRequest request(LoadOperation operation, Long deleteId) {
+        List<Long> eventIds = catalog.eventIds();
+        List<Long> venueIds = catalog.venueIds();
+        return switch (operation) {
+            case LIST_EVENTS -> get("/api/events");
+            case LIST_VENUES -> get("/venues");
+            case GET_EVENT -> get("/api/events/" + pick(eventIds));
+            case GET_VENUE -> get("/venues/" + pick(venueIds));
+            case EVENT_DETAILS -> get("/api/events/" + pick(eventIds) + "/details");
+            case SEARCH_RANGE -> {
+                int days = (int) (catalog.lastSeededDate().toEpochDay() - catalog.firstDate().toEpochDay());
+                LocalDate from = catalog.firstDate().plusDays(random.nextInt(Math.max(days, 1)));
+                yield get("/api/events?from=" + from + "&to=" + from.plusDays(SEARCH_WINDOW_DAYS));
+            }
+            case SEARCH_CITY -> get("/api/events?city=" + encode(pick(catalog.cities())));
+            case SEARCH_CATEGORY -> catalog.categories().isEmpty() ? get("/api/events/" + pick(eventIds))
+                    : get("/api/events?category=" + encode(pick(catalog.categories())));
+            case CREATE_EVENT -> {
+                // Hueco n del venue n % venues (dos días): nunca se solapa con otro evento
+                long slot = nextCreateSlot.getAndIncrement();
+                long venueId = venueIds.get((int) (slot % venueIds.size()));
+                LocalDate date = catalog.slotDate(catalog.firstFreeSlot()
+                        + (slot - catalog.firstFreeSlot()) / venueIds.size());
+                yield json("POST", "/api/events", Map.of("name", "Carga " + createdCount.incrementAndGet(),
+                        "venueId", venueId, "startDate", date.toString(), "endDate", date.plusDays(1).toString()));
+            }
+            case UPDATE_EVENT -> json("PUT", "/api/events/" + pick(eventIds),
+                    Map.of("name", "Evento actualizado " + random.nextInt(1_000_000)));
+            case DELETE_EVENT -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/events/" + deleteId))
+                    .timeout(properties.getRequestTimeout())
+                    .DELETE()
+                    .build();
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(properties.getRequestTimeout())
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private HttpRequest json(String method, String path, Map<String, Object> body) {
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(properties.getRequestTimeout())
+                    .header("Content-Type", "application/json")
+                    .header("Accept", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (Exception e) {
+            throw new IllegalStateException("No se pudo serializar la petición de carga", e);
+        }
+    }
+
+    private void rememberCreated(byte[] body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            if (id != null && id.canConvertToLong()) {
+                created.add(id.asLong());
+            }
+        } catch (Exception e) {
+            // Respuesta sin id: ese evento simplemente no se borrará
+        }
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
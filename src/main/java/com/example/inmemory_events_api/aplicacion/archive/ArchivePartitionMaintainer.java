@@ -0,0 +1,116 @@
+package com.example.inmemory_events_api.aplicacion.archive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mantenimiento de las particiones anuales de events_archive.
+ *
+ * La migración V8_1 (solo MySQL) crea las particiones p2022..p2026 y pmax (MAXVALUE). Sin más, todo lo
+ * archivado a partir de 2027 caería en pmax y las consultas por rango de
+ * fechas dejarían de podar particiones. Esta tarea parte pmax
+ * (REORGANIZE PARTITION) para que siempre existan las particiones hasta el
+ * año actual + archive.partitions-ahead. pmax solo recibe fechas futuras,
+ * así que normalmente está vacía y reorganizarla es inmediato.
+ *
+ * Solo hace algo en MySQL (H2 no particiona) y se activa junto con el
+ * archivado (archive.enabled=true, una única instancia). Sin él, el paso
+ * manual para cada año nuevo es:
+ *
+ * <pre>
+ * ALTER TABLE events_archive REORGANIZE PARTITION pmax INTO (
+ *     PARTITION p2027 VALUES LESS THAN ('2028-01-01'),
+ *     PARTITION pmax VALUES LESS THAN (MAXVALUE));
+ * </pre>
+ */
+@Component
+@ConditionalOnProperty(name = "archive.enabled", havingValue = "true")
+public class ArchivePartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchivePartitionMaintainer.class);
+
+    private static final Pattern YEARLY = Pattern.compile("p(\\d{4})");
+
+    private static final String PARTITIONS_SQL = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'events_archive' AND PARTITION_NAME IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int partitionsAhead;
+
+    public ArchivePartitionMaintainer(JdbcTemplate jdbcTemplate,
+            @Value("${archive.partitions-ahead:2}") int partitionsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionsAhead = partitionsAhead;
+    }
+
+    /**
+     * Crea las particiones que falten hasta el año actual +
+     * archive.partitions-ahead.
+     *
+     * @return número de particiones creadas
+     */
+    @Scheduled(fixedDelayString = "${archive.partition-check-interval-ms:86400000}", initialDelay = 0)
+    public int ensurePartitions() {
+        if (!isMySql()) {
+            return 0;
+        }
+        List<String> partitions = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class);
+        if (!partitions.contains("pmax")) {
+            log.warn("events_archive no tiene la partición pmax; no se crean particiones nuevas");
+            return 0;
+        }
+        List<String> statements = missingPartitions(partitions, LocalDate.now().getYear() + partitionsAhead);
+        for (String statement : statements) {
+            jdbcTemplate.execute(statement);
+        }
+        if (!statements.isEmpty()) {
+            log.info("events_archive: {} particiones anuales nuevas (hasta {})", statements.size(),
+                    LocalDate.now().getYear() + partitionsAhead);
+        }
+        return statements.size();
+    }
+
+    /**
+     * Sentencias para crear, en orden, las particiones anuales posteriores a
+     * la última existente hasta {@code untilYear} (incluido).
+     */
+    static List<String> missingPartitions(Collection<String> partitions, int untilYear) {
+        int last = Integer.MIN_VALUE;
+        for (String partition : partitions) {
+            Matcher matcher = YEARLY.matcher(partition);
+            if (matcher.matches()) {
+                last = Math.max(last, Integer.parseInt(matcher.group(1)));
+            }
+        }
+        List<String> statements = new ArrayList<>();
+        if (last == Integer.MIN_VALUE) {
+            return statements;
+        }
+        for (int year = last + 1; year <= untilYear; year++) {
+            statements.add("ALTER TABLE events_archive REORGANIZE PARTITION pmax INTO ("
+                    + "PARTITION p" + year + " VALUES LESS THAN ('" + (year + 1) + "-01-01'), "
+                    + "PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+        }
+        return statements;
+    }
+
+    private boolean isMySql() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.inmemory_events_api.aplicacion.archive;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.ArchivedEventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ArchivedEventEntity;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Lecturas del histórico de eventos (events_archive) y poda por fecha.
+ *
+ * El histórico solo contiene eventos con fecha anterior a un límite: el
+ * corte actual del archivado (hoy - archive.retention) o la fecha más
+ * reciente ya archivada, si es posterior (p. ej. tras reducir la
+ * retención). Una consulta cuyo rango empieza en o después de ese límite
+ * no lo toca ({@link #mayContain}); así las consultas de eventos futuros o
+ * recientes siguen leyendo solo la tabla caliente.
+ */
+@Component
+public class EventArchive {
+
+    private final ArchivedEventRepository archivedEventRepository;
+    private final Duration retention;
+
+    /** Fecha archivada más reciente conocida (null = histórico vacío). */
+    private volatile LocalDate newestArchived;
+
+    public EventArchive(ArchivedEventRepository archivedEventRepository,
+            @Value("${archive.retention:365d}") Duration retention) {
+        this.archivedEventRepository = archivedEventRepository;
+        this.retention = retention;
+    }
+
+    @PostConstruct
+    void load() {
+        refreshWatermark();
+    }
+
+    /**
+     * Relee la fecha archivada más reciente (otras instancias también
+     * archivan).
+     */
+    @Scheduled(fixedDelayString = "${archive.watermark-refresh-interval-ms:60000}")
+    public void refreshWatermark() {
+        newestArchived = archivedEventRepository.findMaxDate().orElse(null);
+    }
+
+    /**
+     * Los eventos terminados con fecha anterior a este día se archivan.
+     */
+    public LocalDate cutoff() {
+        return LocalDate.now().minusDays(retention.toDays());
+    }
+
+    /**
+     * ¿Puede haber eventos archivados con fecha &gt;= from? (from null =
+     * rango abierto por abajo: siempre).
+     */
+    public boolean mayContain(LocalDate from) {
+        if (from == null) {
+            return true;
+        }
+        LocalDate newest = newestArchived;
+        return from.isBefore(cutoff()) || (newest != null && !from.isAfter(newest));
+    }
+
+    public Optional<EventDTO> findById(Long id) {
+        return archivedEventRepository.findById(id).map(EventArchive::toDTO);
+    }
+
+    public List<EventDTO> findAllByIdIn(Collection<Long> ids) {
+        return archivedEventRepository.findAllByIdIn(ids).stream()
+                .map(EventArchive::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Eventos archivados en [from, to], ordenados por fecha.
+     */
+    public List<EventDTO> findByDateRange(LocalDate from, LocalDate to) {
+        return archivedEventRepository.findByDateRange(from, to).stream()
+                .map(EventArchive::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Borra el histórico de un venue eliminado (llamar dentro de la
+     * transacción del borrado).
+     */
+    public void venueDeleted(Long venueId) {
+        archivedEventRepository.deleteCategoriesByVenueId(venueId);
+        archivedEventRepository.deleteByVenueId(venueId);
+    }
+
+    private static EventDTO toDTO(ArchivedEventEntity entity) {
+        return new EventDTO(
+                entity.getId(),
+                entity.getTitle(),
+                entity.getVenueId(),
+                entity.getDate(),
+                entity.getEndDate() != null ? entity.getEndDate() : entity.getDate());
+    }
+}
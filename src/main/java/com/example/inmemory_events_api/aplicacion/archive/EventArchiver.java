@@ -0,0 +1,144 @@
+package com.example.inmemory_events_api.aplicacion.archive;
+
+import com.example.inmemory_events_api.aplicacion.bulkhead.Bulkhead;
+import com.example.inmemory_events_api.aplicacion.changelog.ChangeLog;
+import com.example.inmemory_events_api.aplicacion.readmodel.EventReadModel;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Archivado de eventos terminados: mueve los eventos FINALIZADO/CANCELADO
+ * con fecha anterior a {@link EventArchive#cutoff()} (y sus filas de
+ * event_categories) a events_archive.
+ *
+ * - Por bloques de archive.chunk-size eventos, cada uno en su propia
+ * transacción corta: se bloquean los IDs del bloque (SELECT ... FOR
+ * UPDATE), se copian con INSERT ... SELECT y se borran de la tabla
+ * caliente. Todo el trabajo es por conjuntos, sin cargar entidades.
+ * - Cada bloque registra un DELETE por evento en el change-log (mismo
+ * INSERT ... SELECT), así que todas las instancias, incluida esta, quitan
+ * los eventos de sus cachés e índices en memoria por el ChangeLogTailer.
+ * - Las filas del modelo de lectura (event_view) se borran en el mismo
+ * bloque.
+ * - Los eventos archivados siguen siendo legibles (por ID y por rango de
+ * fechas, ver {@link EventArchive}) pero ya no se pueden modificar.
+ *
+ * Solo se activa con archive.enabled=true, en una única instancia.
+ */
+@Component
+@ConditionalOnProperty(name = "archive.enabled", havingValue = "true")
+public class EventArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(EventArchiver.class);
+
+    private static final List<String> FINISHED = List.of(EventStatus.FINALIZADO.name(),
+            EventStatus.CANCELADO.name());
+
+    private static final String SELECT_CHUNK_SQL = "SELECT id FROM events "
+            + "WHERE status IN (:statuses) AND date < :cutoff AND id > :after ORDER BY id LIMIT :limit FOR UPDATE";
+
+    private static final String COPY_EVENTS_SQL = "INSERT INTO events_archive "
+            + "(id, title, description, date, end_date, category, status, venue_id, archived_at) "
+            + "SELECT id, title, description, date, end_date, category, status, venue_id, :now "
+            + "FROM events WHERE id IN (:ids)";
+
+    private static final String COPY_CATEGORIES_SQL = "INSERT INTO event_categories_archive (event_id, category_id) "
+            + "SELECT event_id, category_id FROM event_categories WHERE event_id IN (:ids)";
+
+    private static final String LOG_CHANGES_SQL = "INSERT INTO change_log "
+            + "(entity_type, entity_id, operation, venue_id, origin, changed_at) "
+            + "SELECT 'EVENT', id, 'DELETE', venue_id, :origin, :now FROM events WHERE id IN (:ids)";
+
+    private static final String DELETE_CATEGORIES_SQL = "DELETE FROM event_categories WHERE event_id IN (:ids)";
+
+    private static final String DELETE_EVENTS_SQL = "DELETE FROM events WHERE id IN (:ids)";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventArchive archive;
+    private final EventReadModel readModel;
+    private final String origin;
+    private final int chunkSize;
+
+    public EventArchiver(NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EventArchive archive,
+            ChangeLog changeLog,
+            EventReadModel readModel,
+            @Value("${archive.chunk-size:1000}") int chunkSize) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archive = archive;
+        this.readModel = readModel;
+        this.origin = "archiver@" + changeLog.nodeId();
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Archiva todos los eventos terminados anteriores al corte.
+     *
+     * @return número de eventos archivados
+     */
+    @Scheduled(fixedDelayString = "${archive.interval-ms:3600000}", initialDelayString = "${archive.initial-delay-ms:60000}")
+    @Bulkhead(Bulkhead.BULK)
+    public int archiveFinished() {
+        LocalDate cutoff = archive.cutoff();
+        long start = System.nanoTime();
+        int total = 0;
+        long after = 0;
+        while (true) {
+            long from = after;
+            List<Long> ids = transactionTemplate.execute(status -> archiveChunk(cutoff, from));
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            total += ids.size();
+            after = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            archive.refreshWatermark();
+            log.info("Archivados {} eventos anteriores a {} en {} ms", total, cutoff,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        return total;
+    }
+
+    private List<Long> archiveChunk(LocalDate cutoff, long after) {
+        List<Long> ids = namedJdbcTemplate.queryForList(SELECT_CHUNK_SQL, new MapSqlParameterSource()
+                .addValue("statuses", FINISHED)
+                .addValue("cutoff", Date.valueOf(cutoff))
+                .addValue("after", after)
+                .addValue("limit", chunkSize), Long.class);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("ids", ids)
+                .addValue("origin", origin)
+                .addValue("now", Timestamp.from(Instant.now()));
+        namedJdbcTemplate.update(COPY_EVENTS_SQL, params);
+        namedJdbcTemplate.update(COPY_CATEGORIES_SQL, params);
+        namedJdbcTemplate.update(LOG_CHANGES_SQL, params);
+        namedJdbcTemplate.update(DELETE_CATEGORIES_SQL, params);
+        namedJdbcTemplate.update(DELETE_EVENTS_SQL, params);
+        readModel.eventsDeleted(ids);
+        return ids;
+    }
+}
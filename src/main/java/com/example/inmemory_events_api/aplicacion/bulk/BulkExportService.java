@@ -0,0 +1,99 @@
+package com.example.inmemory_events_api.aplicacion.bulk;
+
+import com.example.inmemory_events_api.aplicacion.bulkhead.Bulkhead;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.ArchivedEventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.VenueRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.EventExportView;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.VenueExportView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exportación masiva de eventos y venues.
+ *
+ * Las filas van de un cursor de la base de datos (Stream de proyecciones
+ * con fetch size 1000, en una transacción de solo lectura) directamente al
+ * stream de salida, sin lista intermedia: la memoria no depende del tamaño
+ * del catálogo. Las proyecciones no son entidades, así que el contexto de
+ * persistencia no crece durante el recorrido.
+ *
+ * Las columnas coinciden con las que acepta {@link BulkImportService}: un
+ * fichero exportado se puede volver a importar (la columna id se ignora).
+ */
+@Service
+@Bulkhead(Bulkhead.BULK)
+public class BulkExportService {
+
+    static final List<String> EVENT_COLUMNS = List.of("id", "name", "description", "venueId", "startDate",
+            "endDate", "status", "category");
+
+    static final List<String> VENUE_COLUMNS = List.of("id", "name", "address", "city", "capacity");
+
+    private final EventRepository eventRepository;
+    private final ArchivedEventRepository archivedEventRepository;
+    private final VenueRepository venueRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BulkExportService(EventRepository eventRepository,
+            ArchivedEventRepository archivedEventRepository,
+            VenueRepository venueRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.archivedEventRepository = archivedEventRepository;
+        this.venueRepository = venueRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Escribe todos los eventos (los vivos y después los archivados, cada
+     * grupo ordenado por ID) en out. Las dos lecturas van en la misma
+     * transacción, así que un archivado concurrente no duplica ni pierde
+     * filas en bases con lecturas consistentes (MySQL/InnoDB).
+     *
+     * @throws java.io.UncheckedIOException si falla la escritura
+     */
+    public void exportEvents(BulkFormat format, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            RowWriter writer = format.writer(out, EVENT_COLUMNS, objectMapper);
+            try (Stream<EventExportView> rows = eventRepository.streamExportViews()) {
+                rows.forEach(row -> writeEvent(writer, row));
+            }
+            try (Stream<EventExportView> rows = archivedEventRepository.streamExportViews()) {
+                rows.forEach(row -> writeEvent(writer, row));
+            }
+            writer.finish();
+        });
+    }
+
+    /**
+     * Escribe todos los venues, ordenados por ID, en out.
+     *
+     * @throws java.io.UncheckedIOException si falla la escritura
+     */
+    public void exportVenues(BulkFormat format, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            RowWriter writer = format.writer(out, VENUE_COLUMNS, objectMapper);
+            try (Stream<VenueExportView> rows = venueRepository.streamExportViews()) {
+                rows.forEach(row -> writer.write(row.getId(), row.getName(), row.getAddress(), row.getCity(),
+                        row.getCapacity()));
+            }
+            writer.finish();
+        });
+    }
+
+    private static void writeEvent(RowWriter writer, EventExportView row) {
+        writer.write(row.getId(), row.getName(), row.getDescription(), row.getVenueId(), row.getStartDate(),
+                row.getEndDate(), row.getStatus(), row.getCategory());
+    }
+}
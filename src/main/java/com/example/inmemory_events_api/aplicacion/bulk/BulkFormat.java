@@ -0,0 +1,72 @@
+package com.example.inmemory_events_api.aplicacion.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Formatos de importación y exportación masiva. Ambos se leen y escriben
+ * fila a fila sobre el stream, en UTF-8, sin cargar el cuerpo en memoria.
+ *
+ * - CSV (text/csv): RFC 4180, primera línea con los nombres de columna.
+ * - NDJSON (application/x-ndjson): un objeto JSON por línea.
+ */
+public enum BulkFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    BulkFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Formato de un Content-Type (se ignoran los parámetros, como charset).
+     */
+    public static Optional<BulkFormat> fromMediaType(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        return switch (type) {
+            case "text/csv" -> Optional.of(CSV);
+            case "application/x-ndjson", "application/ndjson", "application/jsonl" -> Optional.of(NDJSON);
+            default -> Optional.empty();
+        };
+    }
+
+    /**
+     * Formato por su nombre corto (csv, ndjson).
+     */
+    public static Optional<BulkFormat> fromName(String name) {
+        for (BulkFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(name)) {
+                return Optional.of(format);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public RowReader reader(InputStream in, ObjectMapper objectMapper) {
+        return this == CSV ? new CsvRowReader(in) : new NdjsonRowReader(in, objectMapper);
+    }
+
+    public RowWriter writer(OutputStream out, List<String> columns, ObjectMapper objectMapper) {
+        return this == CSV ? new CsvRowWriter(out, columns) : new NdjsonRowWriter(out, columns, objectMapper);
+    }
+}
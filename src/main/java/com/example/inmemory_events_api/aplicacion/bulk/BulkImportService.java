@@ -0,0 +1,536 @@
+package com.example.inmemory_events_api.aplicacion.bulk;
+
+import com.example.inmemory_events_api.aplicacion.bulkhead.Bulkhead;
+import com.example.inmemory_events_api.aplicacion.changelog.ChangeLog;
+import com.example.inmemory_events_api.aplicacion.readmodel.EventReadModel;
+import com.example.inmemory_events_api.aplicacion.schedule.IntervalTree;
+import com.example.inmemory_events_api.aplicacion.schedule.IntervalTree.Interval;
+import com.example.inmemory_events_api.aplicacion.schedule.VenueScheduleIndex;
+import com.example.inmemory_events_api.dominio.model.ImportErrorDTO;
+import com.example.inmemory_events_api.dominio.model.ImportReportDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.VenueRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventStatus;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.VenueKeyView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Importación masiva de eventos y venues desde un {@link RowReader}.
+ *
+ * - Memoria constante respecto al tamaño del cuerpo: se lee fila a fila y
+ * solo se retiene el bloque en curso (bulk.batch-size filas). Lo único que
+ * crece con el catálogo es el mapa de venues (ID y nombre), que se carga
+ * una vez por importación para resolver las referencias sin una consulta
+ * por fila.
+ * - Cada bloque se inserta con un único JDBC batch en su propia transacción
+ * (JdbcTemplate, no JPA: con IDENTITY Hibernate desactiva el batching) y
+ * registra un UPSERT por fila en el change-log con un INSERT ... SELECT.
+ * Los eventos se copian al modelo de lectura (event_view) en la misma
+ * transacción.
+ * Con origen "import@nodo", el ChangeLogTailer de todas las instancias,
+ * incluida esta, actualiza cachés e índices en memoria.
+ * - Las filas inválidas se descartan y se informan una a una; si falla un
+ * bloque (por ejemplo, un venue borrado a mitad de importación), se
+ * descarta el bloque entero y se informa su rango de filas. El resto de la
+ * importación continúa.
+ *
+ * Los eventos pasan por la misma comprobación de solapamientos que un alta
+ * normal ({@link VenueScheduleIndex}): una fila que coincide en fechas con
+ * un evento del venue, o con una fila anterior del mismo bloque, se
+ * descarta y se informa. Las filas del bloque se reservan en el índice
+ * dentro de su transacción, con los IDs generados; si otra escritura ocupa
+ * el hueco entre la validación y la reserva, se descarta el bloque y se
+ * deshacen sus reservas.
+ */
+@Service
+@Bulkhead(Bulkhead.BULK)
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    private static final String INSERT_EVENT_SQL = "INSERT INTO events "
+            + "(title, description, date, end_date, status, category, venue_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_VENUE_SQL = "INSERT INTO venues (name, address, city, capacity) "
+            + "VALUES (?, ?, ?, ?)";
+
+    private static final String LOG_EVENTS_SQL = "INSERT INTO change_log "
+            + "(entity_type, entity_id, operation, venue_id, origin, changed_at) "
+            + "SELECT 'EVENT', id, 'UPSERT', venue_id, :origin, :now FROM events WHERE id IN (:ids)";
+
+    private static final String LOG_VENUES_SQL = "INSERT INTO change_log "
+            + "(entity_type, entity_id, operation, venue_id, origin, changed_at) "
+            + "SELECT 'VENUE', id, 'UPSERT', NULL, :origin, :now FROM venues WHERE id IN (:ids)";
+
+    private static final String DEFAULT_DESCRIPTION = "Descripción por defecto";
+    private static final int MAX_MESSAGE_LENGTH = 300;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final VenueRepository venueRepository;
+    private final VenueScheduleIndex scheduleIndex;
+    private final EventReadModel readModel;
+    private final String origin;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    public BulkImportService(JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            VenueRepository venueRepository,
+            VenueScheduleIndex scheduleIndex,
+            ChangeLog changeLog,
+            EventReadModel readModel,
+            @Value("${bulk.batch-size:1000}") int batchSize,
+            @Value("${bulk.max-reported-errors:100}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.venueRepository = venueRepository;
+        this.scheduleIndex = scheduleIndex;
+        this.readModel = readModel;
+        this.origin = "import@" + changeLog.nodeId();
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Columnas: name, startDate (obligatorias), venueId o venue (nombre del
+     * venue), endDate, description, status, category. Una columna id se
+     * ignora: los eventos importados reciben un ID nuevo.
+     */
+    public ImportReportDTO importEvents(RowReader reader) {
+        VenueKeys venues = loadVenueKeys();
+        return importRows(reader, new EventRowParser(venues, scheduleIndex), INSERT_EVENT_SQL, LOG_EVENTS_SQL,
+                readModel::eventsChanged, "eventos");
+    }
+
+    /**
+     * Columnas: name, address, city, capacity (obligatorias). Una columna id
+     * se ignora. Un nombre ya existente (sin distinguir mayúsculas) se
+     * rechaza.
+     */
+    public ImportReportDTO importVenues(RowReader reader) {
+        VenueKeys venues = loadVenueKeys();
+        return importRows(reader, new VenueRowParser(venues), INSERT_VENUE_SQL, LOG_VENUES_SQL,
+                ids -> { }, "venues");
+    }
+
+    // ========== Bucle de importación ==========
+
+    private ImportReportDTO importRows(RowReader reader, RowParser parser, String insertSql, String logSql,
+            Consumer<List<Long>> afterInsert, String label) {
+        long start = System.nanoTime();
+        Report report = new Report();
+        List<Object[]> chunk = new ArrayList<>(batchSize);
+        long chunkFirstRow = 0;
+        long row = 0;
+        try (reader) {
+            while (true) {
+                Map<String, String> values;
+                try {
+                    values = reader.next();
+                } catch (MalformedRowException e) {
+                    report.rowError(++row, e.getMessage());
+                    continue;
+                }
+                if (values == null) {
+                    break;
+                }
+                row++;
+                Object[] params;
+                try {
+                    params = parser.parse(row, values);
+                } catch (MalformedRowException e) {
+                    report.rowError(row, e.getMessage());
+                    continue;
+                }
+                if (chunk.isEmpty()) {
+                    chunkFirstRow = row;
+                }
+                chunk.add(params);
+                if (chunk.size() == batchSize) {
+                    writeChunk(chunk, chunkFirstRow, row, parser, insertSql, logSql, afterInsert, report);
+                    chunk.clear();
+                }
+            }
+        } catch (UncheckedIOException | IOException e) {
+            // Cuerpo cortado o ilegible: se guardan las filas válidas ya leídas
+            report.complete = false;
+            report.error(row + 1, row + 1, "Lectura interrumpida: " + message(e));
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, chunkFirstRow, row, parser, insertSql, logSql, afterInsert, report);
+        }
+        report.rowsRead = row;
+        log.info("Importación de {}: {} filas leídas, {} insertadas, {} descartadas en {} ms", label, row,
+                report.imported, report.rejected, (System.nanoTime() - start) / 1_000_000);
+        return report.toDTO();
+    }
+
+    private void writeChunk(List<Object[]> chunk, long fromRow, long toRow, RowParser parser, String insertSql,
+            String logSql, Consumer<List<Long>> afterInsert, Report report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> ids = insert(insertSql, chunk);
+                parser.inserted(chunk, ids);
+                afterInsert.accept(ids);
+                namedJdbcTemplate.update(logSql, new MapSqlParameterSource()
+                        .addValue("ids", ids)
+                        .addValue("origin", origin)
+                        .addValue("now", Timestamp.from(Instant.now())));
+            });
+            report.imported += chunk.size();
+        } catch (RuntimeException e) {
+            log.warn("Bloque de importación descartado (filas {}-{})", fromRow, toRow, e);
+            parser.rejected(chunk);
+            report.rejected += chunk.size();
+            report.error(fromRow, toRow, "Bloque descartado: " + message(e));
+        }
+    }
+
+    /**
+     * Inserta el bloque en un único JDBC batch.
+     *
+     * @return los IDs generados
+     */
+    private List<Long> insert(String sql, List<Object[]> chunk) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Object[] params = chunk.get(i);
+                        for (int column = 0; column < params.length; column++) {
+                            StatementCreatorUtils.setParameterValue(ps, column + 1, SqlTypeValue.TYPE_UNKNOWN,
+                                    params[column]);
+                        }
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return chunk.size();
+                    }
+                }, keys);
+        List<Long> ids = new ArrayList<>(chunk.size());
+        for (Map<String, Object> key : keys.getKeyList()) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    private static String message(Throwable e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        return message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) + "…" : message;
+    }
+
+    // ========== Referencias a venues ==========
+
+    /**
+     * IDs y nombres (en minúsculas) de los venues existentes.
+     */
+    private static final class VenueKeys {
+        final Set<Long> ids = new HashSet<>();
+        final Map<String, Long> idsByName = new HashMap<>();
+    }
+
+    private VenueKeys loadVenueKeys() {
+        VenueKeys keys = new VenueKeys();
+        for (VenueKeyView venue : venueRepository.findAllKeys()) {
+            keys.ids.add(venue.getId());
+            keys.idsByName.put(normalize(venue.getName()), venue.getId());
+        }
+        return keys;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ========== Conversión y validación de filas ==========
+
+    /**
+     * Convierte una fila en los parámetros del INSERT.
+     */
+    private interface RowParser {
+        /**
+         * @param rowNumber número de fila (para informar de conflictos entre
+         *                  filas)
+         */
+        Object[] parse(long rowNumber, Map<String, String> row);
+
+        /**
+         * Aviso de que el bloque se insertó con esos IDs (dentro de su
+         * transacción, que aún puede fallar).
+         */
+        default void inserted(List<Object[]> chunk, List<Long> ids) {
+        }
+
+        /**
+         * Aviso de que un bloque ya aceptado por parse no se insertó.
+         */
+        default void rejected(List<Object[]> chunk) {
+        }
+    }
+
+    /**
+     * Además de validar la fila, comprueba que sus fechas no se solapen con
+     * los eventos del venue ni con las filas anteriores del bloque en curso.
+     */
+    private static final class EventRowParser implements RowParser {
+        private static final int START_DATE = 2;
+        private static final int END_DATE = 3;
+        private static final int VENUE_ID = 6;
+
+        private final VenueKeys venues;
+        private final VenueScheduleIndex scheduleIndex;
+        /** Fechas de las filas del bloque en curso, por venue (ID = número de fila). */
+        private final Map<Long, IntervalTree> chunkSchedules = new HashMap<>();
+        /** Reservas hechas por inserted, para deshacerlas si el bloque falla. */
+        private final List<Object[]> booked = new ArrayList<>();
+        private final List<Long> bookedIds = new ArrayList<>();
+
+        EventRowParser(VenueKeys venues, VenueScheduleIndex scheduleIndex) {
+            this.venues = venues;
+            this.scheduleIndex = scheduleIndex;
+        }
+
+        @Override
+        public Object[] parse(long rowNumber, Map<String, String> row) {
+            String name = required(row, "name", 200);
+            String description = optional(row, "description", 1000);
+            LocalDate startDate = date(row, "startDate", true);
+            LocalDate endDate = date(row, "endDate", false);
+            if (endDate != null && endDate.isBefore(startDate)) {
+                throw new MalformedRowException("endDate es anterior a startDate");
+            }
+            String status = status(row);
+            String category = optional(row, "category", 100);
+            Long venueId = venueId(row);
+            // Lo último: solo se anotan las fechas de filas que se aceptan
+            checkOverlaps(rowNumber, venueId, startDate, endDate != null ? endDate : startDate);
+            return new Object[] { name, description != null ? description : DEFAULT_DESCRIPTION, startDate,
+                    endDate, status, category, venueId };
+        }
+
+        private void checkOverlaps(long rowNumber, Long venueId, LocalDate startDate, LocalDate endDate) {
+            scheduleIndex.findConflict(venueId, startDate, endDate).ifPresent(conflict -> {
+                throw new MalformedRowException("Se solapa con el evento " + conflict.getId() + " del venue "
+                        + venueId + " (" + LocalDate.ofEpochDay(conflict.getStart()) + " - "
+                        + LocalDate.ofEpochDay(conflict.getEnd()) + ")");
+            });
+            IntervalTree chunkSchedule = chunkSchedules.computeIfAbsent(venueId, id -> new IntervalTree());
+            Interval clash = chunkSchedule.findAnyOverlap(startDate.toEpochDay(), endDate.toEpochDay(), -1);
+            if (clash != null) {
+                throw new MalformedRowException("Se solapa con la fila " + clash.getId() + " (venue " + venueId
+                        + ", " + LocalDate.ofEpochDay(clash.getStart()) + " - "
+                        + LocalDate.ofEpochDay(clash.getEnd()) + ")");
+            }
+            chunkSchedule.insert(new Interval(rowNumber, startDate.toEpochDay(), endDate.toEpochDay()));
+        }
+
+        /**
+         * Reserva las filas insertadas en el índice de ocupación. Una
+         * ScheduleConflictException (el hueco se ocupó tras validar la fila)
+         * hace rollback del bloque.
+         */
+        @Override
+        public void inserted(List<Object[]> chunk, List<Long> ids) {
+            // El bloque anterior se confirmó: sus reservas se quedan
+            booked.clear();
+            bookedIds.clear();
+            chunkSchedules.clear();
+            for (int i = 0; i < chunk.size(); i++) {
+                Object[] params = chunk.get(i);
+                scheduleIndex.book((Long) params[VENUE_ID], ids.get(i), (LocalDate) params[START_DATE],
+                        (LocalDate) params[END_DATE]);
+                booked.add(params);
+                bookedIds.add(ids.get(i));
+            }
+        }
+
+        @Override
+        public void rejected(List<Object[]> chunk) {
+            for (int i = 0; i < booked.size(); i++) {
+                scheduleIndex.unbook((Long) booked.get(i)[VENUE_ID], bookedIds.get(i));
+            }
+            booked.clear();
+            bookedIds.clear();
+            chunkSchedules.clear();
+        }
+
+        private Long venueId(Map<String, String> row) {
+            String id = trimmed(row, "venueId");
+            if (id != null) {
+                Long venueId;
+                try {
+                    venueId = Long.valueOf(id);
+                } catch (NumberFormatException e) {
+                    throw new MalformedRowException("venueId no es un número: " + id);
+                }
+                if (!venues.ids.contains(venueId)) {
+                    throw new MalformedRowException("No existe el venue " + venueId);
+                }
+                return venueId;
+            }
+            String name = trimmed(row, "venue");
+            if (name == null) {
+                throw new MalformedRowException("Falta venueId o venue");
+            }
+            Long venueId = venues.idsByName.get(normalize(name));
+            if (venueId == null) {
+                throw new MalformedRowException("No existe el venue '" + name + "'");
+            }
+            return venueId;
+        }
+
+        private static String status(Map<String, String> row) {
+            String status = trimmed(row, "status");
+            if (status == null) {
+                return EventStatus.ACTIVO.name();
+            }
+            try {
+                return EventStatus.valueOf(status.toUpperCase(Locale.ROOT)).name();
+            } catch (IllegalArgumentException e) {
+                throw new MalformedRowException("Estado desconocido: " + status);
+            }
+        }
+    }
+
+    private static final class VenueRowParser implements RowParser {
+        private final VenueKeys venues;
+
+        VenueRowParser(VenueKeys venues) {
+            this.venues = venues;
+        }
+
+        @Override
+        public Object[] parse(long rowNumber, Map<String, String> row) {
+            String name = required(row, "name", 100);
+            String address = required(row, "address", 200);
+            String city = required(row, "city", 100);
+            String capacityValue = trimmed(row, "capacity");
+            if (capacityValue == null) {
+                throw new MalformedRowException("Falta capacity");
+            }
+            int capacity;
+            try {
+                capacity = Integer.parseInt(capacityValue);
+            } catch (NumberFormatException e) {
+                throw new MalformedRowException("capacity no es un número: " + capacityValue);
+            }
+            if (capacity <= 0) {
+                throw new MalformedRowException("capacity debe ser positiva");
+            }
+            // Nombres únicos: contra la base de datos y contra las filas anteriores
+            if (venues.idsByName.putIfAbsent(normalize(name), -1L) != null) {
+                throw new MalformedRowException("Ya existe un venue llamado '" + name + "'");
+            }
+            return new Object[] { name, address, city, capacity };
+        }
+
+        @Override
+        public void rejected(List<Object[]> chunk) {
+            for (Object[] params : chunk) {
+                venues.idsByName.remove(normalize((String) params[0]));
+            }
+        }
+    }
+
+    private static String trimmed(Map<String, String> row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String optional(Map<String, String> row, String column, int maxLength) {
+        String value = trimmed(row, column);
+        if (value != null && value.length() > maxLength) {
+            throw new MalformedRowException(column + " supera los " + maxLength + " caracteres");
+        }
+        return value;
+    }
+
+    private static String required(Map<String, String> row, String column, int maxLength) {
+        String value = optional(row, column, maxLength);
+        if (value == null) {
+            throw new MalformedRowException("Falta " + column);
+        }
+        return value;
+    }
+
+    private static LocalDate date(Map<String, String> row, String column, boolean required) {
+        String value = trimmed(row, column);
+        if (value == null) {
+            if (required) {
+                throw new MalformedRowException("Falta " + column);
+            }
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new MalformedRowException(column + " no es una fecha yyyy-MM-dd: " + value);
+        }
+    }
+
+    // ========== Informe ==========
+
+    private final class Report {
+        long rowsRead;
+        long imported;
+        long rejected;
+        boolean complete = true;
+        final List<ImportErrorDTO> errors = new ArrayList<>();
+
+        void rowError(long row, String message) {
+            rejected++;
+            error(row, row, message);
+        }
+
+        void error(long fromRow, long toRow, String message) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportErrorDTO(fromRow, toRow, message));
+            }
+        }
+
+        ImportReportDTO toDTO() {
+            return new ImportReportDTO(rowsRead, imported, rejected, complete, errors);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.inmemory_events_api.aplicacion.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lector CSV (RFC 4180) en streaming: separador coma, campos entre comillas
+ * dobles con "" como escape y saltos de línea dentro de las comillas. La
+ * primera línea es la cabecera. Las líneas vacías se ignoran.
+ *
+ * Un registro de más de {@link #MAX_RECORD_CHARS} caracteres (típicamente,
+ * unas comillas sin cerrar) corta la lectura: a partir de ahí no se puede
+ * saber dónde empieza la fila siguiente.
+ */
+final class CsvRowReader implements RowReader {
+
+    static final int MAX_RECORD_CHARS = 1 << 20;
+
+    private final BufferedReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private List<String> header;
+
+    CsvRowReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    @Override
+    public Map<String, String> next() {
+        if (header == null) {
+            header = readHeader();
+        }
+        List<String> record = readRecord();
+        if (record == null) {
+            return null;
+        }
+        if (record.size() != header.size()) {
+            throw new MalformedRowException(
+                    "Se esperaban " + header.size() + " columnas y hay " + record.size());
+        }
+        Map<String, String> row = new HashMap<>(header.size() * 2);
+        for (int i = 0; i < header.size(); i++) {
+            String value = record.get(i);
+            row.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readHeader() {
+        List<String> names = readRecord();
+        if (names == null) {
+            return List.of();
+        }
+        List<String> trimmed = new ArrayList<>(names.size());
+        for (String name : names) {
+            trimmed.add(name.replace("\uFEFF", "").trim());
+        }
+        return trimmed;
+    }
+
+    /**
+     * @return los campos del siguiente registro no vacío, o null al final
+     */
+    private List<String> readRecord() {
+        try {
+            List<String> fields = new ArrayList<>();
+            field.setLength(0);
+            int length = 0;
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (++length > MAX_RECORD_CHARS) {
+                    throw new UncheckedIOException(new IOException(
+                            "Registro CSV de más de " + MAX_RECORD_CHARS + " caracteres (¿comillas sin cerrar?)"));
+                }
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    any = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                    any = true;
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (any || field.length() > 0) {
+                        fields.add(field.toString());
+                        return fields;
+                    }
+                    length = 0;
+                } else {
+                    field.append((char) c);
+                    any = true;
+                }
+            }
+            if (quoted) {
+                throw new UncheckedIOException(new IOException("Comillas sin cerrar al final del CSV"));
+            }
+            if (any || field.length() > 0) {
+                fields.add(field.toString());
+                return fields;
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
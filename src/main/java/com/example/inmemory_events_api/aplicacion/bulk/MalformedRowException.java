@@ -0,0 +1,11 @@
+package com.example.inmemory_events_api.aplicacion.bulk;
+
+/**
+ * Fila de importación ilegible o inválida. La fila se descarta y se anota
+ * en el informe; la importación continúa.
+ */
+public class MalformedRowException extends RuntimeException {
+    public MalformedRowException(String message) {
+        super(message);
+    }
+}
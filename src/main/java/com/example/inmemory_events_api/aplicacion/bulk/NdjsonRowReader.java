@@ -0,0 +1,69 @@
+package com.example.inmemory_events_api.aplicacion.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Lector NDJSON en streaming: un objeto JSON por línea; las líneas vacías
+ * se ignoran. Una línea con JSON inválido se descarta sin afectar a las
+ * demás. Los valores escalares se pasan como texto (el servicio los
+ * convierte y valida igual que los del CSV).
+ */
+final class NdjsonRowReader implements RowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+
+    NdjsonRowReader(InputStream in, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Map<String, String> next() {
+        String line;
+        try {
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (line == null) {
+            return null;
+        }
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new MalformedRowException("JSON inválido: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new MalformedRowException("Cada línea debe ser un objeto JSON");
+        }
+        Map<String, String> row = new HashMap<>();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = node.fields(); fields.hasNext();) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            row.put(field.getKey(), value.isNull() ? null : value.isValueNode() ? value.asText() : value.toString());
+        }
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
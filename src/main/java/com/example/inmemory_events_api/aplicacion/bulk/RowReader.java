@@ -0,0 +1,20 @@
+package com.example.inmemory_events_api.aplicacion.bulk;
+
+import java.io.Closeable;
+import java.util.Map;
+
+/**
+ * Lector de filas de un cuerpo de importación: columna → valor (null si
+ * el campo está vacío o no viene). Solo mantiene en memoria la fila actual.
+ */
+public interface RowReader extends Closeable {
+
+    /**
+     * @return la siguiente fila, o null al final del cuerpo
+     * @throws MalformedRowException si la fila no se puede interpretar; ya
+     *                               se ha consumido y se puede seguir leyendo
+     * @throws java.io.UncheckedIOException si falla la lectura o el cuerpo
+     *                                      no se puede seguir recorriendo
+     */
+    Map<String, String> next();
+}
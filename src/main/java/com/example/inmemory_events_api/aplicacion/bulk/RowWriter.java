@@ -0,0 +1,19 @@
+package com.example.inmemory_events_api.aplicacion.bulk;
+
+/**
+ * Escritor de filas de una exportación. Los valores van en el orden de las
+ * columnas con las que se creó; null es un campo vacío.
+ */
+public interface RowWriter {
+
+    /**
+     * @throws java.io.UncheckedIOException si falla la escritura (por
+     *                                      ejemplo, el cliente cortó la conexión)
+     */
+    void write(Object... values);
+
+    /**
+     * Vacía el buffer. No cierra el stream de salida.
+     */
+    void finish();
+}
@@ -0,0 +1,39 @@
+package com.example.inmemory_events_api.aplicacion.bulkhead;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Compartimento (bulkhead) en el que se ejecuta un método de caso de uso:
+ * cada uno tiene su propio límite de llamadas concurrentes y su propio pool
+ * de conexiones (bulkhead.bulkheads.&lt;nombre&gt;.*), de modo que una
+ * exportación masiva no puede dejar sin hilos ni conexiones a las lecturas
+ * por ID.
+ *
+ * En la clase se aplica a todos sus métodos públicos; en un método, manda
+ * sobre la de la clase. Una llamada anidada sigue en el compartimento de la
+ * más externa.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Bulkhead {
+
+    /** Lecturas baratas por identificador. */
+    String INTERACTIVE = "interactive";
+
+    /** Listados completos, búsquedas y multi-gets. */
+    String LISTING = "listing";
+
+    /** Altas, modificaciones, bajas y reservas. */
+    String WRITE = "write";
+
+    /** Importación y exportación masivas, tareas de ciclo de vida. */
+    String BULK = "bulk";
+
+    /** Nombre del compartimento (una clave de bulkhead.bulkheads). */
+    String value();
+}
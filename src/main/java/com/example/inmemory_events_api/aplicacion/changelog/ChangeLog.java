@@ -0,0 +1,78 @@
+package com.example.inmemory_events_api.aplicacion.changelog;
+
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.ChangeLogRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ChangeEntityType;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ChangeLogEntity;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ChangeOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Escritura del change-log (outbox) de eventos y venues.
+ *
+ * {@link #record} se llama desde la transacción de la escritura
+ * (Propagation.MANDATORY): la fila hace commit o rollback junto con el
+ * cambio, sin broker externo ni doble escritura. Cada instancia se
+ * identifica con changelog.node-id (un UUID aleatorio si no se configura)
+ * para no volver a aplicar sus propios cambios.
+ */
+@Component
+public class ChangeLog {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLog.class);
+
+    private final ChangeLogRepository changeLogRepository;
+    private final String nodeId;
+    private final Duration retention;
+
+    public ChangeLog(ChangeLogRepository changeLogRepository,
+            @Value("${changelog.node-id:}") String nodeId,
+            @Value("${changelog.retention:24h}") Duration retention) {
+        this.changeLogRepository = changeLogRepository;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.retention = retention;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Registra el cambio de una entidad en la transacción actual.
+     *
+     * @param venueId venue del evento (null para venues)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeEntityType entityType, Long entityId, ChangeOperation operation, Long venueId) {
+        changeLogRepository.save(ChangeLogEntity.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .operation(operation)
+                .venueId(venueId)
+                .origin(nodeId)
+                .changedAt(Instant.now())
+                .build());
+    }
+
+    /**
+     * Borra las filas más antiguas que changelog.retention. Todas las
+     * instancias lo ejecutan; el borrado es idempotente.
+     */
+    @Scheduled(fixedDelayString = "${changelog.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = changeLogRepository.deleteOlderThan(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.debug("Change-log: purgadas {} filas anteriores a {}", purged, retention);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.inmemory_events_api.aplicacion.changelog;
+
+import com.example.inmemory_events_api.aplicacion.usecase.EventService;
+import com.example.inmemory_events_api.aplicacion.usecase.VenueService;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.ChangeLogRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ChangeLogEntity;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sondeo del change-log: aplica en esta instancia los cambios que hicieron
+ * las demás (invalidar cachés coalescidas, la proyección columnar, el
+ * índice de ocupación y los contadores de reservas).
+ *
+ * - Lectura por keyset: id &gt; cursor, en páginas de changelog.page-size.
+ * - Huecos: los ids AUTO_INCREMENT se asignan al insertar, no al hacer
+ * commit, así que una transacción lenta puede hacer visible el id 10
+ * después del 11. Cada id saltado se recuerda como hueco y se vuelve a
+ * buscar en los sondeos siguientes durante changelog.gap-timeout; pasado
+ * ese tiempo se da por descartado (rollback). Las transacciones de
+ * escritura deben durar menos que ese plazo.
+ * - Aplicar un cambio relee el estado actual de la entidad, así que es
+ * idempotente y no depende del orden: un hueco que llega tarde o un
+ * cambio repetido no deja la caché en un estado antiguo.
+ * - Se ignoran los cambios de la propia instancia (ya aplicados al hacer
+ * commit).
+ */
+@Component
+public class ChangeLogTailer {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogTailer.class);
+
+    /** Huecos pendientes como máximo (protege ante saltos grandes de id). */
+    private static final int MAX_GAPS = 10_000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final EventService eventService;
+    private final VenueService venueService;
+    private final String nodeId;
+    private final int pageSize;
+    private final Duration gapTimeout;
+
+    /** Mayor id aplicado. Solo lo usa el hilo del sondeo. */
+    private long cursor;
+    /** Id pendiente → instante en que se detectó el hueco. */
+    private final Map<Long, Instant> gaps = new HashMap<>();
+
+    public ChangeLogTailer(ChangeLogRepository changeLogRepository,
+            ChangeLog changeLog,
+            EventService eventService,
+            VenueService venueService,
+            @Value("${changelog.page-size:500}") int pageSize,
+            @Value("${changelog.gap-timeout:60s}") Duration gapTimeout) {
+        this.changeLogRepository = changeLogRepository;
+        this.eventService = eventService;
+        this.venueService = venueService;
+        this.nodeId = changeLog.nodeId();
+        this.pageSize = pageSize;
+        this.gapTimeout = gapTimeout;
+    }
+
+    /**
+     * El cursor empieza gap-timeout por detrás del final: se vuelven a
+     * aplicar los cambios que hicieron commit mientras se cargaban las
+     * cachés y los que estaban en vuelo al arrancar.
+     */
+    @PostConstruct
+    void start() {
+        cursor = changeLogRepository.findMaxIdBefore(Instant.now().minus(gapTimeout));
+        log.info("Change-log: nodo {}, sondeo desde el id {}", nodeId, cursor);
+    }
+
+    @Scheduled(fixedDelayString = "${changelog.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        Instant now = Instant.now();
+        if (!gaps.isEmpty()) {
+            for (ChangeLogEntity change : changeLogRepository.findByIdIn(List.copyOf(gaps.keySet()))) {
+                apply(change);
+                gaps.remove(change.getId());
+            }
+            gaps.values().removeIf(detectedAt -> detectedAt.plus(gapTimeout).isBefore(now));
+        }
+
+        List<ChangeLogEntity> page;
+        do {
+            page = changeLogRepository.findPageAfter(cursor, PageRequest.of(0, pageSize));
+            for (ChangeLogEntity change : page) {
+                for (long missing = cursor + 1; missing < change.getId() && gaps.size() < MAX_GAPS; missing++) {
+                    gaps.putIfAbsent(missing, now);
+                }
+                // Si apply falla, el cursor no avanza y el siguiente sondeo lo reintenta
+                apply(change);
+                cursor = change.getId();
+            }
+        } while (page.size() == pageSize);
+    }
+
+    private void apply(ChangeLogEntity change) {
+        if (nodeId.equals(change.getOrigin())) {
+            return;
+        }
+        switch (change.getEntityType()) {
+            case EVENT -> eventService.applyRemoteChange(change.getEntityId(), change.getOperation(),
+                    change.getVenueId());
+            case VENUE -> venueService.applyRemoteChange(change.getEntityId(), change.getOperation());
+        }
+        log.debug("Change-log: aplicado {} {} {} de {}", change.getOperation(), change.getEntityType(),
+                change.getEntityId(), change.getOrigin());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.inmemory_events_api.aplicacion.coalescing;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ejecuta una acción cuando la transacción actual hace commit.
+ *
+ * Se usa para invalidar cachés y llamadas coalescidas: si se invalidara
+ * antes del commit, una lectura concurrente podría volver a cargar (y
+ * cachear) el valor antiguo mientras la escritura aún no es visible.
+ * Si no hay transacción activa, la acción se ejecuta inmediatamente.
+ *
+ * {@link #onRollback(Runnable)} es el complemento: deshace cambios en
+ * estructuras en memoria que se aplicaron antes del commit.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una acción si la transacción actual termina en rollback
+     * (o en estado desconocido). Sin transacción activa no hace nada.
+     */
+    public static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
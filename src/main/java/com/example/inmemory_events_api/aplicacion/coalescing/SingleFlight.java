@@ -0,0 +1,121 @@
+package com.example.inmemory_events_api.aplicacion.coalescing;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalescencia de peticiones concurrentes idénticas ("single-flight").
+ *
+ * Cuando N hilos piden la misma clave a la vez, solo el primero (el "líder")
+ * ejecuta el loader; el resto espera y recibe el mismo resultado (o la misma
+ * excepción). Así la base de datos ve una query por clave caliente en lugar
+ * de una por petición.
+ *
+ * Opcionalmente el resultado se conserva durante {@code resultTtlNanos}
+ * tras completarse, de modo que las peticiones que llegan justo después
+ * también lo reutilizan. Con TTL 0 solo se comparte la llamada en vuelo.
+ *
+ * IMPORTANTE: el resultado se comparte entre hilos, por lo que no debe
+ * modificarse después de devolverlo.
+ *
+ * @param <K> tipo de la clave
+ * @param <V> tipo del resultado
+ */
+public class SingleFlight<K, V> {
+
+    private final long resultTtlNanos;
+    private final int maxEntries;
+    private final Map<K, Call<V>> calls = new ConcurrentHashMap<>();
+
+    public SingleFlight(long resultTtlNanos, int maxEntries) {
+        this.resultTtlNanos = resultTtlNanos;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Devuelve el resultado para la clave, ejecutando el loader solo si no
+     * hay otra llamada en vuelo (ni un resultado reciente dentro del TTL).
+     */
+    public V execute(K key, Supplier<V> loader) {
+        while (true) {
+            Call<V> existing = calls.get(key);
+            if (existing != null) {
+                if (!existing.future.isDone() || existing.isFresh(System.nanoTime(), resultTtlNanos)) {
+                    return await(existing);
+                }
+                calls.remove(key, existing);
+                continue;
+            }
+
+            Call<V> call = new Call<>();
+            if (calls.putIfAbsent(key, call) != null) {
+                continue;
+            }
+            return lead(key, call, loader);
+        }
+    }
+
+    /**
+     * Olvida la llamada (en vuelo o cacheada) de una clave. Las peticiones
+     * posteriores volverán a ejecutar el loader.
+     */
+    public void invalidate(K key) {
+        calls.remove(key);
+    }
+
+    public void invalidateAll() {
+        calls.clear();
+    }
+
+    private V lead(K key, Call<V> call, Supplier<V> loader) {
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            calls.remove(key, call);
+            call.future.completeExceptionally(e);
+            throw e;
+        }
+
+        call.completedAtNanos = System.nanoTime();
+        call.future.complete(value);
+        if (resultTtlNanos <= 0) {
+            calls.remove(key, call);
+        } else if (calls.size() > maxEntries) {
+            purgeExpired(call.completedAtNanos);
+        }
+        return value;
+    }
+
+    private V await(Call<V> call) {
+        try {
+            return call.future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private void purgeExpired(long nowNanos) {
+        calls.values().removeIf(c -> c.future.isDone() && !c.isFresh(nowNanos, resultTtlNanos));
+    }
+
+    private static final class Call<V> {
+        final CompletableFuture<V> future = new CompletableFuture<>();
+        volatile long completedAtNanos;
+
+        boolean isFresh(long nowNanos, long ttlNanos) {
+            return future.isDone() && !future.isCompletedExceptionally()
+                    && nowNanos - completedAtNanos < ttlNanos;
+        }
+    }
+}
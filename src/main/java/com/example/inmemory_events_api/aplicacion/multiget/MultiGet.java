@@ -0,0 +1,51 @@
+package com.example.inmemory_events_api.aplicacion.multiget;
+
+import com.example.inmemory_events_api.dominio.model.LookupResultDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Carga múltiple por ID en bloques (chunks) de consultas IN.
+ *
+ * - Los IDs se deduplican antes de consultar.
+ * - Se consultan en bloques de como máximo {@code chunkSize} IDs. Junto con
+ * hibernate.query.in_clause_parameter_padding=true, Hibernate rellena cada
+ * IN hasta la siguiente potencia de 2, por lo que solo existen unas pocas
+ * formas de sentencia (1, 2, 4, ... chunkSize parámetros) y la caché de
+ * sentencias preparadas sigue siendo efectiva.
+ * - El resultado respeta el orden (y los duplicados) de la petición e
+ * incluye un fallo explícito por cada ID que no existe.
+ */
+public final class MultiGet {
+
+    private MultiGet() {
+    }
+
+    public static <T> List<LookupResultDTO<T>> load(
+            List<Long> ids,
+            int chunkSize,
+            Function<List<Long>, List<T>> chunkLoader,
+            Function<T, Long> idExtractor) {
+
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, T> found = new HashMap<>(distinctIds.size() * 2);
+        for (int from = 0; from < distinctIds.size(); from += chunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + chunkSize, distinctIds.size()));
+            for (T value : chunkLoader.apply(chunk)) {
+                found.put(idExtractor.apply(value), value);
+            }
+        }
+
+        List<LookupResultDTO<T>> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T value = found.get(id);
+            results.add(value != null ? LookupResultDTO.hit(id, value) : LookupResultDTO.miss(id));
+        }
+        return results;
+    }
+}
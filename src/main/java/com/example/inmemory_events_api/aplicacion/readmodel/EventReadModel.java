@@ -0,0 +1,204 @@
+package com.example.inmemory_events_api.aplicacion.readmodel;
+
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mantenimiento del modelo de lectura desnormalizado (event_view y
+ * event_view_category, ver EventViewEntity).
+ *
+ * - Síncrono: cada escritura de eventos o venues (EventService,
+ * VenueService, write-behind, importación masiva, archivado) llama aquí
+ * dentro de su propia transacción, así que la vista se confirma o se
+ * deshace junto con las tablas normalizadas. Por eso los métodos exigen
+ * una transacción abierta (MANDATORY).
+ * - Todo es SQL por conjuntos: las filas de un bloque de eventos se borran
+ * y se vuelven a copiar con INSERT ... SELECT desde events, venues y
+ * categories, sin cargar entidades.
+ * - El SQL lee las tablas, no el contexto de persistencia: los cambios JPA
+ * pendientes tienen que estar volcados (flush) antes de refrescar.
+ * - Al arrancar se reconstruye si el número de filas no coincide con el de
+ * events (tabla recién creada o escrituras hechas sin pasar por aquí).
+ */
+@Component
+public class EventReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(EventReadModel.class);
+
+    private static final String DELETE_EVENTS_SQL = "DELETE FROM event_view WHERE event_id IN (:ids)";
+
+    private static final String DELETE_EVENT_CATEGORIES_SQL = "DELETE FROM event_view_category "
+            + "WHERE event_id IN (:ids)";
+
+    private static final String COPY_EVENTS_SQL = "INSERT INTO event_view "
+            + "(event_id, title, date, end_date, status, category, venue_id, venue_name, venue_city, "
+            + "venue_city_key, venue_capacity, category_names) "
+            + "SELECT e.id, e.title, e.date, e.end_date, e.status, e.category, v.id, v.name, v.city, "
+            + "LOWER(v.city), v.capacity, "
+            + "(SELECT GROUP_CONCAT(c.name ORDER BY c.name SEPARATOR ',') FROM event_categories ec "
+            + "JOIN categories c ON c.id = ec.category_id WHERE ec.event_id = e.id) "
+            + "FROM events e JOIN venues v ON v.id = e.venue_id WHERE e.id IN (:ids)";
+
+    private static final String COPY_EVENT_CATEGORIES_SQL = "INSERT INTO event_view_category "
+            + "(category_key, date, event_id, title, end_date, status, venue_id) "
+            + "SELECT DISTINCT LOWER(c.name), e.date, e.id, e.title, e.end_date, e.status, e.venue_id "
+            + "FROM events e JOIN event_categories ec ON ec.event_id = e.id "
+            + "JOIN categories c ON c.id = ec.category_id WHERE e.id IN (:ids)";
+
+    private static final String UPDATE_VENUE_SQL = "UPDATE event_view SET venue_name = :name, venue_city = :city, "
+            + "venue_city_key = LOWER(:city), venue_capacity = :capacity WHERE venue_id = :venueId";
+
+    private static final String DELETE_VENUE_SQL = "DELETE FROM event_view WHERE venue_id = :venueId";
+
+    private static final String DELETE_VENUE_CATEGORIES_SQL = "DELETE FROM event_view_category "
+            + "WHERE venue_id = :venueId";
+
+    private static final String SELECT_IDS_SQL = "SELECT id FROM events WHERE id > :after ORDER BY id LIMIT :limit";
+
+    private static final String DELETE_ORPHANS_SQL = "DELETE FROM event_view "
+            + "WHERE NOT EXISTS (SELECT 1 FROM events e WHERE e.id = event_view.event_id)";
+
+    private static final String DELETE_ORPHAN_CATEGORIES_SQL = "DELETE FROM event_view_category "
+            + "WHERE NOT EXISTS (SELECT 1 FROM events e WHERE e.id = event_view_category.event_id)";
+
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventRepository eventRepository;
+    private final EventViewRepository eventViewRepository;
+    private final boolean rebuildOnStartup;
+    private final int chunkSize;
+
+    public EventReadModel(NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            EventRepository eventRepository,
+            EventViewRepository eventViewRepository,
+            @Value("${readmodel.rebuild-on-startup:true}") boolean rebuildOnStartup,
+            @Value("${readmodel.chunk-size:1000}") int chunkSize) {
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventRepository = eventRepository;
+        this.eventViewRepository = eventViewRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Vuelve a copiar las filas de estos eventos desde las tablas
+     * normalizadas. Los IDs que ya no existen quedan sin fila.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventsChanged(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        namedJdbcTemplate.update(DELETE_EVENTS_SQL, params);
+        namedJdbcTemplate.update(DELETE_EVENT_CATEGORIES_SQL, params);
+        namedJdbcTemplate.update(COPY_EVENTS_SQL, params);
+        namedJdbcTemplate.update(COPY_EVENT_CATEGORIES_SQL, params);
+    }
+
+    /**
+     * Quita las filas de estos eventos (borrados o archivados). No relee
+     * events: sirve también con el DELETE JPA aún sin volcar.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventsDeleted(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        namedJdbcTemplate.update(DELETE_EVENTS_SQL, params);
+        namedJdbcTemplate.update(DELETE_EVENT_CATEGORIES_SQL, params);
+    }
+
+    /**
+     * Copia los nuevos datos del venue en todas las filas de sus eventos (un
+     * UPDATE por índice de venue_id). event_view_category no lleva datos del
+     * venue.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void venueChanged(Long venueId, String name, String city, Integer capacity) {
+        namedJdbcTemplate.update(UPDATE_VENUE_SQL, new MapSqlParameterSource()
+                .addValue("venueId", venueId)
+                .addValue("name", name)
+                .addValue("city", city)
+                .addValue("capacity", capacity));
+    }
+
+    /**
+     * Quita las filas de todos los eventos del venue (la cascada de la
+     * tabla caliente).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void venueDeleted(Long venueId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("venueId", venueId);
+        namedJdbcTemplate.update(DELETE_VENUE_SQL, params);
+        namedJdbcTemplate.update(DELETE_VENUE_CATEGORIES_SQL, params);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        long events = eventRepository.count();
+        long rows = eventViewRepository.count();
+        if (events != rows) {
+            log.info("Modelo de lectura desactualizado ({} filas para {} eventos): reconstruyendo", rows, events);
+            rebuild();
+        }
+    }
+
+    /**
+     * Reconstruye la vista completa por bloques de readmodel.chunk-size
+     * eventos, cada uno en su propia transacción: la vista no se vacía en
+     * ningún momento, solo se reescriben las filas del bloque. Al final se
+     * borran las filas de eventos que ya no existen.
+     *
+     * @return número de eventos copiados
+     */
+    public int rebuild() {
+        long start = System.nanoTime();
+        int total = 0;
+        long after = 0;
+        while (true) {
+            long from = after;
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> chunk = namedJdbcTemplate.queryForList(SELECT_IDS_SQL, new MapSqlParameterSource()
+                        .addValue("after", from)
+                        .addValue("limit", chunkSize), Long.class);
+                eventsChanged(chunk);
+                return chunk;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            total += ids.size();
+            after = ids.get(ids.size() - 1);
+            if (ids.size() < chunkSize) {
+                break;
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            namedJdbcTemplate.update(DELETE_ORPHANS_SQL, new MapSqlParameterSource());
+            namedJdbcTemplate.update(DELETE_ORPHAN_CATEGORIES_SQL, new MapSqlParameterSource());
+        });
+        log.info("Modelo de lectura reconstruido: {} eventos en {} ms", total, (System.nanoTime() - start) / 1_000_000);
+        return total;
+    }
+}
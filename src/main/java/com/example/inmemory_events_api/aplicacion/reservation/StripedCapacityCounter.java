@@ -0,0 +1,130 @@
+package com.example.inmemory_events_api.aplicacion.reservation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Contador de asientos disponibles repartido en varias "franjas" (stripes)
+ * atómicas para repartir la contención entre núcleos.
+ *
+ * Invariante: ninguna franja baja nunca de 0 (cada descuento es un
+ * compareAndSet condicionado a que haya saldo suficiente), por lo que la
+ * suma de todas las franjas nunca es negativa y es imposible vender más
+ * asientos de los que hay (overselling).
+ *
+ * - Camino rápido: el hilo descuenta de "su" franja (o de la primera con
+ * saldo suficiente) con un único CAS.
+ * - Camino lento: si ninguna franja tiene saldo suficiente por sí sola, se
+ * recogen asientos de varias franjas; si no se completa la cantidad, se
+ * devuelven. Mientras tanto otro hilo puede ver menos saldo del real y
+ * fallar: es conservador, nunca vende de más.
+ *
+ * Cada franja ocupa su propia línea de caché (padding) para evitar false
+ * sharing entre núcleos.
+ */
+public class StripedCapacityCounter {
+
+    /** 8 longs = 64 bytes: una línea de caché por franja. */
+    private static final int PADDING = 8;
+
+    private final int stripeCount;
+    private final AtomicLongArray cells;
+
+    public StripedCapacityCounter(long capacity, int stripeCount) {
+        this.stripeCount = Math.max(1, stripeCount);
+        this.cells = new AtomicLongArray(this.stripeCount * PADDING);
+        long share = Math.max(0, capacity) / this.stripeCount;
+        long remainder = Math.max(0, capacity) % this.stripeCount;
+        for (int i = 0; i < this.stripeCount; i++) {
+            cells.set(i * PADDING, share + (i < remainder ? 1 : 0));
+        }
+    }
+
+    /**
+     * Intenta descontar {@code quantity} asientos.
+     *
+     * @return true si se descontaron; false si no hay asientos suficientes
+     */
+    public boolean tryAcquire(int quantity) {
+        int home = homeStripe();
+
+        // Camino rápido: una sola franja con saldo suficiente
+        for (int i = 0; i < stripeCount; i++) {
+            int index = ((home + i) % stripeCount) * PADDING;
+            long current;
+            while ((current = cells.get(index)) >= quantity) {
+                if (cells.compareAndSet(index, current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        // Camino lento: reunir la cantidad de varias franjas
+        long[] taken = new long[stripeCount];
+        long remaining = quantity;
+        for (int i = 0; i < stripeCount && remaining > 0; i++) {
+            int index = i * PADDING;
+            long current;
+            while ((current = cells.get(index)) > 0) {
+                long take = Math.min(current, remaining);
+                if (cells.compareAndSet(index, current, current - take)) {
+                    taken[i] = take;
+                    remaining -= take;
+                    break;
+                }
+            }
+        }
+        if (remaining == 0) {
+            return true;
+        }
+
+        // No había suficiente: devolver lo recogido
+        for (int i = 0; i < stripeCount; i++) {
+            if (taken[i] > 0) {
+                cells.addAndGet(i * PADDING, taken[i]);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Añade asientos (un bloque recién cedido a esta instancia).
+     */
+    public void release(long quantity) {
+        if (quantity > 0) {
+            cells.addAndGet(homeStripe() * PADDING, quantity);
+        }
+    }
+
+    /**
+     * Retira todos los asientos disponibles (para devolverlos al reparto
+     * global). Cada franja se vacía con un CAS, así que un asiento retirado
+     * no puede venderse a la vez desde otro hilo.
+     *
+     * @return los asientos retirados
+     */
+    public long drain() {
+        long drained = 0;
+        for (int i = 0; i < stripeCount; i++) {
+            drained += cells.getAndSet(i * PADDING, 0);
+        }
+        return drained;
+    }
+
+    /**
+     * Asientos disponibles (suma de las franjas; aproximada si hay
+     * operaciones concurrentes en curso).
+     */
+    public long available() {
+        long sum = 0;
+        for (int i = 0; i < stripeCount; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    private int homeStripe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash >>> 16) % stripeCount;
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.inmemory_events_api.aplicacion.resilience;
+
+import com.example.inmemory_events_api.dominio.exception.StorageUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker alrededor de una clase de lectura de la base de datos
+ * (ResilientReads crea uno por cada LastKnownGoodCache): un listado
+ * completo lento o fallido no corta las lecturas por ID, que pueden seguir
+ * sanas.
+ *
+ * - CLOSED: las llamadas pasan; se guarda el resultado de las últimas
+ * window-size. Con al menos minimum-calls y una tasa de fallos >=
+ * failure-rate-threshold, se abre.
+ * - OPEN: las llamadas fallan al instante con StorageUnavailableException
+ * (sin esperar al timeout del pool) durante open-duration.
+ * - HALF_OPEN: pasan hasta half-open-calls llamadas de prueba; si todas van
+ * bien se cierra, y con el primer fallo vuelve a abrirse.
+ *
+ * Cuenta como fallo un error de disponibilidad del almacenamiento (conexión,
+ * pool, timeout, lock; ver {@link #isStorageFailure}) y también una llamada
+ * que tarda más de slow-call-threshold: una base de datos atascada no
+ * falla, se queda colgada. El resto de excepciones (no encontrado, datos
+ * inválidos...) son respuestas de una base de datos sana.
+ *
+ * Cada cambio de estado abre una generación nueva y cada llamada anota su
+ * resultado solo si la generación no ha cambiado desde que empezó: una
+ * prueba de un HALF_OPEN anterior (o una llamada de un CLOSED anterior) que
+ * termina tarde no cuenta para el estado actual.
+ */
+public class DatabaseCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final String name;
+    private final boolean enabled;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    // Estado protegido por this; cada sección crítica son unas pocas asignaciones
+    private final boolean[] window;
+    private int windowCount;
+    private int windowNext;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+
+    private final Counter rejected;
+    private final Counter opened;
+
+    /**
+     * @param name nombre de la lectura en los logs y las métricas
+     *             (db.circuit.*{read=name})
+     */
+    public DatabaseCircuitBreaker(String name, boolean enabled, int windowSize, int minimumCalls,
+            double failureRateThreshold, Duration slowCallThreshold, Duration openDuration, int halfOpenCalls,
+            MeterRegistry meterRegistry) {
+        this.name = name;
+        this.enabled = enabled;
+        this.window = new boolean[Math.max(windowSize, 1)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(halfOpenCalls, 1);
+
+        this.rejected = Counter.builder("db.circuit.rejected").tag("read", name)
+                .description("Llamadas rechazadas al instante con el circuito abierto").register(meterRegistry);
+        this.opened = Counter.builder("db.circuit.opened").tag("read", name)
+                .description("Veces que se ha abierto el circuito").register(meterRegistry);
+        Gauge.builder("db.circuit.state", this, breaker -> breaker.state().ordinal()).tag("read", name)
+                .description("0 = CLOSED, 1 = HALF_OPEN, 2 = OPEN").register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta call si el circuito lo permite y anota su resultado.
+     *
+     * @throws StorageUnavailableException si el circuito está abierto (o ya
+     *                                     hay half-open-calls pruebas en curso)
+     */
+    public <T> T execute(Supplier<T> call) {
+        if (!enabled) {
+            return call.get();
+        }
+        long permit = acquire();
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            record(permit, !isStorageFailure(e));
+            throw e;
+        }
+        record(permit, System.nanoTime() - start < slowCallNanos);
+        return result;
+    }
+
+    /**
+     * Sin la espera de OPEN cumplida no se prueba la base de datos: lo usa
+     * el refresco anticipado para no gastar las llamadas de prueba.
+     */
+    public synchronized boolean isCallPermitted() {
+        return !enabled || state == State.CLOSED
+                || state == State.OPEN && System.nanoTime() - openedAt >= openNanos;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Error de disponibilidad del almacenamiento (en la excepción o en sus
+     * causas): sin conexión, pool agotado, timeout de sentencia o de
+     * transacción, interbloqueo. También el rechazo del propio circuito.
+     */
+    public static boolean isStorageFailure(Throwable error) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current instanceof StorageUnavailableException
+                    || current instanceof DataAccessResourceFailureException
+                    || current instanceof TransientDataAccessException
+                    || current instanceof CannotCreateTransactionException
+                    || current instanceof TransactionTimedOutException
+                    || current instanceof SQLTransientException
+                    || current instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return generación en la que entra la llamada (una prueba si el
+     *         estado es HALF_OPEN)
+     */
+    private synchronized long acquire() {
+        if (state == State.OPEN) {
+            long remaining = openNanos - (System.nanoTime() - openedAt);
+            if (remaining > 0) {
+                rejected.increment();
+                throw unavailable(remaining);
+            }
+            transition(State.HALF_OPEN);
+            probesInFlight = 0;
+            probeSuccesses = 0;
+            log.info("Circuito de {} en HALF_OPEN: probando con {} llamadas", name, halfOpenCalls);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight + probeSuccesses >= halfOpenCalls) {
+                rejected.increment();
+                throw unavailable(0);
+            }
+            probesInFlight++;
+        }
+        return generation;
+    }
+
+    private synchronized void record(long permit, boolean success) {
+        if (permit != generation) {
+            // Empezó antes del último cambio de estado
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            probesInFlight--;
+            if (!success) {
+                open("una llamada de prueba ha fallado");
+            } else if (++probeSuccesses >= halfOpenCalls) {
+                transition(State.CLOSED);
+                resetWindow();
+                log.info("Circuito de {} CLOSED: las llamadas de prueba han ido bien", name);
+            }
+            return;
+        }
+        if (windowCount == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowNext] = !success;
+        if (!success) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+        if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+            open(windowFailures + " de las últimas " + windowCount + " llamadas han fallado o han sido lentas");
+        }
+    }
+
+    private void open(String reason) {
+        transition(State.OPEN);
+        openedAt = System.nanoTime();
+        resetWindow();
+        opened.increment();
+        log.warn("Circuito de {} OPEN durante {} ms: {}", name, TimeUnit.NANOSECONDS.toMillis(openNanos), reason);
+    }
+
+    private void transition(State next) {
+        state = next;
+        generation++;
+    }
+
+    private void resetWindow() {
+        windowCount = 0;
+        windowNext = 0;
+        windowFailures = 0;
+    }
+
+    private static StorageUnavailableException unavailable(long remainingNanos) {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        return new StorageUnavailableException(
+                "La base de datos no está disponible (circuit breaker abierto); reintenta en " + seconds + " s",
+                seconds);
+    }
+}
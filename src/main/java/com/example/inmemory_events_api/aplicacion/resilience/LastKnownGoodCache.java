@@ -0,0 +1,187 @@
+package com.example.inmemory_events_api.aplicacion.resilience;
+
+import com.example.inmemory_events_api.dominio.exception.StorageUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Última copia buena de cada lectura ("stale-while-revalidate").
+ *
+ * - Mientras la copia tiene menos de fresh-for se responde con ella sin ir
+ * a la base de datos (con fresh-for = 0, cada lectura va a la base de
+ * datos y la copia solo sirve de respaldo).
+ * - Si la carga falla por un problema de almacenamiento o el circuito está
+ * abierto, se responde con la copia si tiene menos de max-stale, y se anota
+ * en la petición (StaleReads). Sin copia, el error llega al cliente.
+ * - refreshAhead() recarga en segundo plano las copias leídas desde su
+ * última carga que están a punto de dejar de ser frescas, para que las
+ * claves calientes no esperen a la base de datos.
+ *
+ * Las escrituras invalidan la copia (como las llamadas coalescidas): tras
+ * un cambio nunca se sirve la versión anterior, tampoco como respaldo. El
+ * valor se comparte entre hilos y no debe modificarse.
+ *
+ * @param <K> tipo de la clave
+ * @param <V> tipo del resultado
+ */
+public class LastKnownGoodCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(LastKnownGoodCache.class);
+
+    private static final class Entry<V> {
+        final V value;
+        final long loadedAt;
+        volatile long lastAccess;
+
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.lastAccess = loadedAt;
+        }
+    }
+
+    private final String name;
+    private final Function<K, V> loader;
+    private final DatabaseCircuitBreaker breaker;
+    private final long freshNanos;
+    private final long refreshAtNanos;
+    private final long maxStaleNanos;
+    private final int maxEntries;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    /**
+     * Se incrementa con cada invalidación: una carga que empezó antes no
+     * puede guardar su resultado (ya viejo) después.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter freshHits;
+    private final Counter staleServed;
+    private final Counter refreshes;
+
+    LastKnownGoodCache(String name, Function<K, V> loader, DatabaseCircuitBreaker breaker, long freshNanos,
+            double refreshAhead, long maxStaleNanos, int maxEntries, Counter freshHits, Counter staleServed,
+            Counter refreshes) {
+        this.name = name;
+        this.loader = loader;
+        this.breaker = breaker;
+        this.freshNanos = freshNanos;
+        this.refreshAtNanos = (long) (freshNanos * refreshAhead);
+        this.maxStaleNanos = maxStaleNanos;
+        this.maxEntries = maxEntries;
+        this.freshHits = freshHits;
+        this.staleServed = staleServed;
+        this.refreshes = refreshes;
+    }
+
+    public V get(K key) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now - entry.loadedAt < freshNanos) {
+            entry.lastAccess = now;
+            freshHits.increment();
+            return entry.value;
+        }
+        try {
+            return load(key, now);
+        } catch (RuntimeException e) {
+            if (!DatabaseCircuitBreaker.isStorageFailure(e)) {
+                throw e;
+            }
+            Entry<V> fallback = entries.get(key);
+            if (fallback == null || System.nanoTime() - fallback.loadedAt >= maxStaleNanos) {
+                throw e;
+            }
+            fallback.lastAccess = now;
+            staleServed.increment();
+            StaleReads.record(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - fallback.loadedAt),
+                    e instanceof StorageUnavailableException ? "circuit-open" : "storage-error");
+            return fallback.value;
+        }
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Recarga las copias leídas desde su última carga cuya edad ya pasa de
+     * fresh-for × refresh-ahead (como mucho maxRefreshes). No hace nada con
+     * fresh-for = 0 ni con el circuito abierto: las llamadas de prueba son
+     * para el tráfico real.
+     *
+     * @return copias recargadas
+     */
+    int refreshAhead(int maxRefreshes) {
+        if (freshNanos <= 0 || maxRefreshes <= 0) {
+            return 0;
+        }
+        int refreshed = 0;
+        for (Map.Entry<K, Entry<V>> candidate : entries.entrySet()) {
+            if (refreshed >= maxRefreshes || !breaker.isCallPermitted()) {
+                break;
+            }
+            Entry<V> entry = candidate.getValue();
+            long now = System.nanoTime();
+            if (now - entry.loadedAt < refreshAtNanos || entry.lastAccess <= entry.loadedAt) {
+                continue;
+            }
+            try {
+                load(candidate.getKey(), now);
+                refreshes.increment();
+                refreshed++;
+            } catch (RuntimeException e) {
+                // La copia actual sigue sirviendo de respaldo
+                log.debug("No se pudo refrescar {} en {}: {}", candidate.getKey(), name, e.toString());
+            }
+        }
+        return refreshed;
+    }
+
+    private V load(K key, long now) {
+        long loadGeneration = generation.get();
+        V value = loader.apply(key);
+        if (generation.get() == loadGeneration) {
+            entries.put(key, new Entry<>(value, System.nanoTime()));
+            if (entries.size() > maxEntries) {
+                evict(now);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Primero las copias que ya no servirían de respaldo y, si no basta, las
+     * menos usadas recientemente que encuentre (tope aproximado, como el de
+     * SingleFlight).
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> now - entry.loadedAt >= maxStaleNanos);
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        long oldestAccess = now - maxStaleNanos / 2;
+        entries.values().removeIf(entry -> entry.lastAccess < oldestAccess);
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
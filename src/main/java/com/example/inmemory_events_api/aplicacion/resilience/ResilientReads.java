@@ -0,0 +1,109 @@
+package com.example.inmemory_events_api.aplicacion.resilience;
+
+import com.example.inmemory_events_api.aplicacion.coalescing.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Lecturas resistentes a caídas de la base de datos: crea las
+ * LastKnownGoodCache de los casos de uso y refresca por adelantado sus
+ * claves calientes.
+ *
+ * Cada lectura queda en capas: copia de respaldo → llamada coalescida
+ * (SingleFlight) → circuit breaker → repositorio. El breaker va dentro de
+ * la llamada coalescida para que N peticiones esperando la misma consulta
+ * cuenten como una sola llamada (lenta o fallida).
+ *
+ * Cada lectura tiene su propio breaker (mismos resilience.breaker.*):
+ * los listados completos y las lecturas por ID fallan y tardan de forma
+ * distinta, y uno no debe abrir el circuito del otro.
+ */
+@Component
+public class ResilientReads {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean breakerEnabled;
+    private final int breakerWindowSize;
+    private final int breakerMinimumCalls;
+    private final double breakerFailureRateThreshold;
+    private final Duration breakerSlowCallThreshold;
+    private final Duration breakerOpenDuration;
+    private final int breakerHalfOpenCalls;
+    private final long freshNanos;
+    private final double refreshAhead;
+    private final long maxStaleNanos;
+    private final int maxEntries;
+    private final int maxRefreshesPerCycle;
+    private final List<LastKnownGoodCache<?, ?>> caches = new CopyOnWriteArrayList<>();
+
+    public ResilientReads(@Value("${resilience.breaker.enabled:true}") boolean breakerEnabled,
+            @Value("${resilience.breaker.window-size:50}") int breakerWindowSize,
+            @Value("${resilience.breaker.minimum-calls:20}") int breakerMinimumCalls,
+            @Value("${resilience.breaker.failure-rate-threshold:0.5}") double breakerFailureRateThreshold,
+            @Value("${resilience.breaker.slow-call-threshold:2s}") Duration breakerSlowCallThreshold,
+            @Value("${resilience.breaker.open-duration:10s}") Duration breakerOpenDuration,
+            @Value("${resilience.breaker.half-open-calls:3}") int breakerHalfOpenCalls,
+            @Value("${resilience.read-cache.fresh-for:0ms}") Duration freshFor,
+            @Value("${resilience.read-cache.refresh-ahead:0.8}") double refreshAhead,
+            @Value("${resilience.read-cache.max-stale:10m}") Duration maxStale,
+            @Value("${resilience.read-cache.max-entries:10000}") int maxEntries,
+            @Value("${resilience.read-cache.max-refreshes-per-cycle:200}") int maxRefreshesPerCycle,
+            MeterRegistry meterRegistry) {
+        this.breakerEnabled = breakerEnabled;
+        this.breakerWindowSize = breakerWindowSize;
+        this.breakerMinimumCalls = breakerMinimumCalls;
+        this.breakerFailureRateThreshold = breakerFailureRateThreshold;
+        this.breakerSlowCallThreshold = breakerSlowCallThreshold;
+        this.breakerOpenDuration = breakerOpenDuration;
+        this.breakerHalfOpenCalls = breakerHalfOpenCalls;
+        this.meterRegistry = meterRegistry;
+        this.freshNanos = freshFor.toNanos();
+        this.refreshAhead = refreshAhead;
+        this.maxStaleNanos = maxStale.toNanos();
+        this.maxEntries = maxEntries;
+        this.maxRefreshesPerCycle = maxRefreshesPerCycle;
+    }
+
+    /**
+     * @param name   nombre de la lectura en las métricas (readcache.*{cache=name}
+     *               y db.circuit.*{read=name})
+     * @param flight coalescencia de la lectura
+     * @param query  consulta al repositorio
+     */
+    public <K, V> LastKnownGoodCache<K, V> cache(String name, SingleFlight<K, V> flight, Function<K, V> query) {
+        DatabaseCircuitBreaker breaker = new DatabaseCircuitBreaker(name, breakerEnabled, breakerWindowSize,
+                breakerMinimumCalls, breakerFailureRateThreshold, breakerSlowCallThreshold, breakerOpenDuration,
+                breakerHalfOpenCalls, meterRegistry);
+        LastKnownGoodCache<K, V> cache = new LastKnownGoodCache<>(name,
+                key -> flight.execute(key, () -> breaker.execute(() -> query.apply(key))),
+                breaker, freshNanos, refreshAhead, maxStaleNanos, maxEntries,
+                counter("readcache.fresh.hits", name, "Lecturas respondidas con una copia fresca"),
+                counter("readcache.stale.served", name, "Lecturas respondidas con la copia de respaldo"),
+                counter("readcache.refreshes", name, "Copias recargadas por adelantado"));
+        Gauge.builder("readcache.size", cache, LastKnownGoodCache::size).tag("cache", name)
+                .register(meterRegistry);
+        caches.add(cache);
+        return cache;
+    }
+
+    @Scheduled(fixedDelayString = "${resilience.read-cache.refresh-interval-ms:1000}")
+    public void refreshAhead() {
+        int budget = maxRefreshesPerCycle;
+        for (LastKnownGoodCache<?, ?> cache : caches) {
+            budget -= cache.refreshAhead(budget);
+        }
+    }
+
+    private Counter counter(String meter, String cache, String description) {
+        return Counter.builder(meter).tag("cache", cache).description(description).register(meterRegistry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.inmemory_events_api.aplicacion.resilience;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Anota en la petición HTTP en curso que se ha respondido con una copia
+ * de respaldo (LastKnownGoodCache). El adaptador web lo convierte en las
+ * cabeceras Age y X-Stale-Reason. Fuera de una petición (tareas
+ * programadas, arnés de carga) no hace nada.
+ */
+public final class StaleReads {
+
+    /** Antigüedad (segundos, Long) de la copia más vieja usada en la petición. */
+    public static final String AGE_ATTRIBUTE = StaleReads.class.getName() + ".age";
+
+    /** circuit-open o storage-error. */
+    public static final String REASON_ATTRIBUTE = StaleReads.class.getName() + ".reason";
+
+    private StaleReads() {
+    }
+
+    static void record(long ageSeconds, String reason) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Object previous = attributes.getAttribute(AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (previous instanceof Long previousAge && previousAge >= ageSeconds) {
+            return;
+        }
+        attributes.setAttribute(AGE_ATTRIBUTE, ageSeconds, RequestAttributes.SCOPE_REQUEST);
+        attributes.setAttribute(REASON_ATTRIBUTE, reason, RequestAttributes.SCOPE_REQUEST);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.inmemory_events_api.aplicacion.scan;
+
+import com.example.inmemory_events_api.dominio.model.EventStatsDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.EventColumnView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Motor de consultas analíticas sobre una proyección columnar de los
+ * eventos ({@link EventColumns}).
+ *
+ * - La proyección se construye desde la base de datos (en streaming) al
+ * arrancar y se reconstruye, cada scan.refresh-interval-ms, solo si hubo
+ * escrituras ({@link #markStale()}). Las consultas leen la última
+ * proyección publicada sin bloquearse: pueden ir unos segundos por detrás.
+ * - Cada criterio del {@link ScanQuery} se evalúa sobre su columna con el
+ * {@link ScanKernel} (SIMD si está disponible) y se combina en un bitmap de
+ * selección (AND); después se cuentan los bits.
+ */
+@Service
+public class EventScanEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(EventScanEngine.class);
+
+    private final EventRepository eventRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ScanKernel kernel;
+
+    private volatile EventColumns columns;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    public EventScanEngine(EventRepository eventRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${scan.vector.enabled:true}") boolean vectorEnabled) {
+        this.eventRepository = eventRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.kernel = ScanKernels.select(vectorEnabled);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    /**
+     * Marca la proyección como desactualizada (llamar tras el commit de una
+     * escritura de eventos o venues).
+     */
+    public void markStale() {
+        stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${scan.refresh-interval-ms:5000}")
+    public void refreshIfStale() {
+        if (stale.get()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Reconstruye la proyección. La marca se limpia antes de leer, así que
+     * una escritura concurrente vuelve a marcarla y no se pierde.
+     */
+    public synchronized void refresh() {
+        stale.set(false);
+        long start = System.nanoTime();
+        EventColumns built = readOnlyTransaction.execute(status -> {
+            EventColumns.Builder builder = new EventColumns.Builder((int) Math.min(eventRepository.count(), 1 << 24));
+            try (Stream<EventColumnView> rows = eventRepository.streamColumnViews()) {
+                rows.forEach(row -> builder.add(row.getId(),
+                        row.getDate() != null ? (int) row.getDate().toEpochDay() : EventColumns.NO_DATE,
+                        row.getStatus() != null ? (byte) row.getStatus().ordinal() : EventColumns.NO_STATUS,
+                        row.getVenueId() != null ? row.getVenueId() : EventColumns.NO_VENUE,
+                        row.getCity()));
+            }
+            return builder.build();
+        });
+        columns = built;
+        log.debug("Proyección columnar reconstruida: {} eventos en {} ms", built.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public long count(ScanQuery query) {
+        long[] selection = select(columns(), query);
+        long count = 0;
+        for (long word : selection) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Número de eventos que cumplen el filtro, total y por venue.
+     */
+    public EventStatsDTO stats(ScanQuery query) {
+        EventColumns current = columns();
+        long[] selection = select(current, query);
+        Map<Long, Long> byVenue = new HashMap<>();
+        long count = 0;
+        for (int word = 0; word < selection.length; word++) {
+            for (long bits = selection[word]; bits != 0; bits &= bits - 1) {
+                long venueId = current.venueId[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                byVenue.merge(venueId, 1L, Long::sum);
+                count++;
+            }
+        }
+        return new EventStatsDTO(count, byVenue, current.size(), current.builtAt());
+    }
+
+    private EventColumns columns() {
+        EventColumns current = columns;
+        if (current == null) {
+            refresh();
+            current = columns;
+        }
+        return current != null ? current : EventColumns.EMPTY;
+    }
+
+    private long[] select(EventColumns columns, ScanQuery query) {
+        int size = columns.size;
+        long[] selection = new long[(size + 63) >>> 6];
+        Arrays.fill(selection, -1L);
+        if ((size & 63) != 0) {
+            selection[selection.length - 1] = (1L << size) - 1;
+        }
+
+        if (query.from() != null || query.to() != null) {
+            int min = query.from() != null ? (int) query.from().toEpochDay() : EventColumns.NO_DATE + 1;
+            int max = query.to() != null ? (int) query.to().toEpochDay() : Integer.MAX_VALUE;
+            kernel.andIntBetween(columns.epochDay, size, min, max, selection);
+        }
+        if (query.status() != null) {
+            kernel.andByteEquals(columns.status, size, query.status(), selection);
+        }
+        if (query.venueId() != null) {
+            kernel.andLongEquals(columns.venueId, size, query.venueId(), selection);
+        }
+        if (query.city() != null) {
+            int cityCode = columns.cityCode(query.city());
+            if (cityCode == EventColumns.NO_CITY) {
+                Arrays.fill(selection, 0L);
+            } else {
+                kernel.andIntEquals(columns.cityId, size, cityCode, selection);
+            }
+        }
+        return selection;
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.inmemory_events_api.aplicacion.scan;
+
+/**
+ * Implementación escalar. Se usa si el módulo jdk.incubator.vector no está
+ * disponible.
+ *
+ * Sin saltos por fila: cada bloque de 64 filas se evalúa en una palabra
+ * local (comparaciones que el JIT traduce a cmov/setcc) y se aplica al
+ * bitmap con un único AND.
+ */
+final class ScalarScanKernel implements ScanKernel {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public void andIntBetween(int[] column, int size, int min, int max, long[] selection) {
+        for (int word = 0, base = 0; base < size; word++, base += 64) {
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int j = 0; j < end; j++) {
+                int value = column[base + j];
+                bits |= (value >= min & value <= max ? 1L : 0L) << j;
+            }
+            selection[word] &= bits | tail(end);
+        }
+    }
+
+    @Override
+    public void andIntEquals(int[] column, int size, int value, long[] selection) {
+        for (int word = 0, base = 0; base < size; word++, base += 64) {
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int j = 0; j < end; j++) {
+                bits |= (column[base + j] == value ? 1L : 0L) << j;
+            }
+            selection[word] &= bits | tail(end);
+        }
+    }
+
+    @Override
+    public void andByteEquals(byte[] column, int size, byte value, long[] selection) {
+        for (int word = 0, base = 0; base < size; word++, base += 64) {
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int j = 0; j < end; j++) {
+                bits |= (column[base + j] == value ? 1L : 0L) << j;
+            }
+            selection[word] &= bits | tail(end);
+        }
+    }
+
+    @Override
+    public void andLongEquals(long[] column, int size, long value, long[] selection) {
+        for (int word = 0, base = 0; base < size; word++, base += 64) {
+            int end = Math.min(64, size - base);
+            long bits = 0;
+            for (int j = 0; j < end; j++) {
+                bits |= (column[base + j] == value ? 1L : 0L) << j;
+            }
+            selection[word] &= bits | tail(end);
+        }
+    }
+
+    /**
+     * Bits posteriores a size en la última palabra: no se tocan, igual que
+     * en la implementación vectorial.
+     */
+    private static long tail(int end) {
+        return end == 64 ? 0L : -1L << end;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.inmemory_events_api.aplicacion.scan;
+
+/**
+ * Evaluación de predicados sobre una columna. Cada operación deja a 0, en
+ * el bitmap de selección, los bits de las filas que no cumplen (AND).
+ *
+ * Bitmap: fila i → bit (i % 64) de la palabra i / 64.
+ */
+interface ScanKernel {
+
+    String name();
+
+    /** Filas con min &lt;= column[i] &lt;= max. */
+    void andIntBetween(int[] column, int size, int min, int max, long[] selection);
+
+    void andIntEquals(int[] column, int size, int value, long[] selection);
+
+    void andByteEquals(byte[] column, int size, byte value, long[] selection);
+
+    void andLongEquals(long[] column, int size, long value, long[] selection);
+}
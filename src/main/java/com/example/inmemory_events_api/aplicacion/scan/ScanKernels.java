@@ -0,0 +1,41 @@
+package com.example.inmemory_events_api.aplicacion.scan;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Elige la implementación de {@link ScanKernel}.
+ *
+ * La Vector API es un módulo incubadora: solo está disponible si la JVM se
+ * arranca con --add-modules jdk.incubator.vector. Sin él, cargar
+ * VectorScanKernel fallaría, así que se comprueba el módulo antes y la
+ * clase se carga por nombre.
+ */
+final class ScanKernels {
+
+    private static final Logger log = LoggerFactory.getLogger(ScanKernels.class);
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private ScanKernels() {
+    }
+
+    static ScanKernel select(boolean vectorEnabled) {
+        if (vectorEnabled && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                ScanKernel kernel = (ScanKernel) Class
+                        .forName(ScanKernels.class.getPackageName() + ".VectorScanKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+                log.info("Motor columnar: kernel {}", kernel.name());
+                return kernel;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("No se pudo cargar el kernel vectorial; se usa el escalar", e);
+            }
+        } else if (vectorEnabled) {
+            log.info("Motor columnar: kernel escalar (arranca la JVM con --add-modules {} para SIMD)",
+                    VECTOR_MODULE);
+        }
+        return new ScalarScanKernel();
+    }
+}
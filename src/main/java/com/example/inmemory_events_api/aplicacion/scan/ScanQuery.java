@@ -0,0 +1,68 @@
+package com.example.inmemory_events_api.aplicacion.scan;
+
+import java.time.LocalDate;
+
+/**
+ * Filtro para el motor columnar, equivalente a combinar con AND las
+ * EventSpecifications correspondientes:
+ * - dateBetween / dateAfter / dateBefore / isFuture / isPast → rango de días
+ * - hasStatus / isActive → status
+ * - hasVenueId → venueId
+ * - inCity → ciudad (igualdad sin distinguir mayúsculas)
+ *
+ * Los límites de fecha son inclusivos; un criterio null no filtra.
+ */
+public final class ScanQuery {
+
+    private LocalDate from;
+    private LocalDate to;
+    private Byte status;
+    private Long venueId;
+    private String city;
+
+    public static ScanQuery all() {
+        return new ScanQuery();
+    }
+
+    public ScanQuery dateBetween(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    /** Ordinal de EventStatus. */
+    public ScanQuery hasStatus(Integer statusOrdinal) {
+        this.status = statusOrdinal != null ? statusOrdinal.byteValue() : null;
+        return this;
+    }
+
+    public ScanQuery hasVenueId(Long venueId) {
+        this.venueId = venueId;
+        return this;
+    }
+
+    public ScanQuery inCity(String city) {
+        this.city = city != null && !city.isBlank() ? city : null;
+        return this;
+    }
+
+    LocalDate from() {
+        return from;
+    }
+
+    LocalDate to() {
+        return to;
+    }
+
+    Byte status() {
+        return status;
+    }
+
+    Long venueId() {
+        return venueId;
+    }
+
+    String city() {
+        return city;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.inmemory_events_api.aplicacion.scan;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Implementación SIMD con la Vector API (jdk.incubator.vector): compara
+ * tantas filas por instrucción como quepan en el registro vectorial
+ * preferido (p. ej. 16 ints con AVX-512) y convierte la máscara resultante
+ * en bits del bitmap con {@link VectorMask#toLong()}.
+ *
+ * Solo se carga si el módulo está presente (ver {@link ScanKernels}); el
+ * final de cada columna que no llena un vector se evalúa en escalar.
+ */
+final class VectorScanKernel implements ScanKernel {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public String name() {
+        return "vector(" + INTS.vectorBitSize() + " bits)";
+    }
+
+    @Override
+    public void andIntBetween(int[] column, int size, int min, int max, long[] selection) {
+        int lanes = INTS.length();
+        int bound = INTS.loopBound(size);
+        for (int i = 0; i < bound; i += lanes) {
+            IntVector values = IntVector.fromArray(INTS, column, i);
+            VectorMask<Integer> match = values.compare(VectorOperators.GE, min)
+                    .and(values.compare(VectorOperators.LE, max));
+            clear(selection, i, lanes, match.toLong());
+        }
+        for (int i = bound; i < size; i++) {
+            if (column[i] < min || column[i] > max) {
+                selection[i >>> 6] &= ~(1L << i);
+            }
+        }
+    }
+
+    @Override
+    public void andIntEquals(int[] column, int size, int value, long[] selection) {
+        int lanes = INTS.length();
+        int bound = INTS.loopBound(size);
+        for (int i = 0; i < bound; i += lanes) {
+            VectorMask<Integer> match = IntVector.fromArray(INTS, column, i).compare(VectorOperators.EQ, value);
+            clear(selection, i, lanes, match.toLong());
+        }
+        for (int i = bound; i < size; i++) {
+            if (column[i] != value) {
+                selection[i >>> 6] &= ~(1L << i);
+            }
+        }
+    }
+
+    @Override
+    public void andByteEquals(byte[] column, int size, byte value, long[] selection) {
+        int lanes = BYTES.length();
+        int bound = BYTES.loopBound(size);
+        for (int i = 0; i < bound; i += lanes) {
+            VectorMask<Byte> match = ByteVector.fromArray(BYTES, column, i).compare(VectorOperators.EQ, value);
+            clear(selection, i, lanes, match.toLong());
+        }
+        for (int i = bound; i < size; i++) {
+            if (column[i] != value) {
+                selection[i >>> 6] &= ~(1L << i);
+            }
+        }
+    }
+
+    @Override
+    public void andLongEquals(long[] column, int size, long value, long[] selection) {
+        int lanes = LONGS.length();
+        int bound = LONGS.loopBound(size);
+        for (int i = 0; i < bound; i += lanes) {
+            VectorMask<Long> match = LongVector.fromArray(LONGS, column, i).compare(VectorOperators.EQ, value);
+            clear(selection, i, lanes, match.toLong());
+        }
+        for (int i = bound; i < size; i++) {
+            if (column[i] != value) {
+                selection[i >>> 6] &= ~(1L << i);
+            }
+        }
+    }
+
+    /**
+     * Pone a 0 los bits de las filas [row, row + lanes) que no cumplen. Como
+     * lanes es potencia de 2 y &lt;= 64, el bloque nunca cruza de palabra.
+     *
+     * Las colas escalares van escritas en cada método (sin lambdas): un
+     * predicado compartido haría megamórfica la llamada y el JIT dejaría de
+     * compilar bien los bucles vectoriales.
+     */
+    private static void clear(long[] selection, int row, int lanes, long matchBits) {
+        long laneMask = lanes == 64 ? -1L : (1L << lanes) - 1;
+        selection[row >>> 6] &= ~((~matchBits & laneMask) << (row & 63));
+    }
+}
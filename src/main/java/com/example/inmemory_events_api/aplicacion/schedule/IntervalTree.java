@@ -0,0 +1,252 @@
+package com.example.inmemory_events_api.aplicacion.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Árbol de intervalos (AVL aumentado) sobre días epoch, inclusive en ambos
+ * extremos: [start, end].
+ *
+ * Cada nodo guarda el mayor "end" de su subárbol (maxEnd), lo que permite
+ * descartar ramas enteras al buscar solapamientos:
+ * - {@link #findAnyOverlap}: O(log n)
+ * - {@link #findOverlaps}: O(log n + k), con k = número de resultados
+ * - inserción y borrado: O(log n)
+ *
+ * Los nodos se ordenan por (start, id), así que admite intervalos con el
+ * mismo inicio. No es thread-safe: el llamador sincroniza (ver
+ * VenueScheduleIndex).
+ */
+public class IntervalTree {
+
+    /**
+     * Intervalo reservado por un evento.
+     */
+    public static final class Interval {
+        private final long id;
+        private final long start;
+        private final long end;
+
+        public Interval(long id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getStart() {
+            return start;
+        }
+
+        public long getEnd() {
+            return end;
+        }
+
+        boolean overlaps(long from, long to) {
+            return start <= to && from <= end;
+        }
+    }
+
+    private static final class Node {
+        final Interval interval;
+        Node left;
+        Node right;
+        int height = 1;
+        long maxEnd;
+
+        Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    /** Altura del árbol (para comprobar el balanceo). */
+    int height() {
+        return height(root);
+    }
+
+    public void insert(Interval interval) {
+        root = insert(root, interval);
+        size++;
+    }
+
+    /**
+     * Elimina el intervalo (debe ser la misma combinación id/start insertada).
+     */
+    public boolean remove(Interval interval) {
+        int before = size;
+        root = remove(root, interval);
+        return size < before;
+    }
+
+    /**
+     * Primer intervalo que solapa [from, to], ignorando el de
+     * {@code excludeId}; null si no hay ninguno.
+     */
+    public Interval findAnyOverlap(long from, long to, long excludeId) {
+        return findAnyOverlap(root, from, to, excludeId);
+    }
+
+    /**
+     * Todos los intervalos que solapan [from, to], ordenados por inicio.
+     */
+    public List<Interval> findOverlaps(long from, long to) {
+        List<Interval> result = new ArrayList<>();
+        collect(root, from, to, result);
+        return result;
+    }
+
+    /**
+     * Si el subárbol izquierdo alcanza "from" (maxEnd >= from) pero no contiene
+     * ningún solapamiento, su intervalo con mayor "end" empieza después de "to",
+     * y por tanto también el nodo actual y todo el subárbol derecho: la
+     * comprobación de start > to corta la búsqueda y el coste queda en O(log n).
+     */
+    private Interval findAnyOverlap(Node node, long from, long to, long excludeId) {
+        if (node == null || node.maxEnd < from) {
+            return null;
+        }
+        Interval found = findAnyOverlap(node.left, from, to, excludeId);
+        if (found != null) {
+            return found;
+        }
+        if (node.interval.overlaps(from, to) && node.interval.id != excludeId) {
+            return node.interval;
+        }
+        if (node.interval.start > to) {
+            return null;
+        }
+        return findAnyOverlap(node.right, from, to, excludeId);
+    }
+
+    private void collect(Node node, long from, long to, List<Interval> result) {
+        if (node == null || node.maxEnd < from) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (node.interval.overlaps(from, to)) {
+            result.add(node.interval);
+        }
+        if (node.interval.start <= to) {
+            collect(node.right, from, to, result);
+        }
+    }
+
+    // ========== AVL ==========
+
+    private static int compare(Interval a, Interval b) {
+        int byStart = Long.compare(a.start, b.start);
+        return byStart != 0 ? byStart : Long.compare(a.id, b.id);
+    }
+
+    private Node insert(Node node, Interval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+        if (compare(interval, node.interval) < 0) {
+            node.left = insert(node.left, interval);
+        } else {
+            node.right = insert(node.right, interval);
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, Interval interval) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(interval, node.interval);
+        if (cmp < 0) {
+            node.left = remove(node.left, interval);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.interval);
+            replacement.right = removeMin(node.right);
+            replacement.left = node.left;
+            return rebalance(replacement);
+        }
+        return rebalance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.interval.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.inmemory_events_api.aplicacion.schedule;
+
+import com.example.inmemory_events_api.aplicacion.schedule.IntervalTree.Interval;
+import com.example.inmemory_events_api.dominio.exception.ScheduleConflictException;
+import com.example.inmemory_events_api.dominio.model.DateRangeDTO;
+import com.example.inmemory_events_api.dominio.model.ScheduleSlotDTO;
+import com.example.inmemory_events_api.dominio.model.VenueAvailabilityDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.EventScheduleView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria de la ocupación de cada venue, para detectar dobles
+ * reservas sin consultar la base de datos.
+ *
+ * - Un {@link IntervalTree} por venue con los días [inicio, fin] de sus
+ * eventos: comprobar un solapamiento es O(log n) en lugar de recorrer
+ * todos los eventos del venue.
+ * - Comprobar e insertar es atómico por venue (lock del propio venue), así
+ * que dos altas concurrentes sobre el mismo hueco no pueden pasar ambas;
+ * venues distintos no compiten entre sí.
+ * - Se reserva ANTES del commit; si la transacción hace rollback, el
+ * llamador restaura la reserva anterior con {@link #restore}.
+ * - Se construye al arrancar con una proyección (id, venue, fechas).
+ *
+ * IMPORTANTE: el índice es local a cada instancia y solo ve las escrituras
+ * que pasan por EventService / VenueService. Las de otras instancias llegan
+ * por el change-log ({@link #replicate}), con unos segundos de retraso;
+ * si en ese intervalo dos instancias reservan el mismo hueco, el conflicto
+ * se detecta al replicar y se registra (log y métrica
+ * schedule.replication.conflicts).
+ */
+@Component
+public class VenueScheduleIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(VenueScheduleIndex.class);
+
+    /** ID que no coincide con ningún evento (consultas sin evento propio). */
+    private static final long NO_EVENT = Long.MIN_VALUE;
+
+    private final EventRepository eventRepository;
+    private final Map<Long, VenueSchedule> schedules = new ConcurrentHashMap<>();
+    private final Counter replicationConflicts;
+
+    public VenueScheduleIndex(EventRepository eventRepository, MeterRegistry meterRegistry) {
+        this.eventRepository = eventRepository;
+        this.replicationConflicts = Counter.builder("schedule.replication.conflicts")
+                .description("Reservas replicadas de otra instancia que se solapan con otra del mismo venue")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        List<EventScheduleView> views = eventRepository.findAllScheduleViews();
+        for (EventScheduleView view : views) {
+            if (view.getVenueId() == null || view.getStartDate() == null) {
+                continue;
+            }
+            VenueSchedule schedule = scheduleFor(view.getVenueId());
+            Interval interval = toInterval(view.getId(), view.getStartDate(), view.getEndDate());
+            schedule.tree.insert(interval);
+            schedule.byEvent.put(view.getId(), interval);
+        }
+        log.info("Índice de ocupación cargado: {} eventos en {} venues", views.size(), schedules.size());
+    }
+
+    /**
+     * Reserva (o mueve) las fechas de un evento en su venue.
+     *
+     * @param endDate último día, inclusive; null equivale a startDate
+     * @return la reserva anterior del evento (null si no tenía), para
+     *         poder restaurarla con {@link #restore} si hay rollback
+     * @throws ScheduleConflictException si las fechas se solapan con otro
+     *                                   evento del venue
+     */
+    public Interval book(Long venueId, Long eventId, LocalDate startDate, LocalDate endDate) {
+        Interval interval = toInterval(eventId, startDate, endDate);
+        VenueSchedule schedule = scheduleFor(venueId);
+        synchronized (schedule) {
+            Interval conflict = schedule.tree.findAnyOverlap(interval.getStart(), interval.getEnd(), eventId);
+            if (conflict != null) {
+                throw new ScheduleConflictException("El venue " + venueId + " ya tiene el evento "
+                        + conflict.getId() + " entre " + LocalDate.ofEpochDay(conflict.getStart())
+                        + " y " + LocalDate.ofEpochDay(conflict.getEnd()), conflict.getId());
+            }
+            Interval previous = schedule.byEvent.put(eventId, interval);
+            if (previous != null) {
+                schedule.tree.remove(previous);
+            }
+            schedule.tree.insert(interval);
+            return previous;
+        }
+    }
+
+    /**
+     * Deshace un {@link #book}: vuelve a dejar la reserva anterior del
+     * evento (o ninguna si previous es null).
+     */
+    public void restore(Long venueId, Long eventId, Interval previous) {
+        VenueSchedule schedule = scheduleFor(venueId);
+        synchronized (schedule) {
+            Interval current = previous != null
+                    ? schedule.byEvent.put(eventId, previous)
+                    : schedule.byEvent.remove(eventId);
+            if (current != null) {
+                schedule.tree.remove(current);
+            }
+            if (previous != null) {
+                schedule.tree.insert(previous);
+            }
+        }
+    }
+
+    /**
+     * Evento del venue que se solapa con [startDate, endDate], sin reservar
+     * nada (para validar antes de escribir).
+     *
+     * @param endDate último día, inclusive; null equivale a startDate
+     */
+    public Optional<Interval> findConflict(Long venueId, LocalDate startDate, LocalDate endDate) {
+        Interval interval = toInterval(NO_EVENT, startDate, endDate);
+        VenueSchedule schedule = schedules.get(venueId);
+        if (schedule == null) {
+            return Optional.empty();
+        }
+        synchronized (schedule) {
+            return Optional.ofNullable(schedule.tree.findAnyOverlap(interval.getStart(), interval.getEnd(), NO_EVENT));
+        }
+    }
+
+    /**
+     * Aplica la reserva de un evento escrita por otra instancia. La
+     * escritura ya está confirmada en la base de datos, que es la fuente de
+     * verdad, así que se aplica siempre; pero si se solapa con otra reserva
+     * (dos instancias reservaron el mismo hueco antes de verse) se registra
+     * como conflicto para poder resolverlo.
+     */
+    public void replicate(Long venueId, Long eventId, LocalDate startDate, LocalDate endDate) {
+        Interval interval = toInterval(eventId, startDate, endDate);
+        VenueSchedule schedule = scheduleFor(venueId);
+        synchronized (schedule) {
+            Interval conflict = schedule.tree.findAnyOverlap(interval.getStart(), interval.getEnd(), eventId);
+            if (conflict != null) {
+                replicationConflicts.increment();
+                log.warn("Solapamiento replicado en el venue {}: el evento {} ({} - {}) coincide con el evento {} ({} - {})",
+                        venueId, eventId, startDate, LocalDate.ofEpochDay(interval.getEnd()), conflict.getId(),
+                        LocalDate.ofEpochDay(conflict.getStart()), LocalDate.ofEpochDay(conflict.getEnd()));
+            }
+            restore(venueId, eventId, interval);
+        }
+    }
+
+    /**
+     * Libera las fechas de un evento eliminado.
+     */
+    public void unbook(Long venueId, Long eventId) {
+        restore(venueId, eventId, null);
+    }
+
+    /**
+     * Olvida la ocupación de un venue eliminado (sus eventos se eliminan en
+     * cascada).
+     */
+    public void venueDeleted(Long venueId) {
+        schedules.remove(venueId);
+    }
+
+    /**
+     * Ocupación del venue en [from, to] (inclusive): eventos que la
+     * solapan y huecos libres.
+     */
+    public VenueAvailabilityDTO getAvailability(Long venueId, LocalDate from, LocalDate to) {
+        long start = from.toEpochDay();
+        long end = to.toEpochDay();
+        List<Interval> overlaps;
+        VenueSchedule schedule = schedules.get(venueId);
+        if (schedule == null) {
+            overlaps = List.of();
+        } else {
+            synchronized (schedule) {
+                overlaps = schedule.tree.findOverlaps(start, end);
+            }
+        }
+
+        List<ScheduleSlotDTO> bookings = new ArrayList<>(overlaps.size());
+        List<DateRangeDTO> freeRanges = new ArrayList<>();
+        long nextFree = start;
+        // findOverlaps devuelve los intervalos ordenados por inicio
+        for (Interval interval : overlaps) {
+            bookings.add(new ScheduleSlotDTO(interval.getId(),
+                    LocalDate.ofEpochDay(interval.getStart()), LocalDate.ofEpochDay(interval.getEnd())));
+            if (interval.getStart() > nextFree) {
+                freeRanges.add(new DateRangeDTO(LocalDate.ofEpochDay(nextFree),
+                        LocalDate.ofEpochDay(interval.getStart() - 1)));
+            }
+            nextFree = Math.max(nextFree, interval.getEnd() + 1);
+        }
+        if (nextFree <= end) {
+            freeRanges.add(new DateRangeDTO(LocalDate.ofEpochDay(nextFree), to));
+        }
+        return new VenueAvailabilityDTO(venueId, from, to, bookings.isEmpty(), bookings, freeRanges);
+    }
+
+    private VenueSchedule scheduleFor(Long venueId) {
+        return schedules.computeIfAbsent(venueId, id -> new VenueSchedule());
+    }
+
+    private static Interval toInterval(Long eventId, LocalDate startDate, LocalDate endDate) {
+        long start = startDate.toEpochDay();
+        long end = endDate != null ? endDate.toEpochDay() : start;
+        return new Interval(eventId, start, Math.max(start, end));
+    }
+
+    /**
+     * Reservas de un venue. byEvent permite mover o quitar la reserva de un
+     * evento sin buscarla en el árbol. Se accede siempre con el lock del
+     * propio objeto.
+     */
+    private static final class VenueSchedule {
+        final IntervalTree tree = new IntervalTree();
+        final Map<Long, Interval> byEvent = new HashMap<>();
+    }
+}
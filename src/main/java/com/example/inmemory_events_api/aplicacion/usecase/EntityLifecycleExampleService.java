@@ -18,6 +18,14 @@ import java.util.List;
  * 
  * IMPORTANTE: Todos los métodos son @Transactional para manejar correctamente
  * las relaciones LAZY y asegurar que los cambios se persistan.
+ *
+ * Estos ejemplos usan JPA en todos los modos de almacenamiento: su
+ * atomicidad es la de la transacción de base de datos, no el MVCC del
+ * almacén en memoria. Con storage.mode=memory las operaciones equivalentes
+ * son InMemoryCatalogStore#write (venue con sus eventos en un solo registro
+ * y una sola versión) e InMemoryCatalogStore#deleteVenue (venue y eventos
+ * en una versión). El almacén en memoria no guarda categorías, así que
+ * removeAllCategoriesFromEvent no tiene equivalente.
  */
 @Service
 public class EntityLifecycleExampleService {
@@ -1,77 +1,566 @@
 package com.example.inmemory_events_api.aplicacion.usecase;
 
+import com.example.inmemory_events_api.aplicacion.archive.EventArchive;
+import com.example.inmemory_events_api.aplicacion.bulkhead.Bulkhead;
+import com.example.inmemory_events_api.aplicacion.changelog.ChangeLog;
+import com.example.inmemory_events_api.aplicacion.coalescing.AfterCommit;
+import com.example.inmemory_events_api.aplicacion.coalescing.SingleFlight;
+import com.example.inmemory_events_api.aplicacion.multiget.MultiGet;
+import com.example.inmemory_events_api.aplicacion.readmodel.EventReadModel;
+import com.example.inmemory_events_api.aplicacion.resilience.LastKnownGoodCache;
+import com.example.inmemory_events_api.aplicacion.resilience.ResilientReads;
+import com.example.inmemory_events_api.aplicacion.schedule.IntervalTree;
+import com.example.inmemory_events_api.aplicacion.scan.EventScanEngine;
+import com.example.inmemory_events_api.aplicacion.scan.ScanQuery;
+import com.example.inmemory_events_api.aplicacion.schedule.VenueScheduleIndex;
+import com.example.inmemory_events_api.aplicacion.writebehind.EventWriteBehind;
+import com.example.inmemory_events_api.dominio.exception.ScheduleConflictException;
 import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.model.EventDetailsDTO;
+import com.example.inmemory_events_api.dominio.model.EventStatsDTO;
+import com.example.inmemory_events_api.dominio.model.LookupResultDTO;
+import com.example.inmemory_events_api.dominio.ports.out.EventRepositoryPort;
 import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventViewRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ChangeEntityType;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ChangeOperation;
 import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventEntity;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventViewEntity;
 import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.VenueEntity;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.EventSummaryView;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+/**
+ * Casos de uso de eventos.
+ *
+ * Con storage.mode=sharded las lecturas y escrituras de eventos (listado,
+ * por ID, multi-get, rango de fechas, alta, modificación y borrado) van a
+ * los shards a través de {@link EventRepositoryPort}. El resto sigue en la
+ * base de datos principal: change-log, histórico, modelo de lectura
+ * (búsquedas por ciudad y categoría, detalle) y proyección analítica, que
+ * en ese modo no ven los eventos de los shards. El write-behind no se
+ * admite en ese modo.
+ */
 @Service
 @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_COMMITTED)
 public class EventService {
 
+    private static final String ALL_EVENTS_KEY = "all";
+
     private final EventRepository eventRepository;
+    private final ReservationService reservationService;
+    private final VenueScheduleIndex scheduleIndex;
+    private final EventScanEngine scanEngine;
+    private final ChangeLog changeLog;
+    private final EventArchive archive;
+    private final EventWriteBehind writeBehind;
+    private final EventReadModel readModel;
+    private final EventViewRepository eventViewRepository;
+
+    /** Eventos en los shards (storage.mode=sharded); null en el resto de modos. */
+    private final EventRepositoryPort shardedEvents;
+
+    /**
+     * Coalescencia de lecturas calientes: peticiones concurrentes idénticas
+     * comparten una sola llamada al repositorio (y opcionalmente su
+     * resultado durante coalescing.result-ttl).
+     */
+    private final SingleFlight<Long, Optional<EventDTO>> eventByIdFlight;
+    private final SingleFlight<String, List<EventDTO>> allEventsFlight;
+
+    /**
+     * Última copia buena de esas mismas lecturas: se responde con ella si la
+     * base de datos falla o el circuit breaker está abierto (ver
+     * ResilientReads).
+     */
+    private final LastKnownGoodCache<Long, Optional<EventDTO>> eventById;
+    private final LastKnownGoodCache<String, List<EventDTO>> allEvents;
+
+    private final Object[] writeBehindLocks = new Object[1024];
 
-    public EventService(EventRepository eventRepository) {
+    /** Tamaño máximo de cada bloque IN en el multi-get (potencia de 2). */
+    private final int multiGetChunkSize;
+
+    public EventService(EventRepository eventRepository,
+            ReservationService reservationService,
+            VenueScheduleIndex scheduleIndex,
+            EventScanEngine scanEngine,
+            ChangeLog changeLog,
+            EventArchive archive,
+            EventWriteBehind writeBehind,
+            EventReadModel readModel,
+            EventViewRepository eventViewRepository,
+            ResilientReads resilientReads,
+            ObjectProvider<EventRepositoryPort> eventPorts,
+            @Value("${storage.mode:jpa}") String storageMode,
+            @Value("${coalescing.result-ttl:0ms}") Duration resultTtl,
+            @Value("${coalescing.max-entries:10000}") int maxEntries,
+            @Value("${multiget.chunk-size:64}") int multiGetChunkSize) {
+        this.shardedEvents = "sharded".equals(storageMode) ? eventPorts.getObject() : null;
+        if (shardedEvents != null && writeBehind.isEnabled()) {
+            throw new IllegalStateException("writebehind.enabled no se admite con storage.mode=sharded");
+        }
         this.eventRepository = eventRepository;
+        this.reservationService = reservationService;
+        this.scheduleIndex = scheduleIndex;
+        this.scanEngine = scanEngine;
+        this.changeLog = changeLog;
+        this.archive = archive;
+        this.writeBehind = writeBehind;
+        this.readModel = readModel;
+        this.eventViewRepository = eventViewRepository;
+        for (int i = 0; i < writeBehindLocks.length; i++) {
+            writeBehindLocks[i] = new Object();
+        }
+        this.multiGetChunkSize = multiGetChunkSize;
+        this.eventByIdFlight = new SingleFlight<>(resultTtl.toNanos(), maxEntries);
+        this.allEventsFlight = new SingleFlight<>(resultTtl.toNanos(), maxEntries);
+        this.eventById = resilientReads.cache("events.by-id", eventByIdFlight,
+                id -> (shardedEvents != null
+                        ? shardedEvents.findById(id)
+                        : eventRepository.findWithVenueById(id).map(this::toDTO))
+                        .or(() -> archive.findById(id)));
+        this.allEvents = resilientReads.cache("events.all", allEventsFlight,
+                key -> shardedEvents != null
+                        ? shardedEvents.findAll()
+                        : eventRepository.findAllWithVenue().stream()
+                                .map(this::toDTO)
+                                .collect(Collectors.toList()));
+        // Lo volcado por el write-behind ya está en la base de datos
+        writeBehind.onFlushed(ids -> {
+            ids.forEach(this::invalidateEvent);
+            invalidateAllEvents();
+            scanEngine.markStale();
+        });
+    }
+
+    /**
+     * Con storage.mode=sharded, el índice de ocupación (que se carga de la
+     * base de datos principal) se completa con los eventos de los shards.
+     */
+    @PostConstruct
+    void loadShardedSchedule() {
+        if (shardedEvents == null) {
+            return;
+        }
+        for (EventDTO event : shardedEvents.findAll()) {
+            if (event.getVenueId() != null && event.getDate() != null) {
+                scheduleIndex.replicate(event.getVenueId(), event.getId(), event.getDate(), event.getEndDate());
+            }
+        }
     }
 
     // Implementación usando repositorio JPA optimizado
 
     /**
-     * Transacción de solo lectura.
-     * Mejora el rendimiento al evitar el "dirty checking" de Hibernate.
-     * Propagation.SUPPORTS podría usarse si no se requiere transacción forzosa,
-     * pero REQUIRED es más seguro para consistencia.
+     * Lectura coalescida de la tabla caliente. El histórico no se incluye:
+     * crece sin límite y se leería entero en cada listado; los eventos
+     * archivados se consultan por ID o por rango de fechas.
+     * Propagation.SUPPORTS: el método no abre transacción propia; la abre el
+     * repositorio (readOnly) solo en el hilo líder. Con REQUIRED cada
+     * petición en espera ocuparía una conexión del pool sin usarla.
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Bulkhead(Bulkhead.LISTING)
     public List<EventDTO> getAllEvents() {
         // Usamos la query optimizada con join fetch para evitar N+1
-        return eventRepository.findAllWithVenue().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return writeBehind.overlay(allEvents.get(ALL_EVENTS_KEY));
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Busca en la tabla caliente y, si no está, en el histórico. Una
+     * actualización aún sin volcar (write-behind) tiene prioridad.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Bulkhead(Bulkhead.INTERACTIVE)
     public Optional<EventDTO> getEventById(Long id) {
+        Optional<EventDTO> pending = writeBehind.pending(id);
+        if (pending.isPresent()) {
+            return pending;
+        }
         // Usamos la query optimizada
-        return eventRepository.findWithVenueById(id)
-                .map(this::toDTO);
+        return eventById.get(id);
+    }
+
+    /**
+     * Eventos con fecha en [from, to], ordenados por fecha. El histórico
+     * solo se consulta si el rango puede tener eventos archivados.
+     */
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.LISTING)
+    public List<EventDTO> getEventsByDateRange(LocalDate from, LocalDate to) {
+        List<EventDTO> events = shardedEvents != null
+                ? new ArrayList<>(shardedEvents.findByDateBetween(from, to))
+                : eventRepository.findByDateRangeWithVenue(from, to).stream()
+                        .map(this::toDTO)
+                        .collect(Collectors.toList());
+        if (archive.mayContain(from)) {
+            events.addAll(archive.findByDateRange(from, to));
+            events.sort(Comparator.comparing(EventDTO::getDate).thenComparing(EventDTO::getId));
+        }
+        return writeBehind.overlayRange(events, from, to);
+    }
+
+    /**
+     * Multi-get: carga varios eventos en una sola transacción, con consultas
+     * IN por bloques. El resultado respeta el orden de la petición e incluye
+     * un fallo explícito por cada ID inexistente.
+     */
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.LISTING)
+    public List<LookupResultDTO<EventDTO>> getEventsByIds(List<Long> ids) {
+        return MultiGet.load(ids, multiGetChunkSize, this::loadChunk, EventDTO::getId);
+    }
+
+    /**
+     * Un bloque del multi-get; los IDs que no están en la tabla caliente se
+     * buscan en el histórico.
+     */
+    private List<EventDTO> loadChunk(List<Long> chunk) {
+        List<EventDTO> found = shardedEvents != null
+                ? new ArrayList<>(shardedEvents.findAllByIdIn(chunk))
+                : eventRepository.findAllWithVenueByIdIn(chunk).stream()
+                        .map(this::toDTO)
+                        .collect(Collectors.toList());
+        if (found.size() < chunk.size()) {
+            Set<Long> hot = found.stream().map(EventDTO::getId).collect(Collectors.toSet());
+            List<Long> missing = chunk.stream().filter(id -> !hot.contains(id)).collect(Collectors.toList());
+            found.addAll(archive.findAllByIdIn(missing));
+        }
+        return writeBehind.overlay(found);
+    }
+
+    /**
+     * Próximos eventos activos en una ciudad (sin distinguir mayúsculas),
+     * leídos del modelo de lectura con un único rango de índice.
+     */
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.LISTING)
+    public List<EventDTO> getUpcomingEventsByCity(String city) {
+        return writeBehind.overlay(eventViewRepository
+                .findUpcomingByCity(city.toLowerCase(Locale.ROOT), LocalDate.now()).stream()
+                .map(EventService::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Eventos de una categoría (sin distinguir mayúsculas), por fecha,
+     * leídos del modelo de lectura. No incluye el histórico.
+     */
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.LISTING)
+    public List<EventDTO> getEventsByCategory(String category) {
+        return writeBehind.overlay(eventViewRepository
+                .findByCategory(category.toLowerCase(Locale.ROOT)).stream()
+                .map(EventService::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Evento con su venue y sus categorías desde una sola fila del modelo
+     * de lectura. Una actualización aún sin volcar (write-behind) tiene
+     * prioridad en nombre y fechas.
+     */
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.INTERACTIVE)
+    public Optional<EventDetailsDTO> getEventDetails(Long id) {
+        return eventViewRepository.findById(id).map(view -> {
+            EventDetailsDTO details = toDetailsDTO(view);
+            writeBehind.pending(id).ifPresent(pending -> {
+                details.setName(pending.getName());
+                details.setDate(pending.getDate());
+                details.setEndDate(pending.getEndDate());
+            });
+            return details;
+        });
+    }
+
+    /**
+     * Consulta analítica (conteos) sobre la proyección columnar en memoria:
+     * no abre transacción ni toca la base de datos.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public EventStatsDTO getEventStats(ScanQuery query) {
+        return scanEngine.stats(query);
     }
 
     /**
      * Transacción de escritura (por defecto readOnly=false).
      * Usa el aislamiento por defecto (usualmente READ_COMMITTED).
      * Si falla, se hace rollback automático de toda la operación.
+     *
+     * @throws ScheduleConflictException si el venue ya tiene otro evento en
+     *                                   esas fechas
      */
+    @Bulkhead(Bulkhead.WRITE)
     public EventDTO createEvent(EventDTO eventDTO) {
+        if (shardedEvents != null) {
+            return createShardedEvent(eventDTO);
+        }
         EventEntity entity = toEntity(eventDTO);
         EventEntity saved = eventRepository.save(entity);
+        bookSchedule(saved);
+        // Con IDENTITY el INSERT ya se ejecutó en save()
+        readModel.eventsChanged(List.of(saved.getId()));
+        changeLog.record(ChangeEntityType.EVENT, saved.getId(), ChangeOperation.UPSERT, venueIdOf(saved));
+        AfterCommit.run(() -> {
+            invalidateAllEvents();
+            scanEngine.markStale();
+        });
         return toDTO(saved);
     }
 
+    @Bulkhead(Bulkhead.WRITE)
     public Optional<EventDTO> updateEvent(Long id, EventDTO newEvent) {
+        if (writeBehind.isEnabled()) {
+            return updateEventWriteBehind(id, newEvent);
+        }
+        if (shardedEvents != null) {
+            return updateShardedEvent(id, newEvent);
+        }
         return eventRepository.findById(id).map(existing -> {
             existing.setTitle(newEvent.getName());
-            existing.setDate(newEvent.getDate());
+            // Las fechas son opcionales en actualización: solo se cambian si llegan
+            if (newEvent.getDate() != null || newEvent.getEndDate() != null) {
+                if (newEvent.getDate() != null) {
+                    existing.setDate(newEvent.getDate());
+                }
+                existing.setEndDate(newEvent.getEndDate() != null ? newEvent.getEndDate() : existing.getDate());
+                bookSchedule(existing);
+            }
             // Nota: Actualizar venue requeriría buscar el venue entity
-            return toDTO(eventRepository.save(existing));
+            EventDTO updated = toDTO(eventRepository.saveAndFlush(existing));
+            readModel.eventsChanged(List.of(id));
+            changeLog.record(ChangeEntityType.EVENT, id, ChangeOperation.UPSERT, venueIdOf(existing));
+            invalidateAfterCommit(id);
+            return updated;
+        });
+    }
+
+    /**
+     * Alta en los shards. El ID (Snowflake) se asigna al guardar, así que
+     * la reserva en el índice de ocupación se hace después: si se solapa con
+     * otro evento, o si la transacción (change-log) hace rollback, se borra
+     * la fila recién insertada.
+     */
+    private EventDTO createShardedEvent(EventDTO eventDTO) {
+        LocalDate endDate = eventDTO.getEndDate() != null ? eventDTO.getEndDate() : eventDTO.getDate();
+        EventDTO saved = shardedEvents.save(new EventDTO(null, eventDTO.getName(), eventDTO.getVenueId(),
+                eventDTO.getDate(), eventDTO.getDate() != null ? endDate : null));
+        if (saved.getDate() != null) {
+            try {
+                scheduleIndex.book(saved.getVenueId(), saved.getId(), saved.getDate(), saved.getEndDate());
+            } catch (ScheduleConflictException e) {
+                shardedEvents.deleteById(saved.getId());
+                throw e;
+            }
+        }
+        // El shard no participa en la transacción: si esta falla, se deshace a mano
+        AfterCommit.onRollback(() -> {
+            shardedEvents.deleteById(saved.getId());
+            if (saved.getDate() != null) {
+                scheduleIndex.unbook(saved.getVenueId(), saved.getId());
+            }
         });
+        changeLog.record(ChangeEntityType.EVENT, saved.getId(), ChangeOperation.UPSERT, saved.getVenueId());
+        AfterCommit.run(() -> {
+            invalidateAllEvents();
+            scanEngine.markStale();
+        });
+        return saved;
+    }
+
+    /**
+     * Modificación en los shards, con las mismas reglas que la de JPA. Las
+     * fechas se reservan antes de escribir; si la escritura falla, la
+     * transacción hace rollback y se restaura la reserva anterior.
+     */
+    private Optional<EventDTO> updateShardedEvent(Long id, EventDTO newEvent) {
+        return shardedEvents.findById(id).map(existing -> {
+            LocalDate date = existing.getDate();
+            LocalDate endDate = existing.getEndDate();
+            if (newEvent.getDate() != null || newEvent.getEndDate() != null) {
+                if (newEvent.getDate() != null) {
+                    date = newEvent.getDate();
+                }
+                endDate = newEvent.getEndDate() != null ? newEvent.getEndDate() : date;
+                if (date != null) {
+                    Long venueId = existing.getVenueId();
+                    IntervalTree.Interval previous = scheduleIndex.book(venueId, id, date, endDate);
+                    AfterCommit.onRollback(() -> scheduleIndex.restore(venueId, id, previous));
+                }
+            }
+            EventDTO updated = shardedEvents.save(new EventDTO(id, newEvent.getName(), existing.getVenueId(),
+                    date, endDate));
+            changeLog.record(ChangeEntityType.EVENT, id, ChangeOperation.UPSERT, updated.getVenueId());
+            invalidateAfterCommit(id);
+            return updated;
+        });
+    }
+
+    /**
+     * Actualización en modo write-behind: se comprueba el hueco en el índice
+     * de ocupación, se registra en el WAL local y se responde; la fila se
+     * actualiza después en un volcado por lotes (ver EventWriteBehind). Solo
+     * lee de la base de datos si el evento no tiene ya una versión pendiente.
+     */
+    private Optional<EventDTO> updateEventWriteBehind(Long id, EventDTO newEvent) {
+        Optional<EventDTO> current = writeBehind.pending(id).or(() -> eventRepository.findScheduleViewById(id)
+                .map(view -> new EventDTO(id, null, view.getVenueId(), view.getStartDate(), view.getEndDate())));
+        return current.map(existing -> {
+            LocalDate date = existing.getDate();
+            LocalDate endDate = existing.getEndDate() != null ? existing.getEndDate() : date;
+            if (newEvent.getDate() != null || newEvent.getEndDate() != null) {
+                if (newEvent.getDate() != null) {
+                    date = newEvent.getDate();
+                }
+                endDate = newEvent.getEndDate() != null ? newEvent.getEndDate() : date;
+            }
+            EventDTO updated = new EventDTO(id, newEvent.getName(), existing.getVenueId(), date, endDate);
+
+            Long venueId = existing.getVenueId();
+            boolean rebook = venueId != null && date != null
+                    && (newEvent.getDate() != null || newEvent.getEndDate() != null);
+            synchronized (writeBehindLock(id)) {
+                IntervalTree.Interval previous = rebook ? scheduleIndex.book(venueId, id, date, endDate) : null;
+                try {
+                    writeBehind.submit(updated);
+                } catch (RuntimeException e) {
+                    if (rebook) {
+                        scheduleIndex.restore(venueId, id, previous);
+                    }
+                    throw e;
+                }
+            }
+            invalidateEvent(id);
+            invalidateAllEvents();
+            return updated;
+        });
+    }
+
+    /**
+     * Serializa las actualizaciones write-behind de un mismo evento para que
+     * el índice de ocupación y el WAL las vean en el mismo orden.
+     */
+    private Object writeBehindLock(Long id) {
+        return writeBehindLocks[(int) (id & (writeBehindLocks.length - 1))];
     }
 
+    @Bulkhead(Bulkhead.WRITE)
     public boolean deleteEvent(Long id) {
-        if (eventRepository.existsById(id)) {
-            eventRepository.deleteById(id);
+        if (shardedEvents != null) {
+            return shardedEvents.findById(id).map(existing -> {
+                shardedEvents.deleteById(id);
+                changeLog.record(ChangeEntityType.EVENT, id, ChangeOperation.DELETE, existing.getVenueId());
+                invalidateAfterCommit(id);
+                AfterCommit.run(() -> {
+                    reservationService.eventDeleted(id);
+                    scheduleIndex.unbook(existing.getVenueId(), id);
+                });
+                return true;
+            }).orElse(false);
+        }
+        return eventRepository.findById(id).map(existing -> {
+            Long venueId = existing.getVenue().getId();
+            eventRepository.delete(existing);
+            readModel.eventsDeleted(List.of(id));
+            changeLog.record(ChangeEntityType.EVENT, id, ChangeOperation.DELETE, venueId);
+            invalidateAfterCommit(id);
+            AfterCommit.run(() -> {
+                writeBehind.discard(id);
+                reservationService.eventDeleted(id);
+                scheduleIndex.unbook(venueId, id);
+            });
             return true;
+        }).orElse(false);
+    }
+
+    /**
+     * Aplica un cambio de evento hecho por otra instancia (ver
+     * ChangeLogTailer): invalida las lecturas coalescidas y la proyección
+     * columnar, y actualiza el índice de ocupación y los contadores de
+     * reservas con el estado actual del evento en base de datos.
+     *
+     * @param venueId venue del evento cuando se registró el cambio
+     */
+    @Transactional(readOnly = true)
+    public void applyRemoteChange(Long id, ChangeOperation operation, Long venueId) {
+        Optional<EventDTO> current = operation == ChangeOperation.DELETE
+                ? Optional.empty()
+                : shardedEvents != null
+                        ? shardedEvents.findById(id)
+                        : eventRepository.findScheduleViewById(id)
+                                .map(view -> new EventDTO(id, null, view.getVenueId(), view.getStartDate(),
+                                        view.getEndDate()));
+        if (current.isPresent() && current.get().getVenueId() != null && current.get().getDate() != null) {
+            EventDTO event = current.get();
+            // La instancia de origen ya comprobó los solapamientos
+            scheduleIndex.replicate(event.getVenueId(), id, event.getDate(), event.getEndDate());
+        } else if (venueId != null) {
+            scheduleIndex.unbook(venueId, id);
+        }
+        if (current.isEmpty()) {
+            writeBehind.discard(id);
+            reservationService.eventDeleted(id);
+        }
+        invalidateEvent(id);
+        invalidateAllEvents();
+        scanEngine.markStale();
+    }
+
+    /**
+     * Reserva las fechas del evento en el índice de ocupación de su venue.
+     * Se hace dentro de la transacción (antes del commit) para que dos
+     * escrituras concurrentes no puedan ocupar el mismo hueco; si la
+     * transacción hace rollback, se restaura la reserva anterior.
+     */
+    private void bookSchedule(EventEntity entity) {
+        if (entity.getVenue() == null || entity.getVenue().getId() == null || entity.getDate() == null) {
+            return;
         }
-        return false;
+        Long venueId = entity.getVenue().getId();
+        Long eventId = entity.getId();
+        IntervalTree.Interval previous = scheduleIndex.book(venueId, eventId, entity.getDate(), entity.getEndDate());
+        AfterCommit.onRollback(() -> scheduleIndex.restore(venueId, eventId, previous));
+    }
+
+    private void invalidateAfterCommit(Long id) {
+        AfterCommit.run(() -> {
+            invalidateEvent(id);
+            invalidateAllEvents();
+            scanEngine.markStale();
+        });
+    }
+
+    private void invalidateEvent(Long id) {
+        eventByIdFlight.invalidate(id);
+        eventById.invalidate(id);
+    }
+
+    private void invalidateAllEvents() {
+        allEventsFlight.invalidateAll();
+        allEvents.invalidateAll();
+    }
+
+    private static Long venueIdOf(EventEntity entity) {
+        return entity.getVenue() != null ? entity.getVenue().getId() : null;
     }
 
     // Mappers manuales simples para romper dependencia de MapStruct
@@ -80,7 +569,28 @@ public class EventService {
                 entity.getId(),
                 entity.getTitle(),
                 entity.getVenue() != null ? entity.getVenue().getId() : null,
-                entity.getDate());
+                entity.getDate(),
+                entity.getEndDate() != null ? entity.getEndDate() : entity.getDate());
+    }
+
+    private static EventDTO toDTO(EventSummaryView view) {
+        return new EventDTO(view.getId(), view.getName(), view.getVenueId(), view.getStartDate(),
+                view.getEndDate() != null ? view.getEndDate() : view.getStartDate());
+    }
+
+    private static EventDetailsDTO toDetailsDTO(EventViewEntity view) {
+        return new EventDetailsDTO(
+                view.getEventId(),
+                view.getTitle(),
+                view.getDate(),
+                view.getEndDate() != null ? view.getEndDate() : view.getDate(),
+                view.getStatus().name(),
+                view.getCategory(),
+                view.getVenueId(),
+                view.getVenueName(),
+                view.getVenueCity(),
+                view.getVenueCapacity(),
+                view.getCategoryNames() != null ? Arrays.asList(view.getCategoryNames().split(",")) : List.of());
     }
 
     private EventEntity toEntity(EventDTO dto) {
@@ -90,6 +600,7 @@ public class EventService {
         entity.setDescription("Descripción por defecto"); // DTO no tiene descripción
         if (dto.getDate() != null) {
             entity.setDate(dto.getDate());
+            entity.setEndDate(dto.getEndDate() != null ? dto.getEndDate() : dto.getDate());
         }
 
         // Manejo básico de Venue para creación
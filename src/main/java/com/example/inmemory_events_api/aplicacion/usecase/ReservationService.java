@@ -0,0 +1,373 @@
+package com.example.inmemory_events_api.aplicacion.usecase;
+
+import com.example.inmemory_events_api.aplicacion.bulkhead.Bulkhead;
+import com.example.inmemory_events_api.aplicacion.reservation.StripedCapacityCounter;
+import com.example.inmemory_events_api.dominio.exception.CapacityExceededException;
+import com.example.inmemory_events_api.dominio.exception.ReservationStateException;
+import com.example.inmemory_events_api.dominio.model.EventAvailabilityDTO;
+import com.example.inmemory_events_api.dominio.model.ReservationDTO;
+import com.example.inmemory_events_api.dominio.model.ReservationStatus;
+import com.example.inmemory_events_api.dominio.ports.out.ReservationWriterPort;
+import com.example.inmemory_events_api.dominio.ports.out.SeatAllocationPort;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventEntity;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Motor de reservas de asientos (hold → confirm / release / expire).
+ *
+ * Diseño para picos de venta (decenas de miles de peticiones por segundo)
+ * con varias instancias detrás del balanceador:
+ * - La capacidad de cada evento se reparte por bloques
+ * (reservation.lease-block asientos) a través de la base de datos
+ * ({@link SeatAllocationPort}): cada instancia solo vende asientos que le
+ * han sido cedidos, así que entre todas nunca superan la capacidad.
+ * - Los asientos cedidos viven en memoria, en un
+ * {@link StripedCapacityCounter} (contadores atómicos repartidos). Retener
+ * asientos es un CAS: solo se va a la base de datos cuando se agota el
+ * bloque.
+ * - Las retenciones (HELD) solo existen en memoria y caducan tras
+ * reservation.hold-ttl; al liberarse o caducar, sus asientos se devuelven
+ * al reparto global. Los asientos de un evento sin ventas durante
+ * reservation.lease-idle-timeout, los de un venue cuya capacidad cambia y
+ * los pendientes al apagar la instancia también se devuelven.
+ * - Las reservas confirmadas se persisten de forma asíncrona y por lotes
+ * ({@link ReservationWriterPort}).
+ *
+ * Si una instancia se cae, sus retenciones y sus asientos sin vender quedan
+ * cedidos: se vende de menos, nunca de más. Con todas las instancias
+ * paradas, event_seat_allocations.allocated puede recalcularse como la suma
+ * de las reservas confirmadas del evento.
+ */
+@Service
+public class ReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationService.class);
+
+    private final EventRepository eventRepository;
+    private final SeatAllocationPort seatAllocation;
+    private final ReservationWriterPort reservationWriter;
+    private final Duration holdTtl;
+    private final int stripes;
+    private final int leaseBlock;
+    private final long leaseIdleTimeoutNanos;
+
+    private final Map<Long, EventCapacity> capacities = new ConcurrentHashMap<>();
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+
+    public ReservationService(EventRepository eventRepository,
+            SeatAllocationPort seatAllocation,
+            ReservationWriterPort reservationWriter,
+            @Value("${reservation.hold-ttl:5m}") Duration holdTtl,
+            @Value("${reservation.stripes:0}") int stripes,
+            @Value("${reservation.lease-block:50}") int leaseBlock,
+            @Value("${reservation.lease-idle-timeout:30s}") Duration leaseIdleTimeout) {
+        this.eventRepository = eventRepository;
+        this.seatAllocation = seatAllocation;
+        this.reservationWriter = reservationWriter;
+        this.holdTtl = holdTtl;
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.leaseBlock = Math.max(1, leaseBlock);
+        this.leaseIdleTimeoutNanos = leaseIdleTimeout.toNanos();
+    }
+
+    /**
+     * Retiene asientos de un evento durante reservation.hold-ttl.
+     *
+     * @return la retención creada, o vacío si el evento no existe
+     * @throws CapacityExceededException si no quedan asientos suficientes
+     */
+    @Bulkhead(Bulkhead.WRITE)
+    public Optional<ReservationDTO> hold(Long eventId, int quantity) {
+        EventCapacity capacity = capacityFor(eventId);
+        if (capacity == null) {
+            return Optional.empty();
+        }
+        if (!acquire(eventId, capacity, quantity)) {
+            throw new CapacityExceededException(
+                    "No quedan " + quantity + " asientos disponibles para el evento " + eventId);
+        }
+
+        Hold hold = new Hold(UUID.randomUUID().toString(), eventId, quantity, Instant.now().plus(holdTtl));
+        holds.put(hold.id, hold);
+        return Optional.of(hold.toDTO());
+    }
+
+    /**
+     * Confirma una retención. La reserva se persiste de forma asíncrona.
+     *
+     * @return la reserva confirmada, o vacío si la retención no existe
+     * @throws ReservationStateException si la retención ya caducó o se liberó
+     */
+    @Bulkhead(Bulkhead.WRITE)
+    public Optional<ReservationDTO> confirm(String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null) {
+            return Optional.empty();
+        }
+        if (hold.isExpired(Instant.now())) {
+            expire(hold);
+            throw new ReservationStateException("La retención " + holdId + " ha caducado");
+        }
+        if (!capacities.containsKey(hold.eventId)) {
+            // Evento eliminado después de retener: no se persiste una reserva huérfana
+            expire(hold);
+            throw new ReservationStateException("El evento " + hold.eventId + " de la retención " + holdId
+                    + " ya no existe");
+        }
+        if (!hold.status.compareAndSet(ReservationStatus.HELD, ReservationStatus.CONFIRMED)) {
+            throw new ReservationStateException(
+                    "La retención " + holdId + " está en estado " + hold.status.get());
+        }
+
+        holds.remove(holdId, hold);
+        ReservationDTO confirmed = hold.toDTO();
+        reservationWriter.enqueueConfirmed(confirmed);
+        return Optional.of(confirmed);
+    }
+
+    /**
+     * Libera una retención y devuelve sus asientos.
+     *
+     * @return true si se liberó; false si no existe (o ya no está retenida)
+     */
+    @Bulkhead(Bulkhead.WRITE)
+    public boolean release(String holdId) {
+        Hold hold = holds.get(holdId);
+        if (hold == null || !hold.status.compareAndSet(ReservationStatus.HELD, ReservationStatus.RELEASED)) {
+            return false;
+        }
+        holds.remove(holdId, hold);
+        returnSeats(hold);
+        return true;
+    }
+
+    @Bulkhead(Bulkhead.INTERACTIVE)
+    public Optional<EventAvailabilityDTO> getAvailability(Long eventId) {
+        EventCapacity capacity = capacityFor(eventId);
+        if (capacity == null) {
+            return Optional.empty();
+        }
+        // Sin ceder a nadie + cedidos a esta instancia sin vender
+        long available = seatAllocation.unallocated(eventId) + capacity.counter.available();
+        return Optional.of(new EventAvailabilityDTO(eventId, available));
+    }
+
+    /**
+     * Devuelve al reparto global los asientos de las retenciones caducadas.
+     */
+    @Scheduled(fixedDelayString = "${reservation.expiry-sweep-interval-ms:1000}")
+    public void expireHolds() {
+        Instant now = Instant.now();
+        for (Hold hold : holds.values()) {
+            if (hold.isExpired(now)) {
+                expire(hold);
+            }
+        }
+    }
+
+    /**
+     * Devuelve al reparto global los asientos sin vender de los eventos que
+     * no han tenido ventas en esta instancia durante
+     * reservation.lease-idle-timeout, para que puedan venderlos las demás.
+     */
+    @Scheduled(fixedDelayString = "${reservation.lease-sweep-interval-ms:5000}")
+    public void returnIdleLeases() {
+        long now = System.nanoTime();
+        capacities.forEach((eventId, capacity) -> {
+            if (now - capacity.lastLeaseUseNanos > leaseIdleTimeoutNanos) {
+                returnLeased(eventId, capacity);
+            }
+        });
+    }
+
+    /**
+     * Devuelve los asientos sin vender de todos los eventos al apagar la
+     * instancia.
+     */
+    @PreDestroy
+    public void returnAllLeases() {
+        capacities.forEach(this::returnLeased);
+    }
+
+    /**
+     * Devuelve los asientos sin vender de los eventos de un venue cuya
+     * capacidad ha cambiado: los siguientes bloques se cederán ya contra la
+     * nueva capacidad.
+     */
+    public void venueCapacityChanged(Long venueId, Integer newCapacity) {
+        capacities.forEach((eventId, capacity) -> {
+            if (venueId.equals(capacity.venueId)) {
+                returnLeased(eventId, capacity);
+            }
+        });
+    }
+
+    /**
+     * Olvida el contador de un evento eliminado. Sus retenciones pendientes
+     * caducarán sin efecto.
+     */
+    public void eventDeleted(Long eventId) {
+        capacities.remove(eventId);
+    }
+
+    /**
+     * Olvida los contadores de los eventos de un venue eliminado (sus
+     * eventos se eliminan en cascada).
+     */
+    public void venueDeleted(Long venueId) {
+        capacities.values().removeIf(eventCapacity -> venueId.equals(eventCapacity.venueId));
+    }
+
+    private void expire(Hold hold) {
+        if (hold.status.compareAndSet(ReservationStatus.HELD, ReservationStatus.EXPIRED)) {
+            holds.remove(hold.id, hold);
+            returnSeats(hold);
+        }
+    }
+
+    /**
+     * Devuelve los asientos de una retención al reparto global (no al
+     * contador local: si la capacidad del venue bajó entretanto, no deben
+     * volver a venderse). Si la base de datos falla se quedan en el contador
+     * local, que sigue siendo seguro.
+     */
+    private void returnSeats(Hold hold) {
+        EventCapacity capacity = capacities.get(hold.eventId);
+        if (capacity == null) {
+            return;
+        }
+        try {
+            seatAllocation.giveBack(hold.eventId, hold.quantity);
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron devolver {} asientos del evento {}; se conservan en esta instancia",
+                    hold.quantity, hold.eventId, e);
+            capacity.counter.release(hold.quantity);
+        }
+    }
+
+    /**
+     * Descuenta asientos del contador local; si no hay bastantes, pide un
+     * bloque nuevo a la base de datos. Solo un hilo por evento pide bloques
+     * a la vez: los demás reintentan con lo que este haya traído.
+     */
+    private boolean acquire(Long eventId, EventCapacity capacity, int quantity) {
+        capacity.lastLeaseUseNanos = System.nanoTime();
+        if (capacity.counter.tryAcquire(quantity)) {
+            return true;
+        }
+        synchronized (capacity) {
+            if (capacity.counter.tryAcquire(quantity)) {
+                return true;
+            }
+            // Se junta lo que quede en local con lo que falte, para no fallar
+            // por tener el saldo repartido entre local y global
+            long local = capacity.counter.drain();
+            long missing = quantity - local;
+            if (missing <= 0) {
+                capacity.counter.release(local - quantity);
+                return true;
+            }
+            long block = Math.max(missing, leaseBlock);
+            try {
+                if (seatAllocation.tryLease(eventId, block)) {
+                    capacity.counter.release(local + block - quantity);
+                    return true;
+                }
+                if (block > missing && seatAllocation.tryLease(eventId, missing)) {
+                    return true;
+                }
+            } catch (RuntimeException e) {
+                capacity.counter.release(local);
+                throw e;
+            }
+            capacity.counter.release(local);
+            return false;
+        }
+    }
+
+    private void returnLeased(Long eventId, EventCapacity capacity) {
+        synchronized (capacity) {
+            long idle = capacity.counter.drain();
+            if (idle == 0) {
+                return;
+            }
+            try {
+                seatAllocation.giveBack(eventId, idle);
+            } catch (RuntimeException e) {
+                log.warn("No se pudieron devolver {} asientos cedidos del evento {}", idle, eventId, e);
+                capacity.counter.release(idle);
+            }
+        }
+    }
+
+    /**
+     * Estado en memoria del evento, creado la primera vez que se usa. La
+     * consulta se hace fuera de ConcurrentHashMap.computeIfAbsent para no
+     * retener el lock del mapa durante una query.
+     *
+     * @return null si el evento no existe
+     */
+    private EventCapacity capacityFor(Long eventId) {
+        EventCapacity capacity = capacities.get(eventId);
+        if (capacity != null) {
+            return capacity;
+        }
+        Optional<EventEntity> event = eventRepository.findWithVenueById(eventId);
+        if (event.isEmpty()) {
+            return null;
+        }
+        EventCapacity loaded = new EventCapacity(event.get().getVenue().getId(),
+                new StripedCapacityCounter(0, stripes));
+        EventCapacity existing = capacities.putIfAbsent(eventId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private static final class EventCapacity {
+        final Long venueId;
+        /** Asientos cedidos a esta instancia y aún sin vender. */
+        final StripedCapacityCounter counter;
+        volatile long lastLeaseUseNanos = System.nanoTime();
+
+        EventCapacity(Long venueId, StripedCapacityCounter counter) {
+            this.venueId = venueId;
+            this.counter = counter;
+        }
+    }
+
+    private static final class Hold {
+        final String id;
+        final Long eventId;
+        final int quantity;
+        final Instant expiresAt;
+        final AtomicReference<ReservationStatus> status = new AtomicReference<>(ReservationStatus.HELD);
+
+        Hold(String id, Long eventId, int quantity, Instant expiresAt) {
+            this.id = id;
+            this.eventId = eventId;
+            this.quantity = quantity;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(Instant now) {
+            return now.isAfter(expiresAt);
+        }
+
+        ReservationDTO toDTO() {
+            return new ReservationDTO(id, eventId, quantity, status.get(), expiresAt);
+        }
+    }
+}
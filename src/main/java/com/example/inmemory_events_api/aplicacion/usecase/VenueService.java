@@ -1,65 +1,268 @@
 package com.example.inmemory_events_api.aplicacion.usecase;
 
+import com.example.inmemory_events_api.aplicacion.archive.EventArchive;
+import com.example.inmemory_events_api.aplicacion.bulkhead.Bulkhead;
+import com.example.inmemory_events_api.aplicacion.changelog.ChangeLog;
+import com.example.inmemory_events_api.aplicacion.coalescing.AfterCommit;
+import com.example.inmemory_events_api.aplicacion.coalescing.SingleFlight;
+import com.example.inmemory_events_api.aplicacion.multiget.MultiGet;
+import com.example.inmemory_events_api.aplicacion.readmodel.EventReadModel;
+import com.example.inmemory_events_api.aplicacion.resilience.LastKnownGoodCache;
+import com.example.inmemory_events_api.aplicacion.resilience.ResilientReads;
+import com.example.inmemory_events_api.aplicacion.scan.EventScanEngine;
+import com.example.inmemory_events_api.aplicacion.schedule.VenueScheduleIndex;
+import com.example.inmemory_events_api.aplicacion.writebehind.EventWriteBehind;
+import com.example.inmemory_events_api.dominio.model.LookupResultDTO;
+import com.example.inmemory_events_api.dominio.model.VenueAvailabilityDTO;
 import com.example.inmemory_events_api.dominio.model.VenueDTO;
+import com.example.inmemory_events_api.dominio.ports.out.VenueRepositoryPort;
 import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.VenueRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ChangeEntityType;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ChangeOperation;
 import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.VenueEntity;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Casos de uso de venues. Con storage.mode=sharded los venues se leen y
+ * escriben en su shard a través de {@link VenueRepositoryPort} (ver
+ * EventService).
+ */
 @Service
 @Transactional(propagation = Propagation.REQUIRED, isolation = Isolation.READ_COMMITTED)
 public class VenueService {
 
+    private static final String ALL_VENUES_KEY = "all";
+
     private final VenueRepository venueRepository;
+    private final ReservationService reservationService;
+    private final VenueScheduleIndex scheduleIndex;
+    private final EventScanEngine scanEngine;
+    private final ChangeLog changeLog;
+    private final EventArchive archive;
+    private final EventWriteBehind writeBehind;
+    private final EventReadModel readModel;
+
+    /** Venues en los shards (storage.mode=sharded); null en el resto de modos. */
+    private final VenueRepositoryPort shardedVenues;
+
+    // Coalescencia de lecturas calientes (ver EventService)
+    private final SingleFlight<Long, Optional<VenueDTO>> venueByIdFlight;
+    private final SingleFlight<String, List<VenueDTO>> allVenuesFlight;
+
+    // Copias de respaldo de esas lecturas (ver EventService)
+    private final LastKnownGoodCache<Long, Optional<VenueDTO>> venueById;
+    private final LastKnownGoodCache<String, List<VenueDTO>> allVenues;
 
-    public VenueService(VenueRepository venueRepository) {
+    private final int multiGetChunkSize;
+
+    public VenueService(VenueRepository venueRepository,
+            ReservationService reservationService,
+            VenueScheduleIndex scheduleIndex,
+            EventScanEngine scanEngine,
+            ChangeLog changeLog,
+            EventArchive archive,
+            EventWriteBehind writeBehind,
+            EventReadModel readModel,
+            ResilientReads resilientReads,
+            ObjectProvider<VenueRepositoryPort> venuePorts,
+            @Value("${storage.mode:jpa}") String storageMode,
+            @Value("${coalescing.result-ttl:0ms}") Duration resultTtl,
+            @Value("${coalescing.max-entries:10000}") int maxEntries,
+            @Value("${multiget.chunk-size:64}") int multiGetChunkSize) {
         this.venueRepository = venueRepository;
+        this.shardedVenues = "sharded".equals(storageMode) ? venuePorts.getObject() : null;
+        this.reservationService = reservationService;
+        this.scheduleIndex = scheduleIndex;
+        this.scanEngine = scanEngine;
+        this.changeLog = changeLog;
+        this.archive = archive;
+        this.writeBehind = writeBehind;
+        this.readModel = readModel;
+        this.multiGetChunkSize = multiGetChunkSize;
+        this.venueByIdFlight = new SingleFlight<>(resultTtl.toNanos(), maxEntries);
+        this.allVenuesFlight = new SingleFlight<>(resultTtl.toNanos(), maxEntries);
+        this.venueById = resilientReads.cache("venues.by-id", venueByIdFlight,
+                id -> shardedVenues != null
+                        ? shardedVenues.findById(id)
+                        : venueRepository.findById(id).map(this::toDTO));
+        this.allVenues = resilientReads.cache("venues.all", allVenuesFlight,
+                key -> shardedVenues != null
+                        ? shardedVenues.findAll()
+                        : venueRepository.findAll().stream()
+                                .map(this::toDTO)
+                                .collect(Collectors.toList()));
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Bulkhead(Bulkhead.LISTING)
     public List<VenueDTO> getAllVenues() {
-        return venueRepository.findAll().stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return allVenues.get(ALL_VENUES_KEY);
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Bulkhead(Bulkhead.INTERACTIVE)
     public Optional<VenueDTO> getVenueById(Long id) {
-        return venueRepository.findById(id)
-                .map(this::toDTO);
+        return venueById.get(id);
+    }
+
+    /**
+     * Multi-get por bloques (ver EventService#getEventsByIds).
+     */
+    @Transactional(readOnly = true)
+    @Bulkhead(Bulkhead.LISTING)
+    public List<LookupResultDTO<VenueDTO>> getVenuesByIds(List<Long> ids) {
+        return MultiGet.load(ids, multiGetChunkSize,
+                chunk -> shardedVenues != null
+                        // Cada ID va a un solo shard: una búsqueda por clave primaria
+                        ? chunk.stream().map(shardedVenues::findById).flatMap(Optional::stream).toList()
+                        : venueRepository.findAllByIdIn(chunk).stream()
+                                .map(this::toDTO)
+                                .collect(Collectors.toList()),
+                VenueDTO::getId);
+    }
+
+    /**
+     * Ocupación del venue en [from, to], resuelta con el índice en memoria
+     * (sin consultar los eventos en base de datos).
+     *
+     * @return vacío si el venue no existe
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    @Bulkhead(Bulkhead.INTERACTIVE)
+    public Optional<VenueAvailabilityDTO> getAvailability(Long id, LocalDate from, LocalDate to) {
+        return getVenueById(id).map(venue -> scheduleIndex.getAvailability(id, from, to));
     }
 
     // Escritura por defecto (REQUIRED, READ_COMMITTED)
+    @Bulkhead(Bulkhead.WRITE)
     public VenueDTO createVenue(VenueDTO venueDTO) {
+        if (shardedVenues != null) {
+            VenueDTO saved = shardedVenues.save(new VenueDTO(null, venueDTO.getName(), venueDTO.getAddress(),
+                    venueDTO.getCity(), venueDTO.getCapacity()));
+            // El shard no participa en la transacción: si esta falla, se deshace a mano
+            AfterCommit.onRollback(() -> shardedVenues.deleteById(saved.getId()));
+            changeLog.record(ChangeEntityType.VENUE, saved.getId(), ChangeOperation.UPSERT, null);
+            AfterCommit.run(this::invalidateAllVenues);
+            return saved;
+        }
         VenueEntity entity = toEntity(venueDTO);
         VenueEntity saved = venueRepository.save(entity);
+        changeLog.record(ChangeEntityType.VENUE, saved.getId(), ChangeOperation.UPSERT, null);
+        AfterCommit.run(this::invalidateAllVenues);
         return toDTO(saved);
     }
 
+    @Bulkhead(Bulkhead.WRITE)
     public Optional<VenueDTO> updateVenue(Long id, VenueDTO newVenue) {
+        if (shardedVenues != null) {
+            return shardedVenues.findById(id).map(existing -> {
+                VenueDTO updated = shardedVenues.save(new VenueDTO(id, newVenue.getName(), newVenue.getAddress(),
+                        newVenue.getCity(), newVenue.getCapacity()));
+                changeLog.record(ChangeEntityType.VENUE, id, ChangeOperation.UPSERT, null);
+                invalidateAfterCommit(id);
+                AfterCommit.run(() -> reservationService.venueCapacityChanged(id, updated.getCapacity()));
+                return updated;
+            });
+        }
         return venueRepository.findById(id).map(existing -> {
             existing.setName(newVenue.getName());
             existing.setAddress(newVenue.getAddress());
             existing.setCity(newVenue.getCity());
             existing.setCapacity(newVenue.getCapacity());
-            return toDTO(venueRepository.save(existing));
+            VenueDTO updated = toDTO(venueRepository.save(existing));
+            readModel.venueChanged(id, existing.getName(), existing.getCity(), existing.getCapacity());
+            changeLog.record(ChangeEntityType.VENUE, id, ChangeOperation.UPSERT, null);
+            invalidateAfterCommit(id);
+            AfterCommit.run(() -> reservationService.venueCapacityChanged(id, updated.getCapacity()));
+            return updated;
         });
     }
 
+    @Bulkhead(Bulkhead.WRITE)
     public boolean deleteVenue(Long id) {
+        if (shardedVenues != null) {
+            // Sus eventos se borran por la FK en cascada de su shard
+            if (!shardedVenues.deleteById(id)) {
+                return false;
+            }
+            changeLog.record(ChangeEntityType.VENUE, id, ChangeOperation.DELETE, null);
+            invalidateAfterCommit(id);
+            AfterCommit.run(() -> {
+                reservationService.venueDeleted(id);
+                scheduleIndex.venueDeleted(id);
+            });
+            return true;
+        }
         if (venueRepository.existsById(id)) {
             venueRepository.deleteById(id);
+            // Como la cascada de la tabla caliente, también su histórico
+            archive.venueDeleted(id);
+            readModel.venueDeleted(id);
+            changeLog.record(ChangeEntityType.VENUE, id, ChangeOperation.DELETE, null);
+            invalidateAfterCommit(id);
+            AfterCommit.run(() -> {
+                writeBehind.discardVenue(id);
+                reservationService.venueDeleted(id);
+                scheduleIndex.venueDeleted(id);
+            });
             return true;
         }
         return false;
     }
 
+    /**
+     * Aplica un cambio de venue hecho por otra instancia (ver
+     * ChangeLogTailer y EventService#applyRemoteChange).
+     */
+    @Transactional(readOnly = true)
+    public void applyRemoteChange(Long id, ChangeOperation operation) {
+        Optional<VenueDTO> current = operation == ChangeOperation.DELETE
+                ? Optional.empty()
+                : shardedVenues != null
+                        ? shardedVenues.findById(id)
+                        : venueRepository.findById(id).map(this::toDTO);
+        if (current.isPresent()) {
+            reservationService.venueCapacityChanged(id, current.get().getCapacity());
+        } else {
+            writeBehind.discardVenue(id);
+            reservationService.venueDeleted(id);
+            scheduleIndex.venueDeleted(id);
+        }
+        invalidateVenue(id);
+        invalidateAllVenues();
+        scanEngine.markStale();
+    }
+
+    private void invalidateAfterCommit(Long id) {
+        AfterCommit.run(() -> {
+            invalidateVenue(id);
+            invalidateAllVenues();
+            // La ciudad del venue forma parte de la proyección de eventos
+            scanEngine.markStale();
+        });
+    }
+
+    private void invalidateVenue(Long id) {
+        venueByIdFlight.invalidate(id);
+        venueById.invalidate(id);
+    }
+
+    private void invalidateAllVenues() {
+        allVenuesFlight.invalidateAll();
+        allVenues.invalidateAll();
+    }
+
     // Mappers manuales simples
     private VenueDTO toDTO(VenueEntity entity) {
         return new VenueDTO(
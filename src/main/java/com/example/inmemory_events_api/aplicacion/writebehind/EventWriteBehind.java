@@ -0,0 +1,513 @@
+package com.example.inmemory_events_api.aplicacion.writebehind;
+
+import com.example.inmemory_events_api.aplicacion.changelog.ChangeLog;
+import com.example.inmemory_events_api.aplicacion.readmodel.EventReadModel;
+import com.example.inmemory_events_api.aplicacion.schedule.VenueScheduleIndex;
+import com.example.inmemory_events_api.dominio.exception.WriteBacklogFullException;
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.memory.wal.WriteAheadLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind de las actualizaciones de eventos (writebehind.enabled=true).
+ *
+ * - {@link #submit} añade el evento actualizado (estado completo, no un
+ * delta) a un WAL local con group commit y, cuando es durable, lo deja en
+ * el mapa de pendientes. La petición se confirma sin esperar a la base de
+ * datos.
+ * - Las lecturas de EventService superponen los pendientes a lo que
+ * devuelve la base de datos ({@link #pending}, {@link #overlay}), así que
+ * cada instancia lee sus propias escrituras.
+ * - Un hilo programado vuelca los pendientes cada
+ * writebehind.flush-interval-ms: varias actualizaciones del mismo ID se
+ * coalescen en una sola fila, y se escriben con JDBC batch por bloques de
+ * writebehind.batch-size, con su UPSERT en el change-log para el resto de
+ * instancias (que ven el cambio con ese retraso). El modelo de lectura
+ * (event_view) se refresca en la misma transacción del bloque.
+ * - Tras cada volcado el WAL se compacta: el snapshot contiene solo lo que
+ * sigue pendiente, así que al arrancar se reproduce únicamente lo que no
+ * llegó a la base de datos (una caída entre el commit y la compactación
+ * puede repetir un volcado; las filas son idempotentes).
+ * - Back-pressure: si hay writebehind.max-pending eventos sin volcar o el
+ * más antiguo lleva más de writebehind.max-lag (base de datos lenta o
+ * caída), las escrituras esperan hasta writebehind.backpressure-timeout y
+ * después se rechazan con {@link WriteBacklogFullException}.
+ *
+ * El WAL es local: cada instancia necesita su propio writebehind.wal.dir.
+ */
+@Component
+public class EventWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(EventWriteBehind.class);
+
+    private static final String UPDATE_SQL = "UPDATE events SET title = ?, date = ?, end_date = ? WHERE id = ?";
+
+    private static final String LOG_CHANGES_SQL = "INSERT INTO change_log "
+            + "(entity_type, entity_id, operation, venue_id, origin, changed_at) "
+            + "SELECT 'EVENT', id, 'UPSERT', venue_id, :origin, :now FROM events WHERE id IN (:ids)";
+
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final long NONE = Long.MAX_VALUE;
+
+    private final boolean enabled;
+    private final WriteAheadLog wal;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EventReadModel readModel;
+    private final VenueScheduleIndex scheduleIndex;
+    private final String origin;
+    private final int batchSize;
+    private final int maxPending;
+    private final long maxLagNanos;
+    private final long backpressureTimeoutNanos;
+
+    /** Último estado sin volcar de cada evento (coalescido). */
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    /** Momento (nanoTime) de la escritura sin volcar más antigua; NONE si no hay. */
+    private final AtomicLong oldestQueuedAt = new AtomicLong(NONE);
+    private final Object backlog = new Object();
+    private final Object flushLock = new Object();
+    private final List<Consumer<Collection<Long>>> flushListeners = new CopyOnWriteArrayList<>();
+
+    private final Counter writes;
+    private final Counter coalesced;
+    private final Counter flushed;
+    private final Counter rejected;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    /**
+     * Versión pendiente de un evento. Se compara por identidad: el volcado
+     * solo la quita si nadie la ha reemplazado mientras tanto.
+     */
+    private static final class Pending {
+        final EventDTO event;
+        final long queuedAt;
+
+        Pending(EventDTO event, long queuedAt) {
+            this.event = event;
+            this.queuedAt = queuedAt;
+        }
+    }
+
+    public EventWriteBehind(@Value("${writebehind.enabled:false}") boolean enabled,
+            @Value("${writebehind.wal.dir:./data/writebehind}") Path walDirectory,
+            @Value("${writebehind.wal.segment-size:16MB}") DataSize segmentSize,
+            @Value("${writebehind.wal.fsync:true}") boolean fsync,
+            @Value("${writebehind.batch-size:500}") int batchSize,
+            @Value("${writebehind.max-pending:10000}") int maxPending,
+            @Value("${writebehind.max-lag:5s}") Duration maxLag,
+            @Value("${writebehind.backpressure-timeout:2s}") Duration backpressureTimeout,
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            ChangeLog changeLog,
+            EventReadModel readModel,
+            VenueScheduleIndex scheduleIndex,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.wal = enabled ? new WriteAheadLog(walDirectory, segmentSize.toBytes(), 256, fsync) : null;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.readModel = readModel;
+        this.scheduleIndex = scheduleIndex;
+        this.origin = changeLog.nodeId();
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.maxLagNanos = maxLag.toNanos();
+        this.backpressureTimeoutNanos = backpressureTimeout.toNanos();
+
+        this.writes = Counter.builder("writebehind.writes").register(meterRegistry);
+        this.coalesced = Counter.builder("writebehind.coalesced")
+                .description("Actualizaciones que reemplazaron otra aún sin volcar").register(meterRegistry);
+        this.flushed = Counter.builder("writebehind.flushed").description("Filas volcadas a la base de datos")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("writebehind.rejected").description("Escrituras rechazadas por back-pressure")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("writebehind.flush.failures").register(meterRegistry);
+        this.flushTimer = Timer.builder("writebehind.flush").description("Latencia de cada bloque volcado")
+                .register(meterRegistry);
+        Gauge.builder("writebehind.queue.depth", pending, Map::size).register(meterRegistry);
+        Gauge.builder("writebehind.lag", this, writeBehind -> writeBehind.lagNanos() / 1e9)
+                .baseUnit("seconds").register(meterRegistry);
+    }
+
+    /**
+     * Reproduce lo que quedó sin volcar en la ejecución anterior (se vuelca
+     * en el primer ciclo) y reserva sus fechas en el índice de ocupación:
+     * el índice se carga de la base de datos, que aún tiene las fechas
+     * anteriores, y el volcado no lo corrige (el change-log de esta
+     * instancia no se aplica en ella).
+     */
+    @PostConstruct
+    public void open() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        wal.replay(record -> {
+            EventDTO event = decode(record);
+            pending.put(event.getId(), new Pending(event, now));
+        });
+        for (Pending entry : pending.values()) {
+            EventDTO event = entry.event;
+            if (event.getVenueId() != null && event.getDate() != null) {
+                // Ya se comprobó al aceptarla: se aplica aunque se solape
+                scheduleIndex.replicate(event.getVenueId(), event.getId(), event.getDate(), event.getEndDate());
+            }
+        }
+        if (!pending.isEmpty()) {
+            oldestQueuedAt.set(now);
+            log.info("Write-behind: {} eventos pendientes de volcar tras el arranque", pending.size());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        wal.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Error que dejó el WAL rechazando escrituras, si lo hubo.
+     */
+    public Optional<IOException> walFailure() {
+        return enabled ? wal.failure() : Optional.empty();
+    }
+
+    /**
+     * Registra una acción que se ejecuta con los IDs de cada bloque volcado
+     * (tras el commit), para invalidar las cachés que leen de la base de
+     * datos.
+     */
+    public void onFlushed(Consumer<Collection<Long>> listener) {
+        flushListeners.add(listener);
+    }
+
+    // ========== Escrituras ==========
+
+    /**
+     * Encola el estado completo del evento y espera a que sea durable en el
+     * WAL local.
+     *
+     * @throws WriteBacklogFullException si el backlog no baja del límite
+     *                                   en writebehind.backpressure-timeout
+     * @throws UncheckedIOException      si el WAL no se pudo escribir
+     */
+    public void submit(EventDTO event) {
+        awaitCapacity();
+        long queuedAt = System.nanoTime();
+        wal.append(encode(event), () -> {
+            // Hilo del WAL, en el orden del log: igual que el replay
+            Pending previous = pending.put(event.getId(), new Pending(event, queuedAt));
+            if (previous != null) {
+                coalesced.increment();
+            }
+            oldestQueuedAt.compareAndSet(NONE, queuedAt);
+        });
+        writes.increment();
+    }
+
+    /**
+     * Olvida la versión pendiente de un evento borrado (un volcado posterior
+     * no encontraría la fila).
+     */
+    public void discard(Long id) {
+        if (enabled) {
+            pending.remove(id);
+        }
+    }
+
+    /**
+     * Olvida las versiones pendientes de los eventos de un venue borrado.
+     */
+    public void discardVenue(Long venueId) {
+        if (enabled && !pending.isEmpty()) {
+            pending.values().removeIf(entry -> venueId.equals(entry.event.getVenueId()));
+        }
+    }
+
+    // ========== Lecturas ==========
+
+    /**
+     * @return la versión pendiente del evento, si la hay
+     */
+    public Optional<EventDTO> pending(Long id) {
+        if (pending.isEmpty()) {
+            return Optional.empty();
+        }
+        Pending entry = pending.get(id);
+        return entry != null ? Optional.of(entry.event) : Optional.empty();
+    }
+
+    /**
+     * Reemplaza en events (sin modificarla) los eventos con versión pendiente.
+     */
+    public List<EventDTO> overlay(List<EventDTO> events) {
+        if (pending.isEmpty()) {
+            return events;
+        }
+        List<EventDTO> result = new ArrayList<>(events.size());
+        for (EventDTO event : events) {
+            Pending entry = pending.get(event.getId());
+            result.add(entry != null ? entry.event : event);
+        }
+        return result;
+    }
+
+    /**
+     * Como {@link #overlay}, para el resultado de una consulta por fecha en
+     * [from, to]: un evento pendiente entra o sale del rango según su fecha
+     * nueva. Se devuelve ordenado por fecha e ID.
+     */
+    public List<EventDTO> overlayRange(List<EventDTO> events, LocalDate from, LocalDate to) {
+        if (pending.isEmpty()) {
+            return events;
+        }
+        Set<Long> seen = new HashSet<>();
+        List<EventDTO> result = new ArrayList<>(events.size());
+        for (EventDTO event : events) {
+            seen.add(event.getId());
+            Pending entry = pending.get(event.getId());
+            EventDTO current = entry != null ? entry.event : event;
+            if (inRange(current, from, to)) {
+                result.add(current);
+            }
+        }
+        for (Pending entry : pending.values()) {
+            if (!seen.contains(entry.event.getId()) && inRange(entry.event, from, to)) {
+                result.add(entry.event);
+            }
+        }
+        result.sort(Comparator.comparing(EventDTO::getDate).thenComparing(EventDTO::getId));
+        return result;
+    }
+
+    // ========== Volcado ==========
+
+    /**
+     * Vuelca todos los pendientes por bloques. Si un bloque falla, los
+     * siguientes esperan al próximo ciclo (el retraso crece y actúa el
+     * back-pressure).
+     */
+    @Scheduled(fixedDelayString = "${writebehind.flush-interval-ms:100}")
+    public void flush() {
+        if (!enabled || pending.isEmpty()) {
+            return;
+        }
+        synchronized (flushLock) {
+            List<Pending> snapshot = new ArrayList<>(pending.values());
+            int written = 0;
+            for (int from = 0; from < snapshot.size(); from += batchSize) {
+                List<Pending> chunk = snapshot.subList(from, Math.min(from + batchSize, snapshot.size()));
+                if (!flushChunk(chunk)) {
+                    break;
+                }
+                written += chunk.size();
+            }
+            refreshOldest();
+            synchronized (backlog) {
+                backlog.notifyAll();
+            }
+            if (written > 0) {
+                compact();
+            }
+        }
+    }
+
+    private boolean flushChunk(List<Pending> chunk) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, chunk, chunk.size(), (ps, entry) -> {
+                    EventDTO event = entry.event;
+                    ps.setString(1, event.getName());
+                    ps.setDate(2, event.getDate() != null ? Date.valueOf(event.getDate()) : null);
+                    ps.setDate(3, event.getEndDate() != null ? Date.valueOf(event.getEndDate()) : null);
+                    ps.setLong(4, event.getId());
+                });
+                List<Long> ids = chunk.stream().map(entry -> entry.event.getId()).collect(Collectors.toList());
+                readModel.eventsChanged(ids);
+                // Las filas que ya no existen (borradas o archivadas) no generan cambio
+                namedJdbcTemplate.update(LOG_CHANGES_SQL, new MapSqlParameterSource()
+                        .addValue("ids", ids)
+                        .addValue("origin", origin)
+                        .addValue("now", Timestamp.from(Instant.now())));
+            });
+        } catch (RuntimeException e) {
+            flushFailures.increment();
+            log.warn("Write-behind: no se pudo volcar un bloque de {} eventos; se reintentará", chunk.size(), e);
+            return false;
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        flushed.increment(chunk.size());
+
+        List<Long> ids = new ArrayList<>(chunk.size());
+        for (Pending entry : chunk) {
+            Long id = entry.event.getId();
+            // Si llegó una versión más nueva durante el volcado, sigue pendiente
+            pending.remove(id, entry);
+            ids.add(id);
+        }
+        for (Consumer<Collection<Long>> listener : flushListeners) {
+            listener.accept(ids);
+        }
+        return true;
+    }
+
+    /**
+     * Reescribe el WAL con solo lo que sigue pendiente. La captura se hace
+     * en el hilo del WAL, así que es coherente con todo lo ya registrado.
+     */
+    private void compact() {
+        try {
+            wal.checkpoint(() -> {
+                List<EventDTO> remaining = pending.values().stream().map(entry -> entry.event)
+                        .collect(Collectors.toList());
+                return () -> remaining.stream().map(EventWriteBehind::encode).iterator();
+            });
+        } catch (RuntimeException e) {
+            log.warn("Write-behind: no se pudo compactar el WAL", e);
+        }
+    }
+
+    // ========== Back-pressure ==========
+
+    private void awaitCapacity() {
+        if (!overloaded()) {
+            return;
+        }
+        long deadline = System.nanoTime() + backpressureTimeoutNanos;
+        synchronized (backlog) {
+            while (overloaded()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    rejected.increment();
+                    throw new WriteBacklogFullException(
+                            "Hay demasiadas escrituras pendientes de volcar; reintente más tarde");
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(backlog, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new WriteBacklogFullException("Escritura interrumpida esperando al volcado");
+                }
+            }
+        }
+    }
+
+    private boolean overloaded() {
+        return pending.size() >= maxPending || lagNanos() > maxLagNanos;
+    }
+
+    /**
+     * Antigüedad de la escritura sin volcar más antigua (0 si no hay).
+     */
+    long lagNanos() {
+        long oldest = oldestQueuedAt.get();
+        return oldest == NONE ? 0 : Math.max(0, System.nanoTime() - oldest);
+    }
+
+    private void refreshOldest() {
+        long oldest = NONE;
+        for (Pending entry : pending.values()) {
+            oldest = Math.min(oldest, entry.queuedAt);
+        }
+        // Una escritura concurrente con el recorrido puede quedar sin contar
+        // hasta el siguiente volcado: el retraso se subestima como mucho un ciclo
+        oldestQueuedAt.set(oldest);
+    }
+
+    // ========== Codificación de registros ==========
+
+    private static boolean inRange(EventDTO event, LocalDate from, LocalDate to) {
+        return event.getDate() != null && !event.getDate().isBefore(from) && !event.getDate().isAfter(to);
+    }
+
+    private static byte[] encode(EventDTO event) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(event.getId());
+            out.writeLong(event.getVenueId() != null ? event.getVenueId() : NULL_LONG);
+            out.writeLong(event.getDate() != null ? event.getDate().toEpochDay() : NULL_LONG);
+            out.writeLong(event.getEndDate() != null ? event.getEndDate().toEpochDay() : NULL_LONG);
+            byte[] name = event.getName() != null ? event.getName().getBytes(StandardCharsets.UTF_8) : null;
+            out.writeInt(name != null ? name.length : -1);
+            if (name != null) {
+                out.write(name);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static EventDTO decode(ByteBuffer record) {
+        long id = record.getLong();
+        long venueId = record.getLong();
+        long date = record.getLong();
+        long endDate = record.getLong();
+        int nameLength = record.getInt();
+        String name = null;
+        if (nameLength >= 0) {
+            byte[] bytes = new byte[nameLength];
+            record.get(bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new EventDTO(id, name, venueId != NULL_LONG ? venueId : null,
+                date != NULL_LONG ? LocalDate.ofEpochDay(date) : null,
+                endDate != NULL_LONG ? LocalDate.ofEpochDay(endDate) : null);
+    }
+}
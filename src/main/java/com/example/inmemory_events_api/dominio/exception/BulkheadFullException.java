@@ -0,0 +1,12 @@
+package com.example.inmemory_events_api.dominio.exception;
+
+/**
+ * El compartimento (bulkhead) de la operación tiene todas sus llamadas
+ * concurrentes ocupadas y no quedó libre ninguna dentro de su espera
+ * máxima. Se responde con 503 para que el cliente reintente.
+ */
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.inmemory_events_api.dominio.exception;
+
+/**
+ * No quedan asientos suficientes para atender una reserva.
+ */
+public class CapacityExceededException extends RuntimeException {
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
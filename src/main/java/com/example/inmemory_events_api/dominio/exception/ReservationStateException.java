@@ -0,0 +1,11 @@
+package com.example.inmemory_events_api.dominio.exception;
+
+/**
+ * La reserva no está en un estado que permita la operación
+ * (por ejemplo, confirmar una retención ya caducada).
+ */
+public class ReservationStateException extends RuntimeException {
+    public ReservationStateException(String message) {
+        super(message);
+    }
+}
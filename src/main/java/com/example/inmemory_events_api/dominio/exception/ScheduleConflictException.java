@@ -0,0 +1,18 @@
+package com.example.inmemory_events_api.dominio.exception;
+
+/**
+ * El evento se solapa con otro evento del mismo venue (doble reserva).
+ */
+public class ScheduleConflictException extends RuntimeException {
+
+    private final Long conflictingEventId;
+
+    public ScheduleConflictException(String message, Long conflictingEventId) {
+        super(message);
+        this.conflictingEventId = conflictingEventId;
+    }
+
+    public Long getConflictingEventId() {
+        return conflictingEventId;
+    }
+}
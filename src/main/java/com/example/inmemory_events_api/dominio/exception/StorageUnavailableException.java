@@ -0,0 +1,21 @@
+package com.example.inmemory_events_api.dominio.exception;
+
+/**
+ * La base de datos no está disponible (circuit breaker abierto) y no hay
+ * una copia reciente con la que responder. Se responde con 503 y
+ * Retry-After para que el cliente reintente cuando el circuito vuelva a
+ * probar la base de datos.
+ */
+public class StorageUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public StorageUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
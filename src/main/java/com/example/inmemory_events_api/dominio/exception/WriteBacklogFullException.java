@@ -0,0 +1,12 @@
+package com.example.inmemory_events_api.dominio.exception;
+
+/**
+ * El write-behind tiene demasiadas escrituras pendientes de volcar a la base
+ * de datos (o la más antigua es demasiado vieja) y la escritura no pudo
+ * esperar más. Se responde con 503 para que el cliente reintente.
+ */
+public class WriteBacklogFullException extends RuntimeException {
+    public WriteBacklogFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rango de fechas inclusive [startDate, endDate].
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DateRangeDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
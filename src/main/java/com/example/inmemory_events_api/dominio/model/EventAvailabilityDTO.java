@@ -0,0 +1,17 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Asientos disponibles de un evento (capacidad del venue menos reservas
+ * retenidas y confirmadas).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventAvailabilityDTO {
+    private Long eventId;
+    private long available;
+}
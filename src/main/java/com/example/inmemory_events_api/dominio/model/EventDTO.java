@@ -18,6 +18,7 @@ public class EventDTO {
     private String name;
     private Long venueId;
     private LocalDate date;
+    private LocalDate endDate;
 
     /**
      * Valida que el evento tenga los datos mínimos requeridos
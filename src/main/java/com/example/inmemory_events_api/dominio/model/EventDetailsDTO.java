@@ -0,0 +1,28 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento con los datos de su venue y los nombres de sus categorías, tal
+ * como los guarda el modelo de lectura (una sola fila, sin JOIN).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventDetailsDTO {
+    private Long id;
+    private String name;
+    private LocalDate date;
+    private LocalDate endDate;
+    private String status;
+    private String category;
+    private Long venueId;
+    private String venueName;
+    private String venueCity;
+    private Integer venueCapacity;
+    private List<String> categories;
+}
@@ -0,0 +1,25 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una consulta analítica sobre eventos:
+ * - count: eventos que cumplen el filtro
+ * - countByVenue: desglose por venue (ID → número de eventos)
+ * - scannedRows: filas evaluadas
+ * - snapshotAt: momento de la proyección consultada (puede ir unos
+ * segundos por detrás de las escrituras)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventStatsDTO {
+    private long count;
+    private Map<Long, Long> countByVenue;
+    private long scannedRows;
+    private Instant snapshotAt;
+}
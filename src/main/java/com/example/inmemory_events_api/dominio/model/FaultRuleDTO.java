@@ -0,0 +1,29 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Regla de inyección de fallos activa, con sus contadores (/admin/faults).
+ * matched son las llamadas que encajaron con el target; delayed y failed,
+ * las que recibieron latencia o error.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FaultRuleDTO {
+    private long id;
+    private String target;
+    private String latency;
+    private double latencyProbability;
+    private double errorRate;
+    private String error;
+    private long errorDelayMs;
+    private Instant createdAt;
+    private Instant expiresAt;
+    private long matched;
+    private long delayed;
+    private long failed;
+}
@@ -0,0 +1,19 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Error de una importación masiva. Las filas se numeran desde 1 sin contar
+ * la cabecera; un error de fila tiene fromRow == toRow y uno de bloque
+ * cubre todas las filas del bloque descartado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorDTO {
+    private long fromRow;
+    private long toRow;
+    private String message;
+}
@@ -0,0 +1,26 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una importación masiva:
+ * - rowsRead: filas de datos leídas (sin la cabecera)
+ * - imported: filas insertadas
+ * - rejected: filas descartadas (por validación o porque su bloque falló)
+ * - complete: false si la lectura se interrumpió (cuerpo mal formado); los
+ * bloques ya confirmados se mantienen
+ * - errors: errores por fila o por bloque (como máximo bulk.max-reported-errors)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+    private long rowsRead;
+    private long imported;
+    private long rejected;
+    private boolean complete;
+    private List<ImportErrorDTO> errors;
+}
@@ -0,0 +1,29 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una búsqueda múltiple por ID (multi-get).
+ * Cada ID solicitado produce una entrada, en el mismo orden de la petición;
+ * si el recurso no existe, found=false y value=null (fallo explícito).
+ *
+ * @param <T> tipo del modelo de dominio (EventDTO, VenueDTO)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LookupResultDTO<T> {
+    private Long id;
+    private boolean found;
+    private T value;
+
+    public static <T> LookupResultDTO<T> hit(Long id, T value) {
+        return new LookupResultDTO<>(id, true, value);
+    }
+
+    public static <T> LookupResultDTO<T> miss(Long id) {
+        return new LookupResultDTO<>(id, false, null);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado de la grabación JFR bajo demanda (/admin/profiling).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfilingRecordingDTO {
+    private String name;
+    /** NONE, RUNNING o STOPPED. */
+    private String state;
+    /** Configuración JFR usada (default, profile). */
+    private String settings;
+    private Instant startedAt;
+    /** Duración máxima en segundos: al cumplirse se para y se vuelca sola. */
+    private long maxDurationSeconds;
+    /** Fichero .jfr (null mientras está en curso). */
+    private String file;
+    private long sizeBytes;
+}
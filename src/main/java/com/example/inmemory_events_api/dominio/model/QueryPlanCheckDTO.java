@@ -0,0 +1,21 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de la comprobación de planes: las consultas calientes con
+ * filtro (WHERE) que recorren alguna tabla entera.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryPlanCheckDTO {
+    private boolean passed;
+    /** Ejecuciones a partir de las que una forma cuenta como caliente. */
+    private long minExecutions;
+    private int checked;
+    private List<QueryPlanDTO> regressions;
+}
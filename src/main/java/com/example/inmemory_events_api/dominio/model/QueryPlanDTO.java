@@ -0,0 +1,25 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Forma de consulta registrada con su plan de ejecución (EXPLAIN).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryPlanDTO {
+    private String sql;
+    /** Método de la aplicación que la emite (por ejemplo EventService.getEventById). */
+    private String source;
+    private long executions;
+    /** Tablas recorridas enteras. */
+    private List<String> fullScans;
+    private List<String> indexes;
+    private boolean filesort;
+    private String plan;
+    private String error;
+}
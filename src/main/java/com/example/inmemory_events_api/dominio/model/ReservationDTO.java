@@ -0,0 +1,20 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Modelo de dominio para una reserva (hold) de asientos de un evento.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationDTO {
+    private String holdId;
+    private Long eventId;
+    private int quantity;
+    private ReservationStatus status;
+    private Instant expiresAt;
+}
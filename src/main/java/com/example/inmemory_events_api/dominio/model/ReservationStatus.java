@@ -0,0 +1,15 @@
+package com.example.inmemory_events_api.dominio.model;
+
+/**
+ * Estado de una reserva de asientos.
+ * - HELD: asientos retenidos temporalmente (expiran si no se confirman)
+ * - CONFIRMED: reserva confirmada (se persiste en base de datos)
+ * - RELEASED: liberada explícitamente por el cliente
+ * - EXPIRED: la retención caducó sin confirmarse
+ */
+public enum ReservationStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
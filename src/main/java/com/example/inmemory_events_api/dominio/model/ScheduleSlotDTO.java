@@ -0,0 +1,18 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.time.LocalDate;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Franja ocupada de un venue: el evento y sus fechas (inclusive).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleSlotDTO {
+    private Long eventId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
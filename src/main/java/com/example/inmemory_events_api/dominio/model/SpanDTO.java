@@ -0,0 +1,28 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tramo (span) de una traza: una petición HTTP, un método de controlador,
+ * un caso de uso, una llamada a repositorio o una sentencia JDBC.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpanDTO {
+    private String spanId;
+    /** null en la span raíz de la petición (o el span del llamante si llegó traceparent). */
+    private String parentSpanId;
+    /** SERVER, CONTROLLER, USE_CASE, REPOSITORY o JDBC. */
+    private String kind;
+    private String name;
+    /** Inicio relativo al de la traza, en microsegundos. */
+    private long offsetMicros;
+    private long durationMicros;
+    /** Clase de la excepción si el tramo terminó con error. */
+    private String error;
+    private Map<String, String> attributes;
+}
@@ -0,0 +1,28 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.time.Instant;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Traza de una petición con todos sus tramos, en el orden en que
+ * terminaron.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceDTO {
+    private String traceId;
+    /** Nombre de la span raíz (GET /api/events/{id}). */
+    private String name;
+    private Instant startedAt;
+    private long durationMicros;
+    private boolean error;
+    /** Exportada por muestreo (true) o solo por haber terminado en error. */
+    private boolean sampled;
+    /** Tramos que no se guardaron por superar tracing.max-spans-per-trace. */
+    private int droppedSpans;
+    private List<SpanDTO> spans;
+}
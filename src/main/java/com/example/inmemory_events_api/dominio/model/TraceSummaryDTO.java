@@ -0,0 +1,21 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resumen de una traza para el listado de /admin/traces (sin los tramos).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TraceSummaryDTO {
+    private String traceId;
+    private String name;
+    private Instant startedAt;
+    private long durationMicros;
+    private boolean error;
+    private int spanCount;
+}
@@ -0,0 +1,25 @@
+package com.example.inmemory_events_api.dominio.model;
+
+import java.time.LocalDate;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Disponibilidad de un venue en un rango de fechas:
+ * - available: true si no hay ningún evento en el rango
+ * - bookings: eventos que ocupan parte del rango
+ * - freeRanges: huecos libres dentro del rango
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VenueAvailabilityDTO {
+    private Long venueId;
+    private LocalDate from;
+    private LocalDate to;
+    private boolean available;
+    private List<ScheduleSlotDTO> bookings;
+    private List<DateRangeDTO> freeRanges;
+}
@@ -0,0 +1,9 @@
+package com.example.inmemory_events_api.dominio.ports.in.event;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.model.LookupResultDTO;
+import java.util.List;
+
+public interface ObtenerEventosPorIdsUseCase {
+    List<LookupResultDTO<EventDTO>> ejecutar(List<Long> ids);
+}
@@ -0,0 +1,8 @@
+package com.example.inmemory_events_api.dominio.ports.in.reservation;
+
+import com.example.inmemory_events_api.dominio.model.ReservationDTO;
+import java.util.Optional;
+
+public interface ConfirmarReservaUseCase {
+    Optional<ReservationDTO> ejecutar(String holdId);
+}
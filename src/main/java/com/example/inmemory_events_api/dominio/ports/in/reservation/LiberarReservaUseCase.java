@@ -0,0 +1,5 @@
+package com.example.inmemory_events_api.dominio.ports.in.reservation;
+
+public interface LiberarReservaUseCase {
+    boolean ejecutar(String holdId);
+}
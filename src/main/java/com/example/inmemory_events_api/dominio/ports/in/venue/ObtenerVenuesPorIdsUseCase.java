@@ -0,0 +1,9 @@
+package com.example.inmemory_events_api.dominio.ports.in.venue;
+
+import com.example.inmemory_events_api.dominio.model.LookupResultDTO;
+import com.example.inmemory_events_api.dominio.model.VenueDTO;
+import java.util.List;
+
+public interface ObtenerVenuesPorIdsUseCase {
+    List<LookupResultDTO<VenueDTO>> ejecutar(List<Long> ids);
+}
@@ -1,6 +1,9 @@
 package com.example.inmemory_events_api.dominio.ports.out;
 
 import com.example.inmemory_events_api.dominio.model.EventDTO;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,6 +12,28 @@ public interface EventRepositoryPort {
 
     Optional<EventDTO> findById(Long id);
 
+    /**
+     * Eventos con esos IDs (los que no existen no aparecen), en cualquier
+     * orden.
+     */
+    default List<EventDTO> findAllByIdIn(Collection<Long> ids) {
+        return ids.stream()
+                .map(this::findById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    /**
+     * Eventos con fecha en [from, to]; cualquiera de los dos límites puede
+     * ser null (rango abierto).
+     */
+    List<EventDTO> findByDateBetween(LocalDate from, LocalDate to);
+
+    /**
+     * Eventos de un venue, ordenados por ID.
+     */
+    List<EventDTO> findByVenueId(Long venueId);
+
     EventDTO save(EventDTO event);
 
     boolean deleteById(Long id);
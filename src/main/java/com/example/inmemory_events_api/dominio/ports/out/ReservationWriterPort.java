@@ -0,0 +1,10 @@
+package com.example.inmemory_events_api.dominio.ports.out;
+
+import com.example.inmemory_events_api.dominio.model.ReservationDTO;
+
+public interface ReservationWriterPort {
+    /**
+     * Encola una reserva confirmada para persistirla de forma asíncrona.
+     */
+    void enqueueConfirmed(ReservationDTO reservation);
+}
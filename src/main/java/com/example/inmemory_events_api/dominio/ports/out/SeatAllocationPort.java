@@ -0,0 +1,31 @@
+package com.example.inmemory_events_api.dominio.ports.out;
+
+/**
+ * Reparto de la capacidad de cada evento entre las instancias.
+ *
+ * La fuente de verdad es la base de datos: guarda, por evento, cuántos
+ * asientos se han cedido ya a alguna instancia (vendidos, retenidos o
+ * pendientes de vender en memoria). Una instancia solo vende asientos que
+ * antes ha obtenido con {@link #tryLease}, así que la suma de todas nunca
+ * supera la capacidad del venue.
+ */
+public interface SeatAllocationPort {
+    /**
+     * Cede {@code seats} asientos del evento a esta instancia si quedan
+     * suficientes sin ceder.
+     *
+     * @return true si se cedieron todos; false si no había bastantes (o el
+     *         evento no existe)
+     */
+    boolean tryLease(Long eventId, long seats);
+
+    /**
+     * Devuelve asientos cedidos que esta instancia ya no va a vender.
+     */
+    void giveBack(Long eventId, long seats);
+
+    /**
+     * Asientos del evento que aún no se han cedido a ninguna instancia.
+     */
+    long unallocated(Long eventId);
+}
@@ -0,0 +1,139 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web;
+
+import com.example.inmemory_events_api.aplicacion.bulk.BulkExportService;
+import com.example.inmemory_events_api.aplicacion.bulk.BulkFormat;
+import com.example.inmemory_events_api.aplicacion.bulk.BulkImportService;
+import com.example.inmemory_events_api.dominio.model.ImportReportDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.exception.InvalidRequestException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Controlador REST de importación y exportación masiva.
+ *
+ * Endpoints disponibles:
+ * - POST /api/import/events → Importa eventos (CSV o NDJSON según el Content-Type)
+ * - POST /api/import/venues → Importa venues
+ * - GET /api/export/events?format=csv|ndjson → Exporta todos los eventos (incluido el histórico)
+ * - GET /api/export/venues?format=csv|ndjson → Exporta todos los venues
+ *
+ * El cuerpo de una importación se lee en streaming (text/csv o
+ * application/x-ndjson) y la respuesta es un informe con los errores por
+ * fila y por bloque. Las exportaciones escriben directamente en la
+ * respuesta mientras se recorre el cursor, sin construir la lista.
+ *
+ * @see BulkImportService
+ * @see BulkExportService
+ */
+@RestController
+@RequestMapping("/api")
+public class BulkController {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkController.class);
+
+    private final BulkImportService importService;
+    private final BulkExportService exportService;
+    private final ObjectMapper objectMapper;
+
+    public BulkController(BulkImportService importService,
+            BulkExportService exportService,
+            ObjectMapper objectMapper) {
+        this.importService = importService;
+        this.exportService = exportService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Importa eventos. Columnas: name, startDate, venueId (o venue con el
+     * nombre), endDate, description, status, category.
+     *
+     * Ejemplo (text/csv):
+     *
+     * <pre>
+     * name,venueId,startDate,endDate
+     * Concierto de Rock,1,2025-12-01,2025-12-02
+     * </pre>
+     *
+     * @return 200 OK con el informe (también si hubo filas descartadas)
+     */
+    @PostMapping("/import/events")
+    public ImportReportDTO importEvents(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) {
+        return importService.importEvents(format(contentType).reader(body, objectMapper));
+    }
+
+    /**
+     * Importa venues. Columnas: name, address, city, capacity.
+     *
+     * @return 200 OK con el informe (también si hubo filas descartadas)
+     */
+    @PostMapping("/import/venues")
+    public ImportReportDTO importVenues(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) {
+        return importService.importVenues(format(contentType).reader(body, objectMapper));
+    }
+
+    /**
+     * Exporta todos los eventos, vivos y archivados.
+     */
+    @GetMapping("/export/events")
+    public void exportEvents(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response)
+            throws IOException {
+        BulkFormat bulkFormat = exportFormat(format);
+        prepare(response, bulkFormat, "events");
+        stream(() -> exportService.exportEvents(bulkFormat, response.getOutputStream()));
+    }
+
+    /**
+     * Exporta todos los venues.
+     */
+    @GetMapping("/export/venues")
+    public void exportVenues(@RequestParam(defaultValue = "csv") String format, HttpServletResponse response)
+            throws IOException {
+        BulkFormat bulkFormat = exportFormat(format);
+        prepare(response, bulkFormat, "venues");
+        stream(() -> exportService.exportVenues(bulkFormat, response.getOutputStream()));
+    }
+
+    private static BulkFormat format(String contentType) {
+        return BulkFormat.fromMediaType(contentType).orElseThrow(() -> new InvalidRequestException(
+                "Content-Type no soportado: " + contentType + " (use text/csv o application/x-ndjson)"));
+    }
+
+    private static BulkFormat exportFormat(String format) {
+        return BulkFormat.fromName(format).orElseThrow(() -> new InvalidRequestException(
+                "Formato no soportado: " + format + " (use csv o ndjson)"));
+    }
+
+    private static void prepare(HttpServletResponse response, BulkFormat format, String name) {
+        response.setContentType(format.mediaType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + "." + format.extension() + "\"");
+    }
+
+    private interface Export {
+        void run() throws IOException;
+    }
+
+    /**
+     * Con la respuesta ya empezada no se puede devolver un ProblemDetail: si
+     * el cliente corta la conexión solo se registra.
+     */
+    private static void stream(Export export) throws IOException {
+        try {
+            export.run();
+        } catch (UncheckedIOException e) {
+            log.debug("Exportación interrumpida por el cliente", e);
+        }
+    }
+}
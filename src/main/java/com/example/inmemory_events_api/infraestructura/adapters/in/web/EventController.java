@@ -1,8 +1,18 @@
 package com.example.inmemory_events_api.infraestructura.adapters.in.web;
 
 import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.model.EventDetailsDTO;
+import com.example.inmemory_events_api.dominio.model.EventStatsDTO;
+import com.example.inmemory_events_api.dominio.model.LookupResultDTO;
+import com.example.inmemory_events_api.aplicacion.scan.ScanQuery;
 import com.example.inmemory_events_api.aplicacion.usecase.EventService;
 import com.example.inmemory_events_api.infraestructura.adapters.in.web.dto.EventRequestDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.dto.IdsRequestDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.exception.InvalidRequestException;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventStatus;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import com.example.inmemory_events_api.infraestructura.adapters.in.web.validation.OnCreate;
 import com.example.inmemory_events_api.infraestructura.adapters.in.web.validation.OnUpdate;
 import org.springframework.http.HttpStatus;
@@ -10,7 +20,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Controlador REST para la gestión de Eventos.
@@ -19,8 +31,15 @@ import java.util.List;
  * Todas las respuestas y peticiones usan formato JSON.
  * 
  * Endpoints disponibles:
- * - GET /api/events → Lista todos los eventos
+ * - GET /api/events → Lista todos los eventos no archivados
  * - GET /api/events/{id} → Obtiene un evento por ID
+ * - GET /api/events?ids=1,2,3 → Obtiene varios eventos por ID (multi-get)
+ * - GET /api/events?from=...&to=... → Eventos en un rango de fechas
+ * - GET /api/events?city=... → Próximos eventos activos en una ciudad
+ * - GET /api/events?category=... → Eventos de una categoría
+ * - GET /api/events/{id}/details → Evento con su venue y sus categorías
+ * - POST /api/events/lookup → Multi-get con la lista de IDs en el body
+ * - GET /api/events/stats → Conteos analíticos (total y por venue)
  * - POST /api/events → Crea un nuevo evento
  * - PUT /api/events/{id} → Actualiza un evento existente
  * - DELETE /api/events/{id} → Elimina un evento
@@ -41,16 +60,22 @@ public class EventController {
 
     private final EventService eventService;
 
+    /** Número máximo de IDs aceptados en un multi-get. */
+    private final int multiGetMaxIds;
+
     /**
      * Constructor con inyección de dependencias.
      * Spring inyecta automáticamente EventService.
      */
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService,
+            @Value("${multiget.max-ids:1000}") int multiGetMaxIds) {
         this.eventService = eventService;
+        this.multiGetMaxIds = multiGetMaxIds;
     }
 
     /**
-     * Lista todos los eventos.
+     * Lista todos los eventos no archivados. Los archivados se obtienen
+     * por ID o con un rango de fechas (from/to).
      * 
      * @return Lista de EventDTO (puede estar vacía)
      * 
@@ -86,6 +111,122 @@ public class EventController {
                 .orElse(ResponseEntity.notFound().build()); // Si no existe → 404 NOT FOUND
     }
 
+    /**
+     * Obtiene varios eventos por ID en una sola petición (multi-get).
+     * 
+     * @param ids IDs separados por comas (ej: ?ids=3,1,42)
+     * @return Una entrada por ID, en el orden de la petición; los IDs
+     *         inexistentes aparecen con found=false
+     * 
+     *         Ejemplo de respuesta (200 OK):
+     * 
+     *         <pre>
+     * [
+     *   { "id": 3, "found": true, "value": { "id": 3, "name": "Concierto Rock", ... } },
+     *   { "id": 1, "found": false, "value": null }
+     * ]
+     *         </pre>
+     */
+    @GetMapping(params = "ids")
+    public List<LookupResultDTO<EventDTO>> getEventsByIds(@RequestParam List<Long> ids) {
+        return eventService.getEventsByIds(checkIds(ids));
+    }
+
+    /**
+     * Eventos con fecha en [from, to], ordenados por fecha. Incluye los
+     * eventos archivados cuando el rango llega a fechas del histórico.
+     */
+    @GetMapping(params = { "from", "to" })
+    public List<EventDTO> getEventsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("'from' no puede ser posterior a 'to'");
+        }
+        return eventService.getEventsByDateRange(from, to);
+    }
+
+    /**
+     * Próximos eventos activos (fecha posterior a hoy) en una ciudad, sin
+     * distinguir mayúsculas. Se lee del modelo de lectura desnormalizado.
+     */
+    @GetMapping(params = "city")
+    public List<EventDTO> getUpcomingEventsByCity(@RequestParam String city) {
+        return eventService.getUpcomingEventsByCity(requireText(city, "city"));
+    }
+
+    /**
+     * Eventos de una categoría, sin distinguir mayúsculas, ordenados por
+     * fecha (sin los archivados).
+     */
+    @GetMapping(params = "category")
+    public List<EventDTO> getEventsByCategory(@RequestParam String category) {
+        return eventService.getEventsByCategory(requireText(category, "category"));
+    }
+
+    /**
+     * Evento con los datos de su venue y los nombres de sus categorías.
+     * 
+     *         Ejemplo de respuesta (200 OK):
+     * 
+     *         <pre>
+     * {
+     *   "id": 1, "name": "Concierto Rock", "date": "2025-12-01", "endDate": "2025-12-01",
+     *   "status": "ACTIVO", "category": null, "venueId": 1, "venueName": "Teatro Real",
+     *   "venueCity": "Madrid", "venueCapacity": 1700, "categories": ["Música", "Rock"]
+     * }
+     *         </pre>
+     * 
+     * @return 404 NOT FOUND si el evento no existe o está archivado
+     */
+    @GetMapping("/{id}/details")
+    public ResponseEntity<EventDetailsDTO> getEventDetails(@PathVariable Long id) {
+        return eventService.getEventDetails(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Variante POST del multi-get para listas de IDs largas.
+     */
+    @PostMapping("/lookup")
+    public List<LookupResultDTO<EventDTO>> lookupEvents(@Valid @RequestBody IdsRequestDTO request) {
+        return eventService.getEventsByIds(checkIds(request.getIds()));
+    }
+
+    /**
+     * Conteo de eventos que cumplen un filtro, total y por venue. Todos los
+     * parámetros son opcionales y se combinan con AND.
+     * 
+     * Se resuelve sobre la proyección columnar en memoria (no consulta la
+     * base de datos), que puede ir unos segundos por detrás de las
+     * escrituras.
+     * 
+     *         Ejemplo: eventos activos futuros en Madrid
+     * 
+     *         <pre>
+     * GET /api/events/stats?from=2025-12-01&status=ACTIVO&city=Madrid
+     * { "count": 42, "countByVenue": { "1": 30, "7": 12 }, "scannedRows": 100000, ... }
+     *         </pre>
+     */
+    @GetMapping("/stats")
+    public EventStatsDTO getEventStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long venueId,
+            @RequestParam(required = false) String city) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new InvalidRequestException("'from' no puede ser posterior a 'to'");
+        }
+        ScanQuery query = ScanQuery.all()
+                .dateBetween(from, to)
+                .hasStatus(status != null ? parseStatus(status).ordinal() : null)
+                .hasVenueId(venueId)
+                .inCity(city);
+        return eventService.getEventStats(query);
+    }
+
     /**
      * Crea un nuevo evento.
      * 
@@ -169,6 +310,31 @@ public class EventController {
         }
     }
 
+    private EventStatus parseStatus(String status) {
+        try {
+            return EventStatus.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Estado desconocido: " + status);
+        }
+    }
+
+    private List<Long> checkIds(List<Long> ids) {
+        if (ids.isEmpty() || ids.contains(null)) {
+            throw new InvalidRequestException("La lista de IDs no puede estar vacía ni contener valores nulos");
+        }
+        if (ids.size() > multiGetMaxIds) {
+            throw new InvalidRequestException("Se admiten como máximo " + multiGetMaxIds + " IDs por petición");
+        }
+        return ids;
+    }
+
+    private static String requireText(String value, String name) {
+        if (value.isBlank()) {
+            throw new InvalidRequestException("'" + name + "' no puede estar vacío");
+        }
+        return value.trim();
+    }
+
     /**
      * Mapea EventRequestDTO (capa web) a EventDTO (dominio).
      * 
@@ -176,8 +342,8 @@ public class EventController {
      * - EventRequestDTO: Conoce validaciones y anotaciones web
      * - EventDTO: Modelo puro de dominio sin dependencias de frameworks
      * 
-     * NOTA: Aquí usamos startDate como la fecha principal del evento.
-     * En un escenario real, podrías guardar ambas fechas (start y end).
+     * NOTA: startDate se guarda como la fecha principal del evento (date) y
+     * endDate como su último día; ambas definen la ocupación del venue.
      * 
      * @param request El DTO de la petición HTTP
      * @return EventDTO para la capa de dominio
@@ -187,7 +353,8 @@ public class EventController {
                 null, // ID será asignado por la BD
                 request.getName(), // Nombre del evento
                 request.getVenueId(), // ID del venue
-                request.getStartDate() // Fecha de inicio como fecha principal
+                request.getStartDate(), // Fecha de inicio como fecha principal
+                request.getEndDate() // Último día del evento
         );
     }
 }
@@ -0,0 +1,73 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web;
+
+import com.example.inmemory_events_api.dominio.model.FaultRuleDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.exception.InvalidRequestException;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.exception.ResourceNotFoundException;
+import com.example.inmemory_events_api.infraestructura.faults.FaultInjector;
+import com.example.inmemory_events_api.infraestructura.faults.FaultSpec;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador de administración de la inyección de fallos (perfil
+ * "faults").
+ *
+ * Endpoints disponibles:
+ * - GET /admin/faults → Reglas activas con sus contadores
+ * - GET /admin/faults/targets → Targets conocidos (Repositorio.método y
+ * transaction.commit)
+ * - POST /admin/faults → Añade una regla (ver FaultSpec), 201
+ * - DELETE /admin/faults/{id} → Quita una regla (404 si no existe)
+ * - DELETE /admin/faults → Quita todas
+ *
+ * @see FaultInjector
+ */
+@RestController
+@RequestMapping("/admin/faults")
+@Profile("faults")
+public class FaultController {
+
+    private final FaultInjector faultInjector;
+
+    public FaultController(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @GetMapping
+    public List<FaultRuleDTO> getRules() {
+        return faultInjector.rules();
+    }
+
+    @GetMapping("/targets")
+    public List<String> getTargets() {
+        return faultInjector.targets();
+    }
+
+    @PostMapping
+    public ResponseEntity<FaultRuleDTO> addRule(@Valid @RequestBody FaultSpec spec) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(faultInjector.add(spec));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> removeRule(@PathVariable long id) {
+        if (!faultInjector.remove(id)) {
+            throw new ResourceNotFoundException("Regla de fallos no encontrada con id: " + id);
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clearRules() {
+        faultInjector.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web;
+
+import com.example.inmemory_events_api.dominio.model.ProfilingRecordingDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.exception.InvalidRequestException;
+import com.example.inmemory_events_api.infraestructura.profiling.JfrRecordingManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Controlador de administración del perfilado con JFR. Apagado por
+ * defecto: solo se registra con profiling.jfr.enabled=true y
+ * profiling.jfr.endpoint-enabled=true, ya que permite lanzar grabaciones y
+ * llenar el disco del nodo.
+ *
+ * Endpoints disponibles:
+ * - GET /admin/profiling → Estado de la grabación actual o la última
+ * - POST /admin/profiling/start?seconds=60&settings=profile → Inicia una
+ * grabación (409 si ya hay una en curso)
+ * - POST /admin/profiling/stop → La para y la vuelca a disco (409 si no hay
+ * ninguna en curso)
+ *
+ * El fichero .jfr queda en profiling.jfr.dump-dir del nodo y se abre con
+ * JDK Mission Control o "jfr print".
+ *
+ * @see JfrRecordingManager
+ */
+@RestController
+@RequestMapping("/admin/profiling")
+@ConditionalOnExpression("${profiling.jfr.enabled:true} and ${profiling.jfr.endpoint-enabled:false}")
+public class ProfilingController {
+
+    private final JfrRecordingManager recordingManager;
+
+    public ProfilingController(JfrRecordingManager recordingManager) {
+        this.recordingManager = recordingManager;
+    }
+
+    @GetMapping
+    public ProfilingRecordingDTO getRecording() {
+        return recordingManager.status();
+    }
+
+    /**
+     * @param seconds  duración; sin ella (o por encima del máximo) se usa
+     *                 profiling.jfr.max-duration
+     * @param settings configuración JFR (default, profile)
+     */
+    @PostMapping("/start")
+    public ResponseEntity<ProfilingRecordingDTO> startRecording(
+            @RequestParam(required = false) Long seconds,
+            @RequestParam(required = false) String settings) throws IOException {
+        if (seconds != null && seconds <= 0) {
+            throw new InvalidRequestException("seconds debe ser mayor que 0");
+        }
+        try {
+            return ResponseEntity.ok(recordingManager.start(seconds != null ? Duration.ofSeconds(seconds) : null,
+                    settings));
+        } catch (JfrRecordingManager.RecordingInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(recordingManager.status());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException(e.getMessage());
+        }
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<ProfilingRecordingDTO> stopRecording() {
+        ProfilingRecordingDTO stopped = recordingManager.stop();
+        return stopped != null ? ResponseEntity.ok(stopped)
+                : ResponseEntity.status(HttpStatus.CONFLICT).body(recordingManager.status());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web;
+
+import com.example.inmemory_events_api.dominio.model.QueryPlanCheckDTO;
+import com.example.inmemory_events_api.dominio.model.QueryPlanDTO;
+import com.example.inmemory_events_api.infraestructura.queryplan.QueryPlanInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador de administración del asesor de consultas. Apagado por
+ * defecto, como el propio asesor: solo se registra con
+ * queryplan.enabled=true, que no se debe activar en producción.
+ *
+ * Endpoints disponibles:
+ * - GET /admin/query-plans → Formas de consulta registradas con su EXPLAIN
+ * - GET /admin/query-plans/check → Comprueba que ninguna consulta caliente
+ * con filtro recorre una tabla entera (200 si pasa, 409 si no)
+ * - GET /admin/query-plans/advice → Migración Flyway con los índices propuestos
+ * - DELETE /admin/query-plans → Olvida lo registrado
+ *
+ * Uso típico: arrancar con el perfil de carga, ejecutar la carga y llamar a
+ * /advice para generar la migración. La comprobación de planes en cada
+ * build la hace HotQueryPlansTest.
+ *
+ * @see QueryPlanInspector
+ */
+@RestController
+@RequestMapping("/admin/query-plans")
+@ConditionalOnProperty(name = "queryplan.enabled", havingValue = "true")
+public class QueryPlanController {
+
+    private final QueryPlanInspector inspector;
+    private final long hotThreshold;
+
+    public QueryPlanController(QueryPlanInspector inspector,
+            @Value("${queryplan.hot-threshold:100}") long hotThreshold) {
+        this.inspector = inspector;
+        this.hotThreshold = hotThreshold;
+    }
+
+    @GetMapping
+    public List<QueryPlanDTO> getQueryPlans(@RequestParam(defaultValue = "1") long minExecutions) {
+        return inspector.report(minExecutions);
+    }
+
+    /**
+     * @param minExecutions ejecuciones para considerar caliente una consulta
+     *                      (por defecto queryplan.hot-threshold)
+     * @return 200 OK si no hay regresiones; 409 CONFLICT con la lista si las hay
+     */
+    @GetMapping("/check")
+    public ResponseEntity<QueryPlanCheckDTO> checkQueryPlans(@RequestParam(required = false) Long minExecutions) {
+        QueryPlanCheckDTO result = inspector.check(minExecutions != null ? minExecutions : hotThreshold);
+        return ResponseEntity.status(result.isPassed() ? HttpStatus.OK : HttpStatus.CONFLICT).body(result);
+    }
+
+    @GetMapping(value = "/advice", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> getIndexAdvice(@RequestParam(defaultValue = "1") long minExecutions) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "inline; filename=\"" + inspector.adviceFileName() + "\"")
+                .body(inspector.advice(minExecutions));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        inspector.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web;
+
+import com.example.inmemory_events_api.aplicacion.usecase.ReservationService;
+import com.example.inmemory_events_api.dominio.model.EventAvailabilityDTO;
+import com.example.inmemory_events_api.dominio.model.ReservationDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.dto.HoldRequestDTO;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controlador REST para la reserva de asientos.
+ *
+ * Endpoints disponibles:
+ * - POST /api/events/{eventId}/holds → Retiene asientos (201, 409 si no hay)
+ * - POST /api/holds/{holdId}/confirm → Confirma una retención
+ * - DELETE /api/holds/{holdId} → Libera una retención
+ * - GET /api/events/{eventId}/seats → Asientos disponibles
+ *
+ * @see ReservationService El motor de reservas en memoria
+ */
+@RestController
+@RequestMapping("/api")
+public class ReservationController {
+
+    private final ReservationService reservationService;
+
+    public ReservationController(ReservationService reservationService) {
+        this.reservationService = reservationService;
+    }
+
+    /**
+     * Retiene asientos de un evento. La retención caduca si no se confirma.
+     *
+     * @return 201 CREATED con la retención, 404 si el evento no existe o
+     *         409 CONFLICT si no quedan asientos suficientes
+     */
+    @PostMapping("/events/{eventId}/holds")
+    public ResponseEntity<ReservationDTO> hold(@PathVariable Long eventId,
+            @Valid @RequestBody HoldRequestDTO request) {
+        return reservationService.hold(eventId, request.getQuantity())
+                .map(hold -> ResponseEntity.status(HttpStatus.CREATED).body(hold))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Confirma una retención.
+     *
+     * @return 200 OK con la reserva confirmada, 404 si no existe o
+     *         409 CONFLICT si ya caducó o se liberó
+     */
+    @PostMapping("/holds/{holdId}/confirm")
+    public ResponseEntity<ReservationDTO> confirm(@PathVariable String holdId) {
+        return reservationService.confirm(holdId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Libera una retención y devuelve sus asientos.
+     *
+     * @return 204 NO CONTENT o 404 NOT FOUND si no existe
+     */
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> release(@PathVariable String holdId) {
+        if (reservationService.release(holdId)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/events/{eventId}/seats")
+    public ResponseEntity<EventAvailabilityDTO> getAvailability(@PathVariable Long eventId) {
+        return reservationService.getAvailability(eventId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
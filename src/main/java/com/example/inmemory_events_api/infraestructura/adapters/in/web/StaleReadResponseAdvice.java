@@ -0,0 +1,48 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web;
+
+import com.example.inmemory_events_api.aplicacion.resilience.StaleReads;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marca las respuestas construidas con una copia de respaldo
+ * (LastKnownGoodCache) porque la base de datos no respondía:
+ *
+ * - Age: antigüedad de la copia, en segundos.
+ * - X-Stale-Reason: circuit-open (circuit breaker abierto) o storage-error
+ * (la consulta falló).
+ *
+ * Se escriben antes del cuerpo, cuando la respuesta aún no está confirmada.
+ */
+@RestControllerAdvice
+public class StaleReadResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_REASON_HEADER = "X-Stale-Reason";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(StaleReads.AGE_ATTRIBUTE) instanceof Long age) {
+            response.getHeaders().set(HttpHeaders.AGE, String.valueOf(age));
+            Object reason = servletRequest.getServletRequest().getAttribute(StaleReads.REASON_ATTRIBUTE);
+            if (reason != null) {
+                response.getHeaders().set(STALE_REASON_HEADER, reason.toString());
+            }
+        }
+        return body;
+    }
+}
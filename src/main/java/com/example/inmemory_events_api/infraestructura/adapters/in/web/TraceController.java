@@ -0,0 +1,67 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web;
+
+import com.example.inmemory_events_api.dominio.model.TraceDTO;
+import com.example.inmemory_events_api.dominio.model.TraceSummaryDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.exception.InvalidRequestException;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.exception.ResourceNotFoundException;
+import com.example.inmemory_events_api.infraestructura.tracing.TraceBuffer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador de administración de las trazas en proceso. Apagado por
+ * defecto: solo se registra con tracing.enabled=true y
+ * tracing.endpoint-enabled=true, ya que las trazas llevan rutas, parámetros
+ * y SQL de las peticiones.
+ *
+ * Endpoints disponibles:
+ * - GET /admin/traces?limit=50&errors=true&minDurationMs=100 → Últimas
+ * trazas exportadas de este nodo (sin los tramos)
+ * - GET /admin/traces/{traceId} → Traza completa con sus tramos (404 si ya
+ * no está en el buffer o no se exportó)
+ *
+ * El traceId es el de la cabecera X-Trace-Id, los logs y los ProblemDetail
+ * de error.
+ *
+ * @see TraceBuffer
+ */
+@RestController
+@RequestMapping("/admin/traces")
+@ConditionalOnExpression("${tracing.enabled:true} and ${tracing.endpoint-enabled:false}")
+public class TraceController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final TraceBuffer traceBuffer;
+
+    public TraceController(TraceBuffer traceBuffer) {
+        this.traceBuffer = traceBuffer;
+    }
+
+    @GetMapping
+    public List<TraceSummaryDTO> getTraces(
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "false") boolean errors,
+            @RequestParam(required = false) Long minDurationMs) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("limit debe estar entre 1 y " + MAX_LIMIT);
+        }
+        long minMicros = minDurationMs != null ? minDurationMs * 1_000 : 0;
+        return traceBuffer.recent(trace -> (!errors || trace.isError()) && trace.getDurationMicros() >= minMicros,
+                limit).stream()
+                .map(trace -> new TraceSummaryDTO(trace.getTraceId(), trace.getName(), trace.getStartedAt(),
+                        trace.getDurationMicros(), trace.isError(), trace.getSpans().size()))
+                .toList();
+    }
+
+    @GetMapping("/{traceId}")
+    public TraceDTO getTrace(@PathVariable String traceId) {
+        TraceDTO trace = traceBuffer.find(traceId);
+        if (trace == null) {
+            throw new ResourceNotFoundException("Traza no encontrada: " + traceId);
+        }
+        return trace;
+    }
+}
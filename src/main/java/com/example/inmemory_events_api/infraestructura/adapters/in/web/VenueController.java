@@ -1,13 +1,20 @@
 package com.example.inmemory_events_api.infraestructura.adapters.in.web;
 
+import com.example.inmemory_events_api.dominio.model.LookupResultDTO;
+import com.example.inmemory_events_api.dominio.model.VenueAvailabilityDTO;
 import com.example.inmemory_events_api.dominio.model.VenueDTO;
 import com.example.inmemory_events_api.aplicacion.usecase.VenueService;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.dto.IdsRequestDTO;
 import com.example.inmemory_events_api.infraestructura.adapters.in.web.dto.VenueRequestDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.exception.InvalidRequestException;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -15,9 +22,12 @@ import java.util.List;
 public class VenueController {
 
     private final VenueService venueService;
+    private final int multiGetMaxIds;
 
-    public VenueController(VenueService venueService) {
+    public VenueController(VenueService venueService,
+            @Value("${multiget.max-ids:1000}") int multiGetMaxIds) {
         this.venueService = venueService;
+        this.multiGetMaxIds = multiGetMaxIds;
     }
 
     @PostMapping
@@ -40,6 +50,39 @@ public class VenueController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Disponibilidad: GET /venues/{id}/availability?from=2025-12-01&to=2025-12-31
+     * (fechas inclusive). Devuelve los eventos que ocupan el rango y los
+     * huecos libres.
+     */
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<VenueAvailabilityDTO> getVenueAvailability(@PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidRequestException("'from' no puede ser posterior a 'to'");
+        }
+        return venueService.getAvailability(id, from, to)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Multi-get: GET /venues?ids=3,1,42 (orden de la petición, fallos explícitos)
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<LookupResultDTO<VenueDTO>>> getVenuesByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(venueService.getVenuesByIds(checkIds(ids)));
+    }
+
+    /**
+     * Multi-get por POST para listas de IDs largas.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<List<LookupResultDTO<VenueDTO>>> lookupVenues(@Valid @RequestBody IdsRequestDTO request) {
+        return ResponseEntity.ok(venueService.getVenuesByIds(checkIds(request.getIds())));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<VenueDTO> updateVenue(@PathVariable Long id,
             @Valid @RequestBody VenueRequestDTO request) {
@@ -58,6 +101,16 @@ public class VenueController {
         }
     }
 
+    private List<Long> checkIds(List<Long> ids) {
+        if (ids.isEmpty() || ids.contains(null)) {
+            throw new InvalidRequestException("La lista de IDs no puede estar vacía ni contener valores nulos");
+        }
+        if (ids.size() > multiGetMaxIds) {
+            throw new InvalidRequestException("Se admiten como máximo " + multiGetMaxIds + " IDs por petición");
+        }
+        return ids;
+    }
+
     /**
      * Mapea VenueRequestDTO (capa web) a VenueDTO (dominio)
      */
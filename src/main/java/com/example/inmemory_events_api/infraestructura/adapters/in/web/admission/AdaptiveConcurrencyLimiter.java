@@ -0,0 +1,101 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Límite de concurrencia adaptativo (AIMD) para una clase de endpoint.
+ *
+ * Funcionamiento:
+ * - Se admiten como máximo {@code limit} peticiones en vuelo; el resto se
+ * rechaza (load shedding) en lugar de encolarse en Tomcat.
+ * - Cada petición terminada reporta su latencia:
+ * - Si está por debajo del objetivo, el límite crece de forma aditiva
+ * (≈ +1 por cada "ventana" de {@code limit} peticiones).
+ * - Si supera el objetivo, el límite se reduce de forma multiplicativa,
+ * como máximo una vez por periodo de enfriamiento para que una ráfaga de
+ * respuestas lentas no lo hunda de golpe.
+ *
+ * Todo el estado vive en atómicos: no hay locks en el camino caliente.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final long cooldownNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /** Límite actual como double (bits en un AtomicLong) para permitir incrementos fraccionarios. */
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecreaseNanos = new AtomicLong();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+            long targetLatencyNanos, double backoffRatio, long cooldownNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.cooldownNanos = cooldownNanos;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(clamp(initialLimit)));
+    }
+
+    /**
+     * Intenta reservar un hueco de concurrencia.
+     *
+     * @return true si la petición se admite; en ese caso debe llamarse a
+     *         {@link #release(long, long)} al terminar
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el hueco y ajusta el límite según la latencia observada.
+     */
+    public void release(long latencyNanos, long nowNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+
+        if (latencyNanos > targetLatencyNanos) {
+            long last = lastDecreaseNanos.get();
+            if (nowNanos - last >= cooldownNanos && lastDecreaseNanos.compareAndSet(last, nowNanos)) {
+                updateLimit(limit -> limit * backoffRatio);
+            }
+        } else if (inFlightBefore * 2 >= getLimit()) {
+            // Solo crecemos si el límite actual se está usando de verdad
+            updateLimit(limit -> limit + 1.0 / limit);
+        }
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void updateLimit(DoubleUnaryOperator update) {
+        while (true) {
+            long bits = limitBits.get();
+            double next = clamp(update.applyAsDouble(Double.longBitsToDouble(bits)));
+            if (limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private double clamp(double limit) {
+        return Math.max(minLimit, Math.min(maxLimit, limit));
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.admission;
+
+import com.example.inmemory_events_api.infraestructura.tracing.Tracing;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Filtro de control de admisión delante de los controladores REST.
+ *
+ * Orden de las comprobaciones para cada petición de la API:
+ * 1. Rate limiting por cliente: un {@link TokenBucket} por API key conocida
+ * (admission.api-keys) o, si la petición no trae una, por IP. Los buckets
+ * viven en un ConcurrentHashMap acotado por admission.max-clients: buscar
+ * el de un cliente conocido no toma ningún lock.
+ * 2. Límite de concurrencia por clase de endpoint
+ * ({@link AdaptiveConcurrencyLimiter}), que se adapta a la latencia medida.
+ *
+ * Si alguna falla se responde 429 Too Many Requests con cabecera Retry-After
+ * y un cuerpo ProblemDetail (RFC 7807) igual que el de GlobalExceptionHandler.
+ * Como el filtro se ejecuta antes del DispatcherServlet, el
+ * {@code @RestControllerAdvice} no interviene y el cuerpo se escribe aquí.
+ *
+ * Métricas exportadas (Micrometer):
+ * - admission.decisions{endpoint_class, decision}: admitted / rate_limited / shed
+ * - admission.concurrency.limit{endpoint_class}
+ * - admission.concurrency.in_flight{endpoint_class}
+ * - admission.clients: buckets de clientes en memoria
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final int maxClients;
+    /** Solo un hilo expulsa a la vez; los demás no esperan. */
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> admitted = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rateLimited = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> shed = new EnumMap<>(EndpointClass.class);
+
+    public AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.maxClients = Math.max(properties.getMaxClients(), 1);
+
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            AdmissionProperties.Limit limit = properties.getLimits()
+                    .getOrDefault(endpointClass, new AdmissionProperties.Limit());
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                    limit.getInitialLimit(),
+                    limit.getMinLimit(),
+                    limit.getMaxLimit(),
+                    limit.getTargetLatency().toNanos(),
+                    limit.getBackoffRatio(),
+                    limit.getCooldown().toNanos());
+            limiters.put(endpointClass, limiter);
+
+            String tag = endpointClass.name().toLowerCase();
+            admitted.put(endpointClass, decisionCounter(meterRegistry, tag, "admitted"));
+            rateLimited.put(endpointClass, decisionCounter(meterRegistry, tag, "rate_limited"));
+            shed.put(endpointClass, decisionCounter(meterRegistry, tag, "shed"));
+            Gauge.builder("admission.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("endpoint_class", tag)
+                    .register(meterRegistry);
+            Gauge.builder("admission.concurrency.in_flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("endpoint_class", tag)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("admission.clients", this, AdmissionControlFilter::clientCount).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || EndpointClass.classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        EndpointClass endpointClass = EndpointClass.classify(request);
+        long start = System.nanoTime();
+
+        // 1. Rate limiting por cliente
+        long waitNanos = bucketFor(clientKey(request), start).tryAcquire(start);
+        if (waitNanos > 0) {
+            rateLimited.get(endpointClass).increment();
+            reject(request, response, waitNanos, "Rate limit exceeded for client");
+            return;
+        }
+
+        // 2. Límite de concurrencia adaptativo por clase de endpoint
+        AdaptiveConcurrencyLimiter limiter = limiters.get(endpointClass);
+        if (!limiter.tryAcquire()) {
+            shed.get(endpointClass).increment();
+            reject(request, response, properties.getShedRetryAfter().toNanos(),
+                    "Server is overloaded, request was shed");
+            return;
+        }
+
+        admitted.get(endpointClass).increment();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            limiter.release(end - start, end);
+        }
+    }
+
+    private Counter decisionCounter(MeterRegistry meterRegistry, String endpointClass, String decision) {
+        return Counter.builder("admission.decisions")
+                .tag("endpoint_class", endpointClass)
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Identifica al cliente por API key si es una de las conocidas; si no
+     * envía ninguna o no es válida, por dirección IP.
+     */
+    String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        if (apiKey != null && properties.getApiKeys().contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    TokenBucket bucketFor(String clientKey, long nowNanos) {
+        TokenBucket bucket = buckets.get(clientKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        bucket = buckets.computeIfAbsent(clientKey,
+                key -> new TokenBucket(properties.getRatePerSecond(), properties.getBurst(), nowNanos));
+        if (buckets.size() > maxClients) {
+            evict(clientKey, nowNanos);
+        }
+        return bucket;
+    }
+
+    /**
+     * Vuelve por debajo de max-clients cuando entra un cliente nuevo.
+     *
+     * - Primero los buckets llenos: quitarlos no cambia nada, el cliente que
+     * vuelva recibe uno nuevo igual de lleno.
+     * - Si todos tienen tokens consumidos, se descartan en el orden de la
+     * tabla hasta el 90% del máximo (para no recorrerla con cada cliente
+     * nuevo). Descartar un bucket solo adelanta su ráfaga: como mucho ese
+     * cliente recupera los tokens que ya tenía consumidos.
+     *
+     * Una petición que ya tenía el bucket expulsado gasta su token en él y
+     * no cuenta: a lo sumo un token de más por cliente y expulsión.
+     */
+    private void evict(String keep, long nowNanos) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.entrySet().removeIf(entry -> !entry.getKey().equals(keep) && entry.getValue().isFull(nowNanos));
+            int target = Math.max(maxClients - maxClients / 10, 1);
+            Iterator<String> keys = buckets.keySet().iterator();
+            while (buckets.size() > target && keys.hasNext()) {
+                if (!keys.next().equals(keep)) {
+                    keys.remove();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    int clientCount() {
+        return buckets.size();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, long retryAfterNanos,
+            String detail) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos + 999_999_999L));
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, detail);
+        problemDetail.setTitle("Too Many Requests");
+        problemDetail.setType(URI.create("https://example.com/errors/too-many-requests"));
+        problemDetail.setInstance(URI.create(request.getRequestURI()));
+        problemDetail.setProperty("timestamp", Instant.now());
+        problemDetail.setProperty("traceId", Tracing.currentOrNewTraceId());
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Configuración del control de admisión (prefijo "admission" en
+ * application.properties).
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * admission.enabled=true
+ * admission.rate-per-second=50
+ * admission.burst=100
+ * admission.api-keys=partner-a-key,partner-b-key
+ * admission.limits.listing.initial-limit=4
+ * admission.limits.listing.target-latency=500ms
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /** Cabecera HTTP que identifica al cliente (partner). */
+    private String apiKeyHeader = "X-API-Key";
+
+    /**
+     * API keys conocidas. Solo estas tienen bucket propio; una key que no
+     * está en la lista se ignora y el cliente se limita por IP (si no, bastaría
+     * con enviar una key nueva en cada petición para estrenar ráfaga).
+     */
+    private Set<String> apiKeys = new HashSet<>();
+
+    /** Tokens repuestos por segundo en el bucket de cada cliente. */
+    private double ratePerSecond = 50;
+
+    /** Ráfaga máxima permitida por cliente. */
+    private int burst = 100;
+
+    /**
+     * Número máximo de buckets en memoria; por encima se descartan primero
+     * los de clientes sin tokens consumidos.
+     */
+    private int maxClients = 10_000;
+
+    /** Retry-After que se devuelve cuando se descarta carga por concurrencia. */
+    private Duration shedRetryAfter = Duration.ofSeconds(1);
+
+    /** Límites de concurrencia por clase de endpoint. */
+    private Map<EndpointClass, Limit> limits = defaultLimits();
+
+    @Data
+    public static class Limit {
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private Duration targetLatency = Duration.ofMillis(100);
+        private double backoffRatio = 0.9;
+        private Duration cooldown = Duration.ofMillis(100);
+
+        public Limit() {
+        }
+
+        Limit(int initialLimit, int maxLimit, Duration targetLatency) {
+            this.initialLimit = initialLimit;
+            this.maxLimit = maxLimit;
+            this.targetLatency = targetLatency;
+        }
+    }
+
+    private static Map<EndpointClass, Limit> defaultLimits() {
+        Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+        limits.put(EndpointClass.BY_ID, new Limit(100, 400, Duration.ofMillis(50)));
+        limits.put(EndpointClass.LISTING, new Limit(4, 16, Duration.ofMillis(500)));
+        limits.put(EndpointClass.WRITE, new Limit(20, 100, Duration.ofMillis(200)));
+        return limits;
+    }
+}
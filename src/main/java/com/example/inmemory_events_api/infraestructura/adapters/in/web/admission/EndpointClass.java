@@ -0,0 +1,69 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Clases de endpoint para el control de concurrencia.
+ *
+ * Cada clase tiene su propio límite porque su coste es muy distinto:
+ * - BY_ID: lecturas baratas por identificador (GET /api/events/{id}) y de
+ * sus subrecursos (/api/events/{id}/details, /venues/{id}/availability...)
+ * - LISTING: listados completos que cargan toda la tabla (GET /api/events,
+ * búsquedas y estadísticas), exportaciones y multi-gets
+ * - WRITE: POST, PUT y DELETE
+ *
+ * Una ruta GET que no se reconoce como listado cuenta como BY_ID: tratar
+ * como caro algo barato lo descartaría junto a los escaneos completos.
+ */
+public enum EndpointClass {
+    BY_ID,
+    LISTING,
+    WRITE;
+
+    /**
+     * Clasifica una petición según su método y su ruta.
+     *
+     * @return la clase del endpoint, o null si la ruta no pertenece a la API
+     *         (Swagger, actuator, etc.) y no debe pasar por el control de
+     *         admisión
+     */
+    public static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/") && !path.equals("/venues") && !path.startsWith("/venues/")) {
+            return null;
+        }
+
+        String method = request.getMethod();
+        if (path.endsWith("/lookup")) {
+            // Multi-get por POST: es una lectura, aunque use POST
+            return LISTING;
+        }
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITE;
+        }
+
+        if (hasIdSegment(path)) {
+            return BY_ID;
+        }
+        return isListing(path) ? LISTING : BY_ID;
+    }
+
+    /** Raíces de colección, búsquedas, estadísticas y exportaciones. */
+    private static boolean isListing(String path) {
+        String trimmed = path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+        return trimmed.equals("/api/events")
+                || trimmed.equals("/venues")
+                || trimmed.equals("/api/events/stats")
+                || trimmed.startsWith("/api/export/");
+    }
+
+    /** Algún segmento de la ruta es un identificador numérico ({id}). */
+    private static boolean hasIdSegment(String path) {
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty() && segment.chars().allMatch(Character::isDigit)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos para limitar la tasa de peticiones de un cliente.
+ *
+ * Implementado con el algoritmo GCRA (Generic Cell Rate Algorithm), que es
+ * equivalente a un token bucket pero guarda un único valor: el "tiempo
+ * teórico de llegada" (TAT) de la siguiente petición. Así el estado cabe en
+ * un AtomicLong y cada decisión es un solo compareAndSet, sin locks ni
+ * objetos nuevos por petición.
+ *
+ * - rate: tokens que se reponen por segundo
+ * - burst: tamaño máximo del bucket (ráfaga permitida)
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("rate y burst deben ser positivos");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Intenta consumir un token.
+     *
+     * @param nowNanos instante actual (System.nanoTime())
+     * @return 0 si la petición se admite; si no, los nanosegundos que el
+     *         cliente debe esperar antes de reintentar
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long base = Math.max(tat, nowNanos);
+            long waitNanos = base - burstToleranceNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Bucket lleno (sin tokens consumidos pendientes de reponer): es
+     * indistinguible de uno recién creado.
+     */
+    public boolean isFull(long nowNanos) {
+        return theoreticalArrivalTime.get() <= nowNanos;
+    }
+}
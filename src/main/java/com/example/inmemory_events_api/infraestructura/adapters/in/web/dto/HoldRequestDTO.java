@@ -0,0 +1,26 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de entrada para retener asientos de un evento.
+ *
+ * <pre>
+ * { "quantity": 2 }
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldRequestDTO {
+
+    @NotNull(message = "La cantidad de asientos es obligatoria")
+    @Positive(message = "La cantidad de asientos debe ser positiva")
+    @Max(value = 20, message = "No se pueden retener más de 20 asientos por operación")
+    private Integer quantity;
+}
@@ -0,0 +1,24 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de entrada para el multi-get por POST (listas de IDs demasiado
+ * largas para la query string).
+ *
+ * <pre>
+ * { "ids": [3, 1, 42] }
+ * </pre>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdsRequestDTO {
+
+    @NotEmpty(message = "La lista de IDs no puede estar vacía")
+    private List<Long> ids;
+}
@@ -1,7 +1,15 @@
 package com.example.inmemory_events_api.infraestructura.adapters.in.web.exception;
 
+import com.example.inmemory_events_api.dominio.exception.BulkheadFullException;
+import com.example.inmemory_events_api.dominio.exception.CapacityExceededException;
+import com.example.inmemory_events_api.dominio.exception.ReservationStateException;
+import com.example.inmemory_events_api.dominio.exception.ScheduleConflictException;
+import com.example.inmemory_events_api.dominio.exception.StorageUnavailableException;
+import com.example.inmemory_events_api.dominio.exception.WriteBacklogFullException;
+import com.example.inmemory_events_api.infraestructura.tracing.Tracing;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -15,7 +23,6 @@ import java.net.URI;
 import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Manejador Global de Excepciones para toda la aplicación.
@@ -125,6 +132,156 @@ public class GlobalExceptionHandler {
                 request);
     }
 
+    /**
+     * Maneja InvalidRequestException (petición mal formada).
+     * 
+     * @param ex      La excepción lanzada
+     * @param request El contexto de la petición HTTP
+     * @return ResponseEntity con ProblemDetail indicando una petición inválida
+     */
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidRequest(
+            InvalidRequestException ex,
+            WebRequest request) {
+        return buildProblemDetail(
+                HttpStatus.BAD_REQUEST,
+                ex.getMessage(),
+                "Invalid Request",
+                "https://example.com/errors/invalid-request",
+                request);
+    }
+
+    /**
+     * Maneja CapacityExceededException: no quedan asientos suficientes.
+     * 
+     * @param ex      La excepción lanzada
+     * @param request El contexto de la petición HTTP
+     * @return ResponseEntity con ProblemDetail indicando un conflicto (409)
+     */
+    @ExceptionHandler(CapacityExceededException.class)
+    public ResponseEntity<ProblemDetail> handleCapacityExceeded(
+            CapacityExceededException ex,
+            WebRequest request) {
+        return buildProblemDetail(
+                HttpStatus.CONFLICT,
+                ex.getMessage(),
+                "Capacity Exceeded",
+                "https://example.com/errors/capacity-exceeded",
+                request);
+    }
+
+    /**
+     * Maneja ReservationStateException: la reserva ya caducó, se liberó o se
+     * confirmó.
+     * 
+     * @param ex      La excepción lanzada
+     * @param request El contexto de la petición HTTP
+     * @return ResponseEntity con ProblemDetail indicando un conflicto (409)
+     */
+    @ExceptionHandler(ReservationStateException.class)
+    public ResponseEntity<ProblemDetail> handleReservationState(
+            ReservationStateException ex,
+            WebRequest request) {
+        return buildProblemDetail(
+                HttpStatus.CONFLICT,
+                ex.getMessage(),
+                "Invalid Reservation State",
+                "https://example.com/errors/reservation-state",
+                request);
+    }
+
+    /**
+     * Maneja ScheduleConflictException: el venue ya tiene otro evento en
+     * esas fechas (doble reserva).
+     * 
+     * @param ex      La excepción lanzada
+     * @param request El contexto de la petición HTTP
+     * @return ResponseEntity con ProblemDetail indicando un conflicto (409)
+     */
+    @ExceptionHandler(ScheduleConflictException.class)
+    public ResponseEntity<ProblemDetail> handleScheduleConflict(
+            ScheduleConflictException ex,
+            WebRequest request) {
+        ResponseEntity<ProblemDetail> response = buildProblemDetail(
+                HttpStatus.CONFLICT,
+                ex.getMessage(),
+                "Venue Schedule Conflict",
+                "https://example.com/errors/schedule-conflict",
+                request);
+        response.getBody().setProperty("conflictingEventId", ex.getConflictingEventId());
+        return response;
+    }
+
+    /**
+     * Maneja WriteBacklogFullException: el write-behind no da abasto para
+     * volcar las escrituras a la base de datos.
+     * 
+     * @param ex      La excepción lanzada
+     * @param request El contexto de la petición HTTP
+     * @return ResponseEntity con ProblemDetail (503) y Retry-After
+     */
+    @ExceptionHandler(WriteBacklogFullException.class)
+    public ResponseEntity<ProblemDetail> handleWriteBacklogFull(
+            WriteBacklogFullException ex,
+            WebRequest request) {
+        ResponseEntity<ProblemDetail> response = buildProblemDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                "Write Backlog Full",
+                "https://example.com/errors/write-backlog-full",
+                request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    /**
+     * Maneja BulkheadFullException: el compartimento de la operación
+     * (interactive, listing, write, bulk) no tiene hueco libre.
+     * 
+     * @param ex      La excepción lanzada
+     * @param request El contexto de la petición HTTP
+     * @return ResponseEntity con ProblemDetail (503) y Retry-After
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<ProblemDetail> handleBulkheadFull(
+            BulkheadFullException ex,
+            WebRequest request) {
+        ResponseEntity<ProblemDetail> response = buildProblemDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                "Bulkhead Full",
+                "https://example.com/errors/bulkhead-full",
+                request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response.getBody());
+    }
+
+    /**
+     * Maneja StorageUnavailableException: el circuit breaker de la base de
+     * datos está abierto y no hay copia de respaldo para la lectura.
+     * 
+     * @param ex      La excepción lanzada
+     * @param request El contexto de la petición HTTP
+     * @return ResponseEntity con ProblemDetail (503) y Retry-After hasta la
+     *         próxima prueba del circuito
+     */
+    @ExceptionHandler(StorageUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleStorageUnavailable(
+            StorageUnavailableException ex,
+            WebRequest request) {
+        ResponseEntity<ProblemDetail> response = buildProblemDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                ex.getMessage(),
+                "Storage Unavailable",
+                "https://example.com/errors/storage-unavailable",
+                request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     /**
      * Maneja violaciones de integridad de datos en la base de datos.
      * 
@@ -210,12 +367,13 @@ public class GlobalExceptionHandler {
      * 
      * - timestamp: Momento exacto en que ocurrió el error (útil para logs y
      * debugging)
-     * - traceId: Identificador único para rastrear el error en logs distribuidos
+     * - traceId: Identificador de la traza de la petición (el mismo de los logs
+     * y de /admin/traces)
      * 
      * @param problemDetail El objeto ProblemDetail a enriquecer
      */
     private void addCommonProperties(ProblemDetail problemDetail) {
         problemDetail.setProperty("timestamp", Instant.now());
-        problemDetail.setProperty("traceId", UUID.randomUUID().toString());
+        problemDetail.setProperty("traceId", Tracing.currentOrNewTraceId());
     }
 }
@@ -0,0 +1,11 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.exception;
+
+/**
+ * Petición mal formada que no se puede expresar con Bean Validation
+ * (por ejemplo, demasiados IDs en un multi-get). Se responde con 400.
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
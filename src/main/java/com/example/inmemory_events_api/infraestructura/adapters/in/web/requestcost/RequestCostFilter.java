@@ -0,0 +1,194 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.requestcost;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide el tiempo de CPU y los bytes asignados en el heap por cada petición,
+ * con los contadores por hilo de la JVM (com.sun.management.ThreadMXBean):
+ * la diferencia entre el valor al entrar y al salir del filtro es lo que
+ * gastó el hilo que atiende la petición (controlador, servicio, Hibernate,
+ * Jackson...).
+ *
+ * Métricas exportadas (Micrometer), con las mismas etiquetas method, uri
+ * (patrón de la ruta), status y outcome que http.server.requests:
+ * - http.server.requests.cpu: tiempo de CPU del hilo
+ * - http.server.requests.allocated: bytes asignados (presión sobre el GC)
+ *
+ * Con request-cost.server-timing=true se añade además la cabecera
+ * Server-Timing: cpu;dur=..., alloc;desc="... bytes", total;dur=...
+ * (ver ServerTimingResponseWrapper).
+ *
+ * Limitaciones:
+ * - Solo cuenta el hilo que atiende la petición: el trabajo en otros hilos
+ * (peticiones asíncronas, pools propios) no se incluye.
+ * - En hilos virtuales (JDK 21+) la JVM devuelve -1 porque el hilo puede
+ * cambiar de hilo portador; esas peticiones no se registran en la métrica
+ * que no esté disponible.
+ */
+public class RequestCostFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestCostFilter.class);
+
+    private final RequestCostProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threads;
+    private final boolean cpuSupported;
+    private final boolean allocationSupported;
+    private final double[] percentiles;
+
+    public RequestCostFilter(RequestCostProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean mxBean
+                ? mxBean
+                : null;
+        this.cpuSupported = threads != null && threads.isCurrentThreadCpuTimeSupported() && enableCpuTime(threads);
+        this.allocationSupported = threads != null && threads.isThreadAllocatedMemorySupported()
+                && enableAllocatedMemory(threads);
+        this.percentiles = properties.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray();
+        if (!cpuSupported || !allocationSupported) {
+            log.info("Coste por petición: CPU {}, memoria asignada {} en esta JVM",
+                    cpuSupported ? "disponible" : "no disponible",
+                    allocationSupported ? "disponible" : "no disponible");
+        }
+    }
+
+    private static boolean enableCpuTime(com.sun.management.ThreadMXBean threads) {
+        if (!threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        return threads.isThreadCpuTimeEnabled();
+    }
+
+    private static boolean enableAllocatedMemory(com.sun.management.ThreadMXBean threads) {
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threads.isThreadAllocatedMemoryEnabled();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || (!cpuSupported && !allocationSupported);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Sample sample = new Sample();
+        ServerTimingResponseWrapper timingResponse = properties.isServerTiming()
+                ? new ServerTimingResponseWrapper(response, sample::serverTiming)
+                : null;
+        try {
+            filterChain.doFilter(request, timingResponse != null ? timingResponse : response);
+        } finally {
+            long cpu = sample.cpu();
+            long allocated = sample.allocated();
+            if (timingResponse != null) {
+                timingResponse.addServerTiming();
+            }
+            record(request, response, cpu, allocated);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, long cpu, long allocated) {
+        Tags tags = Tags.of("method", request.getMethod(), "uri", uri(request, response.getStatus()),
+                "status", Integer.toString(response.getStatus()), "outcome", outcome(response.getStatus()));
+        if (cpu >= 0) {
+            Timer.builder("http.server.requests.cpu")
+                    .description("Tiempo de CPU del hilo que atiende la petición")
+                    .tags(tags)
+                    .publishPercentiles(percentiles)
+                    .publishPercentileHistogram(properties.isPercentileHistogram())
+                    .register(meterRegistry)
+                    .record(cpu, TimeUnit.NANOSECONDS);
+        }
+        if (allocated >= 0) {
+            DistributionSummary.builder("http.server.requests.allocated")
+                    .description("Bytes asignados en el heap por el hilo que atiende la petición")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tags(tags)
+                    .publishPercentiles(percentiles)
+                    .publishPercentileHistogram(properties.isPercentileHistogram())
+                    .register(meterRegistry)
+                    .record(allocated);
+        }
+    }
+
+    /** Patrón de la ruta (/api/events/{id}), no la URI real: cardinalidad acotada. */
+    private static String uri(HttpServletRequest request, int status) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        if (status == 404) {
+            return "NOT_FOUND";
+        }
+        return status >= 300 && status < 400 ? "REDIRECTION" : "UNKNOWN";
+    }
+
+    private static String outcome(int status) {
+        if (status < 200) {
+            return "INFORMATIONAL";
+        }
+        if (status < 300) {
+            return "SUCCESS";
+        }
+        if (status < 400) {
+            return "REDIRECTION";
+        }
+        return status < 500 ? "CLIENT_ERROR" : "SERVER_ERROR";
+    }
+
+    /** Valores de los contadores del hilo al entrar en el filtro. */
+    private final class Sample {
+
+        private final long wallStart = System.nanoTime();
+        private final long cpuStart = cpuSupported ? threads.getCurrentThreadCpuTime() : -1;
+        private final long allocatedStart = allocationSupported ? threads.getCurrentThreadAllocatedBytes() : -1;
+
+        /** CPU consumida desde la entrada (ns), o -1 si no está disponible. */
+        long cpu() {
+            long now = cpuStart >= 0 ? threads.getCurrentThreadCpuTime() : -1;
+            return now >= 0 ? now - cpuStart : -1;
+        }
+
+        /** Bytes asignados desde la entrada, o -1 si no está disponible. */
+        long allocated() {
+            long now = allocatedStart >= 0 ? threads.getCurrentThreadAllocatedBytes() : -1;
+            return now >= 0 ? now - allocatedStart : -1;
+        }
+
+        String serverTiming() {
+            long cpu = cpu();
+            long allocated = allocated();
+            StringBuilder header = new StringBuilder();
+            if (cpu >= 0) {
+                header.append(String.format(Locale.ROOT, "cpu;dur=%.3f, ", cpu / 1e6));
+            }
+            if (allocated >= 0) {
+                header.append("alloc;desc=\"").append(allocated).append(" bytes\", ");
+            }
+            return header.append(String.format(Locale.ROOT, "total;dur=%.3f", (System.nanoTime() - wallStart) / 1e6))
+                    .toString();
+        }
+    }
+}
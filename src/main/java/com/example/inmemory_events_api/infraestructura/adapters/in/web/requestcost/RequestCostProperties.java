@@ -0,0 +1,34 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.requestcost;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Configuración de la medición de coste por petición (prefijo
+ * "request-cost" en application.properties).
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * request-cost.enabled=true
+ * request-cost.server-timing=true
+ * request-cost.percentiles=0.5,0.9,0.99
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "request-cost")
+public class RequestCostProperties {
+
+    private boolean enabled = true;
+
+    /** Añade la cabecera Server-Timing (cpu, alloc, total) a cada respuesta. */
+    private boolean serverTiming = false;
+
+    /** Percentiles publicados por endpoint; vacío = solo count, total y max. */
+    private List<Double> percentiles = List.of(0.5, 0.9, 0.99);
+
+    /** Publica además los buckets del histograma (agregables entre instancias). */
+    private boolean percentileHistogram = false;
+}
@@ -0,0 +1,157 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.requestcost;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.function.Supplier;
+
+/**
+ * Respuesta que añade la cabecera Server-Timing justo antes de que se
+ * envíen las cabeceras: en la primera escritura del cuerpo, en un flush,
+ * en sendError/sendRedirect o, si nada de eso ocurre, al terminar la
+ * petición (RequestCostFilter).
+ *
+ * Los valores son los acumulados hasta ese momento. Jackson escribe el
+ * cuerpo de una vez al terminar de serializar si cabe en su buffer (8 KB),
+ * así que las respuestas pequeñas incluyen toda la serialización; en las
+ * grandes la cabecera sale con el primer bloque y la métrica completa solo
+ * está en Micrometer.
+ */
+class ServerTimingResponseWrapper extends HttpServletResponseWrapper {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final Supplier<String> timing;
+    private boolean added;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    ServerTimingResponseWrapper(HttpServletResponse response, Supplier<String> timing) {
+        super(response);
+        this.timing = timing;
+    }
+
+    void addServerTiming() {
+        if (!added) {
+            added = true;
+            if (!isCommitted()) {
+                addHeader(SERVER_TIMING, timing.get());
+            }
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TimingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new TimingWriter(super.getWriter()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        addServerTiming();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        addServerTiming();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        addServerTiming();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        addServerTiming();
+        super.sendRedirect(location);
+    }
+
+    private final class TimingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TimingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            addServerTiming();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            addServerTiming();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            addServerTiming();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            addServerTiming();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    private final class TimingWriter extends Writer {
+
+        private final PrintWriter delegate;
+
+        TimingWriter(PrintWriter delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            addServerTiming();
+            delegate.write(cbuf, off, len);
+        }
+
+        @Override
+        public void flush() {
+            addServerTiming();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() {
+            addServerTiming();
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jdbc;
+
+import com.example.inmemory_events_api.aplicacion.resilience.DatabaseCircuitBreaker;
+import com.example.inmemory_events_api.dominio.model.ReservationDTO;
+import com.example.inmemory_events_api.dominio.ports.out.ReservationWriterPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Persistencia asíncrona y por lotes de las reservas confirmadas.
+ *
+ * Confirmar una reserva solo encola el registro (no toca la base de datos
+ * en el camino caliente). Un hilo programado vacía la cola cada
+ * reservation.flush-interval-ms y la inserta con JDBC batch en una sola
+ * transacción por lote. Se usa JdbcTemplate y no JPA porque con
+ * GenerationType.IDENTITY Hibernate desactiva el batching de INSERT.
+ *
+ * Cada fila solo se inserta si su evento sigue existiendo (desde V8 no hay
+ * clave foránea que lo impida): una reserva de un evento borrado no deja
+ * una fila huérfana, va a la tabla de descartes.
+ *
+ * Si un lote falla:
+ * - Por un fallo de almacenamiento (base de datos caída, pool agotado,
+ * timeout) se devuelve entero al principio de la cola y se reintenta en el
+ * siguiente ciclo, sin límite: la fila no tiene la culpa.
+ * - Por cualquier otro motivo se reintenta fila a fila para aislar la que
+ * falla; las demás se insertan. Cada fila que falla suma un intento y tras
+ * reservation.max-attempts se mueve a reservations_dead_letter (o, si ni
+ * eso es posible, se registra en el log con todos sus datos).
+ *
+ * Al ser cada lote (o fila) atómico, un reintento no duplica filas; un
+ * hold_id duplicado significa que la fila ya se insertó.
+ *
+ * Métricas: reservation.writer.pending, reservation.writer.written,
+ * reservation.writer.retries y reservation.writer.dead_lettered.
+ */
+@Component
+public class ConfirmedReservationWriter implements ReservationWriterPort {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfirmedReservationWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO reservations (hold_id, event_id, quantity, status, confirmed_at) "
+            + "SELECT ?, ?, ?, ?, ? FROM events WHERE id = ?";
+
+    private static final String DEAD_LETTER_SQL = "INSERT INTO reservations_dead_letter "
+            + "(hold_id, event_id, quantity, status, attempts, error, failed_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final BlockingDeque<Pending> queue = new LinkedBlockingDeque<>();
+    private final Counter written;
+    private final Counter retries;
+    private final Counter deadLettered;
+
+    public ConfirmedReservationWriter(JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.batch-size:500}") int batchSize,
+            @Value("${reservation.max-attempts:5}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.written = Counter.builder("reservation.writer.written")
+                .description("Reservas confirmadas insertadas").register(meterRegistry);
+        this.retries = Counter.builder("reservation.writer.retries")
+                .description("Filas devueltas a la cola tras un fallo").register(meterRegistry);
+        this.deadLettered = Counter.builder("reservation.writer.dead_lettered")
+                .description("Reservas descartadas tras agotar los intentos").register(meterRegistry);
+        Gauge.builder("reservation.writer.pending", queue, BlockingDeque::size).register(meterRegistry);
+    }
+
+    @Override
+    public void enqueueConfirmed(ReservationDTO reservation) {
+        queue.add(new Pending(reservation));
+    }
+
+    /**
+     * Vacía la cola en lotes de como máximo reservation.batch-size filas.
+     */
+    @Scheduled(fixedDelayString = "${reservation.flush-interval-ms:200}")
+    public synchronized void flush() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                int[] counts = transactionTemplate.execute(status -> insert(batch));
+                afterInsert(batch, counts);
+            } catch (RuntimeException e) {
+                if (DatabaseCircuitBreaker.isStorageFailure(e)) {
+                    log.warn("No se pudo persistir un lote de {} reservas; se reintentará", batch.size(), e);
+                    requeueFirst(batch);
+                    return;
+                }
+                if (!insertOneByOne(batch)) {
+                    return;
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Reintenta un lote fallido fila a fila.
+     *
+     * @return false si hay que parar el ciclo (fallo de almacenamiento)
+     */
+    private boolean insertOneByOne(List<Pending> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            Pending row = batch.get(i);
+            try {
+                int[] counts = transactionTemplate.execute(status -> insert(List.of(row)));
+                afterInsert(List.of(row), counts);
+            } catch (DuplicateKeyException e) {
+                // Ya insertada en un intento anterior
+                written.increment();
+            } catch (RuntimeException e) {
+                if (DatabaseCircuitBreaker.isStorageFailure(e)) {
+                    log.warn("No se pudieron persistir {} reservas; se reintentará", batch.size() - i, e);
+                    requeueFirst(batch.subList(i, batch.size()));
+                    return false;
+                }
+                failed(row, e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Las filas con 0 filas insertadas son de eventos que ya no existen.
+     */
+    private void afterInsert(List<Pending> rows, int[] counts) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (counts != null && i < counts.length && counts[i] == 0) {
+                deadLetter(rows.get(i), "El evento " + rows.get(i).reservation.getEventId() + " no existe");
+            } else {
+                // SUCCESS_NO_INFO (-2) con rewriteBatchedStatements: se da por insertada
+                written.increment();
+            }
+        }
+    }
+
+    private void failed(Pending row, RuntimeException e) {
+        row.attempts++;
+        if (row.attempts >= maxAttempts) {
+            deadLetter(row, e.getMessage());
+            return;
+        }
+        log.warn("No se pudo persistir la reserva {} (intento {}/{}); se reintentará",
+                row.reservation.getHoldId(), row.attempts, maxAttempts, e);
+        retries.increment();
+        queue.addLast(row);
+    }
+
+    private void deadLetter(Pending row, String error) {
+        deadLettered.increment();
+        ReservationDTO reservation = row.reservation;
+        String reason = error == null ? null
+                : error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        try {
+            jdbcTemplate.update(DEAD_LETTER_SQL, reservation.getHoldId(), reservation.getEventId(),
+                    reservation.getQuantity(), reservation.getStatus().name(), row.attempts, reason,
+                    Timestamp.from(Instant.now()));
+            log.error("Reserva {} (evento {}, {} asientos) movida a reservations_dead_letter: {}",
+                    reservation.getHoldId(), reservation.getEventId(), reservation.getQuantity(), reason);
+        } catch (RuntimeException e) {
+            log.error("Reserva descartada sin persistir: holdId={}, eventId={}, quantity={}, status={}, motivo={}",
+                    reservation.getHoldId(), reservation.getEventId(), reservation.getQuantity(),
+                    reservation.getStatus(), reason, e);
+        }
+    }
+
+    private void requeueFirst(List<Pending> rows) {
+        retries.increment(rows.size());
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            queue.addFirst(rows.get(i));
+        }
+    }
+
+    private int[] insert(List<Pending> batch) {
+        Timestamp now = Timestamp.from(Instant.now());
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, row) -> {
+            ReservationDTO reservation = row.reservation;
+            ps.setString(1, reservation.getHoldId());
+            ps.setLong(2, reservation.getEventId());
+            ps.setInt(3, reservation.getQuantity());
+            ps.setString(4, reservation.getStatus().name());
+            ps.setTimestamp(5, now);
+            ps.setLong(6, reservation.getEventId());
+        });
+        return counts.length == 0 ? new int[0] : counts[0];
+    }
+
+    private static final class Pending {
+        final ReservationDTO reservation;
+        /** Fallos no transitorios; solo lo toca el hilo de flush. */
+        int attempts;
+
+        Pending(ReservationDTO reservation) {
+            this.reservation = reservation;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jdbc;
+
+import com.example.inmemory_events_api.dominio.ports.out.SeatAllocationPort;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Cesión de asientos por bloques sobre la tabla event_seat_allocations.
+ *
+ * Cada cesión es un único UPDATE condicionado a que, tras sumar, los
+ * asientos cedidos no superen la capacidad actual del venue: la base de
+ * datos serializa las instancias sobre la fila del evento y es imposible
+ * ceder (y por tanto vender) más asientos de los que hay, aunque la
+ * capacidad cambie en otra instancia.
+ *
+ * La fila se crea la primera vez con las reservas ya confirmadas; si dos
+ * instancias la crean a la vez, la segunda recibe DuplicateKeyException y
+ * simplemente usa la existente.
+ */
+@Component
+public class JdbcSeatAllocator implements SeatAllocationPort {
+
+    private static final String CAPACITY_SQL = "(SELECT v.capacity FROM events e JOIN venues v ON v.id = e.venue_id "
+            + "WHERE e.id = ?)";
+
+    private static final String LEASE_SQL = "UPDATE event_seat_allocations SET allocated = allocated + ? "
+            + "WHERE event_id = ? AND allocated + ? <= " + CAPACITY_SQL;
+
+    private static final String GIVE_BACK_SQL = "UPDATE event_seat_allocations SET allocated = allocated - ? "
+            + "WHERE event_id = ? AND allocated >= ?";
+
+    private static final String INIT_SQL = "INSERT INTO event_seat_allocations (event_id, allocated) "
+            + "SELECT ?, COALESCE(SUM(quantity), 0) FROM reservations WHERE event_id = ? AND status = 'CONFIRMED'";
+
+    private static final String UNALLOCATED_SQL = "SELECT " + CAPACITY_SQL + " - a.allocated "
+            + "FROM event_seat_allocations a WHERE a.event_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSeatAllocator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean tryLease(Long eventId, long seats) {
+        if (seats <= 0) {
+            return true;
+        }
+        if (jdbcTemplate.update(LEASE_SQL, seats, eventId, seats, eventId) == 1) {
+            return true;
+        }
+        // 0 filas: o no quedan asientos o el evento aún no tiene fila
+        return initialize(eventId) && jdbcTemplate.update(LEASE_SQL, seats, eventId, seats, eventId) == 1;
+    }
+
+    @Override
+    public void giveBack(Long eventId, long seats) {
+        if (seats > 0) {
+            jdbcTemplate.update(GIVE_BACK_SQL, seats, eventId, seats);
+        }
+    }
+
+    @Override
+    public long unallocated(Long eventId) {
+        List<Long> rows = jdbcTemplate.queryForList(UNALLOCATED_SQL, Long.class, eventId, eventId);
+        if (rows.isEmpty() && initialize(eventId)) {
+            rows = jdbcTemplate.queryForList(UNALLOCATED_SQL, Long.class, eventId, eventId);
+        }
+        return rows.isEmpty() || rows.get(0) == null ? 0 : Math.max(0, rows.get(0));
+    }
+
+    /**
+     * Crea la fila del evento si no existe.
+     *
+     * @return true si se creó (o la creó otra instancia a la vez)
+     */
+    private boolean initialize(Long eventId) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_seat_allocations WHERE event_id = ?", Integer.class, eventId);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+        try {
+            jdbcTemplate.update(INIT_SQL, eventId, eventId);
+        } catch (DuplicateKeyException e) {
+            // Otra instancia la creó entre la comprobación y el INSERT
+        }
+        return true;
+    }
+}
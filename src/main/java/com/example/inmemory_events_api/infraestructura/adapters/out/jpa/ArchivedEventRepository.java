@@ -0,0 +1,64 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa;
+
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ArchivedEventEntity;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.EventExportView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio del histórico de eventos (solo lecturas y borrado por venue;
+ * el archivado va por SQL en EventArchiver).
+ */
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEventEntity, Long> {
+
+    /**
+     * Eventos archivados en un rango de fechas. Con MySQL el predicado sobre
+     * date limita la lectura a las particiones del rango.
+     */
+    @Query("SELECT a FROM ArchivedEventEntity a WHERE a.date BETWEEN :startDate AND :endDate ORDER BY a.date, a.id")
+    List<ArchivedEventEntity> findByDateRange(@Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT a FROM ArchivedEventEntity a WHERE a.id IN :ids")
+    List<ArchivedEventEntity> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Fecha del evento archivado más reciente (vacío si no hay histórico).
+     */
+    @Query("SELECT MAX(a.date) FROM ArchivedEventEntity a")
+    Optional<LocalDate> findMaxDate();
+
+    /**
+     * Todo el histórico para la exportación masiva, en streaming por ID
+     * (requiere transacción abierta).
+     */
+    @Query("SELECT a.id AS id, a.title AS name, a.description AS description, a.venueId AS venueId, "
+            + "a.date AS startDate, a.endDate AS endDate, a.status AS status, a.category AS category "
+            + "FROM ArchivedEventEntity a ORDER BY a.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<EventExportView> streamExportViews();
+
+    /**
+     * Borra el histórico de un venue eliminado (con sus categorías: un
+     * DELETE JPQL no recorre la colección).
+     */
+    @Modifying
+    @Query(value = "DELETE FROM event_categories_archive WHERE event_id IN "
+            + "(SELECT id FROM events_archive WHERE venue_id = :venueId)", nativeQuery = true)
+    int deleteCategoriesByVenueId(@Param("venueId") Long venueId);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedEventEntity a WHERE a.venueId = :venueId")
+    int deleteByVenueId(@Param("venueId") Long venueId);
+}
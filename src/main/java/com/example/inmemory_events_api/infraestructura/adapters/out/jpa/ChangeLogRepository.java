@@ -0,0 +1,43 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa;
+
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ChangeLogEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio del change-log. Las lecturas son por keyset sobre la clave
+ * primaria (sin OFFSET): cada sondeo cuesta lo mismo con independencia del
+ * tamaño de la tabla.
+ */
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntity, Long> {
+
+    /**
+     * Siguiente página de cambios tras el cursor, en orden de id.
+     */
+    @Query("SELECT c FROM ChangeLogEntity c WHERE c.id > :after ORDER BY c.id")
+    List<ChangeLogEntity> findPageAfter(@Param("after") long after, Pageable page);
+
+    /**
+     * Cambios concretos (huecos del cursor que pueden haber hecho commit
+     * tarde).
+     */
+    @Query("SELECT c FROM ChangeLogEntity c WHERE c.id IN :ids ORDER BY c.id")
+    List<ChangeLogEntity> findByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Mayor id registrado antes del instante dado (0 si no hay ninguno).
+     */
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM ChangeLogEntity c WHERE c.changedAt < :before")
+    long findMaxIdBefore(@Param("before") Instant before);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntity c WHERE c.changedAt < :before")
+    int deleteOlderThan(@Param("before") Instant before);
+}
@@ -2,15 +2,23 @@ package com.example.inmemory_events_api.infraestructura.adapters.out.jpa;
 
 import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventEntity;
 import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventStatus;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.EventColumnView;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.EventExportView;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.EventScheduleView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio optimizado para EventEntity.
@@ -52,6 +60,48 @@ public interface EventRepository extends JpaRepository<EventEntity, Long>, JpaSp
         @Query("SELECT DISTINCT e FROM EventEntity e LEFT JOIN FETCH e.venue")
         List<EventEntity> findAllWithVenue();
 
+        /**
+         * Busca varios eventos por ID con sus venues (multi-get).
+         * Se invoca por bloques; el padding de parámetros IN de Hibernate
+         * mantiene pocas formas de sentencia distintas.
+         */
+        @Query("SELECT e FROM EventEntity e LEFT JOIN FETCH e.venue WHERE e.id IN :ids")
+        List<EventEntity> findAllWithVenueByIdIn(@Param("ids") Collection<Long> ids);
+
+        /**
+         * Fechas y venue de todos los eventos (sin cargar entidades), para
+         * construir el índice de ocupación de venues al arrancar.
+         */
+        @Query("SELECT e.id AS id, e.venue.id AS venueId, e.date AS startDate, e.endDate AS endDate FROM EventEntity e")
+        List<EventScheduleView> findAllScheduleViews();
+
+        /**
+         * Fechas y venue de un evento, para aplicar cambios de otras
+         * instancias al índice de ocupación.
+         */
+        @Query("SELECT e.id AS id, e.venue.id AS venueId, e.date AS startDate, e.endDate AS endDate FROM EventEntity e WHERE e.id = :id")
+        Optional<EventScheduleView> findScheduleViewById(@Param("id") Long id);
+
+        /**
+         * Columnas de todos los eventos para la proyección columnar, en
+         * streaming (requiere transacción abierta).
+         */
+        @Query("SELECT e.id AS id, e.date AS date, e.status AS status, v.id AS venueId, v.city AS city "
+                        + "FROM EventEntity e JOIN e.venue v")
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+        Stream<EventColumnView> streamColumnViews();
+
+        /**
+         * Todos los eventos para la exportación masiva, en streaming por ID
+         * (requiere transacción abierta; con MySQL, useCursorFetch=true para
+         * que el driver use un cursor en el servidor).
+         */
+        @Query("SELECT e.id AS id, e.title AS name, e.description AS description, e.venue.id AS venueId, "
+                        + "e.date AS startDate, e.endDate AS endDate, e.status AS status, e.category AS category "
+                        + "FROM EventEntity e ORDER BY e.id")
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+        Stream<EventExportView> streamExportViews();
+
         // ========== Queries JPQL optimizadas ==========
 
         /**
@@ -70,7 +120,7 @@ public interface EventRepository extends JpaRepository<EventEntity, Long>, JpaSp
 
         /**
          * Busca eventos en un rango de fechas.
-         * Optimizado con índice en la columna date.
+         * Rango sobre idx_event_date (que también da el orden).
          */
         @Query("SELECT e FROM EventEntity e WHERE e.date BETWEEN :startDate AND :endDate ORDER BY e.date")
         List<EventEntity> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
@@ -85,7 +135,8 @@ public interface EventRepository extends JpaRepository<EventEntity, Long>, JpaSp
 
         /**
          * Busca eventos por estado.
-         * Optimizado con índice en la columna status.
+         * Usa el prefijo status de idx_event_status_date (poco selectivo: con
+         * pocos estados distintos el optimizador puede preferir recorrer).
          */
         @Query("SELECT e FROM EventEntity e WHERE e.status = :status")
         List<EventEntity> findByStatus(@Param("status") EventStatus status);
@@ -99,7 +150,8 @@ public interface EventRepository extends JpaRepository<EventEntity, Long>, JpaSp
 
         /**
          * Busca eventos futuros activos.
-         * Optimizado con índices en date y status.
+         * idx_event_status_date: igualdad en status y rango en date, ya
+         * ordenado por date.
          */
         @Query("SELECT e FROM EventEntity e WHERE e.status = 'ACTIVO' AND e.date > :today ORDER BY e.date")
         List<EventEntity> findFutureActiveEvents(@Param("today") LocalDate today);
@@ -137,14 +189,17 @@ public interface EventRepository extends JpaRepository<EventEntity, Long>, JpaSp
 
         /**
          * Busca eventos por título (búsqueda parcial).
-         * Optimizado con índice en title.
+         * LIKE con comodín inicial y LOWER: ningún índice sirve, recorre la
+         * tabla entera.
          */
         @Query("SELECT e FROM EventEntity e WHERE LOWER(e.title) LIKE LOWER(CONCAT('%', :title, '%'))")
         List<EventEntity> findByTitleContaining(@Param("title") String title);
 
         /**
          * Query compleja: Busca eventos activos futuros en una ciudad específica.
-         * Combina múltiples filtros y join fetch.
+         * Combina múltiples filtros y join fetch. LOWER(v.city) no puede usar
+         * idx_venue_city; la versión sin JOIN es
+         * EventViewRepository#findUpcomingByCity.
          */
         @Query("SELECT e FROM EventEntity e " +
                         "JOIN FETCH e.venue v " +
@@ -0,0 +1,44 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa;
+
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventViewEntity;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.EventSummaryView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Lecturas del modelo de lectura desnormalizado (event_view y
+ * event_view_category). Cada consulta lee una sola tabla y solo columnas
+ * de su índice; la escritura va por SQL en EventReadModel.
+ */
+public interface EventViewRepository extends JpaRepository<EventViewEntity, Long> {
+
+    /**
+     * Próximos eventos activos en una ciudad (equivalente a
+     * EventRepository#findFutureActiveEventsByCity sin JOIN). Resuelta solo
+     * con idx_event_view_city: igualdad en ciudad y estado, rango en fecha.
+     *
+     * @param cityKey ciudad en minúsculas
+     */
+    @Query("SELECT v.eventId AS id, v.title AS name, v.venueId AS venueId, v.date AS startDate, "
+            + "v.endDate AS endDate FROM EventViewEntity v "
+            + "WHERE v.venueCityKey = :cityKey "
+            + "AND v.status = 'ACTIVO' "
+            + "AND v.date > :today ORDER BY v.date")
+    List<EventSummaryView> findUpcomingByCity(@Param("cityKey") String cityKey, @Param("today") LocalDate today);
+
+    /**
+     * Eventos de una categoría (equivalente a
+     * EventRepository#findByCategoryNameWithDetails sin JOIN), por fecha.
+     * Rango de la clave primaria de event_view_category.
+     *
+     * @param categoryKey nombre de la categoría en minúsculas
+     */
+    @Query("SELECT c.eventId AS id, c.title AS name, c.venueId AS venueId, c.date AS startDate, "
+            + "c.endDate AS endDate FROM EventViewCategoryEntity c "
+            + "WHERE c.categoryKey = :categoryKey ORDER BY c.date, c.eventId")
+    List<EventSummaryView> findByCategory(@Param("categoryKey") String categoryKey);
+}
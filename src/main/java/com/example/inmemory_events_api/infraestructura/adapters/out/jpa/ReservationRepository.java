@@ -0,0 +1,13 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa;
+
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ReservationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositorio para ReservationEntity.
+ * Las inserciones van por lotes JDBC (ConfirmedReservationWriter) y el
+ * punto de partida del reparto de asientos se calcula en SQL
+ * (JdbcSeatAllocator).
+ */
+public interface ReservationRepository extends JpaRepository<ReservationEntity, Long> {
+}
@@ -1,14 +1,21 @@
 package com.example.inmemory_events_api.infraestructura.adapters.out.jpa;
 
 import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.VenueEntity;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.VenueExportView;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.VenueKeyView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio optimizado para VenueEntity.
@@ -39,9 +46,16 @@ public interface VenueRepository extends JpaRepository<VenueEntity, Long>, JpaSp
 
         // ========== Queries JPQL optimizadas ==========
 
+        /**
+         * Busca varios venues por ID (multi-get por bloques).
+         */
+        @Query("SELECT v FROM VenueEntity v WHERE v.id IN :ids")
+        List<VenueEntity> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
         /**
          * Busca venues por ciudad.
-         * Optimizado con índice en city.
+         * LIKE con comodín inicial y LOWER: recorre la tabla entera
+         * (idx_venue_city solo sirve a igualdades).
          */
         @Query("SELECT v FROM VenueEntity v WHERE LOWER(v.city) LIKE LOWER(CONCAT('%', :city, '%'))")
         List<VenueEntity> findByCity(@Param("city") String city);
@@ -54,7 +68,7 @@ public interface VenueRepository extends JpaRepository<VenueEntity, Long>, JpaSp
 
         /**
          * Busca venues con capacidad mínima.
-         * Optimizado con índice en capacity.
+         * Rango sobre idx_venue_capacity (que también da el orden).
          */
         @Query("SELECT v FROM VenueEntity v WHERE v.capacity >= :minCapacity ORDER BY v.capacity")
         List<VenueEntity> findByMinCapacity(@Param("minCapacity") Integer minCapacity);
@@ -69,7 +83,7 @@ public interface VenueRepository extends JpaRepository<VenueEntity, Long>, JpaSp
 
         /**
          * Busca venues por nombre (búsqueda parcial).
-         * Optimizado con índice en name.
+         * LIKE con comodín inicial y LOWER: recorre la tabla entera.
          */
         @Query("SELECT v FROM VenueEntity v WHERE LOWER(v.name) LIKE LOWER(CONCAT('%', :name, '%'))")
         List<VenueEntity> findByNameContaining(@Param("name") String name);
@@ -97,6 +111,24 @@ public interface VenueRepository extends JpaRepository<VenueEntity, Long>, JpaSp
                         "AND e.date > CURRENT_DATE)")
         List<VenueEntity> findVenuesWithFutureActiveEvents();
 
+        // ========== Importación / exportación masiva ==========
+
+        /**
+         * ID y nombre de todos los venues (mapa de referencias de una
+         * importación).
+         */
+        @Query("SELECT v.id AS id, v.name AS name FROM VenueEntity v")
+        List<VenueKeyView> findAllKeys();
+
+        /**
+         * Todos los venues para la exportación masiva, en streaming por ID
+         * (requiere transacción abierta).
+         */
+        @Query("SELECT v.id AS id, v.name AS name, v.address AS address, v.city AS city, v.capacity AS capacity "
+                        + "FROM VenueEntity v ORDER BY v.id")
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+        Stream<VenueExportView> streamExportViews();
+
         // ========== Queries derivadas ==========
 
         /**
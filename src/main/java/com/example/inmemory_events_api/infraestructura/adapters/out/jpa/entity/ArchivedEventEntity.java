@@ -0,0 +1,65 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Entidad JPA para el histórico de eventos (events_archive).
+ *
+ * Mismas columnas que EventEntity más archived_at. Solo lectura desde la
+ * aplicación: las filas las escribe el EventArchiver con SQL por lotes.
+ * - venue_id es una columna simple (sin @ManyToOne): el histórico no
+ * carga venues y no bloquea nada en la tabla caliente.
+ * - Las categorías se guardan como IDs en event_categories_archive.
+ */
+@Entity
+@Table(name = "events_archive", indexes = {
+        @Index(name = "idx_event_archive_date", columnList = "date"),
+        @Index(name = "idx_event_archive_venue", columnList = "venue_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedEventEntity {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(nullable = false, length = 1000)
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(length = 100)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EventStatus status;
+
+    @Column(name = "venue_id", nullable = false)
+    private Long venueId;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "event_categories_archive", joinColumns = @JoinColumn(name = "event_id"))
+    @Column(name = "category_id")
+    @Builder.Default
+    private Set<Long> categoryIds = new HashSet<>();
+}
@@ -0,0 +1,9 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity;
+
+/**
+ * Tipo de entidad de una fila del change-log.
+ */
+public enum ChangeEntityType {
+    EVENT,
+    VENUE
+}
@@ -0,0 +1,57 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entidad JPA para el change-log (tabla outbox) de eventos y venues.
+ *
+ * Cada escritura de EventService / VenueService inserta una fila en la
+ * misma transacción que el cambio de la entidad: la fila existe si y solo
+ * si el cambio hizo commit. Las demás instancias la leen por keyset (id
+ * creciente) con el ChangeLogTailer e invalidan sus cachés locales.
+ *
+ * La fila solo identifica la entidad cambiada (sin el estado): quien la
+ * aplica vuelve a leer el estado actual. venueId se guarda en los eventos
+ * porque tras un borrado ya no se puede leer.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_changed_at", columnList = "changed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeLogEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 10)
+    private ChangeEntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ChangeOperation operation;
+
+    @Column(name = "venue_id")
+    private Long venueId;
+
+    /**
+     * Instancia que hizo el cambio (ya lo aplicó localmente).
+     */
+    @Column(nullable = false, length = 64)
+    private String origin;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,10 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity;
+
+/**
+ * Operación registrada en el change-log: alta o modificación (UPSERT) y
+ * borrado (DELETE).
+ */
+public enum ChangeOperation {
+    UPSERT,
+    DELETE
+}
@@ -17,14 +17,15 @@ import java.util.List;
  * Optimizaciones implementadas:
  * - @BatchSize para reducir N+1 queries
  * - FetchType.LAZY en ManyToOne y ManyToMany
- * - Índices en columnas frecuentemente consultadas
+ * - Índices según las consultas reales (ver /admin/query-plans): los
+ * compuestos (status, date) y (venue_id, date) sirven igualdad + rango
  * - Enum para estado del evento
  */
 @Entity
 @Table(name = "events", indexes = {
         @Index(name = "idx_event_date", columnList = "date"),
-        @Index(name = "idx_event_status", columnList = "status"),
-        @Index(name = "idx_event_venue", columnList = "venue_id"),
+        @Index(name = "idx_event_status_date", columnList = "status, date"),
+        @Index(name = "idx_event_venue_date", columnList = "venue_id, date"),
         @Index(name = "idx_event_category", columnList = "category")
 })
 @Getter
@@ -58,6 +59,13 @@ public class EventEntity {
     @Column(nullable = false)
     private LocalDate date;
 
+    /**
+     * Último día del evento (inclusive). Null equivale a un evento de un
+     * solo día (endDate = date).
+     */
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
     @Column(length = 100)
     private String category;
 
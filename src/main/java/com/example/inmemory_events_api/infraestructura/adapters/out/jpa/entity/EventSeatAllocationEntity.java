@@ -0,0 +1,29 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entidad JPA con los asientos de cada evento cedidos a las instancias.
+ *
+ * allocated = reservas confirmadas + retenciones en curso + asientos que
+ * alguna instancia tiene en memoria sin vender. Solo se modifica con UPDATE
+ * condicionados (ver JdbcSeatAllocator); la entidad existe para que
+ * ddl-auto cree la tabla igual que V11__create_event_seat_allocations.sql.
+ */
+@Entity
+@Table(name = "event_seat_allocations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventSeatAllocationEntity {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Long allocated;
+}
@@ -0,0 +1,67 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Modelo de lectura de eventos por categoría (event_view_category): una
+ * fila por (categoría, evento).
+ *
+ * La clave primaria (category_key, date, event_id) es el orden de la
+ * consulta por categoría, así que en InnoDB (tabla agrupada por la clave
+ * primaria) la lectura es un único rango contiguo sin JOIN ni ordenación.
+ * Las filas las mantiene EventReadModel junto con event_view.
+ */
+@Entity
+@Immutable
+@IdClass(EventViewCategoryEntity.Key.class)
+@Table(name = "event_view_category", indexes = {
+        @Index(name = "idx_event_view_category_event", columnList = "event_id"),
+        @Index(name = "idx_event_view_category_venue", columnList = "venue_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventViewCategoryEntity {
+
+    /** Nombre de la categoría en minúsculas. */
+    @Id
+    @Column(name = "category_key", length = 100)
+    private String categoryKey;
+
+    @Id
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EventStatus status;
+
+    @Column(name = "venue_id", nullable = false)
+    private Long venueId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String categoryKey;
+        private LocalDate date;
+        private Long eventId;
+    }
+}
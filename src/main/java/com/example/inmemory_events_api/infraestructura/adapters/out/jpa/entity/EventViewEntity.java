@@ -0,0 +1,76 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+/**
+ * Modelo de lectura desnormalizado de eventos (event_view).
+ *
+ * Una fila por evento de la tabla caliente con los datos del venue y los
+ * nombres de sus categorías copiados en línea, para que las lecturas no
+ * hagan JOIN con venues ni con event_categories/categories.
+ * - Solo lectura desde JPA: las filas las mantiene EventReadModel con SQL
+ * en la misma transacción que cada escritura.
+ * - venue_city_key es la ciudad en minúsculas; el índice idx_event_view_city
+ * cubre la búsqueda de próximos eventos activos por ciudad sin leer la
+ * fila.
+ * - Los eventos archivados no están en la vista.
+ */
+@Entity
+@Immutable
+@Table(name = "event_view", indexes = {
+        @Index(name = "idx_event_view_city", columnList = "venue_city_key, status, date, venue_id, end_date, title"),
+        @Index(name = "idx_event_view_venue", columnList = "venue_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventViewEntity {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(nullable = false, length = 200)
+    private String title;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EventStatus status;
+
+    @Column(length = 100)
+    private String category;
+
+    @Column(name = "venue_id", nullable = false)
+    private Long venueId;
+
+    @Column(name = "venue_name", length = 100)
+    private String venueName;
+
+    @Column(name = "venue_city", length = 100)
+    private String venueCity;
+
+    @Column(name = "venue_city_key", length = 100)
+    private String venueCityKey;
+
+    @Column(name = "venue_capacity")
+    private Integer venueCapacity;
+
+    /**
+     * Nombres de las categorías (event_categories) separados por comas y
+     * ordenados; null si no tiene ninguna.
+     */
+    @Column(name = "category_names", length = 1000)
+    private String categoryNames;
+}
@@ -0,0 +1,52 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity;
+
+import com.example.inmemory_events_api.dominio.model.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entidad JPA para las reservas confirmadas que no se pudieron persistir.
+ *
+ * ConfirmedReservationWriter mueve aquí una reserva tras
+ * reservation.max-attempts fallos no transitorios (evento inexistente,
+ * restricción violada...) para que no bloquee al resto de la cola. Las
+ * filas se insertan con JDBC; la entidad existe para que ddl-auto cree la
+ * tabla igual que V12__create_reservations_dead_letter.sql.
+ */
+@Entity
+@Table(name = "reservations_dead_letter")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationDeadLetterEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hold_id", nullable = false, length = 36)
+    private String holdId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReservationStatus status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "failed_at", nullable = false)
+    private Instant failedAt;
+}
@@ -0,0 +1,47 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity;
+
+import com.example.inmemory_events_api.dominio.model.ReservationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Entidad JPA para reservas confirmadas.
+ *
+ * Solo se persisten las reservas CONFIRMED: las retenciones (HELD) viven en
+ * memoria y caducan solas. Las filas se insertan en lotes JDBC de forma
+ * asíncrona (ver ConfirmedReservationWriter), por eso la relación con el
+ * evento se guarda como columna simple y no como @ManyToOne.
+ */
+@Entity
+@Table(name = "reservations", indexes = {
+        @Index(name = "idx_reservation_event_status", columnList = "event_id, status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReservationEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "hold_id", nullable = false, unique = true, length = 36)
+    private String holdId;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ReservationStatus status;
+
+    @Column(name = "confirmed_at", nullable = false)
+    private Instant confirmedAt;
+}
@@ -0,0 +1,20 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection;
+
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de las columnas que usa el motor de escaneo columnar.
+ */
+public interface EventColumnView {
+    Long getId();
+
+    LocalDate getDate();
+
+    EventStatus getStatus();
+
+    Long getVenueId();
+
+    String getCity();
+}
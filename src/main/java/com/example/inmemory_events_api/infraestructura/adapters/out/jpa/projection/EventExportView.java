@@ -0,0 +1,28 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection;
+
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de un evento para la exportación masiva (eventos vivos y
+ * archivados). Al no ser una entidad, no se queda en el contexto de
+ * persistencia mientras se recorre el stream.
+ */
+public interface EventExportView {
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Long getVenueId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    EventStatus getStatus();
+
+    String getCategory();
+}
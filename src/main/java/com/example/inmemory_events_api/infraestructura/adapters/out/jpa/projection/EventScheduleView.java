@@ -0,0 +1,17 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección mínima de un evento para construir el índice de ocupación de
+ * los venues (sin cargar entidades completas).
+ */
+public interface EventScheduleView {
+    Long getId();
+
+    Long getVenueId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
@@ -0,0 +1,19 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección de un evento leída del modelo de lectura (event_view o
+ * event_view_category): solo columnas del índice que resuelve la consulta.
+ */
+public interface EventSummaryView {
+    Long getId();
+
+    String getName();
+
+    Long getVenueId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
@@ -0,0 +1,16 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection;
+
+/**
+ * Proyección de un venue para la exportación masiva.
+ */
+public interface VenueExportView {
+    Long getId();
+
+    String getName();
+
+    String getAddress();
+
+    String getCity();
+
+    Integer getCapacity();
+}
@@ -0,0 +1,11 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection;
+
+/**
+ * ID y nombre de un venue, para resolver las referencias de una
+ * importación masiva sin cargar entidades.
+ */
+public interface VenueKeyView {
+    Long getId();
+
+    String getName();
+}
@@ -0,0 +1,189 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.model.VenueDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Codificación binaria de los registros del WAL del catálogo en memoria.
+ *
+ * Cada registro es el estado completo de una entidad (PUT) o su borrado
+ * (DELETE), nunca un delta: aplicar un registro dos veces da el mismo
+ * resultado, que es lo que necesita la compactación del WAL.
+ *
+ * Formato: [byte tipo][long id][campos...]. Los campos opcionales llevan un
+ * byte de presencia; los textos van como [int longitud][UTF-8] (-1 = null).
+ *
+ * Un BATCH agrupa varios registros ([byte tipo][long número][int longitud,
+ * registro]...) que se aplican juntos en una única versión del catálogo:
+ * como es un único registro del WAL, tras una caída se recupera entero o
+ * nada.
+ */
+final class CatalogRecordCodec {
+
+    static final byte PUT_EVENT = 1;
+    static final byte DELETE_EVENT = 2;
+    static final byte PUT_VENUE = 3;
+    static final byte DELETE_VENUE = 4;
+    static final byte ID_SEQUENCES = 5;
+    static final byte BATCH = 6;
+
+    /**
+     * Receptor de registros decodificados.
+     */
+    interface Visitor {
+        void putEvent(EventDTO event);
+
+        void deleteEvent(long id);
+
+        void putVenue(VenueDTO venue);
+
+        void deleteVenue(long id);
+
+        /** Últimos IDs asignados (va en los snapshots). */
+        void idSequences(long lastEventId, long lastVenueId);
+    }
+
+    private CatalogRecordCodec() {
+    }
+
+    static byte[] putEvent(EventDTO event) {
+        return encode(PUT_EVENT, event.getId(), out -> {
+            writeString(out, event.getName());
+            writeLong(out, event.getVenueId());
+            writeDate(out, event.getDate());
+            writeDate(out, event.getEndDate());
+        });
+    }
+
+    static byte[] deleteEvent(long id) {
+        return encode(DELETE_EVENT, id, out -> {
+        });
+    }
+
+    static byte[] putVenue(VenueDTO venue) {
+        return encode(PUT_VENUE, venue.getId(), out -> {
+            writeString(out, venue.getName());
+            writeString(out, venue.getAddress());
+            writeString(out, venue.getCity());
+            out.writeBoolean(venue.getCapacity() != null);
+            if (venue.getCapacity() != null) {
+                out.writeInt(venue.getCapacity());
+            }
+        });
+    }
+
+    static byte[] deleteVenue(long id) {
+        return encode(DELETE_VENUE, id, out -> {
+        });
+    }
+
+    /**
+     * Últimos IDs asignados: sin este registro, tras compactar se podrían
+     * reutilizar los IDs de entidades borradas.
+     */
+    static byte[] idSequences(long lastEventId, long lastVenueId) {
+        return encode(ID_SEQUENCES, lastEventId, out -> out.writeLong(lastVenueId));
+    }
+
+    /**
+     * Agrupa registros ya codificados en uno solo.
+     */
+    static byte[] batch(List<byte[]> records) {
+        return encode(BATCH, records.size(), out -> {
+            for (byte[] record : records) {
+                out.writeInt(record.length);
+                out.write(record);
+            }
+        });
+    }
+
+    static void decode(ByteBuffer in, Visitor visitor) {
+        byte type = in.get();
+        long id = in.getLong();
+        switch (type) {
+            case BATCH -> {
+                for (long i = 0; i < id; i++) {
+                    int length = in.getInt();
+                    decode(in.slice(in.position(), length), visitor);
+                    in.position(in.position() + length);
+                }
+            }
+            case PUT_EVENT -> visitor.putEvent(new EventDTO(id, readString(in), readLong(in), readDate(in), readDate(in)));
+            case DELETE_EVENT -> visitor.deleteEvent(id);
+            case PUT_VENUE -> visitor.putVenue(new VenueDTO(id, readString(in), readString(in), readString(in),
+                    in.get() != 0 ? in.getInt() : null));
+            case DELETE_VENUE -> visitor.deleteVenue(id);
+            case ID_SEQUENCES -> visitor.idSequences(id, in.getLong());
+            default -> throw new IllegalStateException("Tipo de registro desconocido en el WAL: " + type);
+        }
+    }
+
+    // ========== Escritura ==========
+
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(byte type, long id, Body body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            out.writeLong(id);
+            body.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate value) throws IOException {
+        writeLong(out, value != null ? value.toEpochDay() : null);
+    }
+
+    // ========== Lectura ==========
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static Long readLong(ByteBuffer in) {
+        return in.get() != 0 ? in.getLong() : null;
+    }
+
+    private static LocalDate readDate(ByteBuffer in) {
+        Long epochDay = readLong(in);
+        return epochDay != null ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+}
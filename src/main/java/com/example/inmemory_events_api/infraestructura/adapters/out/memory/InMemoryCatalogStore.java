@@ -0,0 +1,512 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.model.VenueDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.memory.mvcc.EpochReclaimer;
+import com.example.inmemory_events_api.infraestructura.adapters.out.memory.mvcc.PersistentLongMap;
+import com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap.SegmentedEventStore;
+import com.example.inmemory_events_api.infraestructura.adapters.out.memory.wal.WriteAheadLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Catálogo de eventos y venues en memoria, durable gracias a un
+ * {@link WriteAheadLog} local, con control de concurrencia multiversión
+ * (MVCC).
+ *
+ * - Cada escritura se codifica como registro de estado completo, se añade
+ * al WAL y, una vez durable (group commit), se aplica en el hilo del log.
+ * Así el orden en memoria es el orden del log y las lecturas nunca ven
+ * datos que no sobrevivirían a un reinicio.
+ * - Todo el estado cuelga de una raíz inmutable ({@link Root}) con número
+ * de versión: venues en un {@link PersistentLongMap} y eventos en un
+ * {@link SegmentedEventStore.State}. Cada registro del WAL produce una
+ * raíz nueva (copy-on-write) que se publica con una única escritura
+ * volátil; un {@link Batch} con varias entidades es un único registro y,
+ * por tanto, una única versión: nadie ve la mitad de sus cambios.
+ * - Los lectores fijan su época en el {@link EpochReclaimer}, leen la raíz
+ * y trabajan sobre ella sin locks: nunca bloquean a los escritores ni se
+ * bloquean entre sí, y ven un snapshot consistente de todo el catálogo.
+ * - Los slots fuera del heap que una versión deja de usar se reutilizan
+ * cuando ya no queda ningún lector de una versión anterior.
+ * - Al arrancar se reproduce el WAL (snapshot + segmentos).
+ * - Una tarea programada compacta el WAL cuando acumula
+ * storage.wal.compact-after-segments segmentos; otra congela los meses
+ * terminados del almacén de eventos.
+ *
+ * Solo se activa con storage.mode=memory.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.mode", havingValue = "memory")
+public class InMemoryCatalogStore {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryCatalogStore.class);
+
+    private final AtomicLong eventIds = new AtomicLong();
+    private final AtomicLong venueIds = new AtomicLong();
+
+    private final WriteAheadLog wal;
+    private final int compactAfterSegments;
+    private final EpochReclaimer reclaimer;
+    private final SegmentedEventStore events;
+
+    private volatile Root root;
+
+    /**
+     * Serializa a los escritores: el hilo del WAL y las tareas de
+     * mantenimiento (congelación). Los lectores nunca lo toman.
+     */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    /** Raíz en construcción durante un commit (solo con writeLock). */
+    private Root working;
+
+    public InMemoryCatalogStore(@Value("${storage.wal.dir:./data/wal}") Path walDirectory,
+            @Value("${storage.wal.segment-size:64MB}") DataSize segmentSize,
+            @Value("${storage.wal.max-batch:256}") int maxBatch,
+            @Value("${storage.wal.fsync:true}") boolean fsync,
+            @Value("${storage.wal.compact-after-segments:4}") int compactAfterSegments,
+            @Value("${storage.mvcc.reader-slots:256}") int readerSlots) {
+        this.wal = new WriteAheadLog(walDirectory, segmentSize.toBytes(), maxBatch, fsync);
+        this.compactAfterSegments = compactAfterSegments;
+        this.reclaimer = new EpochReclaimer(readerSlots, () -> root.version);
+        this.events = new SegmentedEventStore(reclaimer);
+        this.root = new Root(0, PersistentLongMap.empty(), events.empty());
+    }
+
+    @PostConstruct
+    void open() {
+        wal.replay(record -> commit(() -> CatalogRecordCodec.decode(record, replayer)));
+        freezePastSegments();
+        Root loaded = root;
+        log.info("Catálogo en memoria cargado (versión {}): {} eventos ({} meses, {} congelados), {} venues",
+                loaded.version, loaded.events.size(), loaded.events.segmentCount(),
+                loaded.events.frozenSegmentCount(), loaded.venues.size());
+    }
+
+    @PreDestroy
+    void close() {
+        wal.close();
+    }
+
+    // ========== Lecturas ==========
+
+    /**
+     * Ejecuta una lectura sobre un snapshot consistente del catálogo (todas
+     * las consultas hechas dentro de reader ven la misma versión). El
+     * resultado debe materializarse dentro: fuera, el snapshot ya no está
+     * protegido.
+     */
+    public <T> T read(Function<Snapshot, T> reader) {
+        try (EpochReclaimer.Pin pin = reclaimer.pin()) {
+            return reader.apply(new Snapshot(root));
+        }
+    }
+
+    /**
+     * Error que dejó el WAL rechazando escrituras, si lo hubo.
+     */
+    public Optional<IOException> walFailure() {
+        return wal.failure();
+    }
+
+    /**
+     * Versión publicada (número de registros aplicados).
+     */
+    public long version() {
+        return root.version;
+    }
+
+    public List<EventDTO> findAllEvents() {
+        return read(Snapshot::findAllEvents);
+    }
+
+    public Optional<EventDTO> findEventById(Long id) {
+        return read(snapshot -> snapshot.findEventById(id));
+    }
+
+    public List<EventDTO> findEventsByDateBetween(LocalDate from, LocalDate to) {
+        return read(snapshot -> snapshot.findEventsByDateBetween(from, to));
+    }
+
+    public List<VenueDTO> findAllVenues() {
+        return read(Snapshot::findAllVenues);
+    }
+
+    public Optional<VenueDTO> findVenueById(Long id) {
+        return read(snapshot -> snapshot.findVenueById(id));
+    }
+
+    // ========== Escrituras ==========
+
+    /**
+     * @throws DataIntegrityViolationException si el venue del evento no
+     *                                         existe (o se borró mientras se
+     *                                         guardaba), como la FK de JPA
+     */
+    public EventDTO saveEvent(EventDTO event) {
+        if (!hasVenue(root, event)) {
+            // Se rechaza antes de escribir: el replay no debe ver un registro rechazado
+            throw new DataIntegrityViolationException("No existe el venue " + event.getVenueId()
+                    + " del evento " + event.getId());
+        }
+        EventDTO stored = assignId(copy(event));
+        // El venue aún puede borrarse antes de que se aplique el registro
+        AtomicBoolean orphan = new AtomicBoolean();
+        wal.append(CatalogRecordCodec.putEvent(stored), () -> commit(() -> {
+            orphan.set(!hasVenue(working, stored));
+            applier.putEvent(stored);
+        }));
+        if (orphan.get()) {
+            throw new DataIntegrityViolationException("No existe el venue " + stored.getVenueId()
+                    + " del evento " + stored.getId());
+        }
+        return copy(stored);
+    }
+
+    public boolean deleteEvent(Long id) {
+        if (!root.events.contains(id)) {
+            return false;
+        }
+        AtomicBoolean deleted = new AtomicBoolean();
+        wal.append(CatalogRecordCodec.deleteEvent(id), () -> commit(() -> {
+            deleted.set(working.events.contains(id));
+            applier.deleteEvent(id);
+        }));
+        return deleted.get();
+    }
+
+    public VenueDTO saveVenue(VenueDTO venue) {
+        VenueDTO stored = assignId(copy(venue));
+        wal.append(CatalogRecordCodec.putVenue(stored), () -> commit(() -> applier.putVenue(stored)));
+        return copy(stored);
+    }
+
+    /**
+     * Borra el venue y, como la relación JPA (cascade ALL), sus eventos, en
+     * una sola versión.
+     */
+    public boolean deleteVenue(Long id) {
+        if (!root.venues.containsKey(id)) {
+            return false;
+        }
+        AtomicBoolean deleted = new AtomicBoolean();
+        wal.append(CatalogRecordCodec.deleteVenue(id), () -> commit(() -> {
+            deleted.set(working.venues.containsKey(id));
+            applier.deleteVenue(id);
+        }));
+        return deleted.get();
+    }
+
+    /**
+     * Escritura atómica de varias entidades: todo lo que se haga con el
+     * {@link Batch} se escribe en el WAL como un único registro y se publica
+     * en una única versión. Ejemplo (venue con sus eventos):
+     *
+     * <pre>
+     * store.write(batch -> {
+     *     VenueDTO venue = batch.saveVenue(newVenue);
+     *     titles.forEach(title -> batch.saveEvent(new EventDTO(null, title, venue.getId(), date, date)));
+     * });
+     * </pre>
+     */
+    public void write(Consumer<Batch> changes) {
+        Batch batch = new Batch();
+        changes.accept(batch);
+        if (batch.records.isEmpty()) {
+            return;
+        }
+        wal.append(CatalogRecordCodec.batch(batch.records),
+                () -> commit(() -> batch.operations.forEach(Runnable::run)));
+    }
+
+    /**
+     * Cambios de una escritura atómica. Los IDs se asignan al añadir cada
+     * entidad, así que se pueden usar para relacionarlas dentro del batch.
+     */
+    public final class Batch {
+        private final List<byte[]> records = new ArrayList<>();
+        private final List<Runnable> operations = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        public VenueDTO saveVenue(VenueDTO venue) {
+            VenueDTO stored = assignId(copy(venue));
+            records.add(CatalogRecordCodec.putVenue(stored));
+            operations.add(() -> applier.putVenue(stored));
+            return copy(stored);
+        }
+
+        public EventDTO saveEvent(EventDTO event) {
+            EventDTO stored = assignId(copy(event));
+            records.add(CatalogRecordCodec.putEvent(stored));
+            operations.add(() -> applier.putEvent(stored));
+            return copy(stored);
+        }
+
+        public void deleteEvent(long id) {
+            records.add(CatalogRecordCodec.deleteEvent(id));
+            operations.add(() -> applier.deleteEvent(id));
+        }
+
+        public void deleteVenue(long id) {
+            records.add(CatalogRecordCodec.deleteVenue(id));
+            operations.add(() -> applier.deleteVenue(id));
+        }
+    }
+
+    // ========== Mantenimiento ==========
+
+    /**
+     * Congela los meses que ya terminaron. Es una versión nueva sin cambios
+     * lógicos (no pasa por el WAL); los lectores en curso siguen con la
+     * anterior.
+     */
+    @Scheduled(fixedDelayString = "${storage.segments.freeze-check-interval-ms:3600000}")
+    public void freezePastSegments() {
+        int before = root.events.frozenSegmentCount();
+        commit(() -> working = working.withEvents(
+                events.freezeBefore(working.events, LocalDate.now(), working.version)));
+        Root current = root;
+        int frozen = current.events.frozenSegmentCount() - before;
+        if (frozen > 0) {
+            log.info("Congelados {} segmentos mensuales de eventos ({} KB en heap, {} KB fuera del heap)",
+                    frozen, events.frozenHeapBytes(current.events) / 1024,
+                    events.offHeapBytes(current.events) / 1024);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${storage.wal.compaction-check-interval-ms:10000}")
+    public void compactIfNeeded() {
+        if (wal.segmentsSinceCheckpoint() > compactAfterSegments) {
+            compact();
+        }
+    }
+
+    /**
+     * Reescribe el estado actual como snapshot y borra los segmentos que ya
+     * cubre. En el hilo del log solo se toma la raíz vigente (sin copiar
+     * nada); la época fijada durante toda la compactación impide que se
+     * reutilicen sus slots mientras se codifica y escribe.
+     */
+    public void compact() {
+        try (EpochReclaimer.Pin pin = reclaimer.pin()) {
+            wal.checkpoint(() -> {
+                Snapshot snapshot = new Snapshot(root);
+                byte[] sequences = CatalogRecordCodec.idSequences(eventIds.get(), venueIds.get());
+                return () -> Stream.of(
+                        Stream.of(sequences),
+                        snapshot.findAllVenues().stream().map(CatalogRecordCodec::putVenue),
+                        snapshot.findAllEvents().stream().map(CatalogRecordCodec::putEvent))
+                        .flatMap(records -> records)
+                        .iterator();
+            });
+        }
+    }
+
+    // ========== Versiones ==========
+
+    /**
+     * Versión inmutable del catálogo.
+     */
+    private static final class Root {
+        final long version;
+        final PersistentLongMap<VenueDTO> venues;
+        final SegmentedEventStore.State events;
+
+        Root(long version, PersistentLongMap<VenueDTO> venues, SegmentedEventStore.State events) {
+            this.version = version;
+            this.venues = venues;
+            this.events = events;
+        }
+
+        Root withVenues(PersistentLongMap<VenueDTO> venues) {
+            return new Root(version, venues, events);
+        }
+
+        Root withEvents(SegmentedEventStore.State events) {
+            return new Root(version, venues, events);
+        }
+    }
+
+    /**
+     * Vista de lectura de una versión. Devuelve copias: los DTOs son
+     * mutables.
+     */
+    public final class Snapshot {
+        private final Root root;
+
+        private Snapshot(Root root) {
+            this.root = root;
+        }
+
+        public long version() {
+            return root.version;
+        }
+
+        public List<EventDTO> findAllEvents() {
+            return events.toList(root.events, root.version);
+        }
+
+        public Optional<EventDTO> findEventById(long id) {
+            return events.get(root.events, id);
+        }
+
+        public List<EventDTO> findEventsByDateBetween(LocalDate from, LocalDate to) {
+            return events.findByDateBetween(root.events, root.version, from, to);
+        }
+
+        public List<VenueDTO> findAllVenues() {
+            List<VenueDTO> result = new ArrayList<>(root.venues.size());
+            root.venues.forEach((id, venue) -> result.add(copy(venue)));
+            return result;
+        }
+
+        public Optional<VenueDTO> findVenueById(long id) {
+            return Optional.ofNullable(root.venues.get(id)).map(InMemoryCatalogStore::copy);
+        }
+    }
+
+    /**
+     * Aplica los cambios de un registro del WAL (o de una tarea de
+     * mantenimiento) sobre una raíz nueva y la publica de una vez.
+     */
+    private void commit(Runnable changes) {
+        writeLock.lock();
+        try {
+            Root base = root;
+            working = new Root(base.version + 1, base.venues, base.events);
+            changes.run();
+            root = working;
+            working = null;
+            reclaimer.reclaim();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ========== Aplicación de registros ==========
+
+    /**
+     * Aplica registros sobre la raíz en construcción. Se usa tanto en el
+     * replay como tras cada escritura durable (siempre dentro de commit).
+     */
+    private final CatalogRecordCodec.Visitor applier = new CatalogRecordCodec.Visitor() {
+        /**
+         * Un evento cuyo venue ya no existe (borrado en una versión anterior
+         * mientras se guardaba) no se aplica, ni aquí ni en el replay: el
+         * borrado en cascada no puede dejar huérfanos.
+         */
+        @Override
+        public void putEvent(EventDTO event) {
+            if (hasVenue(working, event)) {
+                working = working.withEvents(events.put(working.events, event, working.version));
+            }
+        }
+
+        @Override
+        public void deleteEvent(long id) {
+            working = working.withEvents(events.remove(working.events, id, working.version));
+        }
+
+        @Override
+        public void putVenue(VenueDTO venue) {
+            working = working.withVenues(working.venues.plus(venue.getId(), venue));
+        }
+
+        @Override
+        public void deleteVenue(long id) {
+            working = new Root(working.version, working.venues.minus(id),
+                    events.removeByVenue(working.events, id, working.version));
+        }
+
+        @Override
+        public void idSequences(long lastEventId, long lastVenueId) {
+            // Solo relevante en el replay
+        }
+    };
+
+    /**
+     * En el replay además se recuperan los contadores de IDs.
+     */
+    private final CatalogRecordCodec.Visitor replayer = new CatalogRecordCodec.Visitor() {
+        @Override
+        public void putEvent(EventDTO event) {
+            eventIds.accumulateAndGet(event.getId(), Math::max);
+            applier.putEvent(event);
+        }
+
+        @Override
+        public void deleteEvent(long id) {
+            applier.deleteEvent(id);
+        }
+
+        @Override
+        public void putVenue(VenueDTO venue) {
+            venueIds.accumulateAndGet(venue.getId(), Math::max);
+            applier.putVenue(venue);
+        }
+
+        @Override
+        public void deleteVenue(long id) {
+            applier.deleteVenue(id);
+        }
+
+        @Override
+        public void idSequences(long lastEventId, long lastVenueId) {
+            eventIds.accumulateAndGet(lastEventId, Math::max);
+            venueIds.accumulateAndGet(lastVenueId, Math::max);
+        }
+    };
+
+    private static boolean hasVenue(Root root, EventDTO event) {
+        return event.getVenueId() == null || root.venues.containsKey(event.getVenueId());
+    }
+
+    private EventDTO assignId(EventDTO event) {
+        if (event.getId() == null) {
+            event.setId(eventIds.incrementAndGet());
+        } else {
+            eventIds.accumulateAndGet(event.getId(), Math::max);
+        }
+        return event;
+    }
+
+    private VenueDTO assignId(VenueDTO venue) {
+        if (venue.getId() == null) {
+            venue.setId(venueIds.incrementAndGet());
+        } else {
+            venueIds.accumulateAndGet(venue.getId(), Math::max);
+        }
+        return venue;
+    }
+
+    private static EventDTO copy(EventDTO event) {
+        return new EventDTO(event.getId(), event.getName(), event.getVenueId(), event.getDate(), event.getEndDate());
+    }
+
+    private static VenueDTO copy(VenueDTO venue) {
+        return new VenueDTO(venue.getId(), venue.getName(), venue.getAddress(), venue.getCity(), venue.getCapacity());
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.ports.out.EventRepositoryPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptador de salida en memoria para eventos (storage.mode=memory).
+ * Las escrituras son durables a través del WAL de {@link InMemoryCatalogStore}.
+ */
+@Repository
+@ConditionalOnProperty(name = "storage.mode", havingValue = "memory")
+public class InMemoryEventRepository implements EventRepositoryPort {
+
+    private final InMemoryCatalogStore store;
+
+    public InMemoryEventRepository(InMemoryCatalogStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<EventDTO> findAll() {
+        return store.findAllEvents();
+    }
+
+    @Override
+    public Optional<EventDTO> findById(Long id) {
+        return store.findEventById(id);
+    }
+
+    @Override
+    public List<EventDTO> findByDateBetween(LocalDate from, LocalDate to) {
+        return store.findEventsByDateBetween(from, to);
+    }
+
+    @Override
+    public List<EventDTO> findByVenueId(Long venueId) {
+        return store.findAllEvents().stream()
+                .filter(event -> venueId.equals(event.getVenueId()))
+                .sorted(Comparator.comparing(EventDTO::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public EventDTO save(EventDTO event) {
+        return store.saveEvent(event);
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return store.deleteEvent(id);
+    }
+}
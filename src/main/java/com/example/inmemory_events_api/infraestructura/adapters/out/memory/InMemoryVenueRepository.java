@@ -0,0 +1,44 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory;
+
+import com.example.inmemory_events_api.dominio.model.VenueDTO;
+import com.example.inmemory_events_api.dominio.ports.out.VenueRepositoryPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador de salida en memoria para venues (storage.mode=memory).
+ * Las escrituras son durables a través del WAL de {@link InMemoryCatalogStore}.
+ */
+@Repository
+@ConditionalOnProperty(name = "storage.mode", havingValue = "memory")
+public class InMemoryVenueRepository implements VenueRepositoryPort {
+
+    private final InMemoryCatalogStore store;
+
+    public InMemoryVenueRepository(InMemoryCatalogStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<VenueDTO> findAll() {
+        return store.findAllVenues();
+    }
+
+    @Override
+    public Optional<VenueDTO> findById(Long id) {
+        return store.findVenueById(id);
+    }
+
+    @Override
+    public VenueDTO save(VenueDTO venue) {
+        return store.saveVenue(venue);
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return store.deleteVenue(id);
+    }
+}
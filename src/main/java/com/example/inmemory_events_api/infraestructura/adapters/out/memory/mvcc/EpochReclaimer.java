@@ -0,0 +1,142 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.mvcc;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Reclamación por épocas (epoch-based reclamation) de versiones antiguas.
+ *
+ * Lo que el GC de Java no puede saber es cuándo un slot fuera del heap
+ * deja de ser visible: un lector que empezó en la versión 10 puede seguir
+ * leyendo un slot que la versión 11 ya reemplazó. Por eso:
+ *
+ * - Cada lector fija ({@link #pin()}) la versión actual en una ranura de
+ * un array de épocas antes de leer la raíz, y la libera al terminar.
+ * - El escritor retira ({@link #retire}) los recursos que una versión deja
+ * de referenciar, junto con esa versión.
+ * - {@link #reclaim()} libera los retirados en la versión d cuando todos
+ * los lectores activos tienen fijada una versión &gt;= d (ninguno puede
+ * llegar ya a ellos).
+ *
+ * Orden de memoria: el lector publica su época (escritura volátil) antes
+ * de leer la raíz, y el escritor publica la raíz antes de mirar las
+ * épocas. Si el escritor no ve la época de un lector, ese lector verá
+ * forzosamente la raíz nueva, que ya no referencia lo retirado.
+ *
+ * Las ranuras están separadas 64 bytes para que lectores de hilos
+ * distintos no compartan línea de caché. Si todas están ocupadas, el
+ * lector espera (Thread.onSpinWait) a que se libere una.
+ *
+ * {@link #retire} y {@link #reclaim()} son del único hilo escritor.
+ */
+public final class EpochReclaimer {
+
+    private static final long IDLE = Long.MAX_VALUE;
+    private static final int STRIDE = 8;
+
+    private final AtomicLongArray epochs;
+    private final int slots;
+    private final LongSupplier currentVersion;
+    private final ArrayDeque<Retired> retired = new ArrayDeque<>();
+
+    /**
+     * @param slots          lectores simultáneos sin espera
+     * @param currentVersion versión publicada (lectura volátil)
+     */
+    public EpochReclaimer(int slots, LongSupplier currentVersion) {
+        this.slots = slots;
+        this.epochs = new AtomicLongArray(slots * STRIDE);
+        this.currentVersion = currentVersion;
+        for (int i = 0; i < slots; i++) {
+            epochs.set(i * STRIDE, IDLE);
+        }
+    }
+
+    /**
+     * Época fijada por un lector; se libera con close().
+     */
+    public final class Pin implements AutoCloseable {
+        private final int index;
+
+        private Pin(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public void close() {
+            epochs.set(index, IDLE);
+        }
+    }
+
+    /**
+     * Fija la versión actual. Uso: try (Pin pin = reclaimer.pin()) { leer raíz }.
+     */
+    public Pin pin() {
+        int start = (int) (Thread.currentThread().getId() % slots);
+        while (true) {
+            for (int i = 0; i < slots; i++) {
+                int index = ((start + i) % slots) * STRIDE;
+                if (epochs.get(index) == IDLE && epochs.compareAndSet(index, IDLE, currentVersion.getAsLong())) {
+                    return new Pin(index);
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Registra un recurso que deja de ser visible a partir de la versión
+     * {@code version} (las versiones deben llegar en orden creciente).
+     */
+    public void retire(long version, Runnable release) {
+        retired.addLast(new Retired(version, release));
+    }
+
+    /**
+     * Libera lo retirado que ya ningún lector puede ver.
+     *
+     * @return número de recursos liberados
+     */
+    public int reclaim() {
+        if (retired.isEmpty()) {
+            return 0;
+        }
+        long oldest = oldestPinned();
+        int released = 0;
+        while (!retired.isEmpty() && retired.peekFirst().version <= oldest) {
+            retired.pollFirst().release.run();
+            released++;
+        }
+        return released;
+    }
+
+    /**
+     * Recursos retirados pendientes de liberar.
+     */
+    public int pending() {
+        return retired.size();
+    }
+
+    /**
+     * Versión más antigua fijada por algún lector (Long.MAX_VALUE si no hay
+     * lectores).
+     */
+    public long oldestPinned() {
+        long oldest = IDLE;
+        for (int i = 0; i < slots; i++) {
+            oldest = Math.min(oldest, epochs.get(i * STRIDE));
+        }
+        return oldest;
+    }
+
+    private static final class Retired {
+        final long version;
+        final Runnable release;
+
+        Retired(long version, Runnable release) {
+            this.version = version;
+            this.release = release;
+        }
+    }
+}
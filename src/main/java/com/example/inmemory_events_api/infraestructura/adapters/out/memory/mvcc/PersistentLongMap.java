@@ -0,0 +1,237 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.mvcc;
+
+/**
+ * Mapa persistente long → V (HAMT, "hash array mapped trie"). Inmutable:
+ * {@link #plus} y {@link #minus} devuelven un mapa nuevo que comparte con el
+ * anterior todo salvo el camino de la raíz a la entrada modificada
+ * (O(log32 n) nodos copiados). Las versiones antiguas siguen siendo
+ * válidas mientras alguien las referencie, que es lo que permite leer un
+ * snapshot sin locks.
+ *
+ * Las claves se dispersan multiplicando por una constante impar, que es
+ * una biyección en 64 bits: dos claves distintas nunca tienen el mismo hash
+ * y no hacen falta nodos de colisión (13 niveles de 5 bits como máximo).
+ *
+ * Cada nodo es un bitmap de 32 bits más un array compacto con solo los
+ * hijos presentes ({@link Leaf} o {@link Node}).
+ */
+public final class PersistentLongMap<V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentLongMap<?> EMPTY = new PersistentLongMap<>(Node.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentLongMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> PersistentLongMap<V> empty() {
+        return (PersistentLongMap<V>) EMPTY;
+    }
+
+    /**
+     * Receptor de entradas para {@link #forEach}.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        long hash = hash(key);
+        Node node = root;
+        for (int shift = 0;; shift += BITS) {
+            int bit = 1 << ((int) (hash >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+            Object child = node.children[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (child instanceof Leaf leaf) {
+                return leaf.key == key ? (V) leaf.value : null;
+            }
+            node = (Node) child;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return un mapa con la entrada añadida o reemplazada (este mismo si el
+     *         valor ya era ese)
+     */
+    public PersistentLongMap<V> plus(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("PersistentLongMap no admite valores null");
+        }
+        boolean[] added = new boolean[1];
+        Node newRoot = plus(root, hash(key), 0, new Leaf(key, value), added);
+        return newRoot == root ? this : new PersistentLongMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @return un mapa sin la clave (este mismo si no estaba)
+     */
+    public PersistentLongMap<V> minus(long key) {
+        Object newRoot = minus(root, hash(key), 0, key);
+        if (newRoot == root) {
+            return this;
+        }
+        if (newRoot == null) {
+            return empty();
+        }
+        // La raíz siempre es un Node, aunque le quede un único hijo
+        Node node = newRoot instanceof Leaf leaf ? Node.single(leaf, hash(leaf.key), 0) : (Node) newRoot;
+        return new PersistentLongMap<>(node, size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> consumer) {
+        forEach(root, (EntryConsumer<Object>) consumer);
+    }
+
+    // ========== Internos ==========
+
+    private static Node plus(Node node, long hash, int shift, Leaf leaf, boolean[] added) {
+        int bit = 1 << ((int) (hash >>> shift) & MASK);
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) == 0) {
+            added[0] = true;
+            return node.insert(bit, index, leaf);
+        }
+        Object child = node.children[index];
+        if (child instanceof Leaf existing) {
+            if (existing.key == leaf.key) {
+                return existing.value == leaf.value ? node : node.replace(index, leaf);
+            }
+            added[0] = true;
+            return node.replace(index, merge(existing, hash(existing.key), leaf, hash, shift + BITS));
+        }
+        Node newChild = plus((Node) child, hash, shift + BITS, leaf, added);
+        return newChild == child ? node : node.replace(index, newChild);
+    }
+
+    /**
+     * @return el nodo resultante, una hoja si al nodo solo le queda una (el
+     *         padre la guarda directamente), o null si quedó vacío
+     */
+    private static Object minus(Node node, long hash, int shift, long key) {
+        int bit = 1 << ((int) (hash >>> shift) & MASK);
+        if ((node.bitmap & bit) == 0) {
+            return node;
+        }
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        Object child = node.children[index];
+        Object newChild;
+        if (child instanceof Leaf leaf) {
+            if (leaf.key != key) {
+                return node;
+            }
+            newChild = null;
+        } else {
+            newChild = minus((Node) child, hash, shift + BITS, key);
+            if (newChild == child) {
+                return node;
+            }
+        }
+        if (newChild != null) {
+            return node.replace(index, newChild);
+        }
+        if (node.children.length == 1) {
+            return null;
+        }
+        Node removed = node.remove(bit, index);
+        if (removed.children.length == 1 && removed.children[0] instanceof Leaf only) {
+            return only;
+        }
+        return removed;
+    }
+
+    private static Node merge(Leaf first, long firstHash, Leaf second, long secondHash, int shift) {
+        int firstBit = 1 << ((int) (firstHash >>> shift) & MASK);
+        int secondBit = 1 << ((int) (secondHash >>> shift) & MASK);
+        if (firstBit == secondBit) {
+            return new Node(firstBit, new Object[] { merge(first, firstHash, second, secondHash, shift + BITS) });
+        }
+        return Integer.compareUnsigned(firstBit, secondBit) < 0
+                ? new Node(firstBit | secondBit, new Object[] { first, second })
+                : new Node(firstBit | secondBit, new Object[] { second, first });
+    }
+
+    private static void forEach(Node node, EntryConsumer<Object> consumer) {
+        for (Object child : node.children) {
+            if (child instanceof Leaf leaf) {
+                consumer.accept(leaf.key, leaf.value);
+            } else {
+                forEach((Node) child, consumer);
+            }
+        }
+    }
+
+    private static long hash(long key) {
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    private static final class Leaf {
+        final long key;
+        final Object value;
+
+        Leaf(long key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class Node {
+        static final Node EMPTY = new Node(0, new Object[0]);
+
+        final int bitmap;
+        final Object[] children;
+
+        Node(int bitmap, Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        static Node single(Leaf leaf, long hash, int shift) {
+            return new Node(1 << ((int) (hash >>> shift) & MASK), new Object[] { leaf });
+        }
+
+        Node insert(int bit, int index, Object child) {
+            Object[] copy = new Object[children.length + 1];
+            System.arraycopy(children, 0, copy, 0, index);
+            copy[index] = child;
+            System.arraycopy(children, index, copy, index + 1, children.length - index);
+            return new Node(bitmap | bit, copy);
+        }
+
+        Node replace(int index, Object child) {
+            Object[] copy = children.clone();
+            copy[index] = child;
+            return new Node(bitmap, copy);
+        }
+
+        Node remove(int bit, int index) {
+            Object[] copy = new Object[children.length - 1];
+            System.arraycopy(children, 0, copy, 0, index);
+            System.arraycopy(children, index + 1, copy, index, children.length - index - 1);
+            return new Node(bitmap & ~bit, copy);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+
+import java.util.List;
+
+/**
+ * Eventos de un mes dentro de {@link SegmentedEventStore}: o bien mutable
+ * ({@link OffHeapEventStore}) o bien congelado ({@link FrozenSegment}).
+ */
+interface EventSegment {
+
+    int size();
+
+    /**
+     * Añade a out los eventos visibles en la versión dada cuya fecha (día
+     * epoch) está en [fromDay, toDay].
+     */
+    void collect(int fromDay, int toDay, long version, List<EventDTO> out);
+
+    boolean isFrozen();
+}
@@ -0,0 +1,228 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+import static com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap.OffHeapEventStore.NULL_LONG;
+import static com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap.OffHeapEventStore.fromEpochDay;
+import static com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap.OffHeapEventStore.toEpochDay;
+
+/**
+ * Segmento congelado: los eventos de un mes ya pasado en arrays primitivos
+ * inmutables (uno por columna) ordenados por ID.
+ *
+ * - Sin índice hash, sin versiones, sin lista de slots libres ni slabs a
+ * medio llenar: 28 bytes por evento y nada más.
+ * - Búsqueda por ID binaria sobre ids.
+ * - Inmutable: todas sus filas son visibles en las versiones del catálogo
+ * que lo referencian. Las escrituras sobre el pasado (raras: una
+ * corrección, un borrado, el borrado de un venue) crean un segmento nuevo
+ * (copy-on-write) que la versión siguiente referencia en lugar de este.
+ */
+final class FrozenSegment implements EventSegment {
+
+    private static final int ROW_BYTES = 2 * Long.BYTES + 3 * Integer.BYTES;
+
+    private final StringDictionary names;
+    private final long[] ids;
+    private final long[] venueIds;
+    private final int[] dates;
+    private final int[] endDates;
+    private final int[] nameCodes;
+
+    private FrozenSegment(StringDictionary names, long[] ids, long[] venueIds, int[] dates, int[] endDates,
+            int[] nameCodes) {
+        this.names = names;
+        this.ids = ids;
+        this.venueIds = venueIds;
+        this.dates = dates;
+        this.endDates = endDates;
+        this.nameCodes = nameCodes;
+    }
+
+    static FrozenSegment empty(StringDictionary names) {
+        return new FrozenSegment(names, new long[0], new long[0], new int[0], new int[0], new int[0]);
+    }
+
+    /**
+     * Congela los eventos visibles en la versión dada de un segmento mutable
+     * (que debe compartir el diccionario). Los nombres se copian como
+     * códigos, sin decodificarlos.
+     */
+    static FrozenSegment of(OffHeapEventStore store, long version, StringDictionary names) {
+        int size = store.size();
+        long[] ids = new long[size];
+        long[] venueIds = new long[size];
+        int[] dates = new int[size];
+        int[] endDates = new int[size];
+        int[] nameCodes = new int[size];
+        int[] row = { 0 };
+        store.forEachVisible(version, view -> {
+            int i = row[0]++;
+            ids[i] = view.id();
+            venueIds[i] = view.venueId();
+            dates[i] = view.epochDay();
+            endDates[i] = view.endEpochDay();
+            nameCodes[i] = view.nameCode();
+        });
+
+        // Ordenar por ID: los IDs son únicos, así que la posición de cada fila
+        // es la de su ID en la copia ordenada
+        long[] sortedIds = ids.clone();
+        Arrays.sort(sortedIds);
+        long[] sortedVenueIds = new long[size];
+        int[] sortedDates = new int[size];
+        int[] sortedEndDates = new int[size];
+        int[] sortedNameCodes = new int[size];
+        for (int i = 0; i < size; i++) {
+            int position = Arrays.binarySearch(sortedIds, ids[i]);
+            sortedVenueIds[position] = venueIds[i];
+            sortedDates[position] = dates[i];
+            sortedEndDates[position] = endDates[i];
+            sortedNameCodes[position] = nameCodes[i];
+        }
+        return new FrozenSegment(names, sortedIds, sortedVenueIds, sortedDates, sortedEndDates, sortedNameCodes);
+    }
+
+    // ========== Lecturas ==========
+
+    Optional<EventDTO> get(long id) {
+        int row = Arrays.binarySearch(ids, id);
+        return row >= 0 ? Optional.of(toDTO(row)) : Optional.empty();
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public void collect(int fromDay, int toDay, long version, List<EventDTO> out) {
+        // Todas las filas son visibles en las versiones que referencian el segmento
+        for (int row = 0; row < ids.length; row++) {
+            if (dates[row] >= fromDay && dates[row] <= toDay) {
+                out.add(toDTO(row));
+            }
+        }
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return true;
+    }
+
+    /**
+     * Bytes de heap de las columnas.
+     */
+    long heapBytes() {
+        return (long) ids.length * ROW_BYTES;
+    }
+
+    // ========== Copy-on-write ==========
+
+    /**
+     * @return un segmento nuevo con el evento insertado o reemplazado
+     */
+    FrozenSegment with(EventDTO event, int nameCode) {
+        int row = Arrays.binarySearch(ids, event.getId());
+        boolean replace = row >= 0;
+        int position = replace ? row : -row - 1;
+        int size = replace ? ids.length : ids.length + 1;
+
+        long[] newIds = insert(ids, position, replace, size);
+        long[] newVenueIds = insert(venueIds, position, replace, size);
+        int[] newDates = insert(dates, position, replace, size);
+        int[] newEndDates = insert(endDates, position, replace, size);
+        int[] newNameCodes = insert(nameCodes, position, replace, size);
+
+        newIds[position] = event.getId();
+        newVenueIds[position] = event.getVenueId() != null ? event.getVenueId() : NULL_LONG;
+        newDates[position] = toEpochDay(event.getDate());
+        newEndDates[position] = toEpochDay(event.getEndDate());
+        newNameCodes[position] = nameCode;
+        return new FrozenSegment(names, newIds, newVenueIds, newDates, newEndDates, newNameCodes);
+    }
+
+    /**
+     * @return un segmento nuevo sin el evento, o este si no estaba
+     */
+    FrozenSegment without(long id) {
+        int row = Arrays.binarySearch(ids, id);
+        return row >= 0 ? retain(keep -> keep != row) : this;
+    }
+
+    /**
+     * @return un segmento nuevo sin los eventos del venue, o este si no
+     *         tenía ninguno; los IDs eliminados se pasan a removed
+     */
+    FrozenSegment withoutVenue(long venueId, LongConsumer removed) {
+        boolean any = false;
+        for (int row = 0; row < ids.length; row++) {
+            if (venueIds[row] == venueId) {
+                removed.accept(ids[row]);
+                any = true;
+            }
+        }
+        return any ? retain(row -> venueIds[row] != venueId) : this;
+    }
+
+    // ========== Internos ==========
+
+    private interface RowFilter {
+        boolean keep(int row);
+    }
+
+    private FrozenSegment retain(RowFilter filter) {
+        int kept = 0;
+        int[] rows = new int[ids.length];
+        for (int row = 0; row < ids.length; row++) {
+            if (filter.keep(row)) {
+                rows[kept++] = row;
+            }
+        }
+        long[] newIds = new long[kept];
+        long[] newVenueIds = new long[kept];
+        int[] newDates = new int[kept];
+        int[] newEndDates = new int[kept];
+        int[] newNameCodes = new int[kept];
+        for (int i = 0; i < kept; i++) {
+            int row = rows[i];
+            newIds[i] = ids[row];
+            newVenueIds[i] = venueIds[row];
+            newDates[i] = dates[row];
+            newEndDates[i] = endDates[row];
+            newNameCodes[i] = nameCodes[row];
+        }
+        return new FrozenSegment(names, newIds, newVenueIds, newDates, newEndDates, newNameCodes);
+    }
+
+    private static long[] insert(long[] source, int position, boolean replace, int size) {
+        if (replace) {
+            return source.clone();
+        }
+        long[] target = new long[size];
+        System.arraycopy(source, 0, target, 0, position);
+        System.arraycopy(source, position, target, position + 1, source.length - position);
+        return target;
+    }
+
+    private static int[] insert(int[] source, int position, boolean replace, int size) {
+        if (replace) {
+            return source.clone();
+        }
+        int[] target = new int[size];
+        System.arraycopy(source, 0, target, 0, position);
+        System.arraycopy(source, position, target, position + 1, source.length - position);
+        return target;
+    }
+
+    private EventDTO toDTO(int row) {
+        return new EventDTO(ids[row], nameCodes[row] >= 0 ? names.get(nameCodes[row]) : null,
+                venueIds[row] != NULL_LONG ? venueIds[row] : null,
+                fromEpochDay(dates[row]), fromEpochDay(endDates[row]));
+    }
+}
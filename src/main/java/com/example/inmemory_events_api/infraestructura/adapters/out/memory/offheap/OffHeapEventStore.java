@@ -0,0 +1,279 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Almacén de eventos fuera del heap con versiones (MVCC).
+ *
+ * Cada versión de un evento ocupa un slot de ancho fijo (48 bytes) en
+ * "slabs" de ByteBuffer directos, en lugar de un EventDTO con un Long, dos
+ * LocalDate y un String por evento. El heap (y las pausas de GC) no crece
+ * con el catálogo: solo queda en el heap la lista de slots libres.
+ *
+ * Layout del slot:
+ * <pre>
+ * 0  long id
+ * 8  long venueId     (Long.MIN_VALUE = null)
+ * 16 int  date        (día epoch; Integer.MIN_VALUE = null)
+ * 20 int  endDate     (día epoch; Integer.MIN_VALUE = null)
+ * 24 int  name        (código en el {@link StringDictionary}; -1 = null)
+ * 32 long created     (versión que escribió el slot)
+ * 40 long deleted     (versión que lo reemplazó o borró; Long.MAX_VALUE = vigente)
+ * </pre>
+ *
+ * Un slot nunca se modifica una vez publicado: actualizar un evento es
+ * escribir un slot nuevo y retirar el anterior ({@link #retire}), que solo
+ * anota la versión de borrado. Una lectura en la versión v ve los slots con
+ * created &lt;= v &lt; deleted, sin locks. El slot retirado se reutiliza
+ * ({@link #free}) cuando ningún lector puede verlo ya (lo decide el
+ * {@code EpochReclaimer} del catálogo).
+ *
+ * Un único escritor. Al reutilizar un slot, created se escribe antes que
+ * los campos y deleted (con release) al final; los recorridos leen deleted
+ * con acquire, así que nunca aceptan un slot a medio escribir.
+ */
+public final class OffHeapEventStore implements EventSegment {
+
+    static final int SLOT_BYTES = 48;
+    private static final int ID = 0;
+    private static final int VENUE_ID = 8;
+    private static final int DATE = 16;
+    private static final int END_DATE = 20;
+    private static final int NAME = 24;
+    private static final int CREATED = 32;
+    private static final int DELETED = 40;
+
+    static final long NULL_LONG = Long.MIN_VALUE;
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final long LIVE = Long.MAX_VALUE;
+
+    /** 2^15 slots de 48 bytes = 1,5 MB por slab. */
+    private static final int SLAB_SHIFT = 15;
+    private static final int SLOTS_PER_SLAB = 1 << SLAB_SHIFT;
+    private static final int SLOT_MASK = SLOTS_PER_SLAB - 1;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.BIG_ENDIAN);
+
+    private final StringDictionary names;
+
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+    private int highWater;
+    private int[] free = new int[64];
+    private int freeCount;
+    private int live;
+
+    public OffHeapEventStore() {
+        this(new StringDictionary());
+    }
+
+    /**
+     * Con un diccionario compartido (segmentos de {@link SegmentedEventStore}).
+     */
+    OffHeapEventStore(StringDictionary names) {
+        this.names = names;
+    }
+
+    // ========== Lecturas ==========
+
+    /**
+     * Lee un slot que la versión del lector referencia (mientras el lector
+     * tenga fijada su época, el slot no se reutiliza).
+     */
+    public EventDTO read(int slot) {
+        ByteBuffer slab = slabs[slot >>> SLAB_SHIFT];
+        int base = (slot & SLOT_MASK) * SLOT_BYTES;
+        long venueId = slab.getLong(base + VENUE_ID);
+        int nameCode = slab.getInt(base + NAME);
+        return new EventDTO(slab.getLong(base + ID), nameCode >= 0 ? names.get(nameCode) : null,
+                venueId != NULL_LONG ? venueId : null,
+                fromEpochDay(slab.getInt(base + DATE)), fromEpochDay(slab.getInt(base + END_DATE)));
+    }
+
+    /**
+     * Recorre los eventos visibles en la versión dada con un flyweight: la
+     * vista solo es válida durante la llamada al consumidor.
+     */
+    public void forEachVisible(long version, Consumer<EventView> consumer) {
+        EventView view = new EventView();
+        ByteBuffer[] current = slabs;
+        int end = Math.min(highWater, current.length * SLOTS_PER_SLAB);
+        for (int slot = 0; slot < end; slot++) {
+            ByteBuffer slab = current[slot >>> SLAB_SHIFT];
+            int base = (slot & SLOT_MASK) * SLOT_BYTES;
+            if ((long) LONGS.getAcquire(slab, base + DELETED) > version && slab.getLong(base + CREATED) <= version) {
+                view.move(slab, base, slot);
+                consumer.accept(view);
+            }
+        }
+    }
+
+    @Override
+    public void collect(int fromDay, int toDay, long version, List<EventDTO> out) {
+        forEachVisible(version, view -> {
+            int day = view.epochDay();
+            if (day >= fromDay && day <= toDay) {
+                out.add(view.toDTO());
+            }
+        });
+    }
+
+    /**
+     * Eventos vigentes (vista del escritor).
+     */
+    @Override
+    public int size() {
+        return live;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return false;
+    }
+
+    /**
+     * Bytes reservados fuera del heap (slots + diccionario).
+     */
+    public long offHeapBytes() {
+        return slotBytes() + names.offHeapBytes();
+    }
+
+    /**
+     * Bytes fuera del heap de los slots (sin el diccionario, que puede ser
+     * compartido).
+     */
+    long slotBytes() {
+        return (long) slabs.length * SLOTS_PER_SLAB * SLOT_BYTES;
+    }
+
+    // ========== Escrituras (un único escritor) ==========
+
+    /**
+     * Escribe una versión del evento en un slot nuevo, visible desde
+     * {@code version}.
+     *
+     * @return el slot
+     */
+    public int insert(EventDTO event, long version) {
+        int nameCode = event.getName() != null ? names.intern(event.getName()) : -1;
+        int slot = allocateSlot();
+        ByteBuffer slab = slabs[slot >>> SLAB_SHIFT];
+        int base = (slot & SLOT_MASK) * SLOT_BYTES;
+        // created primero: un recorrido que aún vea el deleted antiguo descarta el slot
+        LONGS.setVolatile(slab, base + CREATED, version);
+        slab.putLong(base + ID, event.getId());
+        slab.putLong(base + VENUE_ID, event.getVenueId() != null ? event.getVenueId() : NULL_LONG);
+        slab.putInt(base + DATE, toEpochDay(event.getDate()));
+        slab.putInt(base + END_DATE, toEpochDay(event.getEndDate()));
+        slab.putInt(base + NAME, nameCode);
+        LONGS.setRelease(slab, base + DELETED, LIVE);
+        live++;
+        return slot;
+    }
+
+    /**
+     * Marca el slot como no visible desde {@code version}. Sigue siendo
+     * legible para lectores de versiones anteriores hasta {@link #free}.
+     */
+    public void retire(int slot, long version) {
+        ByteBuffer slab = slabs[slot >>> SLAB_SHIFT];
+        LONGS.setRelease(slab, (slot & SLOT_MASK) * SLOT_BYTES + DELETED, version);
+        live--;
+    }
+
+    /**
+     * Devuelve un slot retirado a la lista de libres. Solo cuando ningún
+     * lector puede verlo.
+     */
+    public void free(int slot) {
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[freeCount++] = slot;
+    }
+
+    // ========== Internos ==========
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return free[--freeCount];
+        }
+        if (highWater >>> SLAB_SHIFT >= slabs.length) {
+            ByteBuffer[] grown = Arrays.copyOf(slabs, slabs.length + 1);
+            grown[slabs.length] = ByteBuffer.allocateDirect(SLOTS_PER_SLAB * SLOT_BYTES);
+            slabs = grown;
+        }
+        return highWater++;
+    }
+
+    static int toEpochDay(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : NULL_INT;
+    }
+
+    static LocalDate fromEpochDay(int epochDay) {
+        return epochDay != NULL_INT ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+
+    /**
+     * Vista flyweight sobre un slot: lee los campos bajo demanda.
+     */
+    public final class EventView {
+        private ByteBuffer slab;
+        private int base;
+        private int slot;
+
+        private void move(ByteBuffer slab, int base, int slot) {
+            this.slab = slab;
+            this.base = base;
+            this.slot = slot;
+        }
+
+        public long id() {
+            return slab.getLong(base + ID);
+        }
+
+        /** @return el ID del venue, o Long.MIN_VALUE si no tiene */
+        public long venueId() {
+            return slab.getLong(base + VENUE_ID);
+        }
+
+        /** @return día epoch, o Integer.MIN_VALUE si no tiene fecha */
+        public int epochDay() {
+            return slab.getInt(base + DATE);
+        }
+
+        /** @return día epoch del último día, o Integer.MIN_VALUE si no tiene */
+        public int endEpochDay() {
+            return slab.getInt(base + END_DATE);
+        }
+
+        public String name() {
+            int code = nameCode();
+            return code >= 0 ? names.get(code) : null;
+        }
+
+        /** @return código en el diccionario, o -1 si no tiene nombre */
+        int nameCode() {
+            return slab.getInt(base + NAME);
+        }
+
+        int slot() {
+            return slot;
+        }
+
+        public EventDTO toDTO() {
+            long venueId = venueId();
+            return new EventDTO(id(), name(), venueId != NULL_LONG ? venueId : null,
+                    fromEpochDay(epochDay()), fromEpochDay(endEpochDay()));
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.memory.mvcc.EpochReclaimer;
+import com.example.inmemory_events_api.infraestructura.adapters.out.memory.mvcc.PersistentLongMap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Almacén de eventos particionado por mes de la fecha del evento, con
+ * versiones (MVCC).
+ *
+ * - Los meses actuales y futuros (y los eventos sin fecha) son segmentos
+ * mutables: un {@link OffHeapEventStore} por mes, con slots versionados.
+ * - {@link #freezeBefore} congela los meses ya pasados en un
+ * {@link FrozenSegment}: arrays ordenados inmutables, sin índice, versiones
+ * ni huecos. La historia, que solo crece, deja de pagar el coste de las
+ * estructuras de escritura.
+ * - Las consultas por rango de fechas eligen primero los meses que cortan
+ * el rango (submapa de los segmentos) y solo leen esos.
+ *
+ * El estado es un {@link State} inmutable: las escrituras devuelven un
+ * State nuevo (copy-on-write) que el catálogo publica junto con el resto de
+ * cambios de la misma versión. Los lectores usan el State y la versión que
+ * tenían al empezar y nunca bloquean ni son bloqueados.
+ *
+ * Todos los segmentos comparten un {@link StringDictionary}.
+ */
+public final class SegmentedEventStore {
+
+    /** Clave del segmento de eventos sin fecha: va después de todos los meses. */
+    private static final int UNDATED = Integer.MAX_VALUE;
+    /** Slot de las ubicaciones en un mes congelado (se busca por ID). */
+    private static final int FROZEN = -1;
+
+    private final StringDictionary names = new StringDictionary();
+    private final EpochReclaimer reclaimer;
+
+    /**
+     * @param reclaimer recibe los slots retirados y los libera cuando ningún
+     *                  lector puede verlos
+     */
+    public SegmentedEventStore(EpochReclaimer reclaimer) {
+        this.reclaimer = reclaimer;
+    }
+
+    /**
+     * Versión inmutable del almacén.
+     */
+    public static final class State {
+        /** ID → (mes &lt;&lt; 32) | slot; slot = -1 si el mes está congelado. */
+        private final PersistentLongMap<Long> locations;
+        private final NavigableMap<Integer, EventSegment> segments;
+        /** Los meses anteriores a este están congelados. */
+        private final int frozenBefore;
+
+        private State(PersistentLongMap<Long> locations, NavigableMap<Integer, EventSegment> segments,
+                int frozenBefore) {
+            this.locations = locations;
+            this.segments = segments;
+            this.frozenBefore = frozenBefore;
+        }
+
+        public int size() {
+            return locations.size();
+        }
+
+        public int segmentCount() {
+            return segments.size();
+        }
+
+        public int frozenSegmentCount() {
+            return (int) segments.values().stream().filter(EventSegment::isFrozen).count();
+        }
+
+        public boolean contains(long id) {
+            return locations.containsKey(id);
+        }
+    }
+
+    public State empty() {
+        return new State(PersistentLongMap.empty(), Collections.emptyNavigableMap(), Integer.MIN_VALUE);
+    }
+
+    // ========== Lecturas (cualquier hilo, con la época fijada) ==========
+
+    public Optional<EventDTO> get(State state, long id) {
+        Long location = state.locations.get(id);
+        if (location == null) {
+            return Optional.empty();
+        }
+        EventSegment segment = state.segments.get(month(location));
+        int slot = slot(location);
+        return slot != FROZEN
+                ? Optional.of(((OffHeapEventStore) segment).read(slot))
+                : ((FrozenSegment) segment).get(id);
+    }
+
+    /**
+     * Todos los eventos, agrupados por mes (los que no tienen fecha, al final).
+     */
+    public List<EventDTO> toList(State state, long version) {
+        List<EventDTO> result = new ArrayList<>(state.size());
+        for (EventSegment segment : state.segments.values()) {
+            segment.collect(Integer.MIN_VALUE, Integer.MAX_VALUE, version, result);
+        }
+        return result;
+    }
+
+    /**
+     * Eventos con fecha en [from, to] (ambos opcionales), agrupados por mes.
+     * Solo se leen los segmentos de los meses que cortan el rango; los
+     * eventos sin fecha nunca entran.
+     */
+    public List<EventDTO> findByDateBetween(State state, long version, LocalDate from, LocalDate to) {
+        int fromMonth = from != null ? monthKey(from) : Integer.MIN_VALUE;
+        int toMonth = to != null ? monthKey(to) : UNDATED - 1;
+        int fromDay = from != null ? toEpochDay(from) : Integer.MIN_VALUE + 1;
+        int toDay = to != null ? toEpochDay(to) : Integer.MAX_VALUE;
+        List<EventDTO> result = new ArrayList<>();
+        if (fromMonth > toMonth) {
+            return result;
+        }
+        for (EventSegment segment : state.segments.subMap(fromMonth, true, toMonth, true).values()) {
+            segment.collect(fromDay, toDay, version, result);
+        }
+        return result;
+    }
+
+    /**
+     * Bytes fuera del heap (slots de los segmentos mutables + diccionario).
+     */
+    public long offHeapBytes(State state) {
+        long bytes = names.offHeapBytes();
+        for (EventSegment segment : state.segments.values()) {
+            if (segment instanceof OffHeapEventStore mutable) {
+                bytes += mutable.slotBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Bytes de heap de los segmentos congelados.
+     */
+    public long frozenHeapBytes(State state) {
+        long bytes = 0;
+        for (EventSegment segment : state.segments.values()) {
+            if (segment instanceof FrozenSegment frozen) {
+                bytes += frozen.heapBytes();
+            }
+        }
+        return bytes;
+    }
+
+    // ========== Escrituras (un único escritor) ==========
+
+    /**
+     * Inserta o reemplaza el evento (por ID) en la versión dada, moviéndolo
+     * de mes si cambió su fecha.
+     */
+    public State put(State state, EventDTO event, long version) {
+        long id = event.getId();
+        int month = monthOf(event.getDate());
+        NavigableMap<Integer, EventSegment> segments = state.segments;
+
+        Long previous = state.locations.get(id);
+        if (previous != null && (slot(previous) != FROZEN || month(previous) != month)) {
+            segments = removeVersion(segments, previous, id, version);
+        }
+
+        EventSegment segment = segments.get(month);
+        if (segment == null) {
+            segment = month < state.frozenBefore ? FrozenSegment.empty(names) : new OffHeapEventStore(names);
+            segments = with(segments, month, segment);
+        }
+        int slot;
+        if (segment instanceof OffHeapEventStore mutable) {
+            slot = mutable.insert(event, version);
+        } else {
+            int nameCode = event.getName() != null ? names.intern(event.getName()) : -1;
+            segments = with(segments, month, ((FrozenSegment) segment).with(event, nameCode));
+            slot = FROZEN;
+        }
+        return new State(state.locations.plus(id, location(month, slot)), segments, state.frozenBefore);
+    }
+
+    public State remove(State state, long id, long version) {
+        Long location = state.locations.get(id);
+        if (location == null) {
+            return state;
+        }
+        return new State(state.locations.minus(id), removeVersion(state.segments, location, id, version),
+                state.frozenBefore);
+    }
+
+    /**
+     * Elimina todos los eventos de un venue.
+     */
+    public State removeByVenue(State state, long venueId, long version) {
+        PersistentLongMap<Long> locations = state.locations;
+        NavigableMap<Integer, EventSegment> segments = state.segments;
+        List<Long> removed = new ArrayList<>();
+        for (Map.Entry<Integer, EventSegment> entry : state.segments.entrySet()) {
+            if (entry.getValue() instanceof OffHeapEventStore mutable) {
+                // Retirar solo marca la versión de borrado: no altera el recorrido
+                mutable.forEachVisible(version, view -> {
+                    if (view.venueId() == venueId) {
+                        removed.add(view.id());
+                        retire(mutable, view.slot(), version);
+                    }
+                });
+            } else {
+                FrozenSegment frozen = (FrozenSegment) entry.getValue();
+                FrozenSegment pruned = frozen.withoutVenue(venueId, removed::add);
+                if (pruned != frozen) {
+                    segments = with(segments, entry.getKey(), pruned.size() > 0 ? pruned : null);
+                }
+            }
+        }
+        for (Long id : removed) {
+            locations = locations.minus(id);
+        }
+        return removed.isEmpty() ? state : new State(locations, segments, state.frozenBefore);
+    }
+
+    /**
+     * Congela los meses anteriores al de today con su contenido en la
+     * versión dada (los meses que se creen después para fechas pasadas
+     * nacen ya congelados). Los lectores de versiones anteriores siguen
+     * usando el segmento mutable hasta que terminan; después el GC lo
+     * recoge con sus slabs.
+     */
+    public State freezeBefore(State state, LocalDate today, long version) {
+        int boundary = monthKey(today);
+        PersistentLongMap<Long> locations = state.locations;
+        NavigableMap<Integer, EventSegment> segments = state.segments;
+        for (Map.Entry<Integer, EventSegment> entry : state.segments.headMap(boundary, false).entrySet()) {
+            if (entry.getValue() instanceof OffHeapEventStore mutable) {
+                FrozenSegment frozen = FrozenSegment.of(mutable, version, names);
+                long location = location(entry.getKey(), FROZEN);
+                List<Long> ids = new ArrayList<>(frozen.size());
+                mutable.forEachVisible(version, view -> ids.add(view.id()));
+                for (Long id : ids) {
+                    locations = locations.plus(id, location);
+                }
+                segments = with(segments, entry.getKey(), frozen.size() > 0 ? frozen : null);
+            }
+        }
+        int frozenBefore = Math.max(state.frozenBefore, boundary);
+        if (segments == state.segments && frozenBefore == state.frozenBefore) {
+            return state;
+        }
+        return new State(locations, segments, frozenBefore);
+    }
+
+    // ========== Internos ==========
+
+    /**
+     * Quita la versión vigente del evento de su segmento: en uno mutable se
+     * retira el slot; en uno congelado se crea la copia sin el evento.
+     */
+    private NavigableMap<Integer, EventSegment> removeVersion(NavigableMap<Integer, EventSegment> segments,
+            long location, long id, long version) {
+        int month = month(location);
+        EventSegment segment = segments.get(month);
+        if (slot(location) != FROZEN) {
+            retire((OffHeapEventStore) segment, slot(location), version);
+            return segments;
+        }
+        FrozenSegment pruned = ((FrozenSegment) segment).without(id);
+        return with(segments, month, pruned.size() > 0 ? pruned : null);
+    }
+
+    private void retire(OffHeapEventStore segment, int slot, long version) {
+        segment.retire(slot, version);
+        reclaimer.retire(version, () -> segment.free(slot));
+    }
+
+    /**
+     * Copia del mapa de segmentos con el mes reemplazado (o quitado si
+     * segment es null). Solo cambia al crear, congelar o reescribir un mes.
+     */
+    private static NavigableMap<Integer, EventSegment> with(NavigableMap<Integer, EventSegment> segments, int month,
+            EventSegment segment) {
+        TreeMap<Integer, EventSegment> copy = new TreeMap<>(segments);
+        if (segment != null) {
+            copy.put(month, segment);
+        } else {
+            copy.remove(month);
+        }
+        return Collections.unmodifiableNavigableMap(copy);
+    }
+
+    private static long location(int month, int slot) {
+        return ((long) month << 32) | (slot & 0xFFFFFFFFL);
+    }
+
+    private static int month(long location) {
+        return (int) (location >> 32);
+    }
+
+    private static int slot(long location) {
+        return (int) location;
+    }
+
+    private static int monthOf(LocalDate date) {
+        return date != null ? monthKey(date) : UNDATED;
+    }
+
+    private static int monthKey(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Diccionario de textos fuera del heap: cada texto distinto se guarda una
+ * sola vez, en UTF-8, en "slabs" de ByteBuffer directos, y se referencia por
+ * un código int.
+ *
+ * - Arena: [int longitud][bytes] consecutivos; un texto nunca cruza de slab.
+ * - offsets[código] = posición global del texto en la arena; hashes[código]
+ * evita releer los textos al redimensionar la tabla.
+ * - Tabla hash de direccionamiento abierto (int[] con código + 1; 0 = vacío)
+ * para encontrar el código de un texto sin crear objetos.
+ *
+ * Solo se añade (los textos no se liberan): el tamaño crece con el número
+ * de textos distintos. Un único escritor (el lock de escritura del
+ * {@link OffHeapEventStore} o del {@link SegmentedEventStore} que lo
+ * comparte entre segmentos); las lecturas de un código ya publicado no
+ * necesitan lock porque las entradas son inmutables y los arrays se
+ * reemplazan (nunca se modifican en sitio) al crecer.
+ */
+final class StringDictionary {
+
+    private static final int SLAB_SHIFT = 20;
+    private static final int SLAB_BYTES = 1 << SLAB_SHIFT;
+    private static final int SLAB_MASK = SLAB_BYTES - 1;
+
+    private volatile ByteBuffer[] slabs = new ByteBuffer[0];
+    private volatile long[] offsets = new long[1024];
+    private int[] hashes = new int[1024];
+    private int[] table = new int[2048];
+    private int size;
+    private long writeOffset;
+
+    /**
+     * Código del texto, añadiéndolo si no existía.
+     */
+    int intern(String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > SLAB_BYTES - Integer.BYTES) {
+            throw new IllegalArgumentException("Texto demasiado largo para el diccionario: " + utf8.length + " bytes");
+        }
+        int hash = hash(utf8);
+        int mask = table.length - 1;
+        for (int i = hash & mask;; i = (i + 1) & mask) {
+            int slot = table[i];
+            if (slot == 0) {
+                int code = append(utf8, hash);
+                table[i] = code + 1;
+                if (size * 2 > table.length) {
+                    rehash();
+                }
+                return code;
+            }
+            if (hashes[slot - 1] == hash && matches(slot - 1, utf8)) {
+                return slot - 1;
+            }
+        }
+    }
+
+    String get(int code) {
+        long offset = offsets[code];
+        ByteBuffer slab = slabs[(int) (offset >>> SLAB_SHIFT)];
+        int position = (int) (offset & SLAB_MASK);
+        byte[] utf8 = new byte[slab.getInt(position)];
+        slab.get(position + Integer.BYTES, utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Bytes reservados fuera del heap.
+     */
+    long offHeapBytes() {
+        return (long) slabs.length * SLAB_BYTES;
+    }
+
+    private int append(byte[] utf8, int hash) {
+        int needed = Integer.BYTES + utf8.length;
+        if ((writeOffset & SLAB_MASK) + needed > SLAB_BYTES || (writeOffset >>> SLAB_SHIFT) >= slabs.length) {
+            if ((writeOffset & SLAB_MASK) != 0) {
+                writeOffset = (writeOffset | SLAB_MASK) + 1;
+            }
+            ByteBuffer[] grown = Arrays.copyOf(slabs, slabs.length + 1);
+            grown[slabs.length] = ByteBuffer.allocateDirect(SLAB_BYTES);
+            slabs = grown;
+        }
+        ByteBuffer slab = slabs[(int) (writeOffset >>> SLAB_SHIFT)];
+        int position = (int) (writeOffset & SLAB_MASK);
+        slab.putInt(position, utf8.length);
+        slab.put(position + Integer.BYTES, utf8);
+
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+            hashes = Arrays.copyOf(hashes, size * 2);
+        }
+        offsets[size] = writeOffset;
+        hashes[size] = hash;
+        writeOffset += needed;
+        return size++;
+    }
+
+    private boolean matches(int code, byte[] utf8) {
+        long offset = offsets[code];
+        ByteBuffer slab = slabs[(int) (offset >>> SLAB_SHIFT)];
+        int position = (int) (offset & SLAB_MASK);
+        if (slab.getInt(position) != utf8.length) {
+            return false;
+        }
+        for (int i = 0; i < utf8.length; i++) {
+            if (slab.get(position + Integer.BYTES + i) != utf8[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        int[] grown = new int[table.length * 2];
+        int mask = grown.length - 1;
+        for (int code = 0; code < size; code++) {
+            int i = hashes[code] & mask;
+            while (grown[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            grown[i] = code + 1;
+        }
+        table = grown;
+    }
+
+    private static int hash(byte[] utf8) {
+        int h = Arrays.hashCode(utf8) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
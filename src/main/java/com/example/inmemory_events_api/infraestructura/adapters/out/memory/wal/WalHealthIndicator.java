@@ -0,0 +1,55 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.wal;
+
+import com.example.inmemory_events_api.aplicacion.writebehind.EventWriteBehind;
+import com.example.inmemory_events_api.infraestructura.adapters.out.memory.InMemoryCatalogStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Estado de los WAL locales en /actuator/health (componente "wal").
+ *
+ * Tras un error de E/S un {@link WriteAheadLog} rechaza todas las escrituras
+ * hasta reiniciar la instancia: se informa DOWN con el error para que se
+ * vea sin tener que buscarlo en los logs. Cubre el WAL del catálogo en
+ * memoria (storage.mode=memory) y el del write-behind
+ * (writebehind.enabled=true); si ninguno está activo, UP sin detalles.
+ */
+@Component("wal")
+public class WalHealthIndicator implements HealthIndicator {
+
+    private final ObjectProvider<InMemoryCatalogStore> catalog;
+    private final ObjectProvider<EventWriteBehind> writeBehind;
+
+    public WalHealthIndicator(ObjectProvider<InMemoryCatalogStore> catalog,
+            ObjectProvider<EventWriteBehind> writeBehind) {
+        this.catalog = catalog;
+        this.writeBehind = writeBehind;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = Health.up();
+        InMemoryCatalogStore store = catalog.getIfAvailable();
+        if (store != null) {
+            report(health, "catalog", store.walFailure());
+        }
+        EventWriteBehind buffer = writeBehind.getIfAvailable();
+        if (buffer != null && buffer.isEnabled()) {
+            report(health, "writeBehind", buffer.walFailure());
+        }
+        return health.build();
+    }
+
+    private static void report(Health.Builder health, String name, Optional<IOException> failure) {
+        if (failure.isPresent()) {
+            health.down().withDetail(name, "Rechaza escrituras: " + failure.get());
+        } else {
+            health.withDetail(name, "UP");
+        }
+    }
+}
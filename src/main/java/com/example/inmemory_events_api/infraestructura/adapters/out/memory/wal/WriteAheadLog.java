@@ -0,0 +1,514 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.wal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Write-ahead log en disco local: solo se añade al final y cada registro
+ * lleva checksum.
+ *
+ * Formato de registro: [int longitud][int crc32c][payload]. Los registros
+ * se escriben en segmentos (segment-NNNN.wal) de tamaño máximo fijo; al
+ * llenarse uno se abre el siguiente (rollover).
+ *
+ * Group commit: los escritores encolan su registro y esperan. Un único hilo
+ * toma todo lo que haya en la cola, lo escribe con una sola escritura
+ * "gathering" y hace un único fsync (FileChannel.force) por lote, así que el
+ * coste del fsync se reparte entre todos los escritores concurrentes.
+ * Tras el fsync ejecuta, en el orden del log, la acción de cada registro
+ * (aplicar el cambio en memoria): el estado en memoria sigue exactamente el
+ * mismo orden que el replay.
+ *
+ * Compactación ({@link #checkpoint}): se abre un segmento nuevo N, se
+ * captura el estado (en el hilo del log, por lo que es consistente con todo
+ * lo escrito en segmentos &lt; N), se escribe como snapshot-N.snap y se
+ * borran los segmentos y snapshots anteriores. Los registros deben ser
+ * idempotentes (estado completo, no deltas): el replay aplica el snapshot
+ * y después los segmentos &gt;= N.
+ *
+ * Replay ({@link #replay}): el snapshot y los segmentos anteriores se leen
+ * mapeados en memoria; el último, al heap. Si el último segmento termina en
+ * un registro incompleto o con checksum incorrecto (caída a mitad de
+ * escritura), se trunca en el último registro válido. Un registro corrupto
+ * en un segmento anterior es un error.
+ *
+ * Tras un error de E/S el log rechaza todas las escrituras hasta reiniciar
+ * (no se sabe qué llegó al disco); {@link #failure} lo expone para el
+ * health de Actuator.
+ */
+public final class WriteAheadLog implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int maxBatch;
+    private final boolean fsync;
+
+    private final BlockingQueue<Op> queue = new LinkedBlockingQueue<>();
+    private Thread writer;
+    private volatile boolean running;
+    private volatile IOException failure;
+
+    // Solo accedidos desde el hilo del log (tras el replay)
+    private FileChannel channel;
+    private volatile long segmentIndex;
+    private volatile long snapshotIndex;
+
+    public WriteAheadLog(Path directory, long segmentSize, int maxBatch, boolean fsync) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.fsync = fsync;
+    }
+
+    /**
+     * Reproduce el último snapshot y los segmentos posteriores, en orden, y
+     * deja el log abierto para escribir. Debe llamarse una sola vez, antes
+     * de {@link #append}.
+     */
+    public void replay(Consumer<ByteBuffer> consumer) {
+        try {
+            Files.createDirectories(directory);
+            List<Long> snapshots = indexes(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            snapshotIndex = snapshots.isEmpty() ? 0 : snapshots.get(snapshots.size() - 1);
+            long records = 0;
+            if (!snapshots.isEmpty()) {
+                records += readFile(snapshotPath(snapshotIndex), consumer, false);
+            }
+
+            List<Long> segments = indexes(SEGMENT_PREFIX, SEGMENT_SUFFIX);
+            segments.removeIf(index -> index < snapshotIndex);
+            for (int i = 0; i < segments.size(); i++) {
+                records += readFile(segmentPath(segments.get(i)), consumer, i == segments.size() - 1);
+            }
+
+            segmentIndex = segments.isEmpty() ? snapshotIndex : segments.get(segments.size() - 1);
+            channel = openSegment(segmentIndex);
+            log.info("WAL reproducido desde {}: {} registros (snapshot {}, {} segmentos)",
+                    directory, records, snapshotIndex, segments.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo reproducir el WAL en " + directory, e);
+        }
+
+        running = true;
+        writer = new Thread(this::writeLoop, "wal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Añade un registro y espera a que sea durable. Después del fsync, en
+     * el hilo del log y en orden, se ejecuta {@code onDurable}.
+     *
+     * @throws UncheckedIOException si no se pudo escribir
+     */
+    public void append(byte[] payload, Runnable onDurable) {
+        Append op = new Append(payload, onDurable);
+        submit(op);
+        await(op.done);
+    }
+
+    /**
+     * Compacta el log. {@code capture} se invoca en el hilo del log, justo
+     * después de abrir un segmento nuevo, y debe devolver una copia barata
+     * del estado (los registros se codifican y escriben después, fuera de
+     * ese hilo, sin bloquear a los escritores).
+     */
+    public void checkpoint(Supplier<Iterable<byte[]>> capture) {
+        Task task = new Task(() -> {
+            rollover();
+            return new Checkpoint(segmentIndex, capture.get());
+        });
+        submit(task);
+        Checkpoint checkpoint = await(task.done);
+        try {
+            writeSnapshot(checkpoint);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el snapshot del WAL", e);
+        }
+    }
+
+    /**
+     * Error de E/S que dejó el log rechazando escrituras, si lo hubo.
+     */
+    public Optional<IOException> failure() {
+        return Optional.ofNullable(failure);
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Segmentos escritos desde el último snapshot (indicador para decidir
+     * cuándo compactar).
+     */
+    public long segmentsSinceCheckpoint() {
+        return segmentIndex - snapshotIndex + 1;
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+            if (channel != null) {
+                channel.force(true);
+                channel.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Error cerrando el WAL", e);
+        }
+    }
+
+    // ========== Hilo del log ==========
+
+    private void writeLoop() {
+        List<Op> batch = new ArrayList<>(maxBatch);
+        List<Append> pending = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Op first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                for (Op op : batch) {
+                    if (op instanceof Append append) {
+                        pending.add(append);
+                    } else {
+                        commit(pending);
+                        ((Task) op).run();
+                    }
+                }
+                commit(pending);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Escribe el lote pendiente (con rollover si no cabe en el segmento),
+     * hace un único fsync y aplica los registros en orden.
+     */
+    private void commit(List<Append> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            if (failure != null) {
+                throw failure;
+            }
+            int from = 0;
+            while (from < pending.size()) {
+                int to = from;
+                long bytes = 0;
+                long room = segmentSize - channel.position();
+                while (to < pending.size() && (to == from || bytes + pending.get(to).size() <= room)) {
+                    bytes += pending.get(to).size();
+                    to++;
+                }
+                if (bytes > room && channel.position() > 0) {
+                    rollover();
+                    continue;
+                }
+                write(pending.subList(from, to));
+                from = to;
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            failure = e;
+            log.error("Fallo de escritura en el WAL; se rechazan las escrituras siguientes", e);
+            for (Append append : pending) {
+                append.done.completeExceptionally(new UncheckedIOException(e));
+            }
+            pending.clear();
+            return;
+        }
+
+        for (Append append : pending) {
+            try {
+                append.onDurable.run();
+                append.done.complete(null);
+            } catch (RuntimeException e) {
+                append.done.completeExceptionally(e);
+            }
+        }
+        pending.clear();
+    }
+
+    private void write(List<Append> appends) throws IOException {
+        ByteBuffer[] buffers = new ByteBuffer[appends.size() * 2];
+        CRC32C crc = new CRC32C();
+        for (int i = 0; i < appends.size(); i++) {
+            byte[] payload = appends.get(i).payload;
+            crc.reset();
+            crc.update(payload);
+            buffers[i * 2] = ByteBuffer.allocate(HEADER_BYTES).putInt(payload.length).putInt((int) crc.getValue()).flip();
+            buffers[i * 2 + 1] = ByteBuffer.wrap(payload);
+        }
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+    }
+
+    private void rollover() throws IOException {
+        if (fsync) {
+            channel.force(false);
+        }
+        channel.close();
+        segmentIndex++;
+        channel = openSegment(segmentIndex);
+    }
+
+    // ========== Snapshot ==========
+
+    private void writeSnapshot(Checkpoint checkpoint) throws IOException {
+        Path tmp = directory.resolve(SNAPSHOT_PREFIX + checkpoint.index + ".tmp");
+        long records = 0;
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            CRC32C crc = new CRC32C();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            for (byte[] payload : checkpoint.records) {
+                crc.reset();
+                crc.update(payload);
+                header.clear().putInt(payload.length).putInt((int) crc.getValue()).flip();
+                ByteBuffer body = ByteBuffer.wrap(payload);
+                while (header.hasRemaining() || body.hasRemaining()) {
+                    out.write(new ByteBuffer[] { header, body });
+                }
+                records++;
+            }
+            out.force(true);
+        }
+        Files.move(tmp, snapshotPath(checkpoint.index), StandardCopyOption.ATOMIC_MOVE);
+        snapshotIndex = checkpoint.index;
+
+        // El snapshot ya cubre todo lo anterior
+        for (Long index : indexes(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (index < checkpoint.index) {
+                Files.deleteIfExists(segmentPath(index));
+            }
+        }
+        for (Long index : indexes(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (index < checkpoint.index) {
+                Files.deleteIfExists(snapshotPath(index));
+            }
+        }
+        log.info("WAL compactado: snapshot {} con {} registros", checkpoint.index, records);
+    }
+
+    // ========== Lectura ==========
+
+    /**
+     * Lee los registros de un fichero. En el último segmento, un final
+     * incompleto o corrupto se trunca; en cualquier otro fichero es un error.
+     *
+     * Los snapshots y los segmentos anteriores se leen mapeados en memoria
+     * (sin copiarlos al heap). El último se lee al heap: truncar un fichero
+     * que sigue mapeado no está definido en todas las plataformas, y un
+     * MappedByteBuffer no se puede desmapear de forma explícita.
+     */
+    private long readFile(Path path, Consumer<ByteBuffer> consumer, boolean truncateTornTail) throws IOException {
+        if (!truncateTornTail) {
+            try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer data = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                long records = readRecords(data, consumer);
+                if (data.hasRemaining()) {
+                    throw new IOException("Registro corrupto en " + path + " (offset " + data.position() + ")");
+                }
+                return records;
+            }
+        }
+
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer data = ByteBuffer.allocate(Math.toIntExact(in.size()));
+            while (data.hasRemaining() && in.read(data) >= 0) {
+                // Hasta leer el fichero entero
+            }
+            data.flip();
+            long records = readRecords(data, consumer);
+            if (data.hasRemaining()) {
+                log.warn("WAL: final incompleto en {} (offset {}); se trunca", path, data.position());
+                in.truncate(data.position());
+                in.force(true);
+            }
+            return records;
+        }
+    }
+
+    /**
+     * Entrega los registros válidos en orden y se detiene en el primero
+     * incompleto o con checksum incorrecto, dejando la posición del buffer
+     * en su inicio.
+     */
+    private static long readRecords(ByteBuffer data, Consumer<ByteBuffer> consumer) {
+        CRC32C crc = new CRC32C();
+        long records = 0;
+        while (data.remaining() >= HEADER_BYTES) {
+            int start = data.position();
+            int length = data.getInt();
+            int checksum = data.getInt();
+            boolean valid = length >= 0 && length <= data.remaining();
+            if (valid) {
+                crc.reset();
+                crc.update(data.slice(data.position(), length));
+                valid = (int) crc.getValue() == checksum;
+            }
+            if (!valid) {
+                data.position(start);
+                return records;
+            }
+            ByteBuffer payload = data.slice(data.position(), length).asReadOnlyBuffer();
+            data.position(data.position() + length);
+            consumer.accept(payload);
+            records++;
+        }
+        return records;
+    }
+
+    // ========== Utilidades ==========
+
+    private void submit(Op op) {
+        if (!running) {
+            throw new IllegalStateException("El WAL no está abierto");
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("El WAL está en estado de error", failure);
+        }
+        queue.add(op);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private FileChannel openSegment(long index) throws IOException {
+        FileChannel segment = FileChannel.open(segmentPath(index), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        segment.position(segment.size());
+        return segment;
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private Path snapshotPath(long index) {
+        return directory.resolve(String.format("%s%016d%s", SNAPSHOT_PREFIX, index, SNAPSHOT_SUFFIX));
+    }
+
+    private List<Long> indexes(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .map(name -> Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())))
+                    .sorted()
+                    .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        }
+    }
+
+    private interface Op {
+    }
+
+    private static final class Append implements Op {
+        final byte[] payload;
+        final Runnable onDurable;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Append(byte[] payload, Runnable onDurable) {
+            this.payload = payload;
+            this.onDurable = onDurable;
+        }
+
+        long size() {
+            return HEADER_BYTES + payload.length;
+        }
+    }
+
+    private interface IoSupplier<T> {
+        T get() throws IOException;
+    }
+
+    private static final class Task implements Op {
+        final IoSupplier<Checkpoint> action;
+        final CompletableFuture<Checkpoint> done = new CompletableFuture<>();
+
+        Task(IoSupplier<Checkpoint> action) {
+            this.action = action;
+        }
+
+        void run() {
+            try {
+                done.complete(action.get());
+            } catch (IOException e) {
+                done.completeExceptionally(new UncheckedIOException(e));
+            } catch (RuntimeException e) {
+                done.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Checkpoint {
+        final long index;
+        final Iterable<byte[]> records;
+
+        Checkpoint(long index, Iterable<byte[]> records) {
+            this.index = index;
+            this.records = records;
+        }
+    }
+}
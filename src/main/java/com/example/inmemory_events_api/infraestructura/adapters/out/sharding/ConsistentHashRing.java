@@ -0,0 +1,60 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.sharding;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Anillo de hash consistente con nodos virtuales.
+ *
+ * Cada shard ocupa virtualNodes posiciones del anillo; una clave va al
+ * primer nodo en sentido horario desde su hash. Al añadir un shard solo se
+ * mueven ~1/N de las claves (las que caen en sus nuevas posiciones), en
+ * lugar de casi todas como con hash % N. Los nodos virtuales reparten la
+ * carga de forma uniforme aunque haya pocos shards.
+ *
+ * Inmutable; seguro entre hilos.
+ *
+ * @param <T> tipo del nodo
+ */
+final class ConsistentHashRing<T> {
+
+    private final TreeMap<Long, T> ring = new TreeMap<>();
+
+    /**
+     * @param nodes        nodos con su nombre (el nombre fija sus posiciones:
+     *                     debe ser estable entre reinicios)
+     * @param virtualNodes posiciones por nodo
+     */
+    ConsistentHashRing(Map<String, T> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("El anillo necesita al menos un nodo");
+        }
+        for (Map.Entry<String, T> node : nodes.entrySet()) {
+            long seed = (long) node.getKey().hashCode() << 32;
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(mix(seed | i), node.getValue());
+            }
+        }
+    }
+
+    T route(long key) {
+        Map.Entry<Long, T> entry = ring.ceilingEntry(mix(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    List<T> nodes() {
+        return ring.values().stream().distinct().toList();
+    }
+
+    /**
+     * Finalizador de SplitMix64: los IDs consecutivos quedan repartidos por
+     * todo el anillo.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
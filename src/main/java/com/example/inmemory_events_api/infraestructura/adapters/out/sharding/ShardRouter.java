@@ -0,0 +1,149 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Enrutado de operaciones entre los shards (storage.mode=sharded).
+ *
+ * - Cada shard es una base de datos independiente con su propio pool.
+ * - Un venue y todos sus eventos viven en el mismo shard, elegido por hash
+ * consistente del ID del venue: las operaciones de un venue van a un solo
+ * shard y la FK evento → venue se mantiene dentro de él.
+ * - Las consultas que cruzan shards (listados, rangos de fechas, búsquedas
+ * por ID de evento) se lanzan en paralelo en todos y se mezclan
+ * (scatter-gather); la latencia es la del shard más lento, no la suma.
+ * - Los IDs se generan con {@link SnowflakeIdGenerator}: únicos en todo el
+ * clúster sin secuencias compartidas.
+ */
+@Component
+@ConditionalOnProperty(name = "storage.mode", havingValue = "sharded")
+public class ShardRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRouter.class);
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+    private final ConsistentHashRing<JdbcTemplate> ring;
+    private final List<JdbcTemplate> shards;
+    private final SnowflakeIdGenerator ids;
+    private final ExecutorService executor;
+    private final long queryTimeoutNanos;
+
+    public ShardRouter(ShardingProperties properties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("storage.mode=sharded requiere al menos un sharding.shards[i].url");
+        }
+        Map<String, JdbcTemplate> byName = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shard.getName());
+            dataSource.setJdbcUrl(shard.getUrl());
+            dataSource.setUsername(shard.getUsername());
+            dataSource.setPassword(shard.getPassword());
+            dataSource.setMaximumPoolSize(shard.getMaxPoolSize());
+            dataSources.add(dataSource);
+            if (properties.isInitializeSchema()) {
+                new ResourceDatabasePopulator(new ClassPathResource("db/sharding/schema.sql")).execute(dataSource);
+            }
+            if (byName.put(shard.getName(), new JdbcTemplate(dataSource)) != null) {
+                throw new IllegalStateException("Nombre de shard repetido: " + shard.getName());
+            }
+        }
+        this.ring = new ConsistentHashRing<>(byName, properties.getVirtualNodes());
+        this.shards = List.copyOf(byName.values());
+        this.ids = new SnowflakeIdGenerator(properties.getWorkerId());
+        int threads = properties.getQueryThreads() > 0 ? properties.getQueryThreads() : shards.size();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "shard-query-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.queryTimeoutNanos = properties.getQueryTimeout().toNanos();
+        log.info("Sharding activo: {} shards {}, worker {}", shards.size(), byName.keySet(),
+                properties.getWorkerId());
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdownNow();
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    public long nextId() {
+        return ids.nextId();
+    }
+
+    /**
+     * Shard de un venue (y de todos sus eventos).
+     */
+    public JdbcTemplate forVenue(long venueId) {
+        return ring.route(venueId);
+    }
+
+    public List<JdbcTemplate> shards() {
+        return shards;
+    }
+
+    /**
+     * Ejecuta la consulta en todos los shards en paralelo y mezcla sus
+     * resultados, que cada shard devuelve ya ordenados por order.
+     */
+    public <T> List<T> scatterGather(Function<JdbcTemplate, List<T>> query, Comparator<? super T> order) {
+        return SortedMerge.merge(scatter(query), order);
+    }
+
+    /**
+     * Ejecuta la operación en todos los shards en paralelo.
+     *
+     * @return un resultado por shard, en el orden de {@link #shards()}
+     */
+    public <T> List<T> scatter(Function<JdbcTemplate, T> operation) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (JdbcTemplate shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> operation.apply(shard), executor));
+        }
+        long deadline = System.nanoTime() + queryTimeoutNanos;
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+        } catch (ExecutionException | CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Fallo en una consulta scatter-gather", e.getCause());
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Consulta scatter-gather sin respuesta de todos los shards", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta scatter-gather interrumpida", e);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.sharding;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.ports.out.EventRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Adaptador de salida particionado para eventos (storage.mode=sharded).
+ *
+ * - Cada evento vive en el shard de su venue: las operaciones por venue
+ * ({@link #findByVenueId}, {@link #countByVenueId}) tocan un solo shard.
+ * - Listados y rangos de fechas: scatter-gather en paralelo; cada shard
+ * devuelve su parte ordenada y se mezclan sin reordenar.
+ * - Búsqueda y borrado por ID: el ID no indica el venue, así que se
+ * pregunta a todos los shards en paralelo (una búsqueda por clave
+ * primaria en cada uno).
+ * - Mover un evento a un venue de otro shard no es atómico: se inserta en
+ * el nuevo y solo después se borra del antiguo. Si algo falla a medias, el
+ * error llega al llamador y la copia antigua se borra al repetir el
+ * guardado (ver {@link #save}). Mientras tanto un scatter-gather puede
+ * encontrar el evento en los dos shards: se devuelve una sola vez y se
+ * registra en el log.
+ */
+@Repository
+@ConditionalOnProperty(name = "storage.mode", havingValue = "sharded")
+public class ShardedEventRepository implements EventRepositoryPort {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedEventRepository.class);
+
+    private static final String COLUMNS = "SELECT id, title, venue_id, date, end_date FROM events";
+
+    private static final RowMapper<EventDTO> EVENT = (rs, row) -> new EventDTO(rs.getLong("id"),
+            rs.getString("title"), rs.getLong("venue_id"), toLocalDate(rs.getDate("date")),
+            toLocalDate(rs.getDate("end_date")));
+
+    /** Orden de los rangos de fechas: fecha (sin fecha al final) e ID. */
+    private static final Comparator<EventDTO> BY_DATE = Comparator
+            .comparing(EventDTO::getDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(EventDTO::getId);
+
+    private final ShardRouter router;
+
+    public ShardedEventRepository(ShardRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public List<EventDTO> findAll() {
+        return distinctById(router.scatterGather(shard -> shard.query(COLUMNS + " ORDER BY id", EVENT),
+                Comparator.comparing(EventDTO::getId)));
+    }
+
+    @Override
+    public Optional<EventDTO> findById(Long id) {
+        return router.scatter(shard -> shard.query(COLUMNS + " WHERE id = ?", EVENT, id)).stream()
+                .flatMap(List::stream)
+                .findFirst();
+    }
+
+    @Override
+    public List<EventDTO> findAllByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String query = COLUMNS + " WHERE id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?"))
+                + ") ORDER BY id";
+        Object[] params = ids.toArray();
+        return distinctById(router.scatterGather(shard -> shard.query(query, EVENT, params),
+                Comparator.comparing(EventDTO::getId)));
+    }
+
+    @Override
+    public List<EventDTO> findByDateBetween(LocalDate from, LocalDate to) {
+        StringBuilder sql = new StringBuilder(COLUMNS).append(" WHERE date IS NOT NULL");
+        List<Object> args = new ArrayList<>(2);
+        if (from != null) {
+            sql.append(" AND date >= ?");
+            args.add(Date.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND date <= ?");
+            args.add(Date.valueOf(to));
+        }
+        sql.append(" ORDER BY date, id");
+        String query = sql.toString();
+        Object[] params = args.toArray();
+        return distinctById(router.scatterGather(shard -> shard.query(query, EVENT, params), BY_DATE));
+    }
+
+    @Override
+    public List<EventDTO> findByVenueId(Long venueId) {
+        return router.forVenue(venueId).query(COLUMNS + " WHERE venue_id = ? ORDER BY id", EVENT, venueId);
+    }
+
+    /**
+     * Número de eventos del venue (un solo shard).
+     */
+    public long countByVenueId(Long venueId) {
+        Long count = router.forVenue(venueId).queryForObject("SELECT COUNT(*) FROM events WHERE venue_id = ?",
+                Long.class, venueId);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Inserta o actualiza el evento en el shard de su venue.
+     *
+     * Con un ID existente se busca antes en qué shards está (una lectura por
+     * clave primaria en paralelo). Si está en otro (cambio de venue), se
+     * inserta en el nuevo y solo cuando el INSERT se confirma se borra del
+     * antiguo. Cualquier fallo se propaga: el evento sigue al menos en uno
+     * de los dos, y repetir el guardado termina el movimiento (actualiza la
+     * copia nueva y borra la antigua).
+     *
+     * @throws IllegalArgumentException si el evento no tiene venue
+     */
+    @Override
+    public EventDTO save(EventDTO event) {
+        if (event.getVenueId() == null) {
+            throw new IllegalArgumentException("En modo particionado todo evento necesita venue");
+        }
+        boolean newId = event.getId() == null;
+        EventDTO stored = new EventDTO(newId ? router.nextId() : event.getId(), event.getName(),
+                event.getVenueId(), event.getDate(), event.getEndDate());
+        JdbcTemplate target = router.forVenue(stored.getVenueId());
+        if (newId) {
+            insert(target, stored);
+            return stored;
+        }
+        List<JdbcTemplate> shards = router.shards();
+        List<Integer> copies = router.scatter(shard -> shard.queryForObject(
+                "SELECT COUNT(*) FROM events WHERE id = ?", Integer.class, stored.getId()));
+        if (copies.get(shards.indexOf(target)) > 0) {
+            target.update("UPDATE events SET title = ?, venue_id = ?, date = ?, end_date = ? WHERE id = ?",
+                    stored.getName(), stored.getVenueId(), toDate(stored.getDate()), toDate(stored.getEndDate()),
+                    stored.getId());
+        } else {
+            insert(target, stored);
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            if (shards.get(i) != target && copies.get(i) > 0) {
+                shards.get(i).update("DELETE FROM events WHERE id = ?", stored.getId());
+            }
+        }
+        return stored;
+    }
+
+    @Override
+    public boolean deleteById(Long id) {
+        return router.scatter(shard -> shard.update("DELETE FROM events WHERE id = ?", id)).stream()
+                .mapToInt(Integer::intValue)
+                .sum() > 0;
+    }
+
+    private static void insert(JdbcTemplate shard, EventDTO event) {
+        shard.update("INSERT INTO events (id, title, venue_id, date, end_date) VALUES (?, ?, ?, ?, ?)",
+                event.getId(), event.getName(), event.getVenueId(), toDate(event.getDate()),
+                toDate(event.getEndDate()));
+    }
+
+    /**
+     * Quita las copias de un evento que está a medio mover de shard (se
+     * queda la primera en el orden del resultado).
+     */
+    private static List<EventDTO> distinctById(List<EventDTO> events) {
+        Set<Long> seen = new HashSet<>(events.size() * 2);
+        events.removeIf(event -> {
+            if (seen.add(event.getId())) {
+                return false;
+            }
+            log.warn("Evento {} presente en dos shards: cambio de venue en curso o a medias", event.getId());
+            return true;
+        });
+        return events;
+    }
+
+    private static Date toDate(LocalDate date) {
+        return date != null ? Date.valueOf(date) : null;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return date != null ? date.toLocalDate() : null;
+    }
+}
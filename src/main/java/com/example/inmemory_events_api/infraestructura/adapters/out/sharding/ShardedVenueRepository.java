@@ -0,0 +1,65 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.sharding;
+
+import com.example.inmemory_events_api.dominio.model.VenueDTO;
+import com.example.inmemory_events_api.dominio.ports.out.VenueRepositoryPort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador de salida particionado para venues (storage.mode=sharded).
+ * Cada venue vive en el shard que le asigna {@link ShardRouter#forVenue}.
+ */
+@Repository
+@ConditionalOnProperty(name = "storage.mode", havingValue = "sharded")
+public class ShardedVenueRepository implements VenueRepositoryPort {
+
+    private static final RowMapper<VenueDTO> VENUE = (rs, row) -> new VenueDTO(rs.getLong("id"),
+            rs.getString("name"), rs.getString("address"), rs.getString("city"),
+            (Integer) rs.getObject("capacity"));
+
+    private final ShardRouter router;
+
+    public ShardedVenueRepository(ShardRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public List<VenueDTO> findAll() {
+        return router.scatterGather(shard -> shard.query("SELECT * FROM venues ORDER BY id", VENUE),
+                Comparator.comparing(VenueDTO::getId));
+    }
+
+    @Override
+    public Optional<VenueDTO> findById(Long id) {
+        return router.forVenue(id).query("SELECT * FROM venues WHERE id = ?", VENUE, id).stream().findFirst();
+    }
+
+    @Override
+    public VenueDTO save(VenueDTO venue) {
+        VenueDTO stored = new VenueDTO(venue.getId() != null ? venue.getId() : router.nextId(), venue.getName(),
+                venue.getAddress(), venue.getCity(), venue.getCapacity());
+        JdbcTemplate shard = router.forVenue(stored.getId());
+        int updated = shard.update("UPDATE venues SET name = ?, address = ?, city = ?, capacity = ? WHERE id = ?",
+                stored.getName(), stored.getAddress(), stored.getCity(), stored.getCapacity(), stored.getId());
+        if (updated == 0) {
+            shard.update("INSERT INTO venues (id, name, address, city, capacity) VALUES (?, ?, ?, ?, ?)",
+                    stored.getId(), stored.getName(), stored.getAddress(), stored.getCity(), stored.getCapacity());
+        }
+        return stored;
+    }
+
+    /**
+     * Borra el venue y, por la FK con ON DELETE CASCADE de su shard, sus
+     * eventos.
+     */
+    @Override
+    public boolean deleteById(Long id) {
+        return router.forVenue(id).update("DELETE FROM venues WHERE id = ?", id) > 0;
+    }
+}
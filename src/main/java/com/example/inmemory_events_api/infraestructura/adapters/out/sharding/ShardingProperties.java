@@ -0,0 +1,57 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración del almacenamiento particionado (prefijo "sharding"; solo
+ * con storage.mode=sharded).
+ *
+ * Ejemplo con tres bases H2 locales:
+ *
+ * <pre>
+ * storage.mode=sharded
+ * sharding.worker-id=1
+ * sharding.shards[0].name=shard-a
+ * sharding.shards[0].url=jdbc:h2:mem:shard-a;DB_CLOSE_DELAY=-1;MODE=MySQL
+ * sharding.shards[1].name=shard-b
+ * sharding.shards[1].url=jdbc:h2:mem:shard-b;DB_CLOSE_DELAY=-1;MODE=MySQL
+ * sharding.shards[2].name=shard-c
+ * sharding.shards[2].url=jdbc:h2:mem:shard-c;DB_CLOSE_DELAY=-1;MODE=MySQL
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    private List<Shard> shards = new ArrayList<>();
+
+    /** Posiciones de cada shard en el anillo de hash consistente. */
+    private int virtualNodes = 128;
+
+    /** Worker del generador de IDs (0-1023); distinto en cada instancia. */
+    private int workerId = 0;
+
+    /** Hilos para las consultas scatter-gather (0 = uno por shard). */
+    private int queryThreads = 0;
+
+    /** Tiempo máximo de una consulta scatter-gather. */
+    private Duration queryTimeout = Duration.ofSeconds(5);
+
+    /** Crea las tablas (db/sharding/schema.sql) en cada shard al arrancar. */
+    private boolean initializeSchema = true;
+
+    @Data
+    public static class Shard {
+        /** Nombre estable: fija las posiciones del shard en el anillo. */
+        private String name;
+        private String url;
+        private String username = "sa";
+        private String password = "";
+        private int maxPoolSize = 10;
+    }
+}
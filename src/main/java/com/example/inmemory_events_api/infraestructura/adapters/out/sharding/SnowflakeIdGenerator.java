@@ -0,0 +1,55 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.sharding;
+
+import java.time.Instant;
+
+/**
+ * IDs únicos globales sin coordinación entre instancias ni shards
+ * (esquema "Snowflake"):
+ *
+ * <pre>
+ * 1 bit  signo (0)
+ * 41 bits milisegundos desde 2024-01-01 (~69 años)
+ * 10 bits worker (sharding.worker-id, distinto en cada instancia)
+ * 12 bits secuencia dentro del milisegundo (4096 IDs/ms)
+ * </pre>
+ *
+ * Los IDs crecen con el tiempo, así que siguen siendo buenos para índices
+ * B-tree. Si el reloj retrocede se sigue usando el último milisegundo
+ * emitido (y se espera al siguiente cuando se agota su secuencia).
+ */
+final class SnowflakeIdGenerator {
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int WORKER_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    static final int MAX_WORKER = (1 << WORKER_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long worker;
+    private long lastMillis = -1;
+    private long sequence;
+
+    SnowflakeIdGenerator(int workerId) {
+        if (workerId < 0 || workerId > MAX_WORKER) {
+            throw new IllegalArgumentException("sharding.worker-id debe estar entre 0 y " + MAX_WORKER);
+        }
+        this.worker = workerId;
+    }
+
+    synchronized long nextId() {
+        long now = Math.max(System.currentTimeMillis() - EPOCH_MILLIS, lastMillis);
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                while (now <= lastMillis) {
+                    Thread.onSpinWait();
+                    now = System.currentTimeMillis() - EPOCH_MILLIS;
+                }
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = now;
+        return (now << (WORKER_BITS + SEQUENCE_BITS)) | (worker << SEQUENCE_BITS) | sequence;
+    }
+}
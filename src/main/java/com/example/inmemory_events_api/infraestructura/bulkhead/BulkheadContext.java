@@ -0,0 +1,27 @@
+package com.example.inmemory_events_api.infraestructura.bulkhead;
+
+/**
+ * Compartimento en el que se ejecuta el hilo actual (lo fija
+ * BulkheadInterceptor y lo lee BulkheadRoutingDataSource para elegir el
+ * pool de conexiones).
+ */
+public final class BulkheadContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private BulkheadContext() {
+    }
+
+    /** @return nombre del compartimento, o null fuera de cualquiera */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    static void enter(String bulkhead) {
+        CURRENT.set(bulkhead);
+    }
+
+    static void exit() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.inmemory_events_api.infraestructura.bulkhead;
+
+import com.example.inmemory_events_api.aplicacion.bulkhead.Bulkhead;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ejecuta cada método anotado con @Bulkhead (o de una clase anotada)
+ * dentro de su compartimento: ocupa un hueco y fija BulkheadContext para
+ * que las conexiones salgan de su pool. Va por fuera del interceptor de
+ * transacciones, que es quien pide la conexión.
+ */
+public class BulkheadInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<BulkheadRegistry> registry;
+    private final Map<Method, ConcurrencyBulkhead> byMethod = new ConcurrentHashMap<>();
+
+    /**
+     * @param registry se resuelve en la primera llamada: el advisor se crea
+     *                 antes que el resto de beans
+     */
+    public BulkheadInterceptor(ObjectProvider<BulkheadRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (BulkheadContext.current() != null) {
+            return invocation.proceed();
+        }
+        ConcurrencyBulkhead bulkhead = byMethod.computeIfAbsent(invocation.getMethod(),
+                method -> resolve(method, invocation.getThis()));
+        bulkhead.acquire();
+        BulkheadContext.enter(bulkhead.name());
+        try {
+            return invocation.proceed();
+        } finally {
+            BulkheadContext.exit();
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * @return la anotación del método o, si no tiene, la de su clase (null
+     *         si ninguno de los dos está anotado)
+     */
+    public static Bulkhead findAnnotation(Method method, Class<?> targetClass) {
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        Bulkhead annotation = AnnotatedElementUtils.findMergedAnnotation(specific, Bulkhead.class);
+        return annotation != null ? annotation : AnnotatedElementUtils.findMergedAnnotation(targetClass, Bulkhead.class);
+    }
+
+    private ConcurrencyBulkhead resolve(Method method, Object target) {
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : method.getDeclaringClass();
+        Bulkhead annotation = findAnnotation(method, targetClass);
+        if (annotation == null) {
+            throw new IllegalStateException("Sin @Bulkhead: " + targetClass.getSimpleName() + "." + method.getName());
+        }
+        return registry.getObject().get(annotation.value());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.inmemory_events_api.infraestructura.bulkhead;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pools de conexiones: uno por compartimento y el "default" para lo que no
+ * va en ninguno (arranque, tareas programadas, tailer del change-log...).
+ *
+ * Todos salen de spring.datasource.* y spring.datasource.hikari.*; cada
+ * compartimento cambia solo el tamaño (pool-size) y, si se indica, la
+ * espera por conexión. Publican las métricas hikaricp.* con el tag pool
+ * (nombre del compartimento) y bulkhead.pool.saturation.
+ *
+ * Es un bean aparte del DataSource para que los pools se cierren al parar
+ * aunque el DataSource quede envuelto (trazas, queryplan).
+ */
+public class BulkheadPools implements DisposableBean {
+
+    public static final String DEFAULT_POOL = "default";
+
+    private final HikariDataSource defaultPool;
+    private final Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+
+    public BulkheadPools(DataSourceProperties dataSourceProperties, Environment environment,
+            BulkheadProperties properties, MeterRegistry meterRegistry) {
+        this.defaultPool = create(DEFAULT_POOL, dataSourceProperties, environment, meterRegistry);
+        properties.getBulkheads().forEach((name, settings) -> {
+            HikariDataSource pool = create(name, dataSourceProperties, environment, meterRegistry);
+            pool.setMaximumPoolSize(settings.getPoolSize() > 0 ? settings.getPoolSize()
+                    : Math.max(settings.getMaxConcurrentCalls(), 1));
+            if (pool.getMinimumIdle() > pool.getMaximumPoolSize()) {
+                pool.setMinimumIdle(pool.getMaximumPoolSize());
+            }
+            if (settings.getConnectionTimeout() != null) {
+                pool.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+            }
+            pools.put(name, pool);
+        });
+    }
+
+    public HikariDataSource defaultPool() {
+        return defaultPool;
+    }
+
+    /** Pools de los compartimentos, por nombre. */
+    public Map<String, HikariDataSource> pools() {
+        return Collections.unmodifiableMap(pools);
+    }
+
+    @Override
+    public void destroy() {
+        pools.values().forEach(HikariDataSource::close);
+        defaultPool.close();
+    }
+
+    private static HikariDataSource create(String name, DataSourceProperties dataSourceProperties,
+            Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        Gauge.builder("bulkhead.pool.saturation", pool, BulkheadPools::saturation).tag("pool", name)
+                .description("Conexiones en uso / máximo del pool").register(meterRegistry);
+        return pool;
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        return mxBean != null ? (double) mxBean.getActiveConnections() / pool.getMaximumPoolSize() : 0;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.inmemory_events_api.infraestructura.bulkhead;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuración de los compartimentos (prefijo "bulkhead"). Cada entrada
+ * de bulkheads es un nombre usable en @Bulkhead.
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * bulkhead.bulkheads.interactive.max-concurrent-calls=64
+ * bulkhead.bulkheads.interactive.max-wait=100ms
+ * bulkhead.bulkheads.interactive.pool-size=10
+ * bulkhead.bulkheads.bulk.max-concurrent-calls=2
+ * bulkhead.bulkheads.bulk.connection-timeout=60s
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+
+    private Map<String, Settings> bulkheads = new LinkedHashMap<>();
+
+    @Data
+    public static class Settings {
+
+        /** Llamadas que pueden estar dentro del compartimento a la vez. */
+        private int maxConcurrentCalls = 16;
+
+        /** Espera máxima por un hueco; pasada, BulkheadFullException (503). */
+        private Duration maxWait = Duration.ofMillis(500);
+
+        /** Conexiones de su pool (0 = max-concurrent-calls). */
+        private int poolSize = 0;
+
+        /** Espera máxima por una conexión (null = la de spring.datasource.hikari). */
+        private Duration connectionTimeout;
+    }
+}
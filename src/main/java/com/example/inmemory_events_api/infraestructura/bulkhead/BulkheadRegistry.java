@@ -0,0 +1,30 @@
+package com.example.inmemory_events_api.infraestructura.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compartimentos configurados en bulkhead.bulkheads, por nombre.
+ */
+public class BulkheadRegistry {
+
+    private final Map<String, ConcurrencyBulkhead> bulkheads = new LinkedHashMap<>();
+
+    public BulkheadRegistry(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        properties.getBulkheads().forEach((name, settings) -> bulkheads.put(name,
+                new ConcurrencyBulkhead(name, settings, meterRegistry)));
+    }
+
+    /**
+     * @throws IllegalStateException si el compartimento no está configurado
+     */
+    public ConcurrencyBulkhead get(String name) {
+        ConcurrencyBulkhead bulkhead = bulkheads.get(name);
+        if (bulkhead == null) {
+            throw new IllegalStateException("Compartimento no configurado en bulkhead.bulkheads: " + name);
+        }
+        return bulkhead;
+    }
+}
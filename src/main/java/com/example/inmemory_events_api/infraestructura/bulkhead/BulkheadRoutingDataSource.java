@@ -0,0 +1,28 @@
+package com.example.inmemory_events_api.infraestructura.bulkhead;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+
+/**
+ * DataSource de la aplicación con compartimentos: cada conexión sale del
+ * pool del compartimento del hilo (BulkheadContext) o del "default" fuera
+ * de cualquiera.
+ *
+ * La conexión se elige al pedirla, es decir, al empezar la transacción:
+ * una transacción ya abierta sigue en su pool aunque llame a un método de
+ * otro compartimento.
+ */
+public class BulkheadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public BulkheadRoutingDataSource(BulkheadPools pools) {
+        setTargetDataSources(new HashMap<>(pools.pools()));
+        setDefaultTargetDataSource(pools.defaultPool());
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return BulkheadContext.current();
+    }
+}
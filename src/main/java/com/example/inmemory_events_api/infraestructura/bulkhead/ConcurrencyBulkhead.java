@@ -0,0 +1,96 @@
+package com.example.inmemory_events_api.infraestructura.bulkhead;
+
+import com.example.inmemory_events_api.dominio.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de llamadas concurrentes de un compartimento, con espera acotada.
+ *
+ * Las llamadas se ejecutan en el hilo que las hace (el de Tomcat o el del
+ * planificador) y no en un pool propio: las transacciones, las trazas y
+ * las respuestas en streaming van ligadas al hilo. El efecto es el de un
+ * executor acotado: como mucho max-concurrent-calls hilos dentro del
+ * compartimento y, pasada max-wait, rechazo en vez de cola sin fin.
+ *
+ * Métricas (tag bulkhead): bulkhead.calls.active, bulkhead.calls.waiting,
+ * bulkhead.calls.max, bulkhead.saturation (activas / máximo),
+ * bulkhead.rejected y bulkhead.wait.
+ */
+public class ConcurrencyBulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter rejected;
+    private final Timer waitTimer;
+
+    public ConcurrencyBulkhead(String name, BulkheadProperties.Settings settings, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrentCalls = Math.max(settings.getMaxConcurrentCalls(), 1);
+        this.maxWaitNanos = settings.getMaxWait().toNanos();
+        this.permits = new Semaphore(maxConcurrentCalls);
+
+        this.rejected = Counter.builder("bulkhead.rejected").tag("bulkhead", name)
+                .description("Llamadas rechazadas con el compartimento lleno").register(meterRegistry);
+        this.waitTimer = Timer.builder("bulkhead.wait").tag("bulkhead", name)
+                .description("Espera por un hueco en el compartimento").register(meterRegistry);
+        Gauge.builder("bulkhead.calls.active", this, ConcurrencyBulkhead::activeCalls).tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.calls.waiting", waiting, AtomicInteger::get).tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.calls.max", this, bulkhead -> bulkhead.maxConcurrentCalls).tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.saturation", this, bulkhead -> (double) bulkhead.activeCalls()
+                / bulkhead.maxConcurrentCalls).tag("bulkhead", name).register(meterRegistry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Espera un hueco como mucho max-wait.
+     *
+     * @throws BulkheadFullException si no lo hay
+     */
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = maxWaitNanos > 0 && permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException("El compartimento '" + name + "' tiene sus " + maxConcurrentCalls
+                    + " llamadas ocupadas");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int activeCalls() {
+        return maxConcurrentCalls - permits.availablePermits();
+    }
+}
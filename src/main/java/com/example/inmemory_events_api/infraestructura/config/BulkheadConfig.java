@@ -0,0 +1,97 @@
+package com.example.inmemory_events_api.infraestructura.config;
+
+import com.example.inmemory_events_api.InmemoryEventsApiApplication;
+import com.example.inmemory_events_api.aplicacion.bulkhead.Bulkhead;
+import com.example.inmemory_events_api.infraestructura.bulkhead.BulkheadInterceptor;
+import com.example.inmemory_events_api.infraestructura.bulkhead.BulkheadPools;
+import com.example.inmemory_events_api.infraestructura.bulkhead.BulkheadProperties;
+import com.example.inmemory_events_api.infraestructura.bulkhead.BulkheadRegistry;
+import com.example.inmemory_events_api.infraestructura.bulkhead.BulkheadRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Compartimentos (bulkhead.enabled): los métodos de casos de uso anotados
+ * con @Bulkhead tienen un límite propio de llamadas concurrentes y un pool
+ * de conexiones propio.
+ *
+ * - El DataSource de la aplicación pasa a ser BulkheadRoutingDataSource
+ * (sustituye al de la autoconfiguración de Spring Boot); trazas y queryplan
+ * lo envuelven igual que antes.
+ * - El advisor va por fuera del de transacciones: el hueco y el pool se
+ * eligen antes de pedir la conexión. Un nombre de @Bulkhead sin configurar
+ * hace fallar el arranque.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig {
+
+    @Bean
+    public BulkheadPools bulkheadPools(DataSourceProperties dataSourceProperties, Environment environment,
+            BulkheadProperties properties, MeterRegistry meterRegistry) {
+        return new BulkheadPools(dataSourceProperties, environment, properties, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(BulkheadPools bulkheadPools) {
+        return new BulkheadRoutingDataSource(bulkheadPools);
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(BulkheadProperties properties, MeterRegistry meterRegistry) {
+        return new BulkheadRegistry(properties, meterRegistry);
+    }
+
+    /**
+     * Entre el de trazas (HIGHEST_PRECEDENCE + 1) y el de transacciones
+     * (LOWEST_PRECEDENCE): la espera por un hueco sale en la traza.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor bulkheadAdvisor(ObjectProvider<BulkheadProperties> properties,
+            ObjectProvider<BulkheadRegistry> registry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+                    return false;
+                }
+                Bulkhead annotation = BulkheadInterceptor.findAnnotation(method, targetClass);
+                if (annotation == null) {
+                    return false;
+                }
+                if (!properties.getObject().getBulkheads().containsKey(annotation.value())) {
+                    throw new IllegalStateException("Compartimento no configurado en bulkhead.bulkheads: "
+                            + annotation.value() + " (" + targetClass.getSimpleName() + "." + method.getName()
+                            + ")");
+                }
+                return true;
+            }
+        };
+        String basePackage = InmemoryEventsApiApplication.class.getPackageName() + ".";
+        pointcut.setClassFilter(clazz -> clazz.getName().startsWith(basePackage));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut,
+                new BulkheadInterceptor(registry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return advisor;
+    }
+}
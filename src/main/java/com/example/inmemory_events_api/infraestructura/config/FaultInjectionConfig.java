@@ -0,0 +1,112 @@
+package com.example.inmemory_events_api.infraestructura.config;
+
+import com.example.inmemory_events_api.dominio.ports.out.EventRepositoryPort;
+import com.example.inmemory_events_api.dominio.ports.out.VenueRepositoryPort;
+import com.example.inmemory_events_api.infraestructura.faults.FaultInjectionInterceptor;
+import com.example.inmemory_events_api.infraestructura.faults.FaultInjectionProperties;
+import com.example.inmemory_events_api.infraestructura.faults.FaultInjector;
+import com.example.inmemory_events_api.infraestructura.faults.FaultSpec;
+import com.example.inmemory_events_api.infraestructura.faults.FaultTransactionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Inyección de fallos y latencia en la capa de datos (perfil "faults"):
+ * decora los repositorios para degradar el almacenamiento a voluntad y ver
+ * cómo responden timeouts, cachés y descarte de carga.
+ *
+ * - Repositorios Spring Data: interceptor dentro del proxy de cada
+ * repositorio (target Interfaz.método).
+ * - Adaptadores de EventRepositoryPort / VenueRepositoryPort (memoria,
+ * sharding): advisor de infraestructura (target Clase.método).
+ * - Commits: FaultTransactionListener (target transaction.commit).
+ *
+ * Las reglas iniciales salen de faults.rules; /admin/faults las cambia en
+ * caliente.
+ */
+@Configuration
+@Profile("faults")
+public class FaultInjectionConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FaultInjectionConfig.class);
+
+    /**
+     * Estático: los post-procesadores y el advisor lo necesitan antes de que
+     * se creen los repositorios. Por eso enlaza faults.* directamente del
+     * Environment, sin esperar al bean de propiedades.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static FaultInjector faultInjector(Environment environment) {
+        FaultInjectionProperties properties = Binder.get(environment)
+                .bind("faults", FaultInjectionProperties.class)
+                .orElseGet(FaultInjectionProperties::new);
+        FaultInjector injector = new FaultInjector(properties.getMaxLatency(), properties.getMaxRules());
+        for (FaultSpec spec : properties.getRules()) {
+            log.warn("Inyección de fallos activa desde el arranque: {}", injector.add(spec));
+        }
+        return injector;
+    }
+
+    @Bean
+    public FaultTransactionListener faultTransactionListener(FaultInjector faultInjector) {
+        return new FaultTransactionListener(faultInjector);
+    }
+
+    /**
+     * Por dentro de los advisors de perfilado y trazas: la latencia
+     * inyectada aparece en sus tramos y métricas.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor repositoryPortFaultAdvisor(ObjectProvider<FaultInjector> faultInjector) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(clazz -> EventRepositoryPort.class.isAssignableFrom(clazz)
+                || VenueRepositoryPort.class.isAssignableFrom(clazz));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pointcut,
+                new FaultInjectionInterceptor(faultInjector.getObject()));
+        advisor.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return advisor;
+    }
+
+    /**
+     * Estático para registrarse antes de que se creen los repositorios.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryFaultPostProcessor(ObjectProvider<FaultInjector> faultInjector) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    FaultInjector injector = faultInjector.getObject();
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new FaultInjectionInterceptor(
+                                    injector, information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
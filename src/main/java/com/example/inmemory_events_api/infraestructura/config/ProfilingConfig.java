@@ -0,0 +1,114 @@
+package com.example.inmemory_events_api.infraestructura.config;
+
+import com.example.inmemory_events_api.aplicacion.usecase.EventService;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.exception.GlobalExceptionHandler;
+import com.example.inmemory_events_api.infraestructura.profiling.ExceptionHandlerJfrInterceptor;
+import com.example.inmemory_events_api.infraestructura.profiling.JfrRecordingManager;
+import com.example.inmemory_events_api.infraestructura.profiling.RepositoryJfrInterceptor;
+import com.example.inmemory_events_api.infraestructura.profiling.TransactionJfrListener;
+import com.example.inmemory_events_api.infraestructura.profiling.UseCaseJfrInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Eventos JFR propios y grabación bajo demanda (profiling.jfr.enabled).
+ *
+ * - Casos de uso (servicios @Service de aplicacion.usecase) y
+ * GlobalExceptionHandler: advisors de infraestructura que se suman al mismo
+ * proxy que @Transactional; el de casos de uso va por fuera de la
+ * transacción para incluir el commit.
+ * - Repositorios: interceptor dentro del proxy de cada repositorio Spring
+ * Data (con el nombre de la interfaz).
+ * - Transacciones: TransactionExecutionListener, que Spring Boot registra
+ * en el gestor de transacciones.
+ *
+ * Los eventos solo se crean y graban mientras hay una grabación JFR activa
+ * (la de /admin/profiling u otra lanzada con jcmd).
+ */
+@Configuration
+@ConditionalOnProperty(name = "profiling.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class ProfilingConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor useCaseJfrAdvisor() {
+        String useCasePackage = EventService.class.getPackageName();
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(publicMethodsOf(
+                clazz -> clazz.getPackageName().equals(useCasePackage)
+                        && AnnotatedElementUtils.hasAnnotation(clazz, Service.class)),
+                new UseCaseJfrInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor exceptionHandlerJfrAdvisor() {
+        return new DefaultPointcutAdvisor(publicMethodsOf(GlobalExceptionHandler.class::isAssignableFrom),
+                new ExceptionHandlerJfrInterceptor());
+    }
+
+    private static Pointcut publicMethodsOf(ClassFilter classFilter) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(classFilter);
+        return pointcut;
+    }
+
+    /**
+     * Estático para registrarse antes de que se creen los repositorios.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryJfrPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new RepositoryJfrInterceptor(information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public TransactionJfrListener transactionJfrListener() {
+        return new TransactionJfrListener();
+    }
+
+    @Bean
+    public JfrRecordingManager jfrRecordingManager(
+            @Value("${profiling.jfr.dump-dir:./data/jfr}") String dumpDir,
+            @Value("${profiling.jfr.settings:profile}") String settings,
+            @Value("${profiling.jfr.max-duration:5m}") Duration maxDuration,
+            @Value("${profiling.jfr.max-size:200MB}") DataSize maxSize,
+            @Value("${profiling.jfr.max-dumps:10}") int maxDumps) {
+        return new JfrRecordingManager(Path.of(dumpDir), settings, maxDuration, maxSize.toBytes(), maxDumps);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.inmemory_events_api.infraestructura.config;
+
+import com.example.inmemory_events_api.InmemoryEventsApiApplication;
+import com.example.inmemory_events_api.infraestructura.queryplan.IndexAdvisor;
+import com.example.inmemory_events_api.infraestructura.queryplan.QueryPlanAnalyzer;
+import com.example.inmemory_events_api.infraestructura.queryplan.QueryPlanInspector;
+import com.example.inmemory_events_api.infraestructura.queryplan.QueryShapeRecorder;
+import com.example.inmemory_events_api.infraestructura.queryplan.RecordingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Asesor de consultas (queryplan.enabled=true): envuelve el DataSource
+ * para registrar las formas de consulta que se ejecutan y expone el
+ * análisis de sus planes (ver QueryPlanController).
+ *
+ * Pensado para entornos de prueba y de carga, no para producción: cada
+ * operación JDBC pasa por un proxy.
+ */
+@Configuration
+@ConditionalOnProperty(name = "queryplan.enabled", havingValue = "true")
+public class QueryPlanConfig {
+
+    @Bean
+    public static QueryShapeRecorder queryShapeRecorder(@Value("${queryplan.max-shapes:500}") int maxShapes) {
+        return new QueryShapeRecorder(InmemoryEventsApiApplication.class.getPackageName(), maxShapes);
+    }
+
+    /**
+     * Estático para registrarse antes de que se cree el DataSource.
+     */
+    @Bean
+    public static BeanPostProcessor queryShapeRecordingPostProcessor(ObjectProvider<QueryShapeRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)) {
+                    return new RecordingDataSource(dataSource, recorder.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public QueryPlanInspector queryPlanInspector(DataSource dataSource,
+            QueryShapeRecorder recorder,
+            @Value("${queryplan.ignored-sources:}") List<String> ignoredSources) {
+        // Los EXPLAIN y la lectura de metadatos van sin registrar
+        DataSource target = dataSource instanceof RecordingDataSource recording
+                ? recording.getTargetDataSource()
+                : dataSource;
+        return new QueryPlanInspector(recorder, new QueryPlanAnalyzer(target), new IndexAdvisor(target),
+                Set.copyOf(ignoredSources));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.inmemory_events_api.infraestructura.config;
+
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.requestcost.RequestCostFilter;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.requestcost.RequestCostProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registra el filtro de coste por petición justo después del control de
+ * admisión: las peticiones rechazadas allí no llegan a gastar nada y no se
+ * miden.
+ */
+@Configuration
+@EnableConfigurationProperties(RequestCostProperties.class)
+public class RequestCostConfig {
+
+    @Bean
+    public FilterRegistrationBean<RequestCostFilter> requestCostFilter(
+            RequestCostProperties properties,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestCostFilter> registration = new FilterRegistrationBean<>(
+                new RequestCostFilter(properties, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.inmemory_events_api.infraestructura.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (@Scheduled): caducidad de retenciones de
+ * asientos, escritura por lotes de reservas, etc.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
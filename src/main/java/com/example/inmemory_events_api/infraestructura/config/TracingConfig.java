@@ -0,0 +1,171 @@
+package com.example.inmemory_events_api.infraestructura.config;
+
+import com.example.inmemory_events_api.aplicacion.usecase.EventService;
+import com.example.inmemory_events_api.dominio.model.TraceDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.in.web.EventController;
+import com.example.inmemory_events_api.infraestructura.tracing.SpanKind;
+import com.example.inmemory_events_api.infraestructura.tracing.TraceBuffer;
+import com.example.inmemory_events_api.infraestructura.tracing.TraceFileExporter;
+import com.example.inmemory_events_api.infraestructura.tracing.TracingDataSource;
+import com.example.inmemory_events_api.infraestructura.tracing.TracingFilter;
+import com.example.inmemory_events_api.infraestructura.tracing.TracingInterceptor;
+import com.example.inmemory_events_api.infraestructura.tracing.TracingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Trazas en proceso (tracing.enabled): un tramo por petición (filtro),
+ * controlador, caso de uso, llamada a repositorio y sentencia JDBC.
+ *
+ * - El filtro va antes que el control de admisión: los 429 también llevan
+ * su traceId.
+ * - Controladores y casos de uso: advisors de infraestructura, como los de
+ * ProfilingConfig.
+ * - Repositorios: interceptor dentro del proxy de cada repositorio.
+ * - JDBC: TracingDataSource, instalado por debajo del de queryplan si
+ * también está activo.
+ *
+ * Las trazas exportadas quedan en TraceBuffer (/admin/traces) y, con
+ * tracing.export-file, en un fichero NDJSON.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    public TraceBuffer traceBuffer(TracingProperties properties) {
+        return new TraceBuffer(properties.getBufferSize());
+    }
+
+    @Bean
+    @ConditionalOnExpression("!'${tracing.export-file:}'.isBlank()")
+    public TraceFileExporter traceFileExporter(TracingProperties properties, ObjectMapper objectMapper) {
+        return new TraceFileExporter(Path.of(properties.getExportFile()), properties.getExportQueueSize(),
+                objectMapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(
+            TracingProperties properties,
+            TraceBuffer traceBuffer,
+            ObjectProvider<TraceFileExporter> fileExporter) {
+        Consumer<TraceDTO> exporter = traceBuffer::add;
+        TraceFileExporter file = fileExporter.getIfAvailable();
+        if (file != null) {
+            exporter = exporter.andThen(file::export);
+        }
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(
+                new TracingFilter(properties, exporter));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor controllerTracingAdvisor() {
+        String controllerPackage = EventController.class.getPackageName();
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(publicMethodsOf(
+                clazz -> clazz.getPackageName().equals(controllerPackage)
+                        && AnnotatedElementUtils.hasAnnotation(clazz, RestController.class)),
+                new TracingInterceptor(SpanKind.CONTROLLER));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor useCaseTracingAdvisor() {
+        String useCasePackage = EventService.class.getPackageName();
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(publicMethodsOf(
+                clazz -> clazz.getPackageName().equals(useCasePackage)
+                        && AnnotatedElementUtils.hasAnnotation(clazz, Service.class)),
+                new TracingInterceptor(SpanKind.USE_CASE));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+
+    private static Pointcut publicMethodsOf(ClassFilter classFilter) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(classFilter);
+        return pointcut;
+    }
+
+    /**
+     * Estático para registrarse antes de que se creen los repositorios.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTracingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new TracingInterceptor(
+                                    SpanKind.REPOSITORY, information.getRepositoryInterface()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Estático para registrarse antes de que se cree el DataSource.
+     */
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor() {
+        return new TracingDataSourcePostProcessor();
+    }
+
+    /**
+     * Ordered: se aplica antes que los post-procesadores sin orden (el de
+     * QueryPlanConfig), así RecordingDataSource queda por fuera y sigue
+     * pudiendo desenvolver el DataSource real.
+     */
+    private static final class TracingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+                return new TracingDataSource(dataSource);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
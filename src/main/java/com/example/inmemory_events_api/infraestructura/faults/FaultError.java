@@ -0,0 +1,33 @@
+package com.example.inmemory_events_api.infraestructura.faults;
+
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+/**
+ * Error inyectado: las mismas excepciones de Spring que lanzaría la capa
+ * de datos ante el fallo real, para que el resto de la aplicación lo trate
+ * igual.
+ */
+public enum FaultError {
+    /** Base de datos caída o conexión rota. */
+    UNAVAILABLE,
+    /** Pool agotado: no se consigue conexión a tiempo. */
+    POOL_EXHAUSTED,
+    /** La sentencia supera su timeout. */
+    QUERY_TIMEOUT,
+    /** Interbloqueo o espera de lock agotada. */
+    DEADLOCK;
+
+    DataAccessException exception(String target) {
+        String message = "Fallo inyectado (" + this + ") en " + target;
+        return switch (this) {
+            case UNAVAILABLE -> new DataAccessResourceFailureException(message);
+            case POOL_EXHAUSTED -> new CannotGetJdbcConnectionException(message);
+            case QUERY_TIMEOUT -> new QueryTimeoutException(message);
+            case DEADLOCK -> new CannotAcquireLockException(message);
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.inmemory_events_api.infraestructura.faults;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Inyecta los fallos configurados antes de cada llamada a un repositorio o
+ * adaptador de persistencia. El target es Clase.método, como en los tramos
+ * de TracingInterceptor.
+ */
+public class FaultInjectionInterceptor implements MethodInterceptor {
+
+    private final FaultInjector injector;
+    private final String fixedOwner;
+
+    /** El target usa la clase destino de cada llamada. */
+    public FaultInjectionInterceptor(FaultInjector injector) {
+        this(injector, null);
+    }
+
+    /**
+     * El target usa siempre owner (la interfaz del repositorio); sus métodos
+     * públicos quedan registrados como targets posibles.
+     */
+    public FaultInjectionInterceptor(FaultInjector injector, Class<?> owner) {
+        this.injector = injector;
+        this.fixedOwner = owner != null ? owner.getSimpleName() : null;
+        if (owner != null) {
+            for (Method method : owner.getMethods()) {
+                if (!Modifier.isStatic(method.getModifiers()) && method.getDeclaringClass() != Object.class) {
+                    injector.registerTarget(fixedOwner + "." + method.getName());
+                }
+            }
+        }
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        injector.inject(owner(invocation) + "." + invocation.getMethod().getName());
+        return invocation.proceed();
+    }
+
+    private String owner(MethodInvocation invocation) {
+        if (fixedOwner != null) {
+            return fixedOwner;
+        }
+        Object target = invocation.getThis();
+        return target != null ? AopUtils.getTargetClass(target).getSimpleName()
+                : invocation.getMethod().getDeclaringClass().getSimpleName();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.inmemory_events_api.infraestructura.faults;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de la inyección de fallos (prefijo "faults", perfil Spring
+ * "faults"). Las reglas de faults.rules se activan al arrancar, para que
+ * una prueba de carga empiece ya con el almacenamiento degradado; después
+ * se cambian en caliente con /admin/faults.
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * faults.rules[0].target=EventRepository.findAllWithVenue
+ * faults.rules[0].latency=LOGNORMAL
+ * faults.rules[0].latency-ms=20
+ * faults.rules[0].latency-max-ms=500
+ * faults.rules[1].target=transaction.commit
+ * faults.rules[1].error-rate=0.05
+ * faults.rules[1].error=DEADLOCK
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "faults")
+public class FaultInjectionProperties {
+
+    /** Tope de cualquier espera inyectada (latencia o errorDelayMs). */
+    private Duration maxLatency = Duration.ofSeconds(30);
+
+    /** Reglas activas como máximo. */
+    private int maxRules = 50;
+
+    /** Reglas activas desde el arranque. */
+    private List<FaultSpec> rules = new ArrayList<>();
+}
@@ -0,0 +1,102 @@
+package com.example.inmemory_events_api.infraestructura.faults;
+
+import com.example.inmemory_events_api.dominio.model.FaultRuleDTO;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reglas de inyección de fallos activas. Se consultan en cada llamada a un
+ * repositorio o commit, así que la lectura va sin locks: un array volátil
+ * que se sustituye entero al añadir o quitar reglas (pocas escrituras, desde
+ * /admin/faults). Sin reglas, inject() solo lee ese campo.
+ *
+ * Gana la primera regla (por orden de alta) cuyo target encaja.
+ */
+public class FaultInjector {
+
+    /** Target de los commits (FaultTransactionListener). */
+    public static final String TRANSACTION_COMMIT = "transaction.commit";
+
+    private static final FaultRule[] NO_RULES = new FaultRule[0];
+
+    private final Duration maxLatency;
+    private final int maxRules;
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Set<String> targets = ConcurrentHashMap.newKeySet();
+    private volatile FaultRule[] rules = NO_RULES;
+
+    public FaultInjector(Duration maxLatency, int maxRules) {
+        this.maxLatency = maxLatency;
+        this.maxRules = maxRules;
+        targets.add(TRANSACTION_COMMIT);
+    }
+
+    /**
+     * Aplica la primera regla que encaje con target (latencia y/o error).
+     *
+     * @throws org.springframework.dao.DataAccessException el error inyectado
+     */
+    public void inject(String target) {
+        FaultRule[] current = rules;
+        if (current.length == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (FaultRule rule : current) {
+            if (rule.expired(now)) {
+                remove(rule.id());
+            } else if (rule.matches(target)) {
+                rule.apply(target, maxLatency);
+                return;
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException si la regla no es coherente o ya hay
+     * faults.max-rules reglas
+     */
+    public synchronized FaultRuleDTO add(FaultSpec spec) {
+        if (rules.length >= maxRules) {
+            throw new IllegalArgumentException("Ya hay " + maxRules + " reglas activas (faults.max-rules)");
+        }
+        FaultRule rule = new FaultRule(nextId.getAndIncrement(), spec);
+        FaultRule[] updated = Arrays.copyOf(rules, rules.length + 1);
+        updated[rules.length] = rule;
+        rules = updated;
+        return rule.toDTO();
+    }
+
+    public synchronized boolean remove(long id) {
+        FaultRule[] updated = Arrays.stream(rules).filter(rule -> rule.id() != id).toArray(FaultRule[]::new);
+        boolean removed = updated.length != rules.length;
+        rules = updated;
+        return removed;
+    }
+
+    /** @return número de reglas quitadas */
+    public synchronized int clear() {
+        int removed = rules.length;
+        rules = NO_RULES;
+        return removed;
+    }
+
+    public List<FaultRuleDTO> rules() {
+        long now = System.nanoTime();
+        return Arrays.stream(rules).filter(rule -> !rule.expired(now)).map(FaultRule::toDTO).toList();
+    }
+
+    /** Registra un target posible (lo que lista GET /admin/faults/targets). */
+    public void registerTarget(String target) {
+        targets.add(target);
+    }
+
+    public List<String> targets() {
+        return targets.stream().sorted().toList();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.inmemory_events_api.infraestructura.faults;
+
+import com.example.inmemory_events_api.dominio.model.FaultRuleDTO;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Regla compilada e inmutable (salvo los contadores). El resultado de
+ * comparar el patrón con cada target se cachea: hay pocos targets
+ * distintos y así el regex no se evalúa en cada llamada.
+ */
+final class FaultRule {
+
+    private final long id;
+    private final String target;
+    private final Pattern pattern;
+    private final LatencyDistribution latency;
+    private final long latencyMs;
+    private final long latencyMaxMs;
+    private final double latencyProbability;
+    private final double errorRate;
+    private final FaultError error;
+    private final long errorDelayMs;
+    private final Instant createdAt;
+    private final Instant expiresAt;
+    private final long expiresAtNanos;
+    private final Map<String, Boolean> matches = new ConcurrentHashMap<>();
+    private final LongAdder matched = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * @throws IllegalArgumentException si la especificación no es coherente
+     */
+    FaultRule(long id, FaultSpec spec) {
+        if (spec.getTarget() == null || spec.getTarget().isBlank()) {
+            throw new IllegalArgumentException("El target es obligatorio");
+        }
+        LatencyDistribution distribution = spec.getLatency() != null ? spec.getLatency() : LatencyDistribution.NONE;
+        distribution.validate(spec.getLatencyMs(), spec.getLatencyMaxMs());
+        if (distribution == LatencyDistribution.NONE && spec.getErrorRate() == 0) {
+            throw new IllegalArgumentException("La regla no inyecta nada: indica latency o errorRate");
+        }
+        this.id = id;
+        this.target = spec.getTarget().trim();
+        this.pattern = compile(target);
+        this.latency = distribution;
+        this.latencyMs = spec.getLatencyMs();
+        this.latencyMaxMs = spec.getLatencyMaxMs();
+        this.latencyProbability = spec.getLatencyProbability();
+        this.errorRate = spec.getErrorRate();
+        this.error = spec.getError() != null ? spec.getError() : FaultError.UNAVAILABLE;
+        this.errorDelayMs = spec.getErrorDelayMs();
+        this.createdAt = Instant.now();
+        if (spec.getDurationSeconds() != null) {
+            this.expiresAt = createdAt.plusSeconds(spec.getDurationSeconds());
+            this.expiresAtNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(spec.getDurationSeconds());
+        } else {
+            this.expiresAt = null;
+            this.expiresAtNanos = Long.MAX_VALUE;
+        }
+    }
+
+    long id() {
+        return id;
+    }
+
+    boolean expired(long nowNanos) {
+        return nowNanos - expiresAtNanos >= 0 && expiresAt != null;
+    }
+
+    boolean matches(String candidate) {
+        return matches.computeIfAbsent(candidate, value -> pattern.matcher(value).matches());
+    }
+
+    /**
+     * Aplica la regla a una llamada: duerme la latencia sorteada (como mucho
+     * maxLatency) y, según errorRate, lanza el error tras errorDelayMs.
+     */
+    void apply(String candidate, Duration maxLatency) {
+        matched.increment();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (latency != LatencyDistribution.NONE && random.nextDouble() < latencyProbability) {
+            delayed.increment();
+            sleep((long) (latency.sampleMillis(latencyMs, latencyMaxMs) * 1_000_000), maxLatency);
+        }
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            failed.increment();
+            sleep(TimeUnit.MILLISECONDS.toNanos(errorDelayMs), maxLatency);
+            throw error.exception(candidate);
+        }
+    }
+
+    FaultRuleDTO toDTO() {
+        return new FaultRuleDTO(id, target, latency.describe(latencyMs, latencyMaxMs), latencyProbability,
+                errorRate, errorRate > 0 ? error.name() : null, errorDelayMs, createdAt, expiresAt, matched.sum(),
+                delayed.sum(), failed.sum());
+    }
+
+    private static void sleep(long nanos, Duration maxLatency) {
+        long capped = Math.min(nanos, maxLatency.toNanos());
+        if (capped <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(capped);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Latencia inyectada interrumpida", e);
+        }
+    }
+
+    /** "EventRepository.find*" → regex literal salvo los *. */
+    private static Pattern compile(String target) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : target.split("\\*", -1)) {
+            if (!regex.isEmpty()) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.inmemory_events_api.infraestructura.faults;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+/**
+ * Definición de una regla de inyección de fallos (cuerpo de POST
+ * /admin/faults o faults.rules[i].* en las propiedades).
+ *
+ * target es "Repositorio.método" con * como comodín: EventRepository.findAllWithVenue,
+ * EventRepository.*, *.findById... o "transaction.commit" para los commits.
+ *
+ * Ejemplo (cola larga en un finder y 1% de timeouts tras 2 s):
+ *
+ * <pre>
+ * {
+ *   "target": "EventRepository.findAllWithVenue",
+ *   "latency": "LOGNORMAL", "latencyMs": 20, "latencyMaxMs": 800,
+ *   "errorRate": 0.01, "error": "QUERY_TIMEOUT", "errorDelayMs": 2000,
+ *   "durationSeconds": 300
+ * }
+ * </pre>
+ */
+@Data
+public class FaultSpec {
+
+    @NotBlank(message = "El target es obligatorio (Repositorio.método, admite *)")
+    private String target;
+
+    @NotNull(message = "La distribución de latencia es obligatoria")
+    private LatencyDistribution latency = LatencyDistribution.NONE;
+
+    @PositiveOrZero(message = "latencyMs no puede ser negativo")
+    private long latencyMs;
+
+    @PositiveOrZero(message = "latencyMaxMs no puede ser negativo")
+    private long latencyMaxMs;
+
+    /** Fracción de las llamadas que reciben la latencia. */
+    @DecimalMin(value = "0", message = "latencyProbability debe estar entre 0 y 1")
+    @DecimalMax(value = "1", message = "latencyProbability debe estar entre 0 y 1")
+    private double latencyProbability = 1;
+
+    /** Fracción de las llamadas que fallan (después de la latencia, si la hay). */
+    @DecimalMin(value = "0", message = "errorRate debe estar entre 0 y 1")
+    @DecimalMax(value = "1", message = "errorRate debe estar entre 0 y 1")
+    private double errorRate;
+
+    @NotNull(message = "El tipo de error es obligatorio")
+    private FaultError error = FaultError.UNAVAILABLE;
+
+    /** Espera antes de lanzar el error (un timeout tarda en llegar). */
+    @PositiveOrZero(message = "errorDelayMs no puede ser negativo")
+    private long errorDelayMs;
+
+    /** La regla se desactiva sola pasado este tiempo; null = hasta borrarla. */
+    @Positive(message = "durationSeconds debe ser mayor que 0")
+    private Long durationSeconds;
+}
@@ -0,0 +1,25 @@
+package com.example.inmemory_events_api.infraestructura.faults;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Inyecta el target "transaction.commit" justo antes de cada commit: la
+ * latencia alarga la transacción con su conexión ocupada (como un commit
+ * lento con fsync) y un error provoca el rollback.
+ */
+public class FaultTransactionListener implements TransactionExecutionListener {
+
+    private final FaultInjector injector;
+
+    public FaultTransactionListener(FaultInjector injector) {
+        this.injector = injector;
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        if (!transaction.isReadOnly()) {
+            injector.inject(FaultInjector.TRANSACTION_COMMIT);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.inmemory_events_api.infraestructura.faults;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribución de la latencia inyectada. Los parámetros son latencyMs y
+ * latencyMaxMs de {@link FaultSpec}:
+ *
+ * - FIXED: siempre latencyMs.
+ * - UNIFORM: entre latencyMs y latencyMaxMs.
+ * - EXPONENTIAL: media latencyMs, recortada en latencyMaxMs (si es > 0).
+ * - LOGNORMAL: mediana latencyMs y percentil 99 latencyMaxMs; la forma
+ * habitual de la latencia de una base de datos, con cola larga.
+ */
+public enum LatencyDistribution {
+    NONE,
+    FIXED,
+    UNIFORM,
+    EXPONENTIAL,
+    LOGNORMAL;
+
+    /** z del percentil 99 de una normal estándar. */
+    private static final double Z_99 = 2.3263;
+
+    /**
+     * Comprueba que los parámetros tienen sentido para esta distribución.
+     *
+     * @throws IllegalArgumentException si no lo tienen
+     */
+    void validate(long latencyMs, long latencyMaxMs) {
+        switch (this) {
+            case FIXED, EXPONENTIAL -> {
+                if (latencyMs <= 0) {
+                    throw new IllegalArgumentException("latencyMs debe ser mayor que 0 con latency=" + this);
+                }
+            }
+            case UNIFORM -> {
+                if (latencyMaxMs < latencyMs) {
+                    throw new IllegalArgumentException("latencyMaxMs debe ser >= latencyMs con latency=UNIFORM");
+                }
+            }
+            case LOGNORMAL -> {
+                if (latencyMs <= 0 || latencyMaxMs <= latencyMs) {
+                    throw new IllegalArgumentException(
+                            "latency=LOGNORMAL necesita latencyMs (mediana) > 0 y latencyMaxMs (p99) mayor");
+                }
+            }
+            case NONE -> {
+                // Sin parámetros
+            }
+        }
+    }
+
+    /**
+     * @return una latencia en milisegundos (0 con NONE)
+     */
+    double sampleMillis(long latencyMs, long latencyMaxMs) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (this) {
+            case NONE -> 0;
+            case FIXED -> latencyMs;
+            case UNIFORM -> latencyMs + random.nextDouble() * (latencyMaxMs - latencyMs);
+            case EXPONENTIAL -> {
+                double value = -latencyMs * Math.log(1 - random.nextDouble());
+                yield latencyMaxMs > 0 ? Math.min(value, latencyMaxMs) : value;
+            }
+            case LOGNORMAL -> {
+                double sigma = Math.log((double) latencyMaxMs / latencyMs) / Z_99;
+                yield Math.exp(Math.log(latencyMs) + sigma * random.nextGaussian());
+            }
+        };
+    }
+
+    String describe(long latencyMs, long latencyMaxMs) {
+        return switch (this) {
+            case NONE -> "NONE";
+            case FIXED -> "FIXED " + latencyMs + "ms";
+            case UNIFORM -> "UNIFORM " + latencyMs + "-" + latencyMaxMs + "ms";
+            case EXPONENTIAL -> "EXPONENTIAL media " + latencyMs + "ms"
+                    + (latencyMaxMs > 0 ? " (máx. " + latencyMaxMs + "ms)" : "");
+            case LOGNORMAL -> "LOGNORMAL p50 " + latencyMs + "ms, p99 " + latencyMaxMs + "ms";
+        };
+    }
+}
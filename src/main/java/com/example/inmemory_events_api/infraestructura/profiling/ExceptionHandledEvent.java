@@ -0,0 +1,32 @@
+package com.example.inmemory_events_api.infraestructura.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Invocación de GlobalExceptionHandler: qué excepción llegó al cliente y
+ * con qué estado HTTP.
+ */
+@Name("inmemory_events.ExceptionHandled")
+@Label("Exception Handled")
+@Category({ "Inmemory Events API", "Web" })
+@Description("Excepción convertida en respuesta de error por GlobalExceptionHandler")
+@StackTrace(false)
+class ExceptionHandledEvent extends Event {
+
+    @Label("Handler")
+    String handler;
+
+    @Label("Exception")
+    String exception;
+
+    @Label("Message")
+    String message;
+
+    @Label("Status")
+    int status;
+}
@@ -0,0 +1,47 @@
+package com.example.inmemory_events_api.infraestructura.profiling;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Emite un ExceptionHandledEvent por cada método de GlobalExceptionHandler
+ * que convierte una excepción en respuesta.
+ */
+public class ExceptionHandlerJfrInterceptor implements MethodInterceptor {
+
+    private static final int MAX_MESSAGE_LENGTH = 256;
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ExceptionHandledEvent event = new ExceptionHandledEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.handler = invocation.getMethod().getName();
+                for (Object argument : invocation.getArguments()) {
+                    if (argument instanceof Throwable exception) {
+                        event.exception = exception.getClass().getName();
+                        String message = exception.getMessage();
+                        event.message = message != null && message.length() > MAX_MESSAGE_LENGTH
+                                ? message.substring(0, MAX_MESSAGE_LENGTH)
+                                : message;
+                        break;
+                    }
+                }
+                if (result instanceof ResponseEntity<?> response) {
+                    event.status = response.getStatusCode().value();
+                }
+                event.commit();
+            }
+        }
+    }
+}
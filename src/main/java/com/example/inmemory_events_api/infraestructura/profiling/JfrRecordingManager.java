@@ -0,0 +1,158 @@
+package com.example.inmemory_events_api.infraestructura.profiling;
+
+import com.example.inmemory_events_api.dominio.model.ProfilingRecordingDTO;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Grabación JFR bajo demanda, acotada: una sola a la vez, con duración y
+ * tamaño máximos, volcada a un fichero .jfr en el directorio local
+ * (se conservan los últimos max-dumps ficheros).
+ *
+ * La grabación incluye los eventos de la JVM según la configuración
+ * elegida (default o profile) y los eventos propios de la aplicación
+ * (UseCase, RepositoryCall, Transaction, ExceptionHandled).
+ */
+public class JfrRecordingManager {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordingManager.class);
+
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /** Ya hay una grabación en curso. */
+    public static class RecordingInProgressException extends IllegalStateException {
+        RecordingInProgressException(String message) {
+            super(message);
+        }
+    }
+
+    private final Path dumpDirectory;
+    private final String defaultSettings;
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+    private final int maxDumps;
+
+    private Recording recording;
+    private String settings;
+    private Path file;
+
+    public JfrRecordingManager(Path dumpDirectory, String defaultSettings, Duration maxDuration, long maxSizeBytes,
+            int maxDumps) {
+        this.dumpDirectory = dumpDirectory;
+        this.defaultSettings = defaultSettings;
+        this.maxDuration = maxDuration;
+        this.maxSizeBytes = maxSizeBytes;
+        this.maxDumps = maxDumps;
+    }
+
+    /**
+     * Inicia una grabación.
+     *
+     * @param duration duración pedida (null o mayor que max-duration =
+     *                 max-duration)
+     * @param settings configuración JFR (null = la de por defecto)
+     * @throws RecordingInProgressException si ya hay una en curso
+     * @throws IllegalArgumentException     si la configuración no existe
+     */
+    public synchronized ProfilingRecordingDTO start(Duration duration, String settings) throws IOException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RecordingInProgressException("Ya hay una grabación JFR en curso: " + recording.getName());
+        }
+        closeFinished();
+        String configurationName = settings != null && !settings.isBlank() ? settings : defaultSettings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(configurationName);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Configuración JFR desconocida: " + configurationName);
+        }
+        Duration bounded = duration == null || duration.isZero() || duration.isNegative()
+                || duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+
+        Files.createDirectories(dumpDirectory);
+        String name = "inmemory-events-" + LocalDateTime.now().format(NAME_FORMAT);
+        Recording started = new Recording(configuration);
+        started.setName(name);
+        started.setToDisk(true);
+        started.setMaxSize(maxSizeBytes);
+        started.setDuration(bounded);
+        // Con destino, JFR vuelca el fichero al parar (también al cumplirse la duración)
+        file = dumpDirectory.resolve(name + ".jfr");
+        started.setDestination(file);
+        started.start();
+        recording = started;
+        this.settings = configurationName;
+        log.info("Grabación JFR {} iniciada ({}, como mucho {})", name, configurationName, bounded);
+        return status();
+    }
+
+    /**
+     * Para la grabación en curso y la vuelca a disco.
+     *
+     * @return el estado con el fichero, o null si no había ninguna en curso
+     */
+    public synchronized ProfilingRecordingDTO stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return null;
+        }
+        recording.stop();
+        log.info("Grabación JFR {} volcada en {}", recording.getName(), file.toAbsolutePath());
+        ProfilingRecordingDTO stopped = status();
+        closeFinished();
+        return stopped;
+    }
+
+    public synchronized ProfilingRecordingDTO status() {
+        if (recording == null) {
+            return new ProfilingRecordingDTO(null, "NONE", null, null, 0, null, 0);
+        }
+        boolean running = recording.getState() == RecordingState.RUNNING
+                || recording.getState() == RecordingState.DELAYED;
+        long size = 0;
+        if (!running) {
+            try {
+                size = Files.size(file);
+            } catch (IOException e) {
+                // Aún no se ha escrito
+            }
+        }
+        return new ProfilingRecordingDTO(recording.getName(), running ? "RUNNING" : "STOPPED", settings,
+                recording.getStartTime(), recording.getDuration() != null ? recording.getDuration().toSeconds() : 0,
+                running ? null : file.toAbsolutePath().toString(), size);
+    }
+
+    /** Cierra la grabación ya parada (la de duración cumplida se para sola) y aplica la retención. */
+    private void closeFinished() {
+        if (recording != null && recording.getState() == RecordingState.STOPPED) {
+            recording.close();
+            deleteOldDumps();
+        }
+    }
+
+    private void deleteOldDumps() {
+        try (Stream<Path> files = Files.list(dumpDirectory)) {
+            List<Path> dumps = files.filter(path -> path.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed())
+                    .toList();
+            for (Path old : dumps.subList(Math.min(maxDumps, dumps.size()), dumps.size())) {
+                Files.deleteIfExists(old);
+            }
+        } catch (IOException e) {
+            log.warn("No se pudieron purgar los volcados JFR antiguos de {}", dumpDirectory, e);
+        }
+    }
+}
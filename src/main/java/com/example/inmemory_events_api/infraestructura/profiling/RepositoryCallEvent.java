@@ -0,0 +1,33 @@
+package com.example.inmemory_events_api.infraestructura.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Llamada a un método de un repositorio Spring Data: SQL, hidratación de
+ * las entidades y, si no hay transacción abierta, la suya propia.
+ */
+@Name("inmemory_events.RepositoryCall")
+@Label("Repository Call")
+@Category({ "Inmemory Events API", "Persistence" })
+@Description("Llamada a un método de repositorio con el número de filas devueltas")
+@StackTrace(false)
+class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Rows")
+    @Description("Entidades o filas devueltas; -1 si el resultado no es una colección ni una entidad (count, stream, void)")
+    long rows;
+
+    @Label("Exception")
+    String exception;
+}
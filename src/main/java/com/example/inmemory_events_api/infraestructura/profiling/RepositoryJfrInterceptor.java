@@ -0,0 +1,74 @@
+package com.example.inmemory_events_api.infraestructura.profiling;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Emite un RepositoryCallEvent por cada llamada a un repositorio Spring
+ * Data, con el número de filas devueltas. Se añade dentro del proxy del
+ * repositorio (RepositoryProxyPostProcessor), uno por interfaz.
+ */
+public class RepositoryJfrInterceptor implements MethodInterceptor {
+
+    private final String repository;
+
+    public RepositoryJfrInterceptor(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            event.exception = e.getClass().getName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.rows = event.exception != null ? 0 : rows(result, invocation.getMethod().getReturnType());
+                event.commit();
+            }
+        }
+    }
+
+    static long rows(Object result, Class<?> returnType) {
+        if (returnType == void.class || result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Iterable<?> || result instanceof java.util.stream.BaseStream<?, ?>) {
+            // Se consume después de la llamada: no se puede contar aquí
+            return -1;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.inmemory_events_api.infraestructura.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Transacción física, desde que se abre hasta que termina el commit o el
+ * rollback. Las transacciones que se unen a otra ya abierta no generan
+ * evento.
+ */
+@Name("inmemory_events.Transaction")
+@Label("Transaction")
+@Category({ "Inmemory Events API", "Persistence" })
+@Description("Transacción de Spring desde el begin hasta el fin del commit o rollback")
+@StackTrace(false)
+class TransactionEvent extends Event {
+
+    @Label("Name")
+    @Description("Método transaccional (Clase.método)")
+    String name;
+
+    @Label("Read Only")
+    boolean readOnly;
+
+    @Label("Outcome")
+    @Description("COMMIT, ROLLBACK, COMMIT_FAILED o ROLLBACK_FAILED")
+    String outcome;
+
+    @Label("Commit Time")
+    @Description("Tiempo del commit o rollback (incluye el flush de Hibernate)")
+    @Timespan(Timespan.NANOSECONDS)
+    long commitTime;
+}
@@ -0,0 +1,86 @@
+package com.example.inmemory_events_api.infraestructura.profiling;
+
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Emite un TransactionEvent por cada transacción física del gestor de
+ * transacciones (Spring Boot registra los TransactionExecutionListener en
+ * el JpaTransactionManager). Las transacciones en curso se guardan por
+ * hilo: el commit o el rollback siempre ocurre en el hilo que la abrió.
+ */
+public class TransactionJfrListener implements TransactionExecutionListener {
+
+    private static final class Open {
+        final TransactionEvent event;
+        long completionStart;
+
+        Open(TransactionEvent event) {
+            this.event = event;
+        }
+    }
+
+    private final ThreadLocal<Map<TransactionExecution, Open>> open = ThreadLocal.withInitial(IdentityHashMap::new);
+
+    @Override
+    public void beforeBegin(TransactionExecution transaction) {
+        TransactionEvent event = new TransactionEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            open.get().put(transaction, new Open(event));
+        }
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null) {
+            open.get().remove(transaction);
+        }
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        markCompletion(transaction);
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        finish(transaction, commitFailure == null ? "COMMIT" : "COMMIT_FAILED");
+    }
+
+    @Override
+    public void beforeRollback(TransactionExecution transaction) {
+        markCompletion(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        finish(transaction, rollbackFailure == null ? "ROLLBACK" : "ROLLBACK_FAILED");
+    }
+
+    private void markCompletion(TransactionExecution transaction) {
+        Open current = open.get().get(transaction);
+        if (current != null) {
+            current.completionStart = System.nanoTime();
+        }
+    }
+
+    private void finish(TransactionExecution transaction, String outcome) {
+        Open current = open.get().remove(transaction);
+        if (current == null) {
+            return;
+        }
+        TransactionEvent event = current.event;
+        event.end();
+        if (event.shouldCommit()) {
+            event.name = transaction.getTransactionName();
+            event.readOnly = transaction.isReadOnly();
+            event.outcome = outcome;
+            event.commitTime = current.completionStart > 0 ? System.nanoTime() - current.completionStart : 0;
+            event.commit();
+        }
+    }
+}
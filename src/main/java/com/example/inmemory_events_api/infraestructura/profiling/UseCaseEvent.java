@@ -0,0 +1,31 @@
+package com.example.inmemory_events_api.infraestructura.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Ejecución de un caso de uso (método público de un servicio de
+ * aplicacion.usecase). Incluye la transacción que abre, su commit y todo
+ * lo que hace dentro (consultas, hidratación, validaciones de dominio).
+ */
+@Name("inmemory_events.UseCase")
+@Label("Use Case")
+@Category({ "Inmemory Events API", "Application" })
+@Description("Ejecución de un método de EventService, VenueService u otro servicio de casos de uso")
+@StackTrace(false)
+class UseCaseEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Use Case")
+    String useCase;
+
+    @Label("Exception")
+    @Description("Clase de la excepción si el caso de uso terminó con error")
+    String exception;
+}
@@ -0,0 +1,36 @@
+package com.example.inmemory_events_api.infraestructura.profiling;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+/**
+ * Emite un UseCaseEvent por cada llamada a un caso de uso. Sin una
+ * grabación JFR activa solo cuesta la comprobación isEnabled().
+ */
+public class UseCaseJfrInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        UseCaseEvent event = new UseCaseEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            event.exception = e.getClass().getName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                Object target = invocation.getThis();
+                event.service = target != null ? AopUtils.getTargetClass(target).getSimpleName()
+                        : invocation.getMethod().getDeclaringClass().getSimpleName();
+                event.useCase = invocation.getMethod().getName();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.inmemory_events_api.infraestructura.queryplan;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Propone índices para las formas de consulta cuyo plan recorre una tabla
+ * entera o necesita ordenar, y los escribe como migración Flyway (MySQL).
+ *
+ * Regla por tabla: primero las columnas con igualdad (=, IN, IS NULL), en
+ * el orden del WHERE; después la primera columna con rango; después las
+ * del ORDER BY si el rango es la primera de ellas (o no hay rango). Si la
+ * consulta solo lee hasta 3 columnas más de la tabla se añaden para que el
+ * índice sea de cobertura. LOWER(col)/UPPER(col) genera una parte
+ * funcional (MySQL 8.0.13+). No se propone lo que ya es prefijo de un
+ * índice existente.
+ */
+public class IndexAdvisor {
+
+    private static final int MAX_COVERING_EXTRA = 3;
+    private static final int MAX_NAME_LENGTH = 64;
+    private static final Pattern MIGRATION_VERSION = Pattern.compile("^V(\\d+)__.*\\.sql$");
+
+    /**
+     * Índice propuesto.
+     *
+     * @param sources    métodos que emiten las consultas que lo usarían
+     * @param executions ejecuciones registradas de esas consultas
+     */
+    public record Proposal(String table, List<String> columns, boolean covering, String reason,
+            List<String> sources, long executions) {
+
+        /** idx_tabla_col1_col2_col3 (hasta 3 columnas), _cov si es de cobertura. */
+        public String name() {
+            String name = "idx_" + table + "_" + columns.stream()
+                    .limit(3)
+                    .map(column -> column.replaceAll("[^a-z0-9_]+", "_").replaceAll("^_+|_+$", ""))
+                    .collect(Collectors.joining("_")) + (covering ? "_cov" : "");
+            return name.length() > MAX_NAME_LENGTH ? name.substring(0, MAX_NAME_LENGTH) : name;
+        }
+
+        public String ddl() {
+            return "CREATE INDEX " + name() + " ON " + table + " (" + String.join(", ", columns) + ");";
+        }
+    }
+
+    /** Forma de consulta con su plan. */
+    public record Explained(QueryShape shape, QueryPlan plan) {
+    }
+
+    /**
+     * @param unindexable recorridos completos que ningún índice B-tree
+     *                    resuelve (LIKE '%texto%', OR, expresiones)
+     */
+    public record Advice(List<Proposal> proposals, List<String> unindexable) {
+    }
+
+    /** Índices (columnas en orden) y clave primaria de una tabla. */
+    private record TableIndexes(List<List<String>> indexes, List<String> primaryKey) {
+    }
+
+    private final DataSource dataSource;
+
+    public IndexAdvisor(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public Advice advise(List<Explained> explained) {
+        Map<String, Proposal> proposals = new LinkedHashMap<>();
+        Set<String> unindexable = new LinkedHashSet<>();
+        Map<String, TableIndexes> existing = new HashMap<>();
+        for (Explained entry : explained) {
+            QueryPlan plan = entry.plan();
+            if (plan.error() != null || (plan.fullScans().isEmpty() && !plan.filesort())) {
+                continue;
+            }
+            SqlShape sql = SqlShape.parse(entry.shape().key());
+            Set<String> tables = new LinkedHashSet<>(plan.fullScans());
+            if (plan.filesort() && !sql.orderBy().isEmpty()) {
+                tables.add(sql.orderBy().get(0).table());
+            }
+            for (String table : tables) {
+                List<String> columns = columnsFor(sql, table);
+                if (columns.isEmpty()) {
+                    if (plan.fullScans().contains(table) && sql.filtered()) {
+                        unindexable.add(entry.shape().source() + ": " + table);
+                    }
+                    continue;
+                }
+                TableIndexes indexes = existing.computeIfAbsent(table, this::existingIndexes);
+                if (indexes.indexes().stream().anyMatch(index -> isPrefix(columns, index))) {
+                    continue;
+                }
+                boolean covering = addCoveringColumns(sql, table, columns, indexes.primaryKey());
+                String reason = plan.fullScans().contains(table) ? "recorrido completo de " + table
+                        : "ordenación sin índice en " + table;
+                proposals.merge(table + columns, new Proposal(table, columns, covering, reason,
+                        List.of(entry.shape().source()), entry.shape().executions()), IndexAdvisor::merge);
+            }
+        }
+        return new Advice(withoutPrefixes(proposals.values()), new ArrayList<>(unindexable));
+    }
+
+    /**
+     * Quita las propuestas que son prefijo de otra de la misma tabla (el
+     * índice largo sirve a las dos consultas).
+     */
+    private static List<Proposal> withoutPrefixes(Collection<Proposal> proposals) {
+        List<Proposal> result = new ArrayList<>();
+        for (Proposal proposal : proposals) {
+            Optional<Proposal> longer = proposals.stream()
+                    .filter(other -> other != proposal && other.table().equals(proposal.table())
+                            && other.columns().size() > proposal.columns().size()
+                            && isPrefix(proposal.columns(), other.columns()))
+                    .findFirst();
+            if (longer.isEmpty()) {
+                result.add(proposal);
+            }
+        }
+        return result.stream()
+                .map(proposal -> proposals.stream()
+                        .filter(other -> other != proposal && other.table().equals(proposal.table())
+                                && other.columns().size() < proposal.columns().size()
+                                && isPrefix(other.columns(), proposal.columns()))
+                        .reduce(proposal, IndexAdvisor::merge))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isPrefix(List<String> prefix, List<String> columns) {
+        return columns.size() >= prefix.size() && columns.subList(0, prefix.size()).equals(prefix);
+    }
+
+    /**
+     * Script de migración con las propuestas, numerado con la siguiente
+     * versión libre de db/migration.
+     */
+    public String migration(Advice advice, int shapes) {
+        List<Proposal> proposals = advice.proposals();
+        StringBuilder script = new StringBuilder()
+                .append("-- Índices propuestos por el asesor de consultas a partir de ").append(shapes)
+                .append(" formas de consulta\n")
+                .append("-- registradas. Revisar antes de aplicar: cada índice acelera lecturas a costa\n")
+                .append("-- de escrituras y espacio.\n");
+        if (proposals.isEmpty()) {
+            script.append("\n-- Ninguna consulta registrada necesita un índice nuevo.\n");
+        }
+        for (Proposal proposal : proposals) {
+            script.append('\n')
+                    .append("-- ").append(String.join(", ", proposal.sources()))
+                    .append(" (").append(proposal.executions()).append(" ejecuciones): ").append(proposal.reason())
+                    .append(proposal.covering() ? " (índice de cobertura)" : "").append('\n')
+                    .append(proposal.ddl()).append('\n');
+        }
+        if (!advice.unindexable().isEmpty()) {
+            script.append("\n-- Recorridos completos sin predicado indexable (reescribir la consulta o usar\n")
+                    .append("-- un índice FULLTEXT / modelo de lectura):\n");
+            advice.unindexable().forEach(scan -> script.append("--   ").append(scan).append('\n'));
+        }
+        return script.toString();
+    }
+
+    /** Nombre de fichero Flyway para {@link #migration}. */
+    public String migrationFileName() {
+        int latest = 0;
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver()
+                    .getResources("classpath*:db/migration/V*__*.sql")) {
+                Matcher matcher = MIGRATION_VERSION.matcher(String.valueOf(resource.getFilename()));
+                if (matcher.matches()) {
+                    latest = Math.max(latest, Integer.parseInt(matcher.group(1)));
+                }
+            }
+        } catch (IOException e) {
+            // Sin migraciones en el classpath se empieza por V1
+        }
+        return "V" + (latest + 1) + "__advised_indexes.sql";
+    }
+
+    private static List<String> columnsFor(SqlShape sql, String table) {
+        List<String> columns = new ArrayList<>();
+        String range = null;
+        for (SqlShape.Predicate predicate : sql.predicates()) {
+            SqlShape.Column column = predicate.column();
+            if (!column.table().equals(table)) {
+                continue;
+            }
+            if (predicate.kind() == SqlShape.Kind.EQUALITY) {
+                addDistinct(columns, column.expression());
+            } else if (range == null) {
+                range = column.expression();
+            }
+        }
+        if (range != null) {
+            addDistinct(columns, range);
+        }
+        List<SqlShape.Column> orderBy = sql.orderBy();
+        boolean sameTable = !orderBy.isEmpty() && orderBy.stream().allMatch(column -> column.table().equals(table));
+        if (sameTable && (range == null || range.equals(orderBy.get(0).expression()))) {
+            orderBy.forEach(column -> addDistinct(columns, column.expression()));
+        }
+        return columns;
+    }
+
+    /**
+     * Las columnas de la clave primaria no se añaden: InnoDB las guarda en
+     * todo índice secundario.
+     */
+    private static boolean addCoveringColumns(SqlShape sql, String table, List<String> columns,
+            List<String> primaryKey) {
+        Set<String> selected = sql.selectedColumns(table);
+        if (sql.selectsAll() || selected.isEmpty()) {
+            return false;
+        }
+        List<String> extra = selected.stream()
+                .filter(column -> !columns.contains(column) && !primaryKey.contains(column))
+                .toList();
+        if (extra.size() > MAX_COVERING_EXTRA) {
+            return false;
+        }
+        columns.addAll(extra);
+        return true;
+    }
+
+    private static void addDistinct(List<String> columns, String column) {
+        if (!columns.contains(column)) {
+            columns.add(column);
+        }
+    }
+
+    private static Proposal merge(Proposal a, Proposal b) {
+        List<String> sources = new ArrayList<>(a.sources());
+        b.sources().stream().filter(source -> !sources.contains(source)).forEach(sources::add);
+        return new Proposal(a.table(), a.columns(), a.covering(), a.reason(), sources,
+                a.executions() + b.executions());
+    }
+
+    private TableIndexes existingIndexes(String table) {
+        Map<String, TreeMap<Short, String>> indexes = new LinkedHashMap<>();
+        TreeMap<Short, String> primaryKey = new TreeMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), name, false,
+                    true)) {
+                while (rs.next()) {
+                    String index = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (index != null && column != null) {
+                        indexes.computeIfAbsent(index, i -> new TreeMap<>())
+                                .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            try (ResultSet rs = metaData.getPrimaryKeys(connection.getCatalog(), connection.getSchema(), name)) {
+                while (rs.next()) {
+                    primaryKey.put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+                }
+            }
+        } catch (SQLException e) {
+            return new TableIndexes(List.of(), List.of());
+        }
+        return new TableIndexes(indexes.values().stream().map(columns -> List.copyOf(columns.values())).toList(),
+                List.copyOf(primaryKey.values()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.inmemory_events_api.infraestructura.queryplan;
+
+import java.util.List;
+
+/**
+ * Resultado del EXPLAIN de una forma de consulta.
+ *
+ * @param fullScans tablas que se recorren enteras (H2: tableScan; MySQL:
+ *                  type ALL o index)
+ * @param indexes   índices que usa el plan
+ * @param filesort  el ORDER BY necesita ordenar (no lo da un índice)
+ * @param plan      salida del EXPLAIN tal cual
+ * @param error     mensaje si no se pudo obtener el plan
+ */
+public record QueryPlan(List<String> fullScans, List<String> indexes, boolean filesort, String plan,
+        String error) {
+
+    static QueryPlan failed(String error) {
+        return new QueryPlan(List.of(), List.of(), false, null, error);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.inmemory_events_api.infraestructura.queryplan;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Ejecuta EXPLAIN sobre la muestra de cada forma de consulta, con sus
+ * parámetros reales, y resume el plan de H2 (modo MySQL) o de MySQL.
+ *
+ * - H2: una sola fila de texto; el comentario TABLA.tableScan es un
+ * recorrido completo e "index sorted" indica que el ORDER BY sale del
+ * índice.
+ * - MySQL: una fila por tabla; type ALL (tabla) o index (índice entero) es
+ * un recorrido completo y "Using filesort" en Extra una ordenación.
+ *
+ * Usa el DataSource sin envolver, así que los EXPLAIN no se registran como
+ * formas de consulta.
+ */
+public class QueryPlanAnalyzer {
+
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("/\\* (?:[\\w\"]+\\.)?\"?(\\w+)\"?\\.tableScan");
+    private static final Pattern H2_INDEX = Pattern.compile("/\\* (?:[\\w\"]+\\.)?\"?(\\w+)\"?: ");
+
+    private final DataSource dataSource;
+
+    public QueryPlanAnalyzer(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public QueryPlan explain(QueryShape shape) {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("EXPLAIN " + shape.sql())) {
+            bind(statement, shape.sampleParameters());
+            String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+            try (ResultSet rs = statement.executeQuery()) {
+                return product.contains("mysql") || product.contains("mariadb")
+                        ? mysql(rs, SqlShape.parse(shape.key()))
+                        : h2(rs);
+            }
+        } catch (SQLException e) {
+            return QueryPlan.failed(e.getMessage());
+        }
+    }
+
+    /**
+     * Vuelve a enlazar los parámetros de la muestra; los que no se pueden
+     * repetir (streams, LOBs) o faltan van como NULL.
+     */
+    private static void bind(PreparedStatement statement, Object[] sample) throws SQLException {
+        int count = statement.getParameterMetaData().getParameterCount();
+        for (int i = 0; i < count; i++) {
+            Object value = i < sample.length ? sample[i] : null;
+            boolean replayable = value instanceof String || value instanceof Number || value instanceof Boolean
+                    || value instanceof java.util.Date || value instanceof Temporal || value instanceof BigDecimal;
+            statement.setObject(i + 1, replayable ? value : null);
+        }
+    }
+
+    private static QueryPlan h2(ResultSet rs) throws SQLException {
+        String plan = rs.next() ? rs.getString(1) : "";
+        List<String> scans = new ArrayList<>();
+        Matcher scan = H2_TABLE_SCAN.matcher(plan);
+        while (scan.find()) {
+            scans.add(scan.group(1).toLowerCase(Locale.ROOT));
+        }
+        Set<String> indexes = new LinkedHashSet<>();
+        Matcher index = H2_INDEX.matcher(plan);
+        while (index.find()) {
+            indexes.add(index.group(1).toLowerCase(Locale.ROOT));
+        }
+        boolean ordered = plan.toUpperCase(Locale.ROOT).contains("\nORDER BY");
+        boolean filesort = ordered && !plan.contains("/* index sorted */");
+        return new QueryPlan(scans, new ArrayList<>(indexes), filesort, plan, null);
+    }
+
+    private static QueryPlan mysql(ResultSet rs, SqlShape shape) throws SQLException {
+        List<String> scans = new ArrayList<>();
+        Set<String> indexes = new LinkedHashSet<>();
+        boolean filesort = false;
+        StringBuilder plan = new StringBuilder("table | type | key | rows | Extra");
+        while (rs.next()) {
+            String alias = rs.getString("table");
+            String type = rs.getString("type");
+            String key = rs.getString("key");
+            String extra = rs.getString("Extra");
+            plan.append('\n').append(alias).append(" | ").append(type).append(" | ").append(key)
+                    .append(" | ").append(rs.getString("rows")).append(" | ").append(extra);
+            String table = alias != null && shape.table(alias.toLowerCase(Locale.ROOT)) != null
+                    ? shape.table(alias.toLowerCase(Locale.ROOT))
+                    : alias;
+            if ("ALL".equals(type) || "index".equals(type)) {
+                scans.add(table);
+            }
+            if (key != null) {
+                indexes.add(key.toLowerCase(Locale.ROOT));
+            }
+            filesort |= extra != null && extra.contains("Using filesort");
+        }
+        return new QueryPlan(scans, new ArrayList<>(indexes), filesort, plan.toString(), null);
+    }
+}
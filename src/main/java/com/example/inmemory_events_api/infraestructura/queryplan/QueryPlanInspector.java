@@ -0,0 +1,80 @@
+package com.example.inmemory_events_api.infraestructura.queryplan;
+
+import com.example.inmemory_events_api.dominio.model.QueryPlanCheckDTO;
+import com.example.inmemory_events_api.dominio.model.QueryPlanDTO;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Punto de entrada del asesor de consultas: informe de planes,
+ * comprobación de regresiones y propuesta de índices sobre las formas
+ * registradas por {@link QueryShapeRecorder}.
+ *
+ * La comprobación falla si una consulta caliente (al menos minExecutions
+ * ejecuciones) con WHERE recorre una tabla entera. Las lecturas completas
+ * sin filtro (findAll, carga de índices en memoria) no cuentan, y los
+ * métodos de queryplan.ignored-sources tampoco (recorridos asumidos, como
+ * un LIKE '%texto%').
+ */
+public class QueryPlanInspector {
+
+    private final QueryShapeRecorder recorder;
+    private final QueryPlanAnalyzer analyzer;
+    private final IndexAdvisor advisor;
+    private final Set<String> ignoredSources;
+
+    public QueryPlanInspector(QueryShapeRecorder recorder, QueryPlanAnalyzer analyzer, IndexAdvisor advisor,
+            Set<String> ignoredSources) {
+        this.recorder = recorder;
+        this.analyzer = analyzer;
+        this.advisor = advisor;
+        this.ignoredSources = ignoredSources;
+    }
+
+    /** Planes de las formas con al menos minExecutions ejecuciones, de más a menos ejecutada. */
+    public List<QueryPlanDTO> report(long minExecutions) {
+        return explain(minExecutions).stream().map(QueryPlanInspector::toDTO).collect(Collectors.toList());
+    }
+
+    public QueryPlanCheckDTO check(long minExecutions) {
+        List<IndexAdvisor.Explained> hot = explain(minExecutions).stream()
+                .filter(entry -> !ignoredSources.contains(entry.shape().source()))
+                .filter(entry -> SqlShape.parse(entry.shape().key()).filtered())
+                .collect(Collectors.toList());
+        List<QueryPlanDTO> regressions = hot.stream()
+                .filter(entry -> !entry.plan().fullScans().isEmpty())
+                .map(QueryPlanInspector::toDTO)
+                .collect(Collectors.toList());
+        return new QueryPlanCheckDTO(regressions.isEmpty(), minExecutions, hot.size(), regressions);
+    }
+
+    /** Migración Flyway con los índices propuestos. */
+    public String advice(long minExecutions) {
+        List<IndexAdvisor.Explained> explained = explain(minExecutions);
+        return advisor.migration(advisor.advise(explained), explained.size());
+    }
+
+    public String adviceFileName() {
+        return advisor.migrationFileName();
+    }
+
+    public void reset() {
+        recorder.reset();
+    }
+
+    private List<IndexAdvisor.Explained> explain(long minExecutions) {
+        return recorder.shapes().stream()
+                .filter(shape -> shape.executions() >= minExecutions)
+                .map(shape -> new IndexAdvisor.Explained(shape, analyzer.explain(shape)))
+                .collect(Collectors.toList());
+    }
+
+    private static QueryPlanDTO toDTO(IndexAdvisor.Explained entry) {
+        QueryShape shape = entry.shape();
+        QueryPlan plan = entry.plan();
+        return new QueryPlanDTO(shape.sql(), shape.source(), shape.executions(), plan.fullScans(), plan.indexes(),
+                plan.filesort(), plan.plan(), plan.error());
+    }
+}
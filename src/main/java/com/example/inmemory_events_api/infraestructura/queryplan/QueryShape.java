@@ -0,0 +1,63 @@
+package com.example.inmemory_events_api.infraestructura.queryplan;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Forma de una sentencia SQL emitida por la aplicación: el texto
+ * normalizado (espacios, mayúsculas y listas IN colapsadas) junto con una
+ * muestra real de la sentencia y de sus parámetros para poder repetir el
+ * EXPLAIN con valores representativos.
+ */
+public final class QueryShape {
+
+    private final String key;
+    private final String sql;
+    private final String source;
+    private final LongAdder executions = new LongAdder();
+    private volatile Object[] sampleParameters;
+
+    QueryShape(String key, String sql, String source) {
+        this.key = key;
+        this.sql = sql;
+        this.source = source;
+    }
+
+    /** Texto normalizado (identifica la forma). */
+    public String key() {
+        return key;
+    }
+
+    /** Primera sentencia real vista con esta forma. */
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * Primer método de la aplicación en la pila cuando se vio la forma por
+     * primera vez (por ejemplo EventService.getEventById).
+     */
+    public String source() {
+        return source;
+    }
+
+    public long executions() {
+        return executions.sum();
+    }
+
+    /** Parámetros de la primera ejecución de {@link #sql()} (vacío si aún no hay). */
+    public Object[] sampleParameters() {
+        Object[] sample = sampleParameters;
+        return sample != null ? sample : new Object[0];
+    }
+
+    boolean needsSample() {
+        return sampleParameters == null;
+    }
+
+    void executed(String executedSql, Object[] parameters) {
+        executions.increment();
+        if (sampleParameters == null && parameters != null && sql.equals(executedSql)) {
+            sampleParameters = parameters;
+        }
+    }
+}
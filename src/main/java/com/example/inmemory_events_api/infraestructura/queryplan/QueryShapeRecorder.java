@@ -0,0 +1,111 @@
+package com.example.inmemory_events_api.infraestructura.queryplan;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Registro de las formas de consulta que la aplicación ejecuta de verdad
+ * (alimentado por {@link RecordingDataSource}).
+ *
+ * - Solo SELECT, UPDATE y DELETE: las sentencias a las que se les puede
+ * pedir un plan. Los INSERT no se registran.
+ * - La búsqueda por texto exacto de la sentencia es un get en un mapa; la
+ * normalización (y el recorrido de la pila para saber quién la emite) solo
+ * se hace la primera vez que aparece un texto.
+ * - Acotado: a partir de queryplan.max-shapes formas las nuevas se ignoran.
+ */
+public class QueryShapeRecorder {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("in \\((?:\\?, ?)+\\?\\)");
+    private static final Pattern LAMBDA = Pattern.compile("lambda\\$(.+)\\$\\d+");
+
+    /** Marca para los textos que no se registran (INSERT, DDL...). */
+    private static final QueryShape IGNORED = new QueryShape("", "", "");
+
+    private final Map<String, QueryShape> bySql = new ConcurrentHashMap<>();
+    private final Map<String, QueryShape> byKey = new ConcurrentHashMap<>();
+    private final String applicationPackage;
+    private final int maxShapes;
+
+    public QueryShapeRecorder(String applicationPackage, int maxShapes) {
+        this.applicationPackage = applicationPackage + ".";
+        this.maxShapes = maxShapes;
+    }
+
+    /**
+     * Forma de una sentencia, creándola si es nueva.
+     *
+     * @return null si la sentencia no se registra
+     */
+    QueryShape shapeFor(String sql) {
+        QueryShape shape = bySql.get(sql);
+        if (shape == null) {
+            shape = resolve(sql);
+            // Cada longitud de lista IN es un texto distinto: se acota también
+            if (bySql.size() < maxShapes * 8) {
+                bySql.putIfAbsent(sql, shape);
+            }
+        }
+        return shape == IGNORED ? null : shape;
+    }
+
+    private QueryShape resolve(String sql) {
+        String key = normalize(sql);
+        if (!(key.startsWith("select") || key.startsWith("update") || key.startsWith("delete")
+                || key.startsWith("with"))) {
+            return IGNORED;
+        }
+        QueryShape shape = byKey.get(key);
+        if (shape != null) {
+            return shape;
+        }
+        if (byKey.size() >= maxShapes) {
+            return IGNORED;
+        }
+        return byKey.computeIfAbsent(key, k -> new QueryShape(k, sql, caller()));
+    }
+
+    static String normalize(String sql) {
+        String key = WHITESPACE.matcher(sql.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        return IN_LIST.matcher(key).replaceAll("in (?)");
+    }
+
+    /**
+     * Primer marco de la pila que pertenece a la aplicación y no a este
+     * paquete (los repositorios son proxies, así que suele ser el servicio).
+     */
+    private String caller() {
+        String ownPackage = getClass().getPackageName() + ".";
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(applicationPackage)
+                        && !frame.getClassName().startsWith(ownPackage))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    String simpleName = className.substring(className.lastIndexOf('.') + 1);
+                    Matcher lambda = LAMBDA.matcher(frame.getMethodName());
+                    return simpleName + "." + (lambda.matches() ? lambda.group(1) : frame.getMethodName());
+                })
+                .orElse("?"));
+    }
+
+    /** Formas registradas, de más a menos ejecutada. */
+    public List<QueryShape> shapes() {
+        List<QueryShape> shapes = new ArrayList<>(byKey.values());
+        shapes.sort(Comparator.comparingLong(QueryShape::executions).reversed());
+        return shapes;
+    }
+
+    /** Olvida lo registrado (para medir una ventana de carga limpia). */
+    public void reset() {
+        bySql.clear();
+        byKey.clear();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.inmemory_events_api.infraestructura.queryplan;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * DataSource que registra en un {@link QueryShapeRecorder} cada sentencia
+ * ejecutada por sus conexiones (JPA, JdbcTemplate o JDBC directo).
+ *
+ * Conexiones y sentencias se envuelven con proxies dinámicos: una
+ * llamada reflexiva de más por operación JDBC, por eso solo se instala con
+ * queryplan.enabled=true. Los parámetros solo se copian mientras la forma
+ * no tiene todavía su muestra.
+ */
+public class RecordingDataSource extends DelegatingDataSource {
+
+    private final QueryShapeRecorder recorder;
+
+    public RecordingDataSource(DataSource target, QueryShapeRecorder recorder) {
+        super(target);
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+                QueryShape shape = recorder.shapeFor(sql);
+                return shape != null
+                        ? proxy(PreparedStatement.class, new StatementHandler((Statement) result, sql, shape))
+                        : result;
+            }
+            if (method.getName().equals("createStatement")) {
+                return proxy(Statement.class, new StatementHandler((Statement) result, null, null));
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Ejecuciones de una sentencia. Para un PreparedStatement guarda los
+     * parámetros (setXxx(índice, valor)) hasta tener la muestra de la forma;
+     * para un Statement la forma sale del SQL de cada execute.
+     */
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+        private final QueryShape shape;
+        private Object[] parameters;
+
+        StatementHandler(Statement target, String sql, QueryShape shape) {
+            this.target = target;
+            this.sql = sql;
+            this.shape = shape;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (shape != null && shape.needsSample() && name.startsWith("set") && args != null
+                    && args.length >= 2 && args[0] instanceof Integer index) {
+                parameter(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters = null;
+            }
+            Object result = RecordingDataSource.invoke(target, method, args);
+            if (name.startsWith("execute")) {
+                if (args == null || args.length == 0) {
+                    if (shape != null) {
+                        shape.executed(sql, parameters != null ? parameters.clone() : new Object[0]);
+                    }
+                } else if (args[0] instanceof String executed) {
+                    QueryShape statementShape = recorder.shapeFor(executed);
+                    if (statementShape != null) {
+                        statementShape.executed(executed, new Object[0]);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void parameter(int index, Object value) {
+            if (parameters == null) {
+                parameters = new Object[Math.max(index, 8)];
+            } else if (parameters.length < index) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(), new Class<?>[] { type },
+                handler);
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.inmemory_events_api.infraestructura.queryplan;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Análisis aproximado de una forma de consulta normalizada: tablas y
+ * alias, predicados del WHERE de primer nivel, ORDER BY y columnas
+ * seleccionadas.
+ *
+ * No es un parser de SQL: cubre el SQL que generan Hibernate y las
+ * sentencias JdbcTemplate de este proyecto (conjunciones con AND,
+ * columnas calificadas con alias). Lo que no entiende (OR, subconsultas
+ * dentro de un predicado, expresiones) simplemente no genera predicados.
+ */
+final class SqlShape {
+
+    enum Kind {
+        /** =, IN, IS NULL: columna que puede ir delante en el índice. */
+        EQUALITY,
+        /** <, >, BETWEEN, LIKE sin comodín inicial: cierra el índice. */
+        RANGE
+    }
+
+    /**
+     * Columna de un predicado u ORDER BY. function es "lower"/"upper" cuando
+     * la columna va envuelta (necesita un índice funcional).
+     */
+    record Column(String table, String name, String function) {
+
+        String expression() {
+            return function == null ? name : "(" + function + "(" + name + "))";
+        }
+    }
+
+    record Predicate(Column column, Kind kind) {
+    }
+
+    private static final Set<String> NOT_ALIASES = Set.of("on", "join", "left", "right", "inner", "outer", "cross",
+            "full", "where", "set", "order", "group", "limit", "for", "using", "natural");
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern QUOTES = Pattern.compile("[\"`]");
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|join|update)\\s+([a-z_][\\w.]*)(?:\\s+(?:as\\s+)?([a-z_]\\w*))?");
+    private static final Pattern BETWEEN = Pattern.compile("\\bbetween\\s+(\\S+)\\s+and\\s+");
+    private static final Pattern PREDICATE = Pattern.compile(
+            "^(?:(lower|upper)\\()?(?:([a-z_]\\w*)\\.)?([a-z_]\\w*)\\)?\\s*(=|>=|<=|<>|!=|>|<|in\\b|is\\s+not\\s+null|is\\s+null|like\\b|between\\b)\\s*(.*)$");
+    private static final Pattern COLUMN_REFERENCE = Pattern.compile("^(?:[a-z_]\\w*\\.)?[a-z_]\\w*$");
+    private static final Pattern QUALIFIED = Pattern.compile("\\b([a-z_]\\w*)\\.([a-z_]\\w*)\\b");
+    private static final Pattern ORDER_ITEM = Pattern.compile("^(?:([a-z_]\\w*)\\.)?([a-z_]\\w*)(?:\\s+(?:asc|desc))?(?:\\s+nulls\\s+(?:first|last))?$");
+
+    private final Map<String, String> tablesByAlias = new LinkedHashMap<>();
+    private final List<Predicate> predicates = new ArrayList<>();
+    private final List<Column> orderBy = new ArrayList<>();
+    private final Map<String, Set<String>> selectedColumns = new LinkedHashMap<>();
+    private boolean selectsAll;
+    private boolean filtered;
+
+    private SqlShape() {
+    }
+
+    static SqlShape parse(String normalizedSql) {
+        SqlShape shape = new SqlShape();
+        String sql = QUOTES.matcher(STRING_LITERAL.matcher(normalizedSql).replaceAll("?")).replaceAll("");
+        int where = topLevel(sql, " where ", 0);
+        int end = firstTopLevel(sql, Math.max(where, 0), " order by ", " group by ", " limit ", " offset ",
+                " fetch ", " for update", " for share");
+        int orderBy = topLevel(sql, " order by ", 0);
+
+        String head = sql.substring(0, where >= 0 ? where : (end >= 0 ? end : sql.length()));
+        shape.tables(head);
+        if (sql.startsWith("select")) {
+            int from = topLevel(sql, " from ", 0);
+            shape.selected(sql.substring(6, from >= 0 ? from : sql.length()));
+        }
+        if (where >= 0) {
+            shape.filtered = true;
+            String clause = sql.substring(where + 7, end > where ? end : sql.length());
+            for (String conjunct : splitTopLevel(BETWEEN.matcher(clause).replaceAll("between $1 to "), " and ")) {
+                shape.predicate(stripParentheses(conjunct.trim()));
+            }
+        }
+        if (orderBy >= 0) {
+            int orderEnd = firstTopLevel(sql, orderBy + 1, " limit ", " offset ", " fetch ", " for update",
+                    " for share");
+            shape.orderBy(sql.substring(orderBy + 10, orderEnd >= 0 ? orderEnd : sql.length()));
+        }
+        return shape;
+    }
+
+    /** Tabla real de un alias (o del nombre si no tiene alias). */
+    String table(String alias) {
+        return alias != null ? tablesByAlias.get(alias) : null;
+    }
+
+    Set<String> tables() {
+        return new LinkedHashSet<>(tablesByAlias.values());
+    }
+
+    List<Predicate> predicates() {
+        return predicates;
+    }
+
+    List<Column> orderBy() {
+        return orderBy;
+    }
+
+    /** Columnas de la tabla usadas en la lista SELECT (vacío si es *). */
+    Set<String> selectedColumns(String table) {
+        return selectsAll ? Set.of() : selectedColumns.getOrDefault(table, Set.of());
+    }
+
+    boolean selectsAll() {
+        return selectsAll;
+    }
+
+    /** La sentencia tiene WHERE (las lecturas completas no son regresiones). */
+    boolean filtered() {
+        return filtered;
+    }
+
+    private void tables(String head) {
+        String clause = head;
+        if (clause.startsWith("select")) {
+            int from = topLevel(clause, " from ", 0);
+            clause = from >= 0 ? clause.substring(from) : "";
+        }
+        Matcher matcher = TABLE.matcher(depthZero(clause));
+        while (matcher.find()) {
+            String table = matcher.group(1);
+            table = table.substring(table.lastIndexOf('.') + 1);
+            String alias = matcher.group(2);
+            tablesByAlias.putIfAbsent(alias == null || NOT_ALIASES.contains(alias) ? table : alias, table);
+            tablesByAlias.putIfAbsent(table, table);
+        }
+    }
+
+    private void selected(String list) {
+        if (list.contains("*")) {
+            selectsAll = true;
+            return;
+        }
+        Matcher matcher = QUALIFIED.matcher(list);
+        while (matcher.find()) {
+            String table = tablesByAlias.get(matcher.group(1));
+            if (table != null) {
+                selectedColumns.computeIfAbsent(table, t -> new LinkedHashSet<>()).add(matcher.group(2));
+            }
+        }
+    }
+
+    private void predicate(String conjunct) {
+        if (!splitTopLevel(conjunct, " or ").equals(List.of(conjunct))) {
+            return;
+        }
+        Matcher matcher = PREDICATE.matcher(conjunct);
+        if (!matcher.matches()) {
+            return;
+        }
+        String table = resolve(matcher.group(2));
+        if (table == null) {
+            return;
+        }
+        String operator = matcher.group(4).replaceAll("\\s+", " ");
+        String operand = matcher.group(5).trim();
+        // Condición de join (columna = columna): la resuelve la PK/FK del otro lado
+        if (COLUMN_REFERENCE.matcher(operand).matches() && !operand.equals("?")) {
+            return;
+        }
+        Kind kind = switch (operator) {
+            case "=", "in", "is null" -> Kind.EQUALITY;
+            case ">", "<", ">=", "<=", "between" -> Kind.RANGE;
+            // Solo un LIKE con el patrón como parámetro puede usar el índice
+            case "like" -> operand.equals("?") ? Kind.RANGE : null;
+            default -> null;
+        };
+        if (kind != null) {
+            predicates.add(new Predicate(new Column(table, matcher.group(3), matcher.group(1)), kind));
+        }
+    }
+
+    private void orderBy(String clause) {
+        for (String item : splitTopLevel(clause, ",")) {
+            Matcher matcher = ORDER_ITEM.matcher(item.trim());
+            if (!matcher.matches()) {
+                orderBy.clear();
+                return;
+            }
+            String table = resolve(matcher.group(1));
+            if (table == null) {
+                orderBy.clear();
+                return;
+            }
+            orderBy.add(new Column(table, matcher.group(2), null));
+        }
+    }
+
+    /** Tabla de un alias; sin alias, la única tabla de la consulta. */
+    private String resolve(String alias) {
+        if (alias != null) {
+            return tablesByAlias.get(alias);
+        }
+        Set<String> tables = tables();
+        return tables.size() == 1 ? tables.iterator().next() : null;
+    }
+
+    // ========== Utilidades de texto (nivel de paréntesis 0) ==========
+
+    private static int topLevel(String sql, String token, int from) {
+        int depth = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && i >= from && sql.startsWith(token, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int firstTopLevel(String sql, int from, String... tokens) {
+        int first = -1;
+        for (String token : tokens) {
+            int index = topLevel(sql, token, from);
+            if (index >= 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+        return first;
+    }
+
+    private static List<String> splitTopLevel(String text, String separator) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && text.startsWith(separator, i)) {
+                parts.add(text.substring(start, i));
+                start = i + separator.length();
+                i = start - 1;
+            }
+        }
+        parts.add(text.substring(start));
+        return parts;
+    }
+
+    /** Sustituye el contenido entre paréntesis por espacios (subconsultas, ON (...)). */
+    private static String depthZero(String text) {
+        StringBuilder out = new StringBuilder(text.length());
+        int depth = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(') {
+                depth++;
+            }
+            out.append(depth == 0 ? c : ' ');
+            if (c == ')') {
+                depth--;
+            }
+        }
+        return out.toString();
+    }
+
+    private static String stripParentheses(String text) {
+        while (text.startsWith("(") && text.endsWith(")") && balanced(text.substring(1, text.length() - 1))) {
+            text = text.substring(1, text.length() - 1).trim();
+        }
+        return text;
+    }
+
+    private static boolean balanced(String text) {
+        int depth = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth < 0) {
+                return false;
+            }
+        }
+        return depth == 0;
+    }
+}
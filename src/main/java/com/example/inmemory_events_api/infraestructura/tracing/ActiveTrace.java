@@ -0,0 +1,118 @@
+package com.example.inmemory_events_api.infraestructura.tracing;
+
+import com.example.inmemory_events_api.dominio.model.SpanDTO;
+import com.example.inmemory_events_api.dominio.model.TraceDTO;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Traza de la petición en curso en un hilo.
+ *
+ * El identificador existe siempre (logs y respuestas de error), pero los
+ * tramos solo se crean si la traza se registra: muestreada, o con
+ * tracing.always-sample-errors para poder exportarla si termina en error.
+ * El resto de peticiones solo pagan el identificador.
+ */
+final class ActiveTrace {
+
+    private final String traceId;
+    private final String rootSpanId;
+    private final String remoteParentSpanId;
+    private final boolean sampled;
+    private final boolean recording;
+    private final int maxSpans;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final ArrayDeque<Span> open = new ArrayDeque<>();
+    private final List<Span> finished;
+    private int dropped;
+    private boolean error;
+    private Span root;
+
+    ActiveTrace(String traceId, String remoteParentSpanId, boolean sampled, boolean recording, int maxSpans) {
+        this.traceId = traceId;
+        this.rootSpanId = TraceIds.newSpanId();
+        this.remoteParentSpanId = remoteParentSpanId;
+        this.sampled = sampled;
+        this.recording = recording;
+        this.maxSpans = maxSpans;
+        this.finished = recording ? new ArrayList<>() : List.of();
+    }
+
+    String traceId() {
+        return traceId;
+    }
+
+    String rootSpanId() {
+        return rootSpanId;
+    }
+
+    boolean sampled() {
+        return sampled;
+    }
+
+    boolean recording() {
+        return recording;
+    }
+
+    /** Span raíz de la petición (usa rootSpanId, el que va en logs y cabeceras). */
+    Span startRoot(SpanKind kind, String name) {
+        if (!recording) {
+            return Span.NOOP;
+        }
+        root = new Span(this, rootSpanId, remoteParentSpanId, kind, name);
+        open.push(root);
+        return root;
+    }
+
+    Span startSpan(SpanKind kind, String name) {
+        if (!recording) {
+            return Span.NOOP;
+        }
+        if (finished.size() + open.size() >= maxSpans) {
+            dropped++;
+            return Span.NOOP;
+        }
+        Span parent = open.peek();
+        Span span = new Span(this, TraceIds.newSpanId(),
+                parent != null ? parent.spanId() : remoteParentSpanId, kind, name);
+        open.push(span);
+        return span;
+    }
+
+    void ended(Span span) {
+        if (open.peek() == span) {
+            open.pop();
+        } else {
+            open.remove(span);
+        }
+        finished.add(span);
+    }
+
+    void markError() {
+        error = true;
+    }
+
+    /**
+     * @return la traza para exportar, o null si no se registró o no se
+     *         muestreó y terminó bien
+     */
+    TraceDTO finish() {
+        if (!recording || (!sampled && !error)) {
+            return null;
+        }
+        List<SpanDTO> spans = new ArrayList<>(finished.size());
+        for (Span span : finished) {
+            spans.add(span.toDTO(startNanos));
+        }
+        spans.sort(Comparator.comparingLong(SpanDTO::getOffsetMicros));
+        SpanDTO rootSpan = root != null ? root.toDTO(startNanos) : null;
+        return new TraceDTO(traceId, rootSpan != null ? rootSpan.getName() : null, startedAt,
+                rootSpan != null ? rootSpan.getDurationMicros() : (System.nanoTime() - startNanos) / 1_000, error,
+                sampled, dropped, spans);
+    }
+}
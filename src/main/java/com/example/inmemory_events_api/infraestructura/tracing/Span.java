@@ -0,0 +1,94 @@
+package com.example.inmemory_events_api.infraestructura.tracing;
+
+import com.example.inmemory_events_api.dominio.model.SpanDTO;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tramo en curso de una traza que se está registrando. Fuera de una traza
+ * registrada se usa {@link #NOOP}, que no hace nada: el código
+ * instrumentado no tiene que comprobar nada.
+ *
+ * Un tramo solo lo usa el hilo de su petición.
+ */
+public class Span {
+
+    /** Tramo que no registra nada. */
+    public static final Span NOOP = new Span(null, null, null, null, null);
+
+    private static final int MAX_ATTRIBUTE_LENGTH = 500;
+
+    private final ActiveTrace trace;
+    private final String spanId;
+    private final String parentSpanId;
+    private final SpanKind kind;
+    private String name;
+    private final long startNanos;
+    private long durationNanos = -1;
+    private String error;
+    private Map<String, String> attributes;
+
+    Span(ActiveTrace trace, String spanId, String parentSpanId, SpanKind kind, String name) {
+        this.trace = trace;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.kind = kind;
+        this.name = name;
+        this.startNanos = trace != null ? System.nanoTime() : 0;
+    }
+
+    public boolean isRecording() {
+        return trace != null;
+    }
+
+    public String spanId() {
+        return spanId;
+    }
+
+    public Span name(String name) {
+        if (trace != null) {
+            this.name = name;
+        }
+        return this;
+    }
+
+    public Span attribute(String key, Object value) {
+        if (trace != null && value != null) {
+            if (attributes == null) {
+                attributes = new LinkedHashMap<>(4);
+            }
+            String text = value.toString();
+            attributes.put(key, text.length() > MAX_ATTRIBUTE_LENGTH ? text.substring(0, MAX_ATTRIBUTE_LENGTH) : text);
+        }
+        return this;
+    }
+
+    /**
+     * Marca el tramo como terminado con error. La traza solo cuenta como
+     * errónea si la petición acaba en 5xx (una excepción convertida en 404
+     * por GlobalExceptionHandler no lo es).
+     */
+    public Span error(Throwable exception) {
+        if (trace != null) {
+            error = exception.getClass().getName();
+        }
+        return this;
+    }
+
+    public void end() {
+        if (trace != null && durationNanos < 0) {
+            durationNanos = System.nanoTime() - startNanos;
+            trace.ended(this);
+        }
+    }
+
+    String parentSpanId() {
+        return parentSpanId;
+    }
+
+    SpanDTO toDTO(long traceStartNanos) {
+        return new SpanDTO(spanId, parentSpanId, kind.name(), name, (startNanos - traceStartNanos) / 1_000,
+                Math.max(durationNanos, 0) / 1_000, error, attributes);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.inmemory_events_api.infraestructura.tracing;
+
+/**
+ * Capa que representa un tramo de la traza.
+ */
+public enum SpanKind {
+    /** Petición HTTP completa (TracingFilter). */
+    SERVER,
+    /** Método de un @RestController. */
+    CONTROLLER,
+    /** Método de un servicio de aplicacion.usecase. */
+    USE_CASE,
+    /** Método de un repositorio Spring Data. */
+    REPOSITORY,
+    /** Ejecución de una sentencia JDBC. */
+    JDBC
+}
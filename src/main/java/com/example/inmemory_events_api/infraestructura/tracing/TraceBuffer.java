@@ -0,0 +1,46 @@
+package com.example.inmemory_events_api.infraestructura.tracing;
+
+import com.example.inmemory_events_api.dominio.model.TraceDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Predicate;
+
+/**
+ * Últimas trazas exportadas, en un buffer circular de tamaño fijo: cada
+ * traza nueva pisa la más antigua. Escribir es un incremento atómico y un
+ * set; no hay bloqueos en el camino de la petición.
+ */
+public class TraceBuffer {
+
+    private final AtomicReferenceArray<TraceDTO> slots;
+    private final AtomicLong next = new AtomicLong();
+
+    public TraceBuffer(int capacity) {
+        this.slots = new AtomicReferenceArray<>(Math.max(capacity, 1));
+    }
+
+    public void add(TraceDTO trace) {
+        slots.set((int) (next.getAndIncrement() % slots.length()), trace);
+    }
+
+    /** Trazas que cumplen el filtro, de la más reciente a la más antigua. */
+    public List<TraceDTO> recent(Predicate<TraceDTO> filter, int limit) {
+        List<TraceDTO> result = new ArrayList<>(Math.min(limit, slots.length()));
+        long last = next.get();
+        for (long i = last - 1; i >= 0 && i >= last - slots.length() && result.size() < limit; i--) {
+            TraceDTO trace = slots.get((int) (i % slots.length()));
+            if (trace != null && filter.test(trace)) {
+                result.add(trace);
+            }
+        }
+        return result;
+    }
+
+    public TraceDTO find(String traceId) {
+        List<TraceDTO> found = recent(trace -> trace.getTraceId().equals(traceId), 1);
+        return found.isEmpty() ? null : found.get(0);
+    }
+}
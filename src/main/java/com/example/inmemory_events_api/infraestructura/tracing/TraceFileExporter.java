@@ -0,0 +1,89 @@
+package com.example.inmemory_events_api.infraestructura.tracing;
+
+import com.example.inmemory_events_api.dominio.model.TraceDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escribe las trazas exportadas en un fichero NDJSON (una traza por
+ * línea) desde un hilo propio. La petición solo deja la traza en una cola
+ * acotada; si la cola está llena la traza se descarta y se cuenta, nunca
+ * se espera al disco.
+ */
+public class TraceFileExporter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TraceFileExporter.class);
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<TraceDTO> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public TraceFileExporter(Path file, int queueCapacity, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(Math.max(queueCapacity, 1));
+        this.writer = new Thread(this::drain, "trace-exporter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void export(TraceDTO trace) {
+        if (!queue.offer(trace)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    private void drain() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                while (running || !queue.isEmpty()) {
+                    TraceDTO trace = queue.poll(1, TimeUnit.SECONDS);
+                    if (trace == null) {
+                        continue;
+                    }
+                    out.write(objectMapper.writeValueAsString(trace));
+                    out.newLine();
+                    if (queue.isEmpty()) {
+                        out.flush();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("No se pueden escribir trazas en {}; se deja de exportar a fichero", file, e);
+            running = false;
+            queue.clear();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.inmemory_events_api.infraestructura.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Identificadores de traza (128 bits) y de tramo (64 bits) en hexadecimal,
+ * con el formato de W3C Trace Context.
+ *
+ * Salen de ThreadLocalRandom: sin SecureRandom ni contención entre hilos.
+ * No son secretos ni impredecibles, solo únicos en la práctica, que es lo
+ * que necesita una traza.
+ */
+public final class TraceIds {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** Cabecera traceparent entrante ya validada. */
+    public record TraceParent(String traceId, String parentSpanId, boolean sampled) {
+    }
+
+    private TraceIds() {
+    }
+
+    public static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0 && low == 0);
+        char[] id = new char[32];
+        hex(high, id, 0);
+        hex(low, id, 16);
+        return new String(id);
+    }
+
+    public static String newSpanId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long value;
+        do {
+            value = random.nextLong();
+        } while (value == 0);
+        char[] id = new char[16];
+        hex(value, id, 0);
+        return new String(id);
+    }
+
+    /**
+     * Interpreta una cabecera traceparent (00-traceId-spanId-flags).
+     *
+     * @return null si falta o no es válida (se empieza una traza nueva)
+     */
+    public static TraceParent parseTraceParent(String header) {
+        if (header == null || header.length() != 55 || header.charAt(2) != '-' || header.charAt(35) != '-'
+                || header.charAt(52) != '-' || !header.startsWith("00")) {
+            return null;
+        }
+        String traceId = header.substring(3, 35);
+        String spanId = header.substring(36, 52);
+        String flags = header.substring(53, 55);
+        if (!isHex(traceId) || !isHex(spanId) || !isHex(flags) || isZero(traceId) || isZero(spanId)) {
+            return null;
+        }
+        return new TraceParent(traceId, spanId, (Integer.parseInt(flags, 16) & 1) == 1);
+    }
+
+    public static String traceParent(String traceId, String spanId, boolean sampled) {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    private static void hex(long value, char[] out, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            out[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
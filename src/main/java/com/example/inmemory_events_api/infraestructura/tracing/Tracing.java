@@ -0,0 +1,66 @@
+package com.example.inmemory_events_api.infraestructura.tracing;
+
+/**
+ * Acceso a la traza del hilo actual para el código instrumentado
+ * (interceptores, DataSource, GlobalExceptionHandler). TracingFilter la
+ * abre y la cierra en cada petición.
+ *
+ * Uso:
+ *
+ * <pre>
+ * Span span = Tracing.startSpan(SpanKind.USE_CASE, "EventService.getEventById");
+ * try {
+ *     ...
+ * } catch (RuntimeException e) {
+ *     span.error(e);
+ *     throw e;
+ * } finally {
+ *     span.end();
+ * }
+ * </pre>
+ */
+public final class Tracing {
+
+    private static final ThreadLocal<ActiveTrace> CURRENT = new ThreadLocal<>();
+
+    private Tracing() {
+    }
+
+    /**
+     * Abre un tramo hijo del tramo en curso; {@link Span#NOOP} si no hay
+     * traza o no se está registrando.
+     */
+    public static Span startSpan(SpanKind kind, String name) {
+        ActiveTrace trace = CURRENT.get();
+        return trace != null ? trace.startSpan(kind, name) : Span.NOOP;
+    }
+
+    /** Hay una traza registrando tramos en este hilo. */
+    public static boolean isRecording() {
+        ActiveTrace trace = CURRENT.get();
+        return trace != null && trace.recording();
+    }
+
+    /** Identificador de la traza en curso, o null fuera de una petición. */
+    public static String currentTraceId() {
+        ActiveTrace trace = CURRENT.get();
+        return trace != null ? trace.traceId() : null;
+    }
+
+    /**
+     * Identificador de la traza en curso, o uno nuevo fuera de una petición
+     * (o con tracing.enabled=false) para no devolver nunca un traceId vacío.
+     */
+    public static String currentOrNewTraceId() {
+        String traceId = currentTraceId();
+        return traceId != null ? traceId : TraceIds.newTraceId();
+    }
+
+    static void attach(ActiveTrace trace) {
+        CURRENT.set(trace);
+    }
+
+    static void detach() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.inmemory_events_api.infraestructura.tracing;
+
+import com.example.inmemory_events_api.dominio.model.TraceDTO;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Abre la traza de cada petición y la cierra al terminar.
+ *
+ * - Identificador: el de la cabecera traceparent (W3C) si viene, si no uno
+ * nuevo. Va en el MDC (traceId, spanId) para que salga en cada línea de
+ * log, en la cabecera X-Trace-Id y en los ProblemDetail de error.
+ * - Muestreo: el de traceparent o tracing.sample-rate. Las no muestreadas
+ * se registran igualmente con tracing.always-sample-errors y solo se
+ * exportan si terminan en error.
+ * - Exportación: la traza terminada va al exporter (buffer en memoria y,
+ * opcionalmente, fichero).
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_PARENT_HEADER = "traceparent";
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String MDC_TRACE_ID = "traceId";
+    public static final String MDC_SPAN_ID = "spanId";
+
+    private final TracingProperties properties;
+    private final Consumer<TraceDTO> exporter;
+
+    public TracingFilter(TracingProperties properties, Consumer<TraceDTO> exporter) {
+        this.properties = properties;
+        this.exporter = exporter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ActiveTrace trace = begin(request.getHeader(TRACE_PARENT_HEADER));
+        Tracing.attach(trace);
+        MDC.put(MDC_TRACE_ID, trace.traceId());
+        MDC.put(MDC_SPAN_ID, trace.rootSpanId());
+        response.setHeader(TRACE_ID_HEADER, trace.traceId());
+        Span root = trace.startRoot(SpanKind.SERVER, request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            root.error(e);
+            trace.markError();
+            throw e;
+        } finally {
+            if (root.isRecording()) {
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (route != null) {
+                    root.name(request.getMethod() + " " + route);
+                }
+                int status = response.getStatus();
+                root.attribute("http.status", status);
+                if (status >= 500) {
+                    trace.markError();
+                }
+                root.end();
+            }
+            Tracing.detach();
+            MDC.remove(MDC_TRACE_ID);
+            MDC.remove(MDC_SPAN_ID);
+            TraceDTO finished = trace.finish();
+            if (finished != null) {
+                exporter.accept(finished);
+            }
+        }
+    }
+
+    private ActiveTrace begin(String traceParentHeader) {
+        TraceIds.TraceParent parent = properties.isHonorTraceParent()
+                ? TraceIds.parseTraceParent(traceParentHeader)
+                : null;
+        boolean sampled = parent != null ? parent.sampled()
+                : properties.getSampleRate() > 0 && ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+        return new ActiveTrace(parent != null ? parent.traceId() : TraceIds.newTraceId(),
+                parent != null ? parent.parentSpanId() : null, sampled,
+                sampled || properties.isAlwaysSampleErrors(), properties.getMaxSpansPerTrace());
+    }
+}
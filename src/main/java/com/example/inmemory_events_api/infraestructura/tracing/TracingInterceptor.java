@@ -0,0 +1,52 @@
+package com.example.inmemory_events_api.infraestructura.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+
+/**
+ * Abre un tramo por cada llamada a un controlador, caso de uso o
+ * repositorio, con el nombre Clase.método. Fuera de una traza registrada
+ * solo cuesta la consulta al ThreadLocal.
+ */
+public class TracingInterceptor implements MethodInterceptor {
+
+    private final SpanKind kind;
+    private final String fixedOwner;
+
+    /** El nombre del tramo usa la clase destino de cada llamada. */
+    public TracingInterceptor(SpanKind kind) {
+        this(kind, null);
+    }
+
+    /** El nombre del tramo usa siempre owner (p. ej. la interfaz del repositorio). */
+    public TracingInterceptor(SpanKind kind, Class<?> owner) {
+        this.kind = kind;
+        this.fixedOwner = owner != null ? owner.getSimpleName() : null;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (!Tracing.isRecording()) {
+            return invocation.proceed();
+        }
+        Span span = Tracing.startSpan(kind, owner(invocation) + "." + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private String owner(MethodInvocation invocation) {
+        if (fixedOwner != null) {
+            return fixedOwner;
+        }
+        Object target = invocation.getThis();
+        return target != null ? AopUtils.getTargetClass(target).getSimpleName()
+                : invocation.getMethod().getDeclaringClass().getSimpleName();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.inmemory_events_api.infraestructura.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuración de las trazas en proceso (prefijo "tracing" en
+ * application.properties).
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * tracing.sample-rate=0.01
+ * tracing.always-sample-errors=true
+ * tracing.export-file=./data/traces/traces.ndjson
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "tracing")
+public class TracingProperties {
+
+    private boolean enabled = true;
+
+    /** Fracción de peticiones muestreadas (0..1) sin cabecera traceparent. */
+    private double sampleRate = 0.01;
+
+    /**
+     * Registra también las peticiones no muestreadas y exporta las que
+     * terminan en error (5xx o excepción).
+     */
+    private boolean alwaysSampleErrors = true;
+
+    /** Respeta la decisión de muestreo de una cabecera traceparent entrante. */
+    private boolean honorTraceParent = true;
+
+    /** Tramos por traza; los siguientes se cuentan como descartados. */
+    private int maxSpansPerTrace = 500;
+
+    /** Registra /admin/traces; sin él las trazas solo salen por export-file. */
+    private boolean endpointEnabled = false;
+
+    /** Trazas guardadas en memoria para /admin/traces. */
+    private int bufferSize = 1000;
+
+    /** Fichero NDJSON al que se exportan además las trazas; vacío = no se exporta. */
+    private String exportFile = "";
+
+    /** Trazas pendientes de escribir en el fichero antes de descartar. */
+    private int exportQueueSize = 10000;
+}
@@ -0,0 +1,11 @@
+-- Índices compuestos para las consultas de events que filtran por igualdad
+-- y rango de fechas (propuestos por el asesor de consultas,
+-- GET /admin/query-plans/advice):
+-- - (status, date): próximos eventos activos, selección del archivado
+-- - (venue_id, date): eventos de un venue por fechas
+-- La FK de venue_id pasa a usar idx_event_venue_date (MySQL descarta el
+-- índice que creó para la FK). Las bases creadas por Hibernate (ddl-auto)
+-- tienen además los índices simples idx_event_status e idx_event_venue,
+-- prefijos de estos y por tanto redundantes: se pueden borrar a mano.
+CREATE INDEX idx_event_status_date ON events (status, date);
+CREATE INDEX idx_event_venue_date ON events (venue_id, date);
@@ -0,0 +1,7 @@
+-- Asientos de cada evento cedidos a las instancias (ver JdbcSeatAllocator).
+-- La fila se crea la primera vez que se vende el evento, con las reservas
+-- ya confirmadas como punto de partida.
+CREATE TABLE event_seat_allocations (
+    event_id BIGINT NOT NULL PRIMARY KEY,
+    allocated BIGINT NOT NULL
+);
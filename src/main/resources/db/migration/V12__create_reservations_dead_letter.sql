@@ -0,0 +1,13 @@
+-- Reservas confirmadas que ConfirmedReservationWriter no pudo insertar tras
+-- reservation.max-attempts intentos (p. ej. su evento ya no existe). Se
+-- conservan para revisarlas y, si procede, reinsertarlas a mano.
+CREATE TABLE reservations_dead_letter (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    hold_id VARCHAR(36) NOT NULL,
+    event_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INT NOT NULL,
+    error VARCHAR(1000) NULL,
+    failed_at TIMESTAMP(6) NOT NULL
+);
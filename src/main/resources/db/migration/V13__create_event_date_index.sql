@@ -0,0 +1,4 @@
+-- Índice de la consulta por rango de fechas (GET /api/events?from&to). Las
+-- bases creadas por Hibernate ya lo tenían (EventEntity); ninguna migración
+-- lo creaba.
+CREATE INDEX idx_event_date ON events (date);
@@ -0,0 +1,39 @@
+-- Esquema inicial (venues, categorías y eventos) tal como lo generaba
+-- Hibernate antes de la primera migración: V2 y siguientes parten de aquí.
+CREATE TABLE venues (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    address VARCHAR(200) NOT NULL,
+    city VARCHAR(100) NOT NULL,
+    capacity INT NOT NULL,
+    CONSTRAINT uk_venue_name UNIQUE (name)
+);
+CREATE INDEX idx_venue_name ON venues (name);
+CREATE INDEX idx_venue_city ON venues (city);
+CREATE INDEX idx_venue_capacity ON venues (capacity);
+
+CREATE TABLE categories (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    CONSTRAINT uk_category_name UNIQUE (name)
+);
+CREATE INDEX idx_category_name ON categories (name);
+
+CREATE TABLE events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description VARCHAR(1000) NOT NULL,
+    category VARCHAR(100) NULL,
+    venue_id BIGINT NOT NULL,
+    CONSTRAINT fk_event_venue FOREIGN KEY (venue_id) REFERENCES venues (id)
+);
+CREATE INDEX idx_event_category ON events (category);
+
+CREATE TABLE event_categories (
+    event_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    PRIMARY KEY (event_id, category_id),
+    CONSTRAINT fk_event_categories_event FOREIGN KEY (event_id) REFERENCES events (id),
+    CONSTRAINT fk_event_categories_category FOREIGN KEY (category_id) REFERENCES categories (id)
+);
+CREATE INDEX idx_event_categories_category ON event_categories (category_id);
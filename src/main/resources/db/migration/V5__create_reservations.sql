@@ -0,0 +1,11 @@
+CREATE TABLE reservations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    hold_id VARCHAR(36) NOT NULL,
+    event_id BIGINT NOT NULL,
+    quantity INT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    confirmed_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_reservation_hold UNIQUE (hold_id),
+    CONSTRAINT fk_reservation_event FOREIGN KEY (event_id) REFERENCES events (id) ON DELETE CASCADE
+);
+CREATE INDEX idx_reservation_event_status ON reservations (event_id, status);
@@ -0,0 +1,2 @@
+ALTER TABLE events ADD COLUMN end_date DATE NULL;
+UPDATE events SET end_date = date WHERE end_date IS NULL;
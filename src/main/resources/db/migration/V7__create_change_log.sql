@@ -0,0 +1,10 @@
+CREATE TABLE change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity_type VARCHAR(10) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    venue_id BIGINT NULL,
+    origin VARCHAR(64) NOT NULL,
+    changed_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX idx_change_log_changed_at ON change_log (changed_at);
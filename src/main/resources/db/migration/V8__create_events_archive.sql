@@ -0,0 +1,28 @@
+-- Histórico de eventos finalizados/cancelados. En MySQL se particiona por
+-- rango de fechas (db/vendor/mysql/V8_1): las consultas con rango de
+-- fechas solo leen las particiones que lo cortan (partition pruning). MySQL
+-- exige que la clave primaria incluya la columna de particionado.
+CREATE TABLE events_archive (
+    id BIGINT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    description VARCHAR(1000) NOT NULL,
+    date DATE NOT NULL,
+    end_date DATE NULL,
+    category VARCHAR(100) NULL,
+    status VARCHAR(20) NOT NULL,
+    venue_id BIGINT NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, date),
+    KEY idx_event_archive_date (date),
+    KEY idx_event_archive_venue (venue_id)
+);
+
+CREATE TABLE event_categories_archive (
+    event_id BIGINT NOT NULL,
+    category_id BIGINT NOT NULL,
+    PRIMARY KEY (event_id, category_id)
+);
+
+-- Las reservas de un evento archivado se conservan (event_id queda como
+-- referencia al histórico)
+ALTER TABLE reservations DROP FOREIGN KEY fk_reservation_event;
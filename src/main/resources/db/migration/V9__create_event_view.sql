@@ -0,0 +1,49 @@
+-- Modelo de lectura desnormalizado de eventos: datos del venue y nombres
+-- de categorías en línea. Lo mantiene la aplicación en la misma
+-- transacción que cada escritura (EventReadModel).
+CREATE TABLE event_view (
+    event_id BIGINT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    date DATE NOT NULL,
+    end_date DATE NULL,
+    status VARCHAR(20) NOT NULL,
+    category VARCHAR(100) NULL,
+    venue_id BIGINT NOT NULL,
+    venue_name VARCHAR(100) NULL,
+    venue_city VARCHAR(100) NULL,
+    venue_city_key VARCHAR(100) NULL,
+    venue_capacity INT NULL,
+    category_names VARCHAR(1000) NULL,
+    PRIMARY KEY (event_id),
+    -- Índice de cobertura de la consulta por ciudad (la PK va implícita)
+    KEY idx_event_view_city (venue_city_key, status, date, venue_id, end_date, title),
+    KEY idx_event_view_venue (venue_id)
+);
+
+-- Una fila por (categoría, evento). La PK agrupa las filas en el orden de
+-- la consulta por categoría.
+CREATE TABLE event_view_category (
+    category_key VARCHAR(100) NOT NULL,
+    date DATE NOT NULL,
+    event_id BIGINT NOT NULL,
+    title VARCHAR(200) NOT NULL,
+    end_date DATE NULL,
+    status VARCHAR(20) NOT NULL,
+    venue_id BIGINT NOT NULL,
+    PRIMARY KEY (category_key, date, event_id),
+    KEY idx_event_view_category_event (event_id),
+    KEY idx_event_view_category_venue (venue_id)
+);
+
+-- Carga inicial (después la aplicación la reconstruye si el número de
+-- filas no coincide con events)
+INSERT INTO event_view (event_id, title, date, end_date, status, category, venue_id, venue_name, venue_city,
+    venue_city_key, venue_capacity, category_names)
+SELECT e.id, e.title, e.date, e.end_date, e.status, e.category, v.id, v.name, v.city, LOWER(v.city), v.capacity,
+    (SELECT GROUP_CONCAT(c.name ORDER BY c.name SEPARATOR ',') FROM event_categories ec
+        JOIN categories c ON c.id = ec.category_id WHERE ec.event_id = e.id)
+FROM events e JOIN venues v ON v.id = e.venue_id;
+
+INSERT INTO event_view_category (category_key, date, event_id, title, end_date, status, venue_id)
+SELECT DISTINCT LOWER(c.name), e.date, e.id, e.title, e.end_date, e.status, e.venue_id
+FROM events e JOIN event_categories ec ON ec.event_id = e.id JOIN categories c ON c.id = ec.category_id;
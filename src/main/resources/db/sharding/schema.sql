@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS venues (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    address VARCHAR(255),
+    city VARCHAR(255),
+    capacity INT
+);
+CREATE TABLE IF NOT EXISTS events (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(200),
+    venue_id BIGINT NOT NULL,
+    date DATE,
+    end_date DATE,
+    INDEX idx_shard_event_date (date, id),
+    CONSTRAINT fk_shard_event_venue FOREIGN KEY (venue_id) REFERENCES venues (id) ON DELETE CASCADE
+);
@@ -0,0 +1,32 @@
+package com.example.inmemory_events_api.infraestructura.config;
+
+import com.example.inmemory_events_api.dominio.ports.out.EventRepositoryPort;
+import com.example.inmemory_events_api.dominio.ports.out.VenueRepositoryPort;
+import com.example.inmemory_events_api.infraestructura.stresstest.StressTestProperties;
+import com.example.inmemory_events_api.infraestructura.stresstest.StressTestRunner;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Prueba de concurrencia de los puertos de almacenamiento (perfil
+ * "stresstest", ver el perfil Maven del mismo nombre): comprueba los
+ * adaptadores del storage.mode activo bajo contención y mide cómo escalan
+ * con los hilos.
+ */
+@Configuration
+@Profile("stresstest")
+@EnableConfigurationProperties(StressTestProperties.class)
+public class StressTestConfig {
+
+    @Bean
+    public StressTestRunner stressTestRunner(StressTestProperties properties,
+            ObjectProvider<EventRepositoryPort> events,
+            ObjectProvider<VenueRepositoryPort> venues,
+            @Value("${storage.mode:jpa}") String storageMode) {
+        return new StressTestRunner(properties, events.getIfAvailable(), venues.getIfAvailable(), storageMode);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.inmemory_events_api.infraestructura.stresstest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Lanza varios hilos que empiezan a la vez (esperan todos en una barrera)
+ * para maximizar los intercalados, y espera a que terminen.
+ */
+final class Concurrently {
+
+    @FunctionalInterface
+    interface Body {
+        void run(int thread) throws Exception;
+    }
+
+    private Concurrently() {
+    }
+
+    /**
+     * @throws IllegalStateException si algún hilo lanza una excepción (con la
+     *                               primera como causa)
+     */
+    static void run(String name, int threads, Body body) {
+        CountDownLatch start = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        List<Thread> started = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    body.run(thread);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }, name + "-" + i);
+            worker.start();
+            started.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : started) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(name + " interrumpido", e);
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException(name + ": " + failures.size() + " hilos fallaron", failures.peek());
+        }
+    }
+}
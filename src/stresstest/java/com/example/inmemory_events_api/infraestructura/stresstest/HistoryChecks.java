@@ -0,0 +1,132 @@
+package com.example.inmemory_events_api.infraestructura.stresstest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Comprobaciones sobre historiales de operaciones concurrentes, al estilo
+ * de Lincheck: en lugar de fijar un intercalado, se ejecuta uno cualquiera
+ * registrando cuándo empezó y terminó cada operación y luego se comprueba
+ * que el resultado es el de alguna ejecución secuencial que respete el
+ * orden real (una operación que terminó antes de que otra empezara va
+ * antes).
+ */
+final class HistoryChecks {
+
+    private HistoryChecks() {
+    }
+
+    /**
+     * Asignación de IDs linealizable: todos distintos y, si una creación
+     * terminó antes de que otra empezara, su ID es menor.
+     *
+     * @param creates creaciones con el ID asignado en key
+     */
+    static void idsAreUniqueAndOrdered(String entity, List<Operation> creates, Consumer<String> violations) {
+        Set<Long> seen = new HashSet<>(creates.size() * 2);
+        for (Operation create : creates) {
+            if (!seen.add(create.key())) {
+                violations.accept(entity + ": ID " + create.key() + " asignado dos veces");
+            }
+        }
+        List<Operation> byEnd = new ArrayList<>(creates);
+        byEnd.sort(Comparator.comparingLong(Operation::end));
+        List<Operation> byStart = new ArrayList<>(creates);
+        byStart.sort(Comparator.comparingLong(Operation::start));
+        Operation maxFinished = null;
+        int next = 0;
+        for (Operation create : byStart) {
+            while (next < byEnd.size() && byEnd.get(next).end() < create.start()) {
+                Operation finished = byEnd.get(next++);
+                if (maxFinished == null || finished.key() > maxFinished.key()) {
+                    maxFinished = finished;
+                }
+            }
+            if (maxFinished != null && create.key() <= maxFinished.key()) {
+                violations.accept(entity + ": ID " + create.key() + " (hilo " + create.thread()
+                        + ") menor que " + maxFinished.key() + " (hilo " + maxFinished.thread()
+                        + "), que terminó antes de que empezara");
+            }
+        }
+    }
+
+    /**
+     * Registro linealizable por clave: cada lectura devuelve el valor inicial
+     * o el de una escritura que ya había empezado y que no estaba
+     * completamente sobrescrita cuando empezó la lectura; el valor final es
+     * el de una escritura que ninguna otra siguió por completo.
+     *
+     * @param writes  escrituras de todas las claves
+     * @param reads   lecturas de todas las claves
+     * @param initial valor inicial de cada clave
+     * @param current valor final de cada clave (leído al terminar)
+     */
+    static void registersAreLinearizable(List<Operation> writes, List<Operation> reads, Map<Long, String> initial,
+            Map<Long, String> current, Consumer<String> violations) {
+        Map<Long, List<Operation>> writesByKey = new HashMap<>();
+        for (Operation write : writes) {
+            writesByKey.computeIfAbsent(write.key(), key -> new ArrayList<>()).add(write);
+        }
+        Map<String, Operation> writeByValue = new HashMap<>(writes.size() * 2);
+        for (Operation write : writes) {
+            writeByValue.put(write.value(), write);
+        }
+        for (Operation read : reads) {
+            List<Operation> keyWrites = writesByKey.getOrDefault(read.key(), List.of());
+            String problem = Objects.equals(read.value(), initial.get(read.key()))
+                    ? initialReadProblem(read, keyWrites)
+                    : readProblem(read, writeByValue.get(read.value()), keyWrites);
+            if (problem != null) {
+                violations.accept("clave " + read.key() + ": lectura del hilo " + read.thread() + " " + problem);
+            }
+        }
+        for (Map.Entry<Long, String> entry : current.entrySet()) {
+            List<Operation> keyWrites = writesByKey.getOrDefault(entry.getKey(), List.of());
+            if (keyWrites.isEmpty()) {
+                if (!Objects.equals(entry.getValue(), initial.get(entry.getKey()))) {
+                    violations.accept("clave " + entry.getKey() + ": valor final sin escrituras que lo expliquen");
+                }
+                continue;
+            }
+            long lastStart = keyWrites.stream().mapToLong(Operation::start).max().orElseThrow();
+            boolean valid = keyWrites.stream()
+                    .anyMatch(write -> write.end() >= lastStart && write.value().equals(entry.getValue()));
+            if (!valid) {
+                violations.accept("clave " + entry.getKey() + ": valor final '" + entry.getValue()
+                        + "' no es el de ninguna de las últimas escrituras (actualización perdida)");
+            }
+        }
+    }
+
+    private static String initialReadProblem(Operation read, List<Operation> keyWrites) {
+        for (Operation write : keyWrites) {
+            if (write.end() < read.start()) {
+                return "devuelve el valor inicial, ya sobrescrito antes de empezar";
+            }
+        }
+        return null;
+    }
+
+    private static String readProblem(Operation read, Operation write, List<Operation> keyWrites) {
+        if (write == null || write.key() != read.key()) {
+            return "devuelve '" + read.value() + "', que nunca se escribió en esa clave";
+        }
+        if (write.start() > read.end()) {
+            return "devuelve '" + read.value() + "', escrito después de terminar la lectura";
+        }
+        for (Operation other : keyWrites) {
+            if (other.start() > write.end() && other.end() < read.start()) {
+                return "devuelve '" + read.value() + "', ya sobrescrito por '" + other.value()
+                        + "' antes de empezar (lectura obsoleta)";
+            }
+        }
+        return null;
+    }
+}
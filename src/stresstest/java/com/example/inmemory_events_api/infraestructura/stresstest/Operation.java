@@ -0,0 +1,10 @@
+package com.example.inmemory_events_api.infraestructura.stresstest;
+
+/**
+ * Operación registrada en el historial de una comprobación: quién la hizo,
+ * cuándo empezó y terminó (System.nanoTime) y sobre qué clave y valor.
+ *
+ * Para una lectura, value es lo que leyó (null si no encontró nada).
+ */
+record Operation(int thread, long start, long end, long key, String value) {
+}
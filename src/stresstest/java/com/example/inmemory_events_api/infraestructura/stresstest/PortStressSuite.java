@@ -0,0 +1,500 @@
+package com.example.inmemory_events_api.infraestructura.stresstest;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.model.VenueDTO;
+import com.example.inmemory_events_api.dominio.ports.out.EventRepositoryPort;
+import com.example.inmemory_events_api.dominio.ports.out.VenueRepositoryPort;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Comprobaciones de corrección de un par de puertos de almacenamiento
+ * (EventRepositoryPort / VenueRepositoryPort) bajo contención:
+ *
+ * - id-allocation: creaciones concurrentes de venues y eventos; IDs únicos,
+ * ordenados según el orden real (HistoryChecks) y visibles en cuanto la
+ * creación termina.
+ * - index-consistency: escritores que crean, mueven de fecha o de venue y
+ * borran sus eventos mientras otros hilos consultan por fecha, por venue y
+ * el listado completo. Cada lectura debe cumplir su filtro y, al terminar,
+ * findById, findAll, findByDateBetween y findByVenueId deben coincidir
+ * entre sí y con lo que escribió cada hilo.
+ * - contended-updates: todos los hilos actualizan y leen los mismos pocos
+ * eventos; lecturas y valor final linealizables (sin actualizaciones
+ * perdidas ni lecturas obsoletas).
+ * - cascade-delete: se borran venues mientras otros hilos les añaden
+ * eventos y los consultan; al terminar no puede quedar ningún evento de un
+ * venue borrado.
+ *
+ * Las fechas caen en 2030-2031 para que el almacén en memoria no congele
+ * los meses durante la prueba. Cada comprobación borra al terminar lo que
+ * creó.
+ */
+public class PortStressSuite {
+
+    /** Resultado de una comprobación en una ronda. */
+    public record CheckResult(String name, int round, long operations, Duration duration, long violationCount,
+            List<String> violations) {
+
+        public boolean passed() {
+            return violationCount == 0;
+        }
+    }
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2030, 1, 1);
+    private static final int DATE_SPAN_DAYS = 730;
+    private static final int QUERY_WINDOW_DAYS = 30;
+    /** Operaciones de los demás hilos entre dos borrados de venue. */
+    private static final int CASCADE_OPERATIONS_PER_DELETE = 20;
+
+    private final EventRepositoryPort events;
+    private final VenueRepositoryPort venues;
+    private final StressTestProperties properties;
+    private final int threads;
+
+    public PortStressSuite(EventRepositoryPort events, VenueRepositoryPort venues, StressTestProperties properties) {
+        this.events = events;
+        this.venues = venues;
+        this.properties = properties;
+        this.threads = Math.max(2, properties.getThreads() > 0 ? properties.getThreads()
+                : Runtime.getRuntime().availableProcessors());
+    }
+
+    public int threads() {
+        return threads;
+    }
+
+    public List<CheckResult> run() {
+        List<Long> venueIds = new ArrayList<>(properties.getVenues());
+        for (int i = 0; i < Math.max(properties.getVenues(), 1); i++) {
+            venueIds.add(venues.save(new VenueDTO(null, "Stress " + i, null, "Stress", 1000)).getId());
+        }
+        List<CheckResult> results = new ArrayList<>();
+        try {
+            for (int round = 1; round <= properties.getRounds(); round++) {
+                int r = round;
+                results.add(check("id-allocation", round, violations -> idAllocation(r, venueIds, violations)));
+                results.add(check("index-consistency", round,
+                        violations -> indexConsistency(r, venueIds, violations)));
+                results.add(check("contended-updates", round,
+                        violations -> contendedUpdates(r, venueIds, violations)));
+                results.add(check("cascade-delete", round, violations -> cascadeDelete(r, violations)));
+            }
+        } finally {
+            venueIds.forEach(venues::deleteById);
+        }
+        return results;
+    }
+
+    private CheckResult check(String name, int round, Function<Violations, Long> body) {
+        Violations violations = new Violations(properties.getMaxReportedViolations());
+        long start = System.nanoTime();
+        long operations = body.apply(violations);
+        return new CheckResult(name, round, operations, Duration.ofNanos(System.nanoTime() - start),
+                violations.count(), violations.reported());
+    }
+
+    // ========== id-allocation ==========
+
+    private long idAllocation(int round, List<Long> venueIds, Violations violations) {
+        int operations = properties.getOperationsPerThread();
+        List<List<Operation>> venueCreates = perThread();
+        List<List<Operation>> eventCreates = perThread();
+        Concurrently.run("stress-ids", threads, thread -> {
+            SplittableRandom random = random(round, thread);
+            for (int i = 0; i < operations; i++) {
+                long start = System.nanoTime();
+                if (i % 2 == 0) {
+                    VenueDTO venue = venues.save(new VenueDTO(null, "ids " + thread + "-" + i, null, "Stress", 10));
+                    venueCreates.get(thread).add(new Operation(thread, start, System.nanoTime(), venue.getId(), null));
+                } else {
+                    EventDTO event = events.save(event("ids " + thread + "-" + i, pick(venueIds, random),
+                            randomDate(random)));
+                    eventCreates.get(thread).add(new Operation(thread, start, System.nanoTime(), event.getId(), null));
+                }
+            }
+        });
+        List<Operation> createdVenues = flatten(venueCreates);
+        List<Operation> createdEvents = flatten(eventCreates);
+        HistoryChecks.idsAreUniqueAndOrdered("venues", createdVenues, violations);
+        HistoryChecks.idsAreUniqueAndOrdered("events", createdEvents, violations);
+        for (Operation create : createdVenues) {
+            if (venues.findById(create.key()).isEmpty()) {
+                violations.accept("venue " + create.key() + " confirmado pero no visible");
+            }
+        }
+        for (Operation create : createdEvents) {
+            if (events.findById(create.key()).isEmpty()) {
+                violations.accept("evento " + create.key() + " confirmado pero no visible");
+            }
+        }
+        createdEvents.forEach(create -> events.deleteById(create.key()));
+        createdVenues.forEach(create -> venues.deleteById(create.key()));
+        return (long) operations * threads;
+    }
+
+    // ========== index-consistency ==========
+
+    private long indexConsistency(int round, List<Long> venueIds, Violations violations) {
+        int operations = properties.getOperationsPerThread();
+        int writers = Math.max(1, threads / 2);
+        List<Map<Long, EventDTO>> models = new ArrayList<>(writers);
+        List<Set<Long>> deleted = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            models.add(new LinkedHashMap<>());
+            deleted.add(new HashSet<>());
+        }
+        AtomicInteger runningWriters = new AtomicInteger(writers);
+        LongAdder reads = new LongAdder();
+        Concurrently.run("stress-indexes", threads, thread -> {
+            SplittableRandom random = random(round, thread);
+            if (thread < writers) {
+                try {
+                    write(thread, operations, random, venueIds, models.get(thread), deleted.get(thread), violations);
+                } finally {
+                    runningWriters.decrementAndGet();
+                }
+            } else {
+                while (runningWriters.get() > 0) {
+                    read(random, venueIds, violations);
+                    reads.increment();
+                }
+            }
+        });
+
+        Map<Long, EventDTO> expected = new HashMap<>();
+        models.forEach(expected::putAll);
+        for (Map.Entry<Long, EventDTO> entry : expected.entrySet()) {
+            Optional<EventDTO> actual = events.findById(entry.getKey());
+            if (actual.isEmpty() || !actual.get().equals(entry.getValue())) {
+                violations.accept("findById(" + entry.getKey() + ") = " + actual.orElse(null)
+                        + ", se escribió por última vez " + entry.getValue());
+            }
+        }
+        for (Set<Long> ids : deleted) {
+            for (Long id : ids) {
+                if (events.findById(id).isPresent()) {
+                    violations.accept("evento " + id + " borrado pero findById lo devuelve");
+                }
+            }
+        }
+        crossCheckIndexes(violations);
+        expected.keySet().forEach(events::deleteById);
+        return (long) operations * writers + reads.sum();
+    }
+
+    private void write(int thread, int operations, SplittableRandom random, List<Long> venueIds,
+            Map<Long, EventDTO> model, Set<Long> deleted, Violations violations) {
+        List<Long> own = new ArrayList<>();
+        for (int i = 0; i < operations; i++) {
+            int dice = random.nextInt(10);
+            String name = "idx " + thread + "-" + i;
+            if (own.isEmpty() || dice < 4) {
+                EventDTO saved = events.save(event(name, pick(venueIds, random), randomDate(random)));
+                model.put(saved.getId(), saved);
+                own.add(saved.getId());
+            } else if (dice < 8) {
+                EventDTO current = model.get(pick(own, random));
+                LocalDate date = randomDate(random);
+                EventDTO moved = new EventDTO(current.getId(), name,
+                        random.nextBoolean() ? pick(venueIds, random) : current.getVenueId(), date, date.plusDays(1));
+                events.save(moved);
+                model.put(moved.getId(), moved);
+            } else {
+                int index = random.nextInt(own.size());
+                Long id = own.get(index);
+                own.set(index, own.get(own.size() - 1));
+                own.remove(own.size() - 1);
+                if (!events.deleteById(id)) {
+                    violations.accept("deleteById(" + id + ") devolvió false para un evento existente");
+                }
+                model.remove(id);
+                deleted.add(id);
+            }
+        }
+    }
+
+    /**
+     * Una consulta cualquiera; su resultado debe cumplir el filtro aunque
+     * haya escrituras en curso.
+     */
+    private void read(SplittableRandom random, List<Long> venueIds, Violations violations) {
+        int dice = random.nextInt(10);
+        if (dice < 5) {
+            LocalDate from = randomDate(random);
+            LocalDate to = from.plusDays(QUERY_WINDOW_DAYS);
+            for (EventDTO event : events.findByDateBetween(from, to)) {
+                if (event.getDate() == null || event.getDate().isBefore(from) || event.getDate().isAfter(to)) {
+                    violations.accept("findByDateBetween(" + from + ", " + to + ") devuelve " + event);
+                }
+            }
+        } else if (dice < 9) {
+            Long venueId = pick(venueIds, random);
+            long previous = Long.MIN_VALUE;
+            for (EventDTO event : events.findByVenueId(venueId)) {
+                if (!venueId.equals(event.getVenueId())) {
+                    violations.accept("findByVenueId(" + venueId + ") devuelve " + event);
+                }
+                if (event.getId() <= previous) {
+                    violations.accept("findByVenueId(" + venueId + ") no está ordenado por ID");
+                }
+                previous = event.getId();
+            }
+        } else {
+            List<EventDTO> all = events.findAll();
+            if (all.stream().map(EventDTO::getId).distinct().count() != all.size()) {
+                violations.accept("findAll devuelve IDs repetidos");
+            }
+        }
+    }
+
+    /**
+     * Sin escrituras en curso, todas las formas de consultar los eventos
+     * deben dar lo mismo.
+     */
+    private void crossCheckIndexes(Violations violations) {
+        Map<Long, EventDTO> all = new HashMap<>();
+        for (EventDTO event : events.findAll()) {
+            if (all.put(event.getId(), event) != null) {
+                violations.accept("findAll devuelve el ID " + event.getId() + " repetido");
+            }
+        }
+        compare("findByDateBetween(null, null)", events.findByDateBetween(null, null),
+                all.values().stream().filter(event -> event.getDate() != null).toList(), violations);
+
+        List<EventDTO> byVenue = new ArrayList<>();
+        Set<Long> venueIds = new HashSet<>();
+        for (VenueDTO venue : venues.findAll()) {
+            venueIds.add(venue.getId());
+            byVenue.addAll(events.findByVenueId(venue.getId()));
+        }
+        compare("findByVenueId de todos los venues", byVenue,
+                all.values().stream().filter(event -> venueIds.contains(event.getVenueId())).toList(), violations);
+
+        YearMonth last = YearMonth.from(FIRST_DATE.plusDays(DATE_SPAN_DAYS + QUERY_WINDOW_DAYS));
+        for (YearMonth month = YearMonth.from(FIRST_DATE); !month.isAfter(last); month = month.plusMonths(1)) {
+            LocalDate from = month.atDay(1);
+            LocalDate to = month.atEndOfMonth();
+            compare("findByDateBetween(" + from + ", " + to + ")", events.findByDateBetween(from, to),
+                    all.values().stream()
+                            .filter(event -> event.getDate() != null && !event.getDate().isBefore(from)
+                                    && !event.getDate().isAfter(to))
+                            .toList(),
+                    violations);
+        }
+    }
+
+    private static void compare(String query, Collection<EventDTO> actual, Collection<EventDTO> expected,
+            Violations violations) {
+        Map<Long, EventDTO> actualById = actual.stream()
+                .collect(Collectors.toMap(EventDTO::getId, event -> event, (a, b) -> a));
+        if (actualById.size() != actual.size()) {
+            violations.accept(query + " devuelve IDs repetidos");
+        }
+        for (EventDTO event : expected) {
+            EventDTO found = actualById.remove(event.getId());
+            if (found == null) {
+                violations.accept(query + " no devuelve " + event + " (sí está en findAll)");
+            } else if (!found.equals(event)) {
+                violations.accept(query + " devuelve " + found + ", findAll " + event);
+            }
+        }
+        actualById.values().forEach(event -> violations.accept(query + " devuelve " + event
+                + ", que no está en findAll"));
+    }
+
+    // ========== contended-updates ==========
+
+    private long contendedUpdates(int round, List<Long> venueIds, Violations violations) {
+        int operations = properties.getOperationsPerThread();
+        SplittableRandom seed = random(round, -1);
+        Map<Long, EventDTO> shared = new LinkedHashMap<>();
+        Map<Long, String> initial = new HashMap<>();
+        for (int i = 0; i < Math.max(properties.getSharedEvents(), 1); i++) {
+            EventDTO event = events.save(event("shared " + round + "-" + i, pick(venueIds, seed), randomDate(seed)));
+            shared.put(event.getId(), event);
+            initial.put(event.getId(), event.getName());
+        }
+        List<Long> keys = List.copyOf(shared.keySet());
+        List<List<Operation>> writes = perThread();
+        List<List<Operation>> reads = perThread();
+        Concurrently.run("stress-contended", threads, thread -> {
+            SplittableRandom random = random(round, thread);
+            for (int i = 0; i < operations; i++) {
+                EventDTO base = shared.get(pick(keys, random));
+                long start = System.nanoTime();
+                if (random.nextBoolean()) {
+                    String value = "c" + round + "-" + thread + "-" + i;
+                    events.save(new EventDTO(base.getId(), value, base.getVenueId(), base.getDate(),
+                            base.getEndDate()));
+                    writes.get(thread).add(new Operation(thread, start, System.nanoTime(), base.getId(), value));
+                } else {
+                    String value = events.findById(base.getId()).map(EventDTO::getName).orElse(null);
+                    reads.get(thread).add(new Operation(thread, start, System.nanoTime(), base.getId(), value));
+                }
+            }
+        });
+        Map<Long, String> current = new HashMap<>();
+        for (Long key : keys) {
+            current.put(key, events.findById(key).map(EventDTO::getName).orElse(null));
+        }
+        HistoryChecks.registersAreLinearizable(flatten(writes), flatten(reads), initial, current, violations);
+        keys.forEach(events::deleteById);
+        return (long) operations * threads;
+    }
+
+    // ========== cascade-delete ==========
+
+    private long cascadeDelete(int round, Violations violations) {
+        SplittableRandom seed = random(round, -1);
+        int venueCount = Math.max(threads * 2, 4);
+        List<Long> doomed = new ArrayList<>(venueCount);
+        for (int i = 0; i < venueCount; i++) {
+            Long venueId = venues.save(new VenueDTO(null, "cascade " + round + "-" + i, null, "Stress", 10)).getId();
+            doomed.add(venueId);
+            for (int e = 0; e < properties.getEventsPerCascadeVenue(); e++) {
+                events.save(event("cascade " + i + "-" + e, venueId, randomDate(seed)));
+            }
+        }
+        List<Long> deleteOrder = new ArrayList<>(doomed);
+        for (int i = deleteOrder.size() - 1; i > 0; i--) {
+            int j = seed.nextInt(i + 1);
+            deleteOrder.set(i, deleteOrder.set(j, deleteOrder.get(i)));
+        }
+
+        int creators = Math.max(1, (threads - 1) / 2);
+        Map<Long, Operation> deletes = new ConcurrentHashMap<>();
+        Map<Long, Operation> creates = new ConcurrentHashMap<>();
+        AtomicBoolean deleting = new AtomicBoolean(true);
+        LongAdder operations = new LongAdder();
+        LongAdder attempts = new LongAdder();
+        Concurrently.run("stress-cascade", threads, thread -> {
+            SplittableRandom random = random(round, thread);
+            if (thread == 0) {
+                try {
+                    for (int i = 0; i < deleteOrder.size(); i++) {
+                        // Cada borrado espera a que los demás hilos avancen: se intercalan de verdad
+                        while (attempts.sum() < (long) i * CASCADE_OPERATIONS_PER_DELETE) {
+                            Thread.yield();
+                        }
+                        Long venueId = deleteOrder.get(i);
+                        long start = System.nanoTime();
+                        if (!venues.deleteById(venueId)) {
+                            violations.accept("deleteById(" + venueId + ") devolvió false para un venue existente");
+                        }
+                        deletes.put(venueId, new Operation(thread, start, System.nanoTime(), venueId, null));
+                        operations.increment();
+                    }
+                } finally {
+                    deleting.set(false);
+                }
+            } else if (thread <= creators) {
+                for (int i = 0; deleting.get(); i++) {
+                    Long venueId = pick(doomed, random);
+                    long start = System.nanoTime();
+                    try {
+                        EventDTO event = events.save(event("late " + thread + "-" + i, venueId, randomDate(random)));
+                        creates.put(event.getId(),
+                                new Operation(thread, start, System.nanoTime(), event.getId(), venueId.toString()));
+                    } catch (RuntimeException e) {
+                        // Rechazado por no existir ya el venue (FK): es lo correcto
+                    }
+                    operations.increment();
+                    attempts.increment();
+                }
+            } else {
+                while (deleting.get()) {
+                    Long venueId = pick(doomed, random);
+                    for (EventDTO event : events.findByVenueId(venueId)) {
+                        if (!venueId.equals(event.getVenueId())) {
+                            violations.accept("findByVenueId(" + venueId + ") devuelve " + event);
+                        }
+                    }
+                    operations.increment();
+                    attempts.increment();
+                }
+            }
+        });
+
+        Set<Long> doomedIds = new HashSet<>(doomed);
+        List<EventDTO> leftovers = events.findAll().stream()
+                .filter(event -> doomedIds.contains(event.getVenueId()))
+                .toList();
+        for (EventDTO event : leftovers) {
+            Operation delete = deletes.get(event.getVenueId());
+            Operation create = creates.get(event.getId());
+            if (create == null || create.end() < delete.start()) {
+                violations.accept("evento " + event.getId() + " del venue " + event.getVenueId()
+                        + " no se borró en cascada");
+            } else if (create.start() > delete.end()) {
+                violations.accept("evento " + event.getId() + " creado después de borrar el venue "
+                        + event.getVenueId() + " (huérfano: no se comprueba que el venue exista)");
+            } else {
+                violations.accept("evento " + event.getId() + " creado a la vez que se borraba el venue "
+                        + event.getVenueId() + " y sobrevive al borrado (huérfano)");
+            }
+        }
+        for (Long venueId : doomed) {
+            if (venues.findById(venueId).isPresent()) {
+                violations.accept("venue " + venueId + " borrado pero findById lo devuelve");
+            }
+            long byVenue = events.findByVenueId(venueId).size();
+            long inAll = leftovers.stream().filter(event -> Objects.equals(event.getVenueId(), venueId)).count();
+            if (byVenue != inAll) {
+                violations.accept("findByVenueId(" + venueId + ") devuelve " + byVenue + " eventos y findAll "
+                        + inAll);
+            }
+        }
+        leftovers.forEach(event -> events.deleteById(event.getId()));
+        return operations.sum();
+    }
+
+    // ========== Utilidades ==========
+
+    private List<List<Operation>> perThread() {
+        List<List<Operation>> lists = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            lists.add(new ArrayList<>());
+        }
+        return lists;
+    }
+
+    private static List<Operation> flatten(List<List<Operation>> lists) {
+        return lists.stream().flatMap(List::stream).toList();
+    }
+
+    private SplittableRandom random(int round, int thread) {
+        return new SplittableRandom(properties.getRandomSeed() * 31 + round * 1009L + thread);
+    }
+
+    private static <T> T pick(List<T> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static LocalDate randomDate(SplittableRandom random) {
+        return FIRST_DATE.plusDays(random.nextInt(DATE_SPAN_DAYS));
+    }
+
+    private static EventDTO event(String name, Long venueId, LocalDate date) {
+        return new EventDTO(null, name, venueId, date, date.plusDays(1));
+    }
+}
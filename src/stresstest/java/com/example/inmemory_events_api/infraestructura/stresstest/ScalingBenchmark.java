@@ -0,0 +1,140 @@
+package com.example.inmemory_events_api.infraestructura.stresstest;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.model.VenueDTO;
+import com.example.inmemory_events_api.dominio.ports.out.EventRepositoryPort;
+import com.example.inmemory_events_api.dominio.ports.out.VenueRepositoryPort;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput de los puertos de almacenamiento con 1, 2, 4... hilos sobre
+ * el mismo catálogo sembrado, para ver cuánto escala con los núcleos.
+ *
+ * Mezcla: stresstest.scaling.read-percent lecturas (findById 60%, rango de
+ * una semana 25%, findByVenueId 15%) y el resto actualizaciones del nombre
+ * de un evento. Hilos en bucle cerrado (sin pausas): mide capacidad, no
+ * latencia bajo una carga dada (para eso está la prueba de carga).
+ */
+public class ScalingBenchmark {
+
+    /** Medición con un número de hilos; latencias en µs. */
+    public record ScalingResult(int threads, long operations, Duration duration, Histogram latencies) {
+
+        public double throughput() {
+            return operations / (duration.toNanos() / 1e9);
+        }
+    }
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final LocalDate FIRST_DATE = LocalDate.of(2032, 1, 1);
+    private static final int DATE_SPAN_DAYS = 365;
+    private static final int WEEK_DAYS = 7;
+
+    private final EventRepositoryPort events;
+    private final VenueRepositoryPort venues;
+    private final StressTestProperties properties;
+
+    public ScalingBenchmark(EventRepositoryPort events, VenueRepositoryPort venues, StressTestProperties properties) {
+        this.events = events;
+        this.venues = venues;
+        this.properties = properties;
+    }
+
+    public List<ScalingResult> run() {
+        StressTestProperties.Scaling scaling = properties.getScaling();
+        SplittableRandom seed = new SplittableRandom(properties.getRandomSeed());
+        List<Long> venueIds = new ArrayList<>();
+        for (int i = 0; i < Math.max(properties.getVenues(), 1); i++) {
+            venueIds.add(venues.save(new VenueDTO(null, "Scaling " + i, null, "Stress", 1000)).getId());
+        }
+        int eventCount = Math.max(scaling.getEvents(), 1);
+        List<EventDTO> catalog = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            LocalDate date = FIRST_DATE.plusDays(seed.nextInt(DATE_SPAN_DAYS));
+            catalog.add(events.save(new EventDTO(null, "Scaling " + i, venueIds.get(seed.nextInt(venueIds.size())),
+                    date, date.plusDays(1))));
+        }
+        try {
+            List<ScalingResult> results = new ArrayList<>();
+            for (int threads : threadCounts()) {
+                if (!scaling.getWarmup().isZero()) {
+                    measure(threads, scaling.getWarmup(), catalog, venueIds);
+                }
+                results.add(measure(threads, scaling.getDuration(), catalog, venueIds));
+            }
+            return results;
+        } finally {
+            catalog.forEach(event -> events.deleteById(event.getId()));
+            venueIds.forEach(venues::deleteById);
+        }
+    }
+
+    private List<Integer> threadCounts() {
+        if (!properties.getScaling().getThreads().isEmpty()) {
+            return properties.getScaling().getThreads();
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        List<Integer> counts = new ArrayList<>();
+        for (int threads = 1; threads < processors; threads *= 2) {
+            counts.add(threads);
+        }
+        counts.add(processors);
+        return counts;
+    }
+
+    private ScalingResult measure(int threads, Duration duration, List<EventDTO> catalog, List<Long> venueIds) {
+        int readPercent = properties.getScaling().getReadPercent();
+        Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        LongAdder operations = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[] window = new long[2];
+        Concurrently.run("scaling-" + threads, threads + 1, thread -> {
+            if (thread == threads) {
+                // Cronómetro: abre y cierra la ventana de medición
+                window[0] = System.nanoTime();
+                TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+                running.set(false);
+                window[1] = System.nanoTime();
+                return;
+            }
+            SplittableRandom random = new SplittableRandom(properties.getRandomSeed() + thread * 7919L);
+            long sequence = 0;
+            while (running.get()) {
+                long start = System.nanoTime();
+                operation(random, readPercent, catalog, venueIds, thread, sequence++);
+                recorder.recordValue(Math.min((System.nanoTime() - start) / 1_000, HIGHEST_TRACKABLE_MICROS));
+                operations.increment();
+            }
+        });
+        return new ScalingResult(threads, operations.sum(), Duration.ofNanos(window[1] - window[0]),
+                recorder.getIntervalHistogram());
+    }
+
+    private void operation(SplittableRandom random, int readPercent, List<EventDTO> catalog, List<Long> venueIds,
+            int thread, long sequence) {
+        EventDTO event = catalog.get(random.nextInt(catalog.size()));
+        if (random.nextInt(100) >= readPercent) {
+            events.save(new EventDTO(event.getId(), "Scaling " + thread + "-" + sequence, event.getVenueId(),
+                    event.getDate(), event.getEndDate()));
+            return;
+        }
+        int dice = random.nextInt(100);
+        if (dice < 60) {
+            events.findById(event.getId());
+        } else if (dice < 85) {
+            events.findByDateBetween(event.getDate(), event.getDate().plusDays(WEEK_DAYS));
+        } else {
+            events.findByVenueId(venueIds.get(random.nextInt(venueIds.size())));
+        }
+    }
+}
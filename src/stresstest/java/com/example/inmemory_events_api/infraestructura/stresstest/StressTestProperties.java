@@ -0,0 +1,71 @@
+package com.example.inmemory_events_api.infraestructura.stresstest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuración de la prueba de concurrencia de los puertos de
+ * almacenamiento (prefijo "stresstest", perfil Spring "stresstest";
+ * valores por defecto en application-stresstest.properties).
+ *
+ * Ejemplo:
+ *
+ * <pre>
+ * stresstest.threads=8
+ * stresstest.operations-per-thread=2000
+ * stresstest.scaling.threads=1,2,4,8
+ * </pre>
+ */
+@Data
+@ConfigurationProperties(prefix = "stresstest")
+public class StressTestProperties {
+
+    /** Etiqueta de la ejecución (p. ej. el commit), parte del nombre del directorio. */
+    private String label = "";
+
+    private String outputDir = "./target/stresstest";
+
+    private long randomSeed = 42;
+
+    /** Hilos de las comprobaciones de corrección (0 = procesadores disponibles). */
+    private int threads = 0;
+
+    /** Operaciones de cada hilo en cada comprobación. */
+    private int operationsPerThread = 2000;
+
+    /** Veces que se repite cada comprobación (intercalados distintos). */
+    private int rounds = 3;
+
+    /** Venues entre los que se reparten los eventos. */
+    private int venues = 16;
+
+    /** Eventos que actualizan todos los hilos a la vez (más pocos = más contención). */
+    private int sharedEvents = 16;
+
+    /** Eventos por venue antes de empezar a borrar venues. */
+    private int eventsPerCascadeVenue = 10;
+
+    /** Violaciones guardadas por comprobación (el resto solo se cuentan). */
+    private int maxReportedViolations = 50;
+
+    private Scaling scaling = new Scaling();
+
+    private boolean exitOnFinish = true;
+
+    @Data
+    public static class Scaling {
+        private boolean enabled = true;
+        /** Hilos de cada medición; vacío = 1, 2, 4... hasta los procesadores disponibles. */
+        private List<Integer> threads = new ArrayList<>();
+        /** Eventos sembrados para la medición. */
+        private int events = 10000;
+        private Duration warmup = Duration.ofSeconds(3);
+        private Duration duration = Duration.ofSeconds(10);
+        /** Porcentaje de lecturas de la mezcla (el resto son actualizaciones). */
+        private int readPercent = 80;
+    }
+}
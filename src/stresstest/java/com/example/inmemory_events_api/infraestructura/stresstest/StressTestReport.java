@@ -0,0 +1,119 @@
+package com.example.inmemory_events_api.infraestructura.stresstest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Informes de una ejecución de la prueba de concurrencia, en
+ * output-dir/&lt;fecha&gt;-&lt;storage.mode&gt;[-label]/:
+ *
+ * - checks.csv: una fila por comprobación y ronda con operaciones,
+ * duración y violaciones.
+ * - violations.txt: el texto de las primeras violaciones de cada una.
+ * - scaling.csv: throughput y latencias por número de hilos, con la
+ * aceleración y la eficiencia respecto a un hilo.
+ * - run.properties: configuración de la ejecución.
+ */
+public class StressTestReport {
+
+    private static final DateTimeFormatter DIRECTORY_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+
+    public StressTestReport(StressTestProperties properties, String storageMode) {
+        String name = LocalDateTime.now().format(DIRECTORY_FORMAT) + "-" + storageMode
+                + (properties.getLabel() == null || properties.getLabel().isBlank() ? ""
+                        : "-" + properties.getLabel().replaceAll("[^A-Za-z0-9._-]", "_"));
+        this.directory = Path.of(properties.getOutputDir()).resolve(name);
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public void write(StressTestProperties properties, String storageMode, int threads,
+            List<PortStressSuite.CheckResult> checks, List<ScalingBenchmark.ScalingResult> scaling)
+            throws IOException {
+        Files.createDirectories(directory);
+        try (PrintWriter run = writer("run.properties")) {
+            run.println("label=" + properties.getLabel());
+            run.println("storage.mode=" + storageMode);
+            run.println("java.version=" + System.getProperty("java.version"));
+            run.println("processors=" + Runtime.getRuntime().availableProcessors());
+            run.println("threads=" + threads);
+            run.println("operations-per-thread=" + properties.getOperationsPerThread());
+            run.println("rounds=" + properties.getRounds());
+            run.println("random-seed=" + properties.getRandomSeed());
+            run.println("scaling.read-percent=" + properties.getScaling().getReadPercent());
+            run.println("scaling.duration=" + properties.getScaling().getDuration());
+        }
+        try (PrintWriter csv = writer("checks.csv"); PrintWriter text = writer("violations.txt")) {
+            csv.println("check,round,operations,duration_ms,violations");
+            for (PortStressSuite.CheckResult check : checks) {
+                csv.println(check.name() + "," + check.round() + "," + check.operations() + ","
+                        + check.duration().toMillis() + "," + check.violationCount());
+                if (!check.passed()) {
+                    text.println("== " + check.name() + " (ronda " + check.round() + "): "
+                            + check.violationCount() + " violaciones");
+                    check.violations().forEach(text::println);
+                    text.println();
+                }
+            }
+        }
+        if (!scaling.isEmpty()) {
+            try (PrintWriter csv = writer("scaling.csv")) {
+                csv.println("threads,operations,throughput_ops_s,speedup,efficiency,p50_us,p99_us,p99_9_us,max_us");
+                double base = scaling.get(0).throughput() / scaling.get(0).threads();
+                for (ScalingBenchmark.ScalingResult result : scaling) {
+                    Histogram latencies = result.latencies();
+                    double speedup = result.throughput() / base;
+                    csv.println(result.threads() + "," + result.operations() + ","
+                            + format(result.throughput()) + "," + format(speedup) + ","
+                            + format(speedup / result.threads()) + "," + latencies.getValueAtPercentile(50) + ","
+                            + latencies.getValueAtPercentile(99) + "," + latencies.getValueAtPercentile(99.9) + ","
+                            + latencies.getMaxValue());
+                }
+            }
+        }
+    }
+
+    /** Tablas resumen para el log. */
+    public static String summary(List<PortStressSuite.CheckResult> checks,
+            List<ScalingBenchmark.ScalingResult> scaling) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%n%-20s %6s %12s %10s %12s%n",
+                "comprobación", "ronda", "operaciones", "ms", "violaciones"));
+        for (PortStressSuite.CheckResult check : checks) {
+            table.append(String.format(Locale.ROOT, "%-20s %6d %12d %10d %12d%n", check.name(), check.round(),
+                    check.operations(), check.duration().toMillis(), check.violationCount()));
+        }
+        if (!scaling.isEmpty()) {
+            double base = scaling.get(0).throughput() / scaling.get(0).threads();
+            table.append(String.format(Locale.ROOT, "%n%8s %14s %9s %10s %9s%n", "hilos", "ops/s", "speedup",
+                    "eficiencia", "p99 µs"));
+            for (ScalingBenchmark.ScalingResult result : scaling) {
+                double speedup = result.throughput() / base;
+                table.append(String.format(Locale.ROOT, "%8d %14.0f %9.2f %10.2f %9d%n", result.threads(),
+                        result.throughput(), speedup, speedup / result.threads(),
+                        result.latencies().getValueAtPercentile(99)));
+            }
+        }
+        return table.toString();
+    }
+
+    private PrintWriter writer(String file) throws IOException {
+        return new PrintWriter(Files.newBufferedWriter(directory.resolve(file), StandardCharsets.UTF_8));
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
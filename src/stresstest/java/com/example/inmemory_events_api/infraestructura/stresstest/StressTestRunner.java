@@ -0,0 +1,91 @@
+package com.example.inmemory_events_api.infraestructura.stresstest;
+
+import com.example.inmemory_events_api.dominio.ports.out.EventRepositoryPort;
+import com.example.inmemory_events_api.dominio.ports.out.VenueRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+
+import java.util.List;
+
+/**
+ * Ejecuta la prueba de concurrencia sobre los adaptadores de
+ * EventRepositoryPort y VenueRepositoryPort del storage.mode activo
+ * (memory o sharded; jpa no tiene adaptadores de puerto): primero las
+ * comprobaciones de corrección (PortStressSuite), después la medición de
+ * escalado (ScalingBenchmark), y escribe los informes (StressTestReport).
+ *
+ * Con stresstest.exit-on-finish cierra la aplicación con código 1 si hubo
+ * alguna violación, así se puede usar en CI.
+ */
+public class StressTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StressTestRunner.class);
+
+    private final StressTestProperties properties;
+    private final EventRepositoryPort events;
+    private final VenueRepositoryPort venues;
+    private final String storageMode;
+
+    public StressTestRunner(StressTestProperties properties, EventRepositoryPort events, VenueRepositoryPort venues,
+            String storageMode) {
+        this.properties = properties;
+        this.events = events;
+        this.venues = venues;
+        this.storageMode = storageMode;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        Thread thread = new Thread(() -> {
+            int exitCode;
+            try {
+                exitCode = run() ? 0 : 1;
+            } catch (Exception e) {
+                log.error("La prueba de concurrencia ha fallado", e);
+                exitCode = 1;
+            }
+            if (properties.isExitOnFinish()) {
+                int code = exitCode;
+                System.exit(SpringApplication.exit(context, () -> code));
+            }
+        }, "stresstest");
+        thread.start();
+    }
+
+    /**
+     * @return true si ninguna comprobación encontró violaciones
+     */
+    private boolean run() throws Exception {
+        if (events == null || venues == null) {
+            throw new IllegalStateException("storage.mode=" + storageMode
+                    + " no tiene adaptadores de EventRepositoryPort/VenueRepositoryPort (usar memory o sharded)");
+        }
+        PortStressSuite suite = new PortStressSuite(events, venues, properties);
+        log.info("Comprobaciones de concurrencia sobre storage.mode={} con {} hilos, {} rondas", storageMode,
+                suite.threads(), properties.getRounds());
+        List<PortStressSuite.CheckResult> checks = suite.run();
+        for (PortStressSuite.CheckResult check : checks) {
+            if (!check.passed()) {
+                log.warn("{} (ronda {}): {} violaciones, p. ej. {}", check.name(), check.round(),
+                        check.violationCount(), check.violations().get(0));
+            }
+        }
+        List<ScalingBenchmark.ScalingResult> scaling = List.of();
+        if (properties.getScaling().isEnabled()) {
+            log.info("Medición de escalado: {} por número de hilos", properties.getScaling().getDuration());
+            scaling = new ScalingBenchmark(events, venues, properties).run();
+        }
+        StressTestReport report = new StressTestReport(properties, storageMode);
+        report.write(properties, storageMode, suite.threads(), checks, scaling);
+        boolean passed = checks.stream().allMatch(PortStressSuite.CheckResult::passed);
+        log.info("Prueba de concurrencia terminada ({}). Informes en {}{}",
+                passed ? "sin violaciones" : "CON VIOLACIONES", report.directory().toAbsolutePath(),
+                StressTestReport.summary(checks, scaling));
+        return passed;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.inmemory_events_api.infraestructura.stresstest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Violaciones encontradas por una comprobación: se cuentan todas y se
+ * guarda el texto de las primeras. Se puede usar desde varios hilos.
+ */
+final class Violations implements Consumer<String> {
+
+    private final int maxReported;
+    private final List<String> reported = new ArrayList<>();
+    private long count;
+
+    Violations(int maxReported) {
+        this.maxReported = maxReported;
+    }
+
+    @Override
+    public synchronized void accept(String violation) {
+        count++;
+        if (reported.size() < maxReported) {
+            reported.add(violation);
+        }
+    }
+
+    synchronized long count() {
+        return count;
+    }
+
+    synchronized List<String> reported() {
+        return List.copyOf(reported);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.inmemory_events_api.aplicacion.archive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArchivePartitionMaintainerTest {
+
+    private static final List<String> V8 = List.of("p2022", "p2023", "p2024", "p2025", "p2026", "pmax");
+
+    @Test
+    void splitsPmaxForEachMissingYearInOrder() {
+        List<String> statements = ArchivePartitionMaintainer.missingPartitions(V8, 2028);
+
+        assertThat(statements).containsExactly(
+                "ALTER TABLE events_archive REORGANIZE PARTITION pmax INTO ("
+                        + "PARTITION p2027 VALUES LESS THAN ('2028-01-01'), PARTITION pmax VALUES LESS THAN (MAXVALUE))",
+                "ALTER TABLE events_archive REORGANIZE PARTITION pmax INTO ("
+                        + "PARTITION p2028 VALUES LESS THAN ('2029-01-01'), PARTITION pmax VALUES LESS THAN (MAXVALUE))");
+    }
+
+    @Test
+    void doesNothingWhenPartitionsAlreadyCoverTheYear() {
+        assertThat(ArchivePartitionMaintainer.missingPartitions(V8, 2026)).isEmpty();
+        assertThat(ArchivePartitionMaintainer.missingPartitions(V8, 2020)).isEmpty();
+    }
+
+    @Test
+    void doesNothingWithoutYearlyPartitions() {
+        assertThat(ArchivePartitionMaintainer.missingPartitions(List.of("pmax"), 2030)).isEmpty();
+    }
+}
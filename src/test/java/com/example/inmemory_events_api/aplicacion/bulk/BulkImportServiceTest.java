@@ -0,0 +1,141 @@
+package com.example.inmemory_events_api.aplicacion.bulk;
+
+import com.example.inmemory_events_api.aplicacion.changelog.ChangeLog;
+import com.example.inmemory_events_api.aplicacion.readmodel.EventReadModel;
+import com.example.inmemory_events_api.aplicacion.schedule.VenueScheduleIndex;
+import com.example.inmemory_events_api.dominio.model.ImportErrorDTO;
+import com.example.inmemory_events_api.dominio.model.ImportReportDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.VenueRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.VenueKeyView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkImportServiceTest {
+
+    private static final String HEADER = "name,startDate,endDate,venueId\n";
+
+    private JdbcTemplate jdbc;
+    private VenueScheduleIndex scheduleIndex;
+    private EventReadModel readModel;
+    private BulkImportService service;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE events (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(200) NOT NULL, "
+                + "description VARCHAR(1000) NOT NULL, date DATE NOT NULL, end_date DATE NULL, "
+                + "status VARCHAR(20) NOT NULL, category VARCHAR(100) NULL, venue_id BIGINT NOT NULL)");
+        jdbc.execute("CREATE TABLE change_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, entity_type VARCHAR(20), "
+                + "entity_id BIGINT, operation VARCHAR(20), venue_id BIGINT, origin VARCHAR(100), "
+                + "changed_at TIMESTAMP(6))");
+
+        VenueRepository venueRepository = mock(VenueRepository.class);
+        List<VenueKeyView> venues = List.of(venue(1L, "Sala A"), venue(2L, "Sala B"));
+        when(venueRepository.findAllKeys()).thenReturn(venues);
+        ChangeLog changeLog = mock(ChangeLog.class);
+        when(changeLog.nodeId()).thenReturn("test");
+        readModel = mock(EventReadModel.class);
+        scheduleIndex = new VenueScheduleIndex(mock(EventRepository.class), new SimpleMeterRegistry());
+
+        service = new BulkImportService(jdbc, new NamedParameterJdbcTemplate(jdbc),
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), venueRepository,
+                scheduleIndex, changeLog, readModel, 2, 100);
+    }
+
+    private static VenueKeyView venue(Long id, String name) {
+        VenueKeyView view = mock(VenueKeyView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getName()).thenReturn(name);
+        return view;
+    }
+
+    private ImportReportDTO importCsv(String rows) {
+        return service.importEvents(new CsvRowReader(
+                new ByteArrayInputStream((HEADER + rows).getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private int eventCount() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM events", Integer.class);
+    }
+
+    @Test
+    void rejectsRowOverlappingAnEarlierRowOfTheSameChunk() {
+        ImportReportDTO report = importCsv("""
+                A,2026-06-01,2026-06-03,1
+                B,2026-06-03,,1
+                C,2026-06-03,,2
+                """);
+
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getRejected()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getFromRow()).isEqualTo(2);
+            assertThat(error.getMessage()).contains("fila 1");
+        });
+        assertThat(eventCount()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsRowOverlappingAnExistingEvent() {
+        scheduleIndex.book(1L, 99L, LocalDate.of(2026, 6, 10), LocalDate.of(2026, 6, 12));
+
+        ImportReportDTO report = importCsv("""
+                A,2026-06-11,,1
+                B,2026-06-13,,1
+                """);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(ImportErrorDTO::getMessage)
+                .singleElement().asString().contains("evento 99");
+    }
+
+    @Test
+    void booksImportedRowsSoLaterChunksAndWritesSeeThem() {
+        ImportReportDTO report = importCsv("""
+                A,2026-06-01,,1
+                B,2026-06-02,,1
+                C,2026-06-01,,1
+                """);
+
+        // Bloques de 2: la fila 3 choca con la 1, ya reservada en el índice
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> assertThat(error.getFromRow()).isEqualTo(3));
+        assertThat(scheduleIndex.findConflict(1L, LocalDate.of(2026, 6, 2), null)).isPresent();
+    }
+
+    @Test
+    void failedChunkReleasesItsBookings() {
+        doThrow(new IllegalStateException("fallo")).when(readModel).eventsChanged(any());
+
+        ImportReportDTO report = importCsv("""
+                A,2026-06-01,,1
+                B,2026-06-02,,1
+                """);
+
+        assertThat(report.getImported()).isZero();
+        assertThat(report.getRejected()).isEqualTo(2);
+        assertThat(eventCount()).isZero();
+        assertThat(scheduleIndex.findConflict(1L, LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 2))).isEmpty();
+    }
+}
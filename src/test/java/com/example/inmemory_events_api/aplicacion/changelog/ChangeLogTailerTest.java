@@ -0,0 +1,258 @@
+package com.example.inmemory_events_api.aplicacion.changelog;
+
+import com.example.inmemory_events_api.aplicacion.usecase.EventService;
+import com.example.inmemory_events_api.aplicacion.usecase.VenueService;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.ChangeLogRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ChangeEntityType;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.ChangeOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Dos nodos (change-log y tailer propios, servicios simulados) sobre la
+ * misma base H2 con el esquema de las migraciones. Las escrituras hacen
+ * commit de verdad (sin la transacción del test) para que el otro nodo las
+ * vea, y los huecos se provocan con una conexión que inserta y aún no ha
+ * hecho commit.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changelog;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeLogTailerTest {
+
+    private static final Duration LONG_GAP_TIMEOUT = Duration.ofMinutes(1);
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Connection> openConnections = new ArrayList<>();
+
+    private ChangeLog nodeA;
+    private ChangeLog nodeB;
+    private EventService eventsOnA;
+    private VenueService venuesOnA;
+    private EventService eventsOnB;
+    private VenueService venuesOnB;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM change_log");
+        jdbcTemplate.execute("ALTER TABLE change_log ALTER COLUMN id RESTART WITH 1");
+        nodeA = new ChangeLog(changeLogRepository, "node-a", Duration.ofHours(24));
+        nodeB = new ChangeLog(changeLogRepository, "node-b", Duration.ofHours(24));
+        eventsOnA = mock(EventService.class);
+        venuesOnA = mock(VenueService.class);
+        eventsOnB = mock(EventService.class);
+        venuesOnB = mock(VenueService.class);
+    }
+
+    @AfterEach
+    void closeConnections() throws Exception {
+        for (Connection connection : openConnections) {
+            connection.rollback();
+            connection.close();
+        }
+    }
+
+    @Test
+    void eachNodeAppliesOnlyTheChangesOfTheOther() {
+        ChangeLogTailer tailerA = tailer(nodeA, eventsOnA, venuesOnA, 500, LONG_GAP_TIMEOUT);
+        ChangeLogTailer tailerB = tailer(nodeB, eventsOnB, venuesOnB, 500, LONG_GAP_TIMEOUT);
+
+        record(nodeA, ChangeEntityType.EVENT, 1L, ChangeOperation.UPSERT, 10L);
+        record(nodeA, ChangeEntityType.VENUE, 10L, ChangeOperation.UPSERT, null);
+        record(nodeB, ChangeEntityType.EVENT, 2L, ChangeOperation.DELETE, 20L);
+        tailerA.poll();
+        tailerB.poll();
+
+        verify(eventsOnB).applyRemoteChange(1L, ChangeOperation.UPSERT, 10L);
+        verify(venuesOnB).applyRemoteChange(10L, ChangeOperation.UPSERT);
+        verify(eventsOnB, never()).applyRemoteChange(2L, ChangeOperation.DELETE, 20L);
+        verify(eventsOnA).applyRemoteChange(2L, ChangeOperation.DELETE, 20L);
+        verify(eventsOnA, never()).applyRemoteChange(1L, ChangeOperation.UPSERT, 10L);
+        verifyNoInteractions(venuesOnA);
+
+        // Un segundo sondeo sin cambios nuevos no vuelve a aplicar nada
+        tailerA.poll();
+        tailerB.poll();
+        verify(eventsOnB).applyRemoteChange(anyLong(), any(), any());
+        verify(eventsOnA).applyRemoteChange(anyLong(), any(), any());
+    }
+
+    @Test
+    void readsEveryPageInIdOrder() {
+        ChangeLogTailer tailerB = tailer(nodeB, eventsOnB, venuesOnB, 2, LONG_GAP_TIMEOUT);
+        for (long id = 1; id <= 5; id++) {
+            record(nodeA, ChangeEntityType.EVENT, id, ChangeOperation.UPSERT, 10L);
+        }
+
+        // Cinco cambios con páginas de dos: un solo sondeo los lee todos
+        tailerB.poll();
+
+        InOrder order = inOrder(eventsOnB);
+        for (long id = 1; id <= 5; id++) {
+            order.verify(eventsOnB).applyRemoteChange(id, ChangeOperation.UPSERT, 10L);
+        }
+        tailerB.poll();
+        verify(eventsOnB, times(5)).applyRemoteChange(anyLong(), any(), any());
+    }
+
+    @Test
+    void aGapIsRetriedUntilItsTransactionCommits() throws Exception {
+        ChangeLogTailer tailerB = tailer(nodeB, eventsOnB, venuesOnB, 500, LONG_GAP_TIMEOUT);
+        // Transacción lenta de A: recibe el id 1 pero aún no ha hecho commit
+        Connection slow = insertWithoutCommit("node-a", 1L);
+        record(nodeA, ChangeEntityType.EVENT, 2L, ChangeOperation.UPSERT, 10L);
+
+        tailerB.poll();
+        verify(eventsOnB).applyRemoteChange(2L, ChangeOperation.UPSERT, 10L);
+        verify(eventsOnB, never()).applyRemoteChange(1L, ChangeOperation.UPSERT, 10L);
+
+        // Sigue sin commit: el hueco se mantiene y no se aplica
+        tailerB.poll();
+        verify(eventsOnB, never()).applyRemoteChange(1L, ChangeOperation.UPSERT, 10L);
+
+        slow.commit();
+        tailerB.poll();
+        verify(eventsOnB).applyRemoteChange(1L, ChangeOperation.UPSERT, 10L);
+
+        // Aplicado una sola vez, y el cambio 2 tampoco se repite
+        tailerB.poll();
+        verify(eventsOnB).applyRemoteChange(1L, ChangeOperation.UPSERT, 10L);
+        verify(eventsOnB).applyRemoteChange(2L, ChangeOperation.UPSERT, 10L);
+    }
+
+    @Test
+    void aGapOfOwnOriginIsDroppedWithoutApplying() throws Exception {
+        ChangeLogTailer tailerA = tailer(nodeA, eventsOnA, venuesOnA, 500, LONG_GAP_TIMEOUT);
+        Connection slow = insertWithoutCommit("node-a", 1L);
+        record(nodeB, ChangeEntityType.EVENT, 2L, ChangeOperation.UPSERT, 10L);
+
+        tailerA.poll();
+        slow.commit();
+        tailerA.poll();
+
+        verify(eventsOnA).applyRemoteChange(2L, ChangeOperation.UPSERT, 10L);
+        verify(eventsOnA, never()).applyRemoteChange(1L, ChangeOperation.UPSERT, 10L);
+    }
+
+    @Test
+    void theCursorKeepsAdvancingAfterAGapExpires() throws Exception {
+        Duration gapTimeout = Duration.ofMillis(200);
+        ChangeLogTailer tailerB = tailer(nodeB, eventsOnB, venuesOnB, 500, gapTimeout);
+        Connection rolledBack = insertWithoutCommit("node-a", 1L);
+        record(nodeA, ChangeEntityType.EVENT, 2L, ChangeOperation.UPSERT, 10L);
+
+        tailerB.poll();
+        verify(eventsOnB).applyRemoteChange(2L, ChangeOperation.UPSERT, 10L);
+
+        // Pasado gap-timeout el hueco se da por descartado
+        Thread.sleep(gapTimeout.toMillis() + 100);
+        tailerB.poll();
+        rolledBack.rollback();
+
+        // El cursor no retrocede: los cambios nuevos se aplican una vez y
+        // los ya aplicados no se repiten
+        record(nodeA, ChangeEntityType.EVENT, 3L, ChangeOperation.UPSERT, 10L);
+        record(nodeA, ChangeEntityType.VENUE, 10L, ChangeOperation.DELETE, null);
+        tailerB.poll();
+        tailerB.poll();
+
+        verify(eventsOnB).applyRemoteChange(2L, ChangeOperation.UPSERT, 10L);
+        verify(eventsOnB).applyRemoteChange(3L, ChangeOperation.UPSERT, 10L);
+        verify(venuesOnB).applyRemoteChange(10L, ChangeOperation.DELETE);
+        verify(eventsOnB, never()).applyRemoteChange(1L, ChangeOperation.UPSERT, 10L);
+    }
+
+    @Test
+    void aGapThatCommitsAfterExpiringIsNotApplied() throws Exception {
+        Duration gapTimeout = Duration.ofMillis(200);
+        ChangeLogTailer tailerB = tailer(nodeB, eventsOnB, venuesOnB, 500, gapTimeout);
+        Connection tooSlow = insertWithoutCommit("node-a", 1L);
+        record(nodeA, ChangeEntityType.EVENT, 2L, ChangeOperation.UPSERT, 10L);
+
+        tailerB.poll();
+        Thread.sleep(gapTimeout.toMillis() + 100);
+        tailerB.poll();
+        // Viola el contrato (transacción más larga que gap-timeout): se pierde
+        tooSlow.commit();
+        tailerB.poll();
+
+        verify(eventsOnB, never()).applyRemoteChange(1L, ChangeOperation.UPSERT, 10L);
+        verify(eventsOnB).applyRemoteChange(2L, ChangeOperation.UPSERT, 10L);
+    }
+
+    private ChangeLogTailer tailer(ChangeLog node, EventService events, VenueService venues, int pageSize,
+            Duration gapTimeout) {
+        ChangeLogTailer tailer = new ChangeLogTailer(changeLogRepository, node, events, venues, pageSize,
+                gapTimeout);
+        tailer.start();
+        return tailer;
+    }
+
+    /** Escritura de un nodo con su propia transacción (como EventService). */
+    private void record(ChangeLog node, ChangeEntityType type, Long entityId, ChangeOperation operation,
+            Long venueId) {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> node.record(type, entityId, operation, venueId));
+    }
+
+    /** Inserta el cambio de un evento en una transacción que queda abierta. */
+    private Connection insertWithoutCommit(String origin, long eventId) throws Exception {
+        Connection connection = dataSource.getConnection();
+        openConnections.add(connection);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO change_log (entity_type, entity_id, operation, venue_id, origin, changed_at) "
+                        + "VALUES ('EVENT', ?, 'UPSERT', 10, ?, ?)")) {
+            insert.setLong(1, eventId);
+            insert.setString(2, origin);
+            insert.setTimestamp(3, Timestamp.from(Instant.now()));
+            insert.executeUpdate();
+        }
+        return connection;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.inmemory_events_api.aplicacion.coalescing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    @Test
+    void concurrentCallersForTheSameKeyShareOneLoad() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(0, 100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Integer>> results = runConcurrently(() -> flight.execute("k", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return 42;
+        }), release);
+
+        for (Future<Integer> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void leaderFailureIsPropagatedToEveryWaiterAndNotCached() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(TimeUnit.MINUTES.toNanos(1), 100);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Integer>> results = runConcurrently(() -> flight.execute("k", () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw new IllegalStateException("boom");
+        }), release);
+
+        for (Future<Integer> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("boom");
+        }
+        assertThat(loads).hasValue(1);
+        // El error no queda cacheado aunque haya TTL: la siguiente llamada recarga
+        assertThat(flight.execute("k", () -> 7)).isEqualTo(7);
+    }
+
+    @Test
+    void resultIsReusedWithinTheTtl() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(TimeUnit.MINUTES.toNanos(1), 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.execute("k", loads::incrementAndGet);
+        int second = flight.execute("k", loads::incrementAndGet);
+
+        assertThat(second).isEqualTo(1);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void withoutTtlOnlyTheInFlightCallIsShared() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(0, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.execute("k", loads::incrementAndGet);
+        flight.execute("k", loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateForcesANewLoad() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(TimeUnit.MINUTES.toNanos(1), 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.execute("k", loads::incrementAndGet);
+        flight.invalidate("k");
+        flight.execute("k", loads::incrementAndGet);
+        flight.invalidateAll();
+        flight.execute("k", loads::incrementAndGet);
+
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void differentKeysLoadIndependently() {
+        SingleFlight<String, String> flight = new SingleFlight<>(TimeUnit.MINUTES.toNanos(1), 100);
+
+        assertThat(flight.execute("a", () -> "A")).isEqualTo("A");
+        assertThat(flight.execute("b", () -> "B")).isEqualTo("B");
+    }
+
+    /**
+     * Lanza CALLERS llamadas a la vez y abre release cuando todas están
+     * dentro de execute (el líder bloqueado en el loader, el resto esperando).
+     */
+    private static <T> List<Future<T>> runConcurrently(Callable<T> call, CountDownLatch release)
+            throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        CountDownLatch started = new CountDownLatch(CALLERS);
+        List<Future<T>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> {
+                started.countDown();
+                return call.call();
+            }));
+        }
+        started.await(5, TimeUnit.SECONDS);
+        // Margen para que los seguidores lleguen a la llamada en vuelo
+        Thread.sleep(100);
+        release.countDown();
+        executor.shutdown();
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
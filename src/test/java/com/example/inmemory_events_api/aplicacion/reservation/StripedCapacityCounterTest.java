@@ -0,0 +1,102 @@
+package com.example.inmemory_events_api.aplicacion.reservation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedCapacityCounterTest {
+
+    @Test
+    void capacityIsSpreadAcrossStripes() {
+        StripedCapacityCounter counter = new StripedCapacityCounter(10, 4);
+
+        assertThat(counter.available()).isEqualTo(10);
+    }
+
+    @Test
+    void acquireGathersSeatsFromSeveralStripesWhenNoneHasEnough() {
+        // 4 franjas de 2-3 asientos: 9 solo cabe juntando varias
+        StripedCapacityCounter counter = new StripedCapacityCounter(10, 4);
+
+        assertThat(counter.tryAcquire(9)).isTrue();
+        assertThat(counter.available()).isEqualTo(1);
+    }
+
+    @Test
+    void failedAcquireLeavesTheBalanceUntouched() {
+        StripedCapacityCounter counter = new StripedCapacityCounter(10, 4);
+
+        assertThat(counter.tryAcquire(11)).isFalse();
+        assertThat(counter.available()).isEqualTo(10);
+    }
+
+    @Test
+    void releaseAndDrain() {
+        StripedCapacityCounter counter = new StripedCapacityCounter(0, 4);
+        counter.release(7);
+
+        assertThat(counter.tryAcquire(3)).isTrue();
+        assertThat(counter.drain()).isEqualTo(4);
+        assertThat(counter.available()).isZero();
+        assertThat(counter.tryAcquire(1)).isFalse();
+    }
+
+    @Test
+    void neverSellsMoreThanTheCapacityUnderContention() throws Exception {
+        long capacity = 10_000;
+        StripedCapacityCounter counter = new StripedCapacityCounter(capacity, 4);
+        int threads = 8;
+        AtomicLong sold = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int quantity = t % 3 + 1;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 10_000; i++) {
+                    if (counter.tryAcquire(quantity)) {
+                        sold.addAndGet(quantity);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(sold.get() + counter.available()).isEqualTo(capacity);
+        assertThat(sold.get()).isLessThanOrEqualTo(capacity);
+        // Con 8 hilos pidiendo 1-3 asientos, el resto que queda nunca llega a 3
+        assertThat(counter.available()).isLessThan(3);
+    }
+
+    @Test
+    void concurrentReleasesAndDrainsConserveSeats() throws Exception {
+        StripedCapacityCounter counter = new StripedCapacityCounter(0, 4);
+        AtomicLong drained = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 3; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.release(1);
+                }
+            });
+        }
+        executor.submit(() -> {
+            for (int i = 0; i < 1_000; i++) {
+                drained.addAndGet(counter.drain());
+            }
+        });
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(drained.get() + counter.available()).isEqualTo(30_000);
+    }
+}
@@ -0,0 +1,247 @@
+package com.example.inmemory_events_api.aplicacion.resilience;
+
+import com.example.inmemory_events_api.aplicacion.coalescing.SingleFlight;
+import com.example.inmemory_events_api.aplicacion.resilience.DatabaseCircuitBreaker.State;
+import com.example.inmemory_events_api.dominio.exception.StorageUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatabaseCircuitBreakerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void opensWhenTheFailureRateIsReachedAndThenRejectsWithoutCalling() {
+        DatabaseCircuitBreaker breaker = breaker(Duration.ofMinutes(1), 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        succeed(breaker);
+        succeed(breaker);
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        fail(breaker);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(breaker.isCallPermitted()).isFalse();
+        assertThatThrownBy(() -> breaker.execute(calls::incrementAndGet))
+                .isInstanceOf(StorageUnavailableException.class)
+                .satisfies(e -> assertThat(((StorageUnavailableException) e).getRetryAfterSeconds())
+                        .isBetween(1L, 60L));
+        assertThat(calls).hasValue(0);
+        assertThat(meterRegistry.get("db.circuit.opened").tag("read", "test").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.circuit.rejected").tag("read", "test").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.circuit.state").tag("read", "test").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void errorsOfAHealthyDatabaseDoNotCount() {
+        DatabaseCircuitBreaker breaker = breaker(Duration.ofMinutes(1), 2);
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> breaker.execute(() -> {
+                throw new IllegalArgumentException("no encontrado");
+            })).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void slowCallsCountAsFailures() {
+        // Umbral 0: toda llamada es lenta
+        DatabaseCircuitBreaker breaker = new DatabaseCircuitBreaker("test", true, 4, 4, 0.5, Duration.ZERO,
+                Duration.ofMinutes(1), 2, meterRegistry);
+
+        for (int i = 0; i < 4; i++) {
+            succeed(breaker);
+        }
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void halfOpenClosesAfterEveryProbeSucceeds() {
+        DatabaseCircuitBreaker breaker = openBreaker(Duration.ZERO, 2);
+        assertThat(breaker.isCallPermitted()).isTrue();
+
+        succeed(breaker);
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+        succeed(breaker);
+
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        // La ventana empieza de cero: un fallo suelto no vuelve a abrir
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void aFailedProbeOpensAgain() {
+        DatabaseCircuitBreaker breaker = openBreaker(Duration.ZERO, 2);
+
+        succeed(breaker);
+        fail(breaker);
+
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        assertThat(meterRegistry.get("db.circuit.opened").tag("read", "test").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void halfOpenLetsThroughOnlyTheConfiguredProbes() throws Exception {
+        DatabaseCircuitBreaker breaker = openBreaker(Duration.ZERO, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Integer> probe = executor.submit(() -> breaker.execute(() -> blockUntil(started, release)));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> breaker.execute(() -> 1)).isInstanceOf(StorageUnavailableException.class);
+        release.countDown();
+        assertThat(probe.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void aLateProbeFromAnEarlierHalfOpenIsIgnored() throws Exception {
+        DatabaseCircuitBreaker breaker = openBreaker(Duration.ZERO, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Prueba del primer HALF_OPEN que se queda colgada
+        Future<Integer> late = executor.submit(() -> breaker.execute(() -> blockUntil(started, release)));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        // La otra prueba falla: OPEN, y la siguiente llamada abre otro HALF_OPEN
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        succeed(breaker);
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+
+        release.countDown();
+        assertThat(late.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+
+        // Su éxito no cuenta como segunda prueba del HALF_OPEN actual
+        assertThat(breaker.state()).isEqualTo(State.HALF_OPEN);
+        succeed(breaker);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void aLateCallFromBeforeTheCircuitOpenedDoesNotCountInTheNextWindow() throws Exception {
+        DatabaseCircuitBreaker breaker = breaker(Duration.ZERO, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Void> late = CompletableFuture.runAsync(() -> assertThatThrownBy(
+                () -> breaker.execute(() -> {
+                    blockUntil(started, release);
+                    throw new QueryTimeoutException("timeout");
+                })).isInstanceOf(QueryTimeoutException.class), executor);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        succeed(breaker);
+        succeed(breaker);
+        fail(breaker);
+        fail(breaker);
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        succeed(breaker);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        fail(breaker);
+
+        release.countDown();
+        late.get(5, TimeUnit.SECONDS);
+
+        // Con el fallo tardío serían 2 de 2 en la ventana nueva (sin llegar al
+        // mínimo de 4), pero tras otros dos éxitos habría 2 de 4 y se abriría
+        succeed(breaker);
+        succeed(breaker);
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    void disabledBreakerNeverOpens() {
+        DatabaseCircuitBreaker breaker = new DatabaseCircuitBreaker("test", false, 4, 4, 0.5, Duration.ofSeconds(2),
+                Duration.ofMinutes(1), 2, meterRegistry);
+
+        for (int i = 0; i < 10; i++) {
+            fail(breaker);
+        }
+
+        assertThat(breaker.state()).isEqualTo(State.CLOSED);
+        assertThat(breaker.isCallPermitted()).isTrue();
+    }
+
+    @Test
+    void eachReadHasItsOwnBreaker() {
+        ResilientReads reads = new ResilientReads(true, 4, 4, 0.5, Duration.ofSeconds(2), Duration.ofMinutes(1), 2,
+                Duration.ZERO, 0.8, Duration.ofMinutes(10), 100, 10, meterRegistry);
+        LastKnownGoodCache<Long, String> failing = reads.cache("events.all", new SingleFlight<>(0, 100), key -> {
+            throw new QueryTimeoutException("timeout");
+        });
+        LastKnownGoodCache<Long, String> healthy = reads.cache("events.by-id", new SingleFlight<>(0, 100),
+                key -> "evento " + key);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> failing.get(1L)).isInstanceOf(QueryTimeoutException.class);
+        }
+
+        assertThatThrownBy(() -> failing.get(1L)).isInstanceOf(StorageUnavailableException.class);
+        assertThat(healthy.get(1L)).isEqualTo("evento 1");
+        assertThat(meterRegistry.get("db.circuit.state").tag("read", "events.all").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("db.circuit.state").tag("read", "events.by-id").gauge().value()).isEqualTo(0);
+    }
+
+    /** Ventana de 4 llamadas, se abre con la mitad fallidas. */
+    private DatabaseCircuitBreaker breaker(Duration openDuration, int halfOpenCalls) {
+        return new DatabaseCircuitBreaker("test", true, 4, 4, 0.5, Duration.ofSeconds(2), openDuration,
+                halfOpenCalls, meterRegistry);
+    }
+
+    private DatabaseCircuitBreaker openBreaker(Duration openDuration, int halfOpenCalls) {
+        DatabaseCircuitBreaker breaker = breaker(openDuration, halfOpenCalls);
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        assertThat(breaker.state()).isEqualTo(State.OPEN);
+        return breaker;
+    }
+
+    private static void succeed(DatabaseCircuitBreaker breaker) {
+        assertThat(breaker.execute(() -> 1)).isEqualTo(1);
+    }
+
+    private static void fail(DatabaseCircuitBreaker breaker) {
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw new QueryTimeoutException("timeout");
+        })).isInstanceOf(QueryTimeoutException.class);
+    }
+
+    private static int blockUntil(CountDownLatch started, CountDownLatch release) {
+        started.countDown();
+        try {
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return 1;
+    }
+}
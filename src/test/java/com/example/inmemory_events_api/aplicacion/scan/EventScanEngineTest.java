@@ -0,0 +1,113 @@
+package com.example.inmemory_events_api.aplicacion.scan;
+
+import com.example.inmemory_events_api.dominio.model.EventStatsDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventStatus;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.projection.EventColumnView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventScanEngineTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 6, 1);
+
+    private final List<EventColumnView> rows = new ArrayList<>();
+    private EventScanEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        EventRepository eventRepository = mock(EventRepository.class);
+        when(eventRepository.count()).thenAnswer(invocation -> (long) rows.size());
+        when(eventRepository.streamColumnViews()).thenAnswer(invocation -> new ArrayList<>(rows).stream());
+        engine = new EventScanEngine(eventRepository, mock(PlatformTransactionManager.class), true);
+
+        rows.add(row(1, DATE, EventStatus.ACTIVO, 10L, "Madrid"));
+        rows.add(row(2, DATE.plusDays(5), EventStatus.ACTIVO, 10L, "Madrid"));
+        rows.add(row(3, DATE.plusDays(10), EventStatus.CANCELADO, 20L, "Bilbao"));
+        rows.add(row(4, DATE.plusDays(20), EventStatus.ACTIVO, 20L, "Bilbao"));
+        rows.add(row(5, null, EventStatus.ACTIVO, 30L, "madrid "));
+        rows.add(row(6, DATE.plusDays(5), null, null, null));
+    }
+
+    @Test
+    void filtersByEachCriterion() {
+        assertThat(engine.count(ScanQuery.all())).isEqualTo(6);
+        // Sin fecha no entra en ningún rango, ni abierto
+        assertThat(engine.count(ScanQuery.all().dateBetween(DATE.plusDays(5), DATE.plusDays(10)))).isEqualTo(3);
+        assertThat(engine.count(ScanQuery.all().dateBetween(DATE.plusDays(6), null))).isEqualTo(2);
+        assertThat(engine.count(ScanQuery.all().dateBetween(null, DATE))).isEqualTo(1);
+        assertThat(engine.count(ScanQuery.all().hasStatus(EventStatus.CANCELADO.ordinal()))).isEqualTo(1);
+        assertThat(engine.count(ScanQuery.all().hasVenueId(20L))).isEqualTo(2);
+        assertThat(engine.count(ScanQuery.all().inCity(" MADRID"))).isEqualTo(3);
+        assertThat(engine.count(ScanQuery.all().inCity("Sevilla"))).isZero();
+    }
+
+    @Test
+    void combinesCriteriaAndGroupsByVenue() {
+        EventStatsDTO stats = engine.stats(ScanQuery.all()
+                .dateBetween(DATE, DATE.plusDays(30))
+                .hasStatus(EventStatus.ACTIVO.ordinal())
+                .inCity("madrid"));
+
+        assertThat(stats.getCount()).isEqualTo(2);
+        assertThat(stats.getCountByVenue()).isEqualTo(Map.of(10L, 2L));
+        assertThat(stats.getScannedRows()).isEqualTo(6);
+    }
+
+    @Test
+    void rebuildsTheProjectionOnlyAfterMarkStale() {
+        assertThat(engine.count(ScanQuery.all())).isEqualTo(6);
+        rows.add(row(7, DATE, EventStatus.ACTIVO, 40L, "Sevilla"));
+
+        // Sin escrituras marcadas, se sigue usando la proyección publicada
+        engine.refreshIfStale();
+        assertThat(engine.count(ScanQuery.all())).isEqualTo(6);
+        assertThat(engine.count(ScanQuery.all().inCity("Sevilla"))).isZero();
+
+        engine.markStale();
+        engine.refreshIfStale();
+
+        assertThat(engine.count(ScanQuery.all())).isEqualTo(7);
+        assertThat(engine.count(ScanQuery.all().inCity("sevilla"))).isEqualTo(1);
+        assertThat(engine.count(ScanQuery.all().hasVenueId(40L))).isEqualTo(1);
+    }
+
+    private static EventColumnView row(long id, LocalDate date, EventStatus status, Long venueId, String city) {
+        return new EventColumnView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDate getDate() {
+                return date;
+            }
+
+            @Override
+            public EventStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getVenueId() {
+                return venueId;
+            }
+
+            @Override
+            public String getCity() {
+                return city;
+            }
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.inmemory_events_api.aplicacion.scan;
+
+import jdk.incubator.vector.IntVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * El kernel SIMD y el escalar dan el mismo bitmap que una comparación fila
+ * a fila, también con longitudes que no son múltiplo del número de lanes
+ * ni de 64 (final de columna y última palabra del bitmap).
+ */
+class ScanKernelTest {
+
+    private static final int LANES = IntVector.SPECIES_PREFERRED.length();
+
+    private final ScanKernel scalar = new ScalarScanKernel();
+    private final ScanKernel vector = new VectorScanKernel();
+    private final Random random = new Random(7);
+
+    /** Longitudes de columna: vacías, menores que un vector, bordes de vector y de palabra. */
+    private static int[] sizes() {
+        return IntStream.of(0, 1, 3, LANES - 1, LANES, LANES + 1, 2 * LANES + 3, 63, 64, 65, 127, 128, 129,
+                200, 1000, 1031).filter(size -> size >= 0).distinct().toArray();
+    }
+
+    @Test
+    void vectorKernelIsAvailableInTests() {
+        assertThat(ScanKernels.select(true).name()).startsWith("vector");
+        assertThat(ScanKernels.select(false).name()).isEqualTo("scalar");
+    }
+
+    @Test
+    void intBetweenMatchesTheReference() {
+        for (int size : sizes()) {
+            for (int round = 0; round < 20; round++) {
+                int[] column = ints(size, 100);
+                int min = random.nextInt(100);
+                int max = min + random.nextInt(30);
+                long[] selection = randomSelection(size);
+                long[] expected = reference(selection, size, i -> column[i] >= min && column[i] <= max);
+
+                assertThat(run(selection, s -> scalar.andIntBetween(column, size, min, max, s)))
+                        .as("scalar, %d filas", size).isEqualTo(expected);
+                assertThat(run(selection, s -> vector.andIntBetween(column, size, min, max, s)))
+                        .as("vector, %d filas", size).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void intEqualsMatchesTheReference() {
+        for (int size : sizes()) {
+            for (int round = 0; round < 20; round++) {
+                int[] column = ints(size, 5);
+                int value = random.nextInt(5);
+                long[] selection = randomSelection(size);
+                long[] expected = reference(selection, size, i -> column[i] == value);
+
+                assertThat(run(selection, s -> scalar.andIntEquals(column, size, value, s)))
+                        .as("scalar, %d filas", size).isEqualTo(expected);
+                assertThat(run(selection, s -> vector.andIntEquals(column, size, value, s)))
+                        .as("vector, %d filas", size).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void byteEqualsMatchesTheReference() {
+        for (int size : sizes()) {
+            for (int round = 0; round < 20; round++) {
+                byte[] column = new byte[size];
+                for (int i = 0; i < size; i++) {
+                    column[i] = (byte) (random.nextInt(5) - 1);
+                }
+                byte value = (byte) (random.nextInt(5) - 1);
+                long[] selection = randomSelection(size);
+                long[] expected = reference(selection, size, i -> column[i] == value);
+
+                assertThat(run(selection, s -> scalar.andByteEquals(column, size, value, s)))
+                        .as("scalar, %d filas", size).isEqualTo(expected);
+                assertThat(run(selection, s -> vector.andByteEquals(column, size, value, s)))
+                        .as("vector, %d filas", size).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    void longEqualsMatchesTheReference() {
+        for (int size : sizes()) {
+            for (int round = 0; round < 20; round++) {
+                long[] column = new long[size];
+                for (int i = 0; i < size; i++) {
+                    column[i] = random.nextInt(4) == 0 ? EventColumns.NO_VENUE : 1_000_000_000_000L + random.nextInt(4);
+                }
+                long value = 1_000_000_000_000L + random.nextInt(4);
+                long[] selection = randomSelection(size);
+                long[] expected = reference(selection, size, i -> column[i] == value);
+
+                assertThat(run(selection, s -> scalar.andLongEquals(column, size, value, s)))
+                        .as("scalar, %d filas", size).isEqualTo(expected);
+                assertThat(run(selection, s -> vector.andLongEquals(column, size, value, s)))
+                        .as("vector, %d filas", size).isEqualTo(expected);
+            }
+        }
+    }
+
+    private int[] ints(int size, int bound) {
+        int[] column = new int[size];
+        for (int i = 0; i < size; i++) {
+            column[i] = random.nextInt(bound);
+        }
+        return column;
+    }
+
+    /**
+     * Bitmap de partida con bits al azar, incluidos los que quedan tras la
+     * última fila: los kernels no deben tocarlos.
+     */
+    private long[] randomSelection(int size) {
+        long[] selection = new long[(size + 63) >>> 6];
+        for (int i = 0; i < selection.length; i++) {
+            selection[i] = random.nextLong();
+        }
+        return selection;
+    }
+
+    private static long[] reference(long[] selection, int size, IntPredicate matches) {
+        long[] expected = selection.clone();
+        for (int i = 0; i < size; i++) {
+            if (!matches.test(i)) {
+                expected[i >>> 6] &= ~(1L << i);
+            }
+        }
+        return expected;
+    }
+
+    private static long[] run(long[] selection, Consumer<long[]> operation) {
+        long[] copy = Arrays.copyOf(selection, selection.length);
+        operation.accept(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.inmemory_events_api.aplicacion.schedule;
+
+import com.example.inmemory_events_api.aplicacion.schedule.IntervalTree.Interval;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    /** Altura máxima de un AVL con n nodos: ~1.44 log2(n + 2). */
+    private static double maxAvlHeight(int n) {
+        return 1.45 * (Math.log(n + 2) / Math.log(2));
+    }
+
+    @Test
+    void findsOverlapsInclusiveOnBothEnds() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(new Interval(1, 10, 12));
+
+        assertThat(tree.findAnyOverlap(12, 15, -1)).isNotNull();
+        assertThat(tree.findAnyOverlap(5, 10, -1)).isNotNull();
+        assertThat(tree.findAnyOverlap(13, 15, -1)).isNull();
+        assertThat(tree.findAnyOverlap(5, 9, -1)).isNull();
+    }
+
+    @Test
+    void excludedIdIsIgnored() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(new Interval(1, 10, 12));
+        tree.insert(new Interval(2, 20, 22));
+
+        assertThat(tree.findAnyOverlap(10, 12, 1)).isNull();
+        assertThat(tree.findAnyOverlap(10, 21, 1).getId()).isEqualTo(2);
+    }
+
+    @Test
+    void overlapsAreReturnedSortedByStart() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(new Interval(3, 30, 31));
+        tree.insert(new Interval(1, 10, 40));
+        tree.insert(new Interval(2, 20, 21));
+        tree.insert(new Interval(4, 50, 51));
+
+        assertThat(tree.findOverlaps(21, 35)).extracting(Interval::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void intervalsWithTheSameStartAreKeptApart() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(new Interval(1, 10, 10));
+        tree.insert(new Interval(2, 10, 11));
+
+        assertThat(tree.remove(new Interval(1, 10, 10))).isTrue();
+        assertThat(tree.findOverlaps(10, 10)).extracting(Interval::getId).containsExactly(2L);
+        assertThat(tree.remove(new Interval(1, 10, 10))).isFalse();
+    }
+
+    @Test
+    void ascendingAndDescendingInsertsStayBalanced() {
+        IntervalTree ascending = new IntervalTree();
+        IntervalTree descending = new IntervalTree();
+        int n = 10_000;
+        for (int i = 0; i < n; i++) {
+            ascending.insert(new Interval(i, i * 2L, i * 2L + 1));
+            descending.insert(new Interval(i, (n - i) * 2L, (n - i) * 2L + 1));
+        }
+
+        assertThat(ascending.height()).isLessThanOrEqualTo((int) maxAvlHeight(n));
+        assertThat(descending.height()).isLessThanOrEqualTo((int) maxAvlHeight(n));
+    }
+
+    @Test
+    void staysBalancedWhileRemoving() {
+        IntervalTree tree = new IntervalTree();
+        int n = 4_096;
+        for (int i = 0; i < n; i++) {
+            tree.insert(new Interval(i, i, i));
+        }
+        // Borrar la mitad izquierda fuerza rotaciones en la raíz
+        for (int i = 0; i < n / 2; i++) {
+            assertThat(tree.remove(new Interval(i, i, i))).isTrue();
+        }
+
+        assertThat(tree.size()).isEqualTo(n / 2);
+        assertThat(tree.height()).isLessThanOrEqualTo((int) maxAvlHeight(n / 2));
+        assertThat(tree.findOverlaps(0, n)).hasSize(n / 2);
+    }
+
+    @Test
+    void matchesABruteForceModelUnderRandomOperations() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<Interval> model = new ArrayList<>();
+        for (int op = 0; op < 20_000; op++) {
+            if (model.isEmpty() || random.nextInt(3) > 0) {
+                long start = random.nextInt(1_000);
+                Interval interval = new Interval(op, start, start + random.nextInt(30));
+                tree.insert(interval);
+                model.add(interval);
+            } else {
+                Interval removed = model.remove(random.nextInt(model.size()));
+                assertThat(tree.remove(removed)).isTrue();
+            }
+
+            if (op % 100 == 0) {
+                long from = random.nextInt(1_050);
+                long to = from + random.nextInt(40);
+                List<Long> expected = model.stream()
+                        .filter(i -> i.getStart() <= to && from <= i.getEnd())
+                        .sorted(Comparator.comparingLong(Interval::getStart).thenComparingLong(Interval::getId))
+                        .map(Interval::getId)
+                        .toList();
+                assertThat(tree.findOverlaps(from, to)).extracting(Interval::getId).isEqualTo(expected);
+                Interval any = tree.findAnyOverlap(from, to, -1);
+                assertThat(any == null).isEqualTo(expected.isEmpty());
+                assertThat(tree.size()).isEqualTo(model.size());
+                assertThat(tree.height()).isLessThanOrEqualTo((int) maxAvlHeight(model.size()) + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.inmemory_events_api.aplicacion.schedule;
+
+import com.example.inmemory_events_api.dominio.exception.ScheduleConflictException;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class VenueScheduleIndexTest {
+
+    private static final LocalDate JUNE_1 = LocalDate.of(2026, 6, 1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private VenueScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new VenueScheduleIndex(mock(EventRepository.class), meterRegistry);
+    }
+
+    private double replicationConflicts() {
+        return meterRegistry.counter("schedule.replication.conflicts").count();
+    }
+
+    @Test
+    void bookRejectsOverlapsInTheSameVenueOnly() {
+        index.book(1L, 10L, JUNE_1, JUNE_1.plusDays(2));
+
+        assertThatThrownBy(() -> index.book(1L, 11L, JUNE_1.plusDays(2), JUNE_1.plusDays(3)))
+                .isInstanceOf(ScheduleConflictException.class);
+        index.book(2L, 11L, JUNE_1.plusDays(2), JUNE_1.plusDays(3));
+        index.book(1L, 12L, JUNE_1.plusDays(3), null);
+    }
+
+    @Test
+    void findConflictDoesNotBook() {
+        index.book(1L, 10L, JUNE_1, JUNE_1.plusDays(2));
+
+        assertThat(index.findConflict(1L, JUNE_1.plusDays(1), null)).hasValueSatisfying(
+                conflict -> assertThat(conflict.getId()).isEqualTo(10L));
+        assertThat(index.findConflict(1L, JUNE_1.plusDays(3), JUNE_1.plusDays(4))).isEmpty();
+        assertThat(index.findConflict(2L, JUNE_1, null)).isEmpty();
+        index.book(1L, 11L, JUNE_1.plusDays(3), JUNE_1.plusDays(4));
+    }
+
+    @Test
+    void replicateAppliesConflictingBookingButCountsIt() {
+        index.book(1L, 10L, JUNE_1, JUNE_1.plusDays(2));
+
+        index.replicate(1L, 20L, JUNE_1.plusDays(1), JUNE_1.plusDays(1));
+
+        assertThat(replicationConflicts()).isEqualTo(1);
+        // La base de datos manda: la reserva replicada queda en el índice
+        assertThat(index.getAvailability(1L, JUNE_1, JUNE_1.plusDays(2)).getBookings())
+                .extracting("eventId").containsExactlyInAnyOrder(10L, 20L);
+    }
+
+    @Test
+    void replicatingAnEventOverItsOwnBookingIsNotAConflict() {
+        index.book(1L, 10L, JUNE_1, JUNE_1.plusDays(2));
+
+        index.replicate(1L, 10L, JUNE_1.plusDays(1), JUNE_1.plusDays(3));
+
+        assertThat(replicationConflicts()).isZero();
+        assertThat(index.findConflict(1L, JUNE_1, null)).isEmpty();
+        assertThat(index.findConflict(1L, JUNE_1.plusDays(3), null)).isPresent();
+    }
+
+    @Test
+    void restoreUndoesABooking() {
+        IntervalTree.Interval previous = index.book(1L, 10L, JUNE_1, null);
+        index.restore(1L, 10L, previous);
+
+        assertThat(index.findConflict(1L, JUNE_1, null)).isEmpty();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.inmemory_events_api.aplicacion.usecase;
+
+import com.example.inmemory_events_api.dominio.exception.CapacityExceededException;
+import com.example.inmemory_events_api.dominio.exception.ReservationStateException;
+import com.example.inmemory_events_api.dominio.model.ReservationDTO;
+import com.example.inmemory_events_api.dominio.ports.out.SeatAllocationPort;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventEntity;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.VenueEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReservationServiceTest {
+
+    private static final long EVENT_ID = 1L;
+    private static final long VENUE_ID = 10L;
+    private static final int CAPACITY = 1_000;
+
+    /** Tabla event_seat_allocations de un evento, compartida por las "instancias". */
+    private static final class SharedAllocation implements SeatAllocationPort {
+        final AtomicLong allocated = new AtomicLong();
+        volatile long capacity = CAPACITY;
+
+        @Override
+        public synchronized boolean tryLease(Long eventId, long seats) {
+            if (allocated.get() + seats > capacity) {
+                return false;
+            }
+            allocated.addAndGet(seats);
+            return true;
+        }
+
+        @Override
+        public synchronized void giveBack(Long eventId, long seats) {
+            allocated.addAndGet(-seats);
+        }
+
+        @Override
+        public long unallocated(Long eventId) {
+            return Math.max(0, capacity - allocated.get());
+        }
+    }
+
+    private SharedAllocation allocation;
+    private EventRepository eventRepository;
+    private List<ReservationDTO> persisted;
+
+    @BeforeEach
+    void setUp() {
+        allocation = new SharedAllocation();
+        eventRepository = mock(EventRepository.class);
+        VenueEntity venue = new VenueEntity();
+        venue.setId(VENUE_ID);
+        venue.setCapacity(CAPACITY);
+        EventEntity event = new EventEntity();
+        event.setId(EVENT_ID);
+        event.setVenue(venue);
+        when(eventRepository.findWithVenueById(EVENT_ID)).thenReturn(Optional.of(event));
+        persisted = new CopyOnWriteArrayList<>();
+    }
+
+    private ReservationService instance(Duration holdTtl) {
+        return new ReservationService(eventRepository, allocation, persisted::add, holdTtl, 4, 50,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    void severalInstancesTogetherNeverSellMoreThanTheCapacity() throws Exception {
+        List<ReservationService> instances = List.of(instance(Duration.ofMinutes(5)),
+                instance(Duration.ofMinutes(5)), instance(Duration.ofMinutes(5)));
+        AtomicLong sold = new AtomicLong();
+        int threads = 9;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            ReservationService service = instances.get(t % instances.size());
+            int quantity = t % 4 + 1;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 500; i++) {
+                    try {
+                        ReservationDTO hold = service.hold(EVENT_ID, quantity).orElseThrow();
+                        service.confirm(hold.getHoldId());
+                        sold.addAndGet(quantity);
+                    } catch (CapacityExceededException e) {
+                        // Agotado
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(sold.get()).isLessThanOrEqualTo(CAPACITY);
+        assertThat(persisted.stream().mapToLong(ReservationDTO::getQuantity).sum()).isEqualTo(sold.get());
+        instances.forEach(ReservationService::returnAllLeases);
+        // Tras devolver lo no vendido, lo cedido es exactamente lo vendido
+        assertThat(allocation.allocated.get()).isEqualTo(sold.get());
+    }
+
+    @Test
+    void holdUsesSeatsLeftOnAnotherInstanceOnlyAfterTheyAreGivenBack() {
+        allocation.capacity = 60;
+        ReservationService first = instance(Duration.ofMinutes(5));
+        ReservationService second = instance(Duration.ofMinutes(5));
+
+        first.hold(EVENT_ID, 1);
+        // first tiene cedido el bloque de 50: a second solo le quedan 10
+        assertThatThrownBy(() -> second.hold(EVENT_ID, 20)).isInstanceOf(CapacityExceededException.class);
+
+        first.returnAllLeases();
+        assertThat(second.hold(EVENT_ID, 20)).isPresent();
+    }
+
+    @Test
+    void acquireCombinesTheLocalRemainderWithANewLease() {
+        allocation.capacity = 55;
+        ReservationService service = instance(Duration.ofMinutes(5));
+
+        service.hold(EVENT_ID, 45);
+        // 5 en local + 5 sin ceder: caben 10 aunque no quepa un bloque entero
+        assertThat(service.hold(EVENT_ID, 10)).isPresent();
+        assertThat(allocation.allocated.get()).isEqualTo(55);
+    }
+
+    @Test
+    void releasedSeatsGoBackToTheSharedPool() {
+        ReservationService service = instance(Duration.ofMinutes(5));
+        ReservationDTO hold = service.hold(EVENT_ID, 5).orElseThrow();
+
+        assertThat(service.release(hold.getHoldId())).isTrue();
+        service.returnAllLeases();
+
+        assertThat(allocation.allocated.get()).isZero();
+    }
+
+    @Test
+    void expiredHoldsReturnTheirSeats() throws Exception {
+        ReservationService service = instance(Duration.ofMillis(1));
+        ReservationDTO hold = service.hold(EVENT_ID, 5).orElseThrow();
+        Thread.sleep(5);
+
+        service.expireHolds();
+        service.returnAllLeases();
+
+        assertThat(allocation.allocated.get()).isZero();
+        assertThat(service.confirm(hold.getHoldId())).isEmpty();
+    }
+
+    @Test
+    void availabilityCountsUnallocatedAndLocallyLeasedSeats() {
+        ReservationService service = instance(Duration.ofMinutes(5));
+
+        service.hold(EVENT_ID, 5);
+
+        assertThat(service.getAvailability(EVENT_ID).orElseThrow().getAvailable()).isEqualTo(CAPACITY - 5);
+    }
+
+    @Test
+    void holdsOfADeletedEventCannotBeConfirmed() {
+        ReservationService service = instance(Duration.ofMinutes(5));
+        ReservationDTO hold = service.hold(EVENT_ID, 2).orElseThrow();
+
+        service.eventDeleted(EVENT_ID);
+
+        assertThatThrownBy(() -> service.confirm(hold.getHoldId())).isInstanceOf(ReservationStateException.class);
+        assertThat(persisted).isEmpty();
+    }
+
+    @Test
+    void unknownEventHasNoHold() {
+        assertThat(instance(Duration.ofMinutes(5)).hold(99L, 1)).isEmpty();
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.inmemory_events_api.aplicacion.writebehind;
+
+import com.example.inmemory_events_api.aplicacion.changelog.ChangeLog;
+import com.example.inmemory_events_api.aplicacion.readmodel.EventReadModel;
+import com.example.inmemory_events_api.aplicacion.schedule.VenueScheduleIndex;
+import com.example.inmemory_events_api.dominio.exception.ScheduleConflictException;
+import com.example.inmemory_events_api.dominio.exception.WriteBacklogFullException;
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventWriteBehindTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 6, 1);
+
+    @TempDir
+    Path walDirectory;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private EventReadModel readModel;
+    private SimpleMeterRegistry meterRegistry;
+    private VenueScheduleIndex scheduleIndex;
+    private final List<EventWriteBehind> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE events (id BIGINT PRIMARY KEY, title VARCHAR(200) NOT NULL, date DATE, "
+                + "end_date DATE, venue_id BIGINT)");
+        jdbc.execute("CREATE TABLE change_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, entity_type VARCHAR(20), "
+                + "entity_id BIGINT, operation VARCHAR(20), venue_id BIGINT, origin VARCHAR(100), "
+                + "changed_at TIMESTAMP(6))");
+        jdbc.update("INSERT INTO events VALUES (1, 'original', ?, ?, 1)", DATE, DATE);
+        jdbc.update("INSERT INTO events VALUES (2, 'original', ?, ?, 1)", DATE, DATE);
+        readModel = mock(EventReadModel.class);
+        meterRegistry = new SimpleMeterRegistry();
+        scheduleIndex = loadScheduleIndex();
+    }
+
+    /**
+     * Índice de ocupación con las fechas que hay en la base de datos (sin
+     * comprobar solapamientos, como al cargarlo).
+     */
+    private VenueScheduleIndex loadScheduleIndex() {
+        VenueScheduleIndex index = new VenueScheduleIndex(mock(EventRepository.class), meterRegistry);
+        jdbc.query("SELECT id, venue_id, date, end_date FROM events", rs -> {
+            index.replicate(rs.getLong("venue_id"), rs.getLong("id"), rs.getDate("date").toLocalDate(),
+                    rs.getDate("end_date").toLocalDate());
+        });
+        return index;
+    }
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(EventWriteBehind::close);
+    }
+
+    private EventWriteBehind open(int maxPending) {
+        ChangeLog changeLog = mock(ChangeLog.class);
+        when(changeLog.nodeId()).thenReturn("test");
+        EventWriteBehind writeBehind = new EventWriteBehind(true, walDirectory, DataSize.ofMegabytes(1), false,
+                100, maxPending, Duration.ofMinutes(1), Duration.ofMillis(50), jdbc,
+                new NamedParameterJdbcTemplate(jdbc), new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                changeLog, readModel, scheduleIndex, meterRegistry);
+        writeBehind.open();
+        opened.add(writeBehind);
+        return writeBehind;
+    }
+
+    private static EventDTO event(long id, String name) {
+        return new EventDTO(id, name, 1L, DATE, DATE);
+    }
+
+    private String title(long id) {
+        return jdbc.queryForObject("SELECT title FROM events WHERE id = ?", String.class, id);
+    }
+
+    @Test
+    void coalescesUpdatesOfTheSameEventIntoOneRow() {
+        EventWriteBehind writeBehind = open(100);
+        writeBehind.submit(event(1, "v1"));
+        writeBehind.submit(event(1, "v2"));
+        writeBehind.submit(event(1, "v3"));
+
+        assertThat(writeBehind.pending(1L)).hasValueSatisfying(e -> assertThat(e.getName()).isEqualTo("v3"));
+        writeBehind.flush();
+
+        assertThat(meterRegistry.counter("writebehind.coalesced").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("writebehind.flushed").count()).isEqualTo(1);
+        assertThat(title(1)).isEqualTo("v3");
+        assertThat(writeBehind.pending(1L)).isEmpty();
+        assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM change_log", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void keepsNewerVersionThatArrivesDuringTheFlush() {
+        EventWriteBehind writeBehind = open(100);
+        writeBehind.submit(event(1, "v1"));
+        AtomicBoolean raced = new AtomicBoolean();
+        // Dentro de la transacción del volcado llega una versión más nueva
+        doAnswer(invocation -> {
+            if (raced.compareAndSet(false, true)) {
+                writeBehind.submit(event(1, "v2"));
+            }
+            return null;
+        }).when(readModel).eventsChanged(any());
+
+        writeBehind.flush();
+
+        assertThat(title(1)).isEqualTo("v1");
+        // pending.remove(id, entry) no debe borrar la versión nueva
+        assertThat(writeBehind.pending(1L)).hasValueSatisfying(e -> assertThat(e.getName()).isEqualTo("v2"));
+
+        writeBehind.flush();
+        assertThat(title(1)).isEqualTo("v2");
+        assertThat(writeBehind.pending(1L)).isEmpty();
+    }
+
+    @Test
+    void overlayPrefersPendingVersions() {
+        EventWriteBehind writeBehind = open(100);
+        writeBehind.submit(event(2, "pendiente"));
+
+        List<EventDTO> overlaid = writeBehind.overlay(List.of(event(1, "db"), event(2, "db")));
+
+        assertThat(overlaid).extracting(EventDTO::getName).containsExactly("db", "pendiente");
+    }
+
+    @Test
+    void replaysUnflushedWritesAfterRestart() {
+        jdbc.execute("DROP TABLE change_log");
+        EventWriteBehind first = open(100);
+        first.submit(event(1, "sin volcar"));
+        // El volcado falla (falta change_log): sigue pendiente en el WAL
+        first.close();
+        opened.remove(first);
+
+        EventWriteBehind second = open(100);
+
+        assertThat(second.pending(1L)).hasValueSatisfying(e -> assertThat(e.getName()).isEqualTo("sin volcar"));
+    }
+
+    @Test
+    void replayedDateChangesAreBookedInTheScheduleIndex() {
+        jdbc.execute("DROP TABLE change_log");
+        LocalDate moved = DATE.plusDays(10);
+        EventWriteBehind first = open(100);
+        first.submit(new EventDTO(1L, "movido", 1L, moved, moved));
+        first.close();
+        opened.remove(first);
+
+        // Reinicio: el índice se vuelve a cargar de la base de datos, que
+        // aún tiene la fecha anterior del evento 1
+        scheduleIndex = loadScheduleIndex();
+        assertThat(scheduleIndex.findConflict(1L, moved, moved)).isEmpty();
+        open(100);
+
+        assertThat(scheduleIndex.findConflict(1L, moved, moved))
+                .hasValueSatisfying(interval -> assertThat(interval.getId()).isEqualTo(1L));
+        assertThatThrownBy(() -> scheduleIndex.book(1L, 3L, moved, moved))
+                .isInstanceOf(ScheduleConflictException.class);
+        // La fecha anterior queda libre para el evento 1 (el 2 sigue en ella)
+        assertThat(scheduleIndex.findConflict(1L, DATE, DATE))
+                .hasValueSatisfying(interval -> assertThat(interval.getId()).isEqualTo(2L));
+    }
+
+    @Test
+    void flushedWritesAreNotReplayed() {
+        EventWriteBehind first = open(100);
+        first.submit(event(1, "volcado"));
+        first.flush();
+        first.close();
+        opened.remove(first);
+
+        EventWriteBehind second = open(100);
+
+        assertThat(second.pending(1L)).isEmpty();
+    }
+
+    @Test
+    void rejectsWritesWhenTheBacklogIsFull() {
+        jdbc.execute("DROP TABLE change_log");
+        EventWriteBehind writeBehind = open(1);
+        writeBehind.submit(event(1, "v1"));
+        writeBehind.flush();
+
+        assertThatThrownBy(() -> writeBehind.submit(event(2, "v1"))).isInstanceOf(WriteBacklogFullException.class);
+        assertThat(meterRegistry.counter("writebehind.rejected").count()).isEqualTo(1);
+    }
+
+    @Test
+    void discardForgetsPendingVersion() {
+        EventWriteBehind writeBehind = open(100);
+        writeBehind.submit(event(1, "v1"));
+
+        writeBehind.discard(1L);
+        writeBehind.flush();
+
+        assertThat(writeBehind.pending(1L)).isEmpty();
+        assertThat(title(1)).isEqualTo("original");
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web;
+
+import com.example.inmemory_events_api.infraestructura.profiling.JfrRecordingManager;
+import com.example.inmemory_events_api.infraestructura.queryplan.QueryPlanInspector;
+import com.example.inmemory_events_api.infraestructura.tracing.TraceBuffer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Los endpoints de diagnóstico de /admin no se registran salvo que se
+ * activen de forma explícita.
+ */
+class AdminEndpointsTest {
+
+    private final ApplicationContextRunner profiling = new ApplicationContextRunner()
+            .withBean(JfrRecordingManager.class, () -> mock(JfrRecordingManager.class))
+            .withUserConfiguration(ProfilingController.class);
+
+    private final ApplicationContextRunner traces = new ApplicationContextRunner()
+            .withBean(TraceBuffer.class, () -> mock(TraceBuffer.class))
+            .withUserConfiguration(TraceController.class);
+
+    private final ApplicationContextRunner queryPlans = new ApplicationContextRunner()
+            .withBean(QueryPlanInspector.class, () -> mock(QueryPlanInspector.class))
+            .withUserConfiguration(QueryPlanController.class);
+
+    @Test
+    void profilingEndpointIsOffByDefault() {
+        profiling.run(context -> assertThat(context).doesNotHaveBean(ProfilingController.class));
+        profiling.withPropertyValues("profiling.jfr.enabled=true")
+                .run(context -> assertThat(context).doesNotHaveBean(ProfilingController.class));
+    }
+
+    @Test
+    void profilingEndpointNeedsProfilingEnabled() {
+        profiling.withPropertyValues("profiling.jfr.endpoint-enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(ProfilingController.class));
+        profiling.withPropertyValues("profiling.jfr.endpoint-enabled=true", "profiling.jfr.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(ProfilingController.class));
+    }
+
+    @Test
+    void traceEndpointIsOffByDefault() {
+        traces.run(context -> assertThat(context).doesNotHaveBean(TraceController.class));
+        traces.withPropertyValues("tracing.enabled=true")
+                .run(context -> assertThat(context).doesNotHaveBean(TraceController.class));
+    }
+
+    @Test
+    void traceEndpointNeedsTracingEnabled() {
+        traces.withPropertyValues("tracing.endpoint-enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(TraceController.class));
+        traces.withPropertyValues("tracing.endpoint-enabled=true", "tracing.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(TraceController.class));
+    }
+
+    @Test
+    void queryPlanEndpointIsOffByDefault() {
+        queryPlans.run(context -> assertThat(context).doesNotHaveBean(QueryPlanController.class));
+        queryPlans.withPropertyValues("queryplan.enabled=true")
+                .run(context -> assertThat(context).hasSingleBean(QueryPlanController.class));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    private static AdmissionControlFilter filter(AdmissionProperties properties) {
+        return new AdmissionControlFilter(properties, new ObjectMapper().findAndRegisterModules(),
+                new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletRequest request(String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/events/1");
+        request.setRemoteAddr("10.0.0.1");
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+
+    @Test
+    void knownApiKeyGetsItsOwnBucket() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setApiKeys(Set.of("partner-a"));
+
+        assertThat(filter(properties).clientKey(request("partner-a"))).isEqualTo("key:partner-a");
+    }
+
+    @Test
+    void unknownOrMissingApiKeyFallsBackToTheRemoteAddress() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setApiKeys(Set.of("partner-a"));
+        AdmissionControlFilter filter = filter(properties);
+
+        assertThat(filter.clientKey(request("random-1"))).isEqualTo("ip:10.0.0.1");
+        assertThat(filter.clientKey(request(null))).isEqualTo("ip:10.0.0.1");
+    }
+
+    @Test
+    void rotatingUnknownKeysDoesNotEarnANewBurst() throws Exception {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setRatePerSecond(1);
+        properties.setBurst(2);
+        AdmissionControlFilter filter = filter(properties);
+
+        int[] statuses = new int[3];
+        for (int i = 0; i < statuses.length; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request("random-" + i), response, new MockFilterChain());
+            statuses[i] = response.getStatus();
+        }
+
+        assertThat(statuses).containsExactly(200, 200, 429);
+        assertThat(filter.clientCount()).isEqualTo(1);
+    }
+
+    @Test
+    void idleBucketsAreEvictedFirst() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxClients(2);
+        AdmissionControlFilter filter = filter(properties);
+
+        TokenBucket a = filter.bucketFor("ip:a", 0);
+        assertThat(a.tryAcquire(0)).isZero();
+        // "b" no ha consumido nada: es el que sobra al llegar "c"
+        filter.bucketFor("ip:b", 0);
+        TokenBucket c = filter.bucketFor("ip:c", 0);
+
+        assertThat(filter.clientCount()).isEqualTo(2);
+        assertThat(filter.bucketFor("ip:a", 0)).isSameAs(a);
+        assertThat(filter.bucketFor("ip:c", 0)).isSameAs(c);
+    }
+
+    @Test
+    void bucketsStayBoundedWhenEveryClientIsActive() {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxClients(10);
+        AdmissionControlFilter filter = filter(properties);
+
+        for (int i = 0; i < 100; i++) {
+            TokenBucket bucket = filter.bucketFor("ip:" + i, 0);
+            assertThat(bucket.tryAcquire(0)).isZero();
+            assertThat(filter.bucketFor("ip:" + i, 0)).isSameAs(bucket);
+        }
+
+        assertThat(filter.clientCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void concurrentFirstRequestsOfAClientShareOneBucket() throws Exception {
+        AdmissionControlFilter filter = filter(new AdmissionProperties());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<TokenBucket>> buckets = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                buckets.add(executor.submit(() -> filter.bucketFor("ip:same", System.nanoTime())));
+            }
+            TokenBucket first = buckets.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<TokenBucket> bucket : buckets) {
+                assertThat(bucket.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.admission;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointClassTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "GET, /api/events/42, BY_ID",
+            "GET, /api/events/42/details, BY_ID",
+            "GET, /api/events/42/seats, BY_ID",
+            "GET, /venues/7, BY_ID",
+            "GET, /venues/7/availability, BY_ID",
+            "GET, /api/events, LISTING",
+            "GET, /api/events/, LISTING",
+            "GET, /venues, LISTING",
+            "GET, /api/events/stats, LISTING",
+            "GET, /api/export/events, LISTING",
+            "POST, /api/events/lookup, LISTING",
+            "POST, /venues/lookup, LISTING",
+            "POST, /api/events, WRITE",
+            "POST, /api/events/42/holds, WRITE",
+            "PUT, /venues/7, WRITE",
+            "DELETE, /api/holds/abc, WRITE",
+            "GET, /api/something-new, BY_ID"
+    })
+    void classifiesByMethodAndPath(String method, String path, EndpointClass expected) {
+        assertThat(EndpointClass.classify(new MockHttpServletRequest(method, path))).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "/actuator/health", "/swagger-ui/index.html", "/admin/faults", "/venuesXYZ", "/venues-export/1" })
+    void ignoresPathsOutsideTheApi(String path) {
+        assertThat(EndpointClass.classify(new MockHttpServletRequest("GET", path))).isNull();
+    }
+}
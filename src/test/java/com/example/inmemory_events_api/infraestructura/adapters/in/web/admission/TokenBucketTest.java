@@ -0,0 +1,122 @@
+package com.example.inmemory_events_api.infraestructura.adapters.in.web.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void admitsTheWholeBurstAtOnceAndThenRejects() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+        assertThat(bucket.tryAcquire(0)).isPositive();
+    }
+
+    @Test
+    void waitIsTheTimeUntilTheNextTokenIsRefilled() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        // 10 tokens/s: el siguiente llega a los 100 ms
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND / 10);
+        assertThat(bucket.tryAcquire(SECOND / 10 - 1)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+    }
+
+    @Test
+    void rejectedRequestsDoNotConsumeTokens() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        bucket.tryAcquire(0);
+
+        for (int i = 0; i < 100; i++) {
+            bucket.tryAcquire(SECOND / 20);
+        }
+
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+    }
+
+    @Test
+    void refillIsCappedAtTheBurst() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        // Una hora inactivo no acumula más de 3 tokens
+        long later = 3600 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertThat(bucket.tryAcquire(later)).isZero();
+        }
+        assertThat(bucket.tryAcquire(later)).isPositive();
+    }
+
+    @Test
+    void sustainedRateMatchesTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(50, 1, 0);
+
+        int admitted = 0;
+        for (long now = 0; now < 10 * SECOND; now += SECOND / 1000) {
+            if (bucket.tryAcquire(now) == 0) {
+                admitted++;
+            }
+        }
+
+        assertThat(admitted).isEqualTo(500);
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, 100, 0);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger admitted = new AtomicInteger();
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 1000; i++) {
+                        if (bucket.tryAcquire(0) == 0) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(admitted).hasValue(100);
+    }
+
+    @Test
+    void rejectsNonPositiveRateOrBurst() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void isFullUntilATokenIsConsumedAndAgainOnceItIsReplenished() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(1, 5, 0);
+
+        assertThat(bucket.isFull(0)).isTrue();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.isFull(0)).isFalse();
+        assertThat(bucket.isFull(second - 1)).isFalse();
+        assertThat(bucket.isFull(second)).isTrue();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jdbc;
+
+import com.example.inmemory_events_api.dominio.model.ReservationDTO;
+import com.example.inmemory_events_api.dominio.model.ReservationStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConfirmedReservationWriterTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private JdbcTemplate jdbc;
+    private SimpleMeterRegistry meterRegistry;
+    private ConfirmedReservationWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE events (id BIGINT PRIMARY KEY)");
+        jdbc.execute("CREATE TABLE reservations (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "hold_id VARCHAR(36) NOT NULL UNIQUE, event_id BIGINT NOT NULL, "
+                + "quantity INT NOT NULL CHECK (quantity > 0), status VARCHAR(20) NOT NULL, "
+                + "confirmed_at TIMESTAMP(6) NOT NULL)");
+        jdbc.execute("CREATE TABLE reservations_dead_letter (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "hold_id VARCHAR(36) NOT NULL, event_id BIGINT NOT NULL, quantity INT NOT NULL, "
+                + "status VARCHAR(20) NOT NULL, attempts INT NOT NULL, error VARCHAR(1000), "
+                + "failed_at TIMESTAMP(6) NOT NULL)");
+        jdbc.update("INSERT INTO events VALUES (1)");
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new ConfirmedReservationWriter(jdbc,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), meterRegistry, 100,
+                MAX_ATTEMPTS);
+    }
+
+    private static ReservationDTO reservation(String holdId, long eventId, int quantity) {
+        return new ReservationDTO(holdId, eventId, quantity, ReservationStatus.CONFIRMED, Instant.now());
+    }
+
+    private int count(String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    @Test
+    void writesQueuedReservationsInOneBatch() {
+        writer.enqueueConfirmed(reservation("a", 1, 2));
+        writer.enqueueConfirmed(reservation("b", 1, 3));
+
+        writer.flush();
+
+        assertThat(count("reservations")).isEqualTo(2);
+        assertThat(writer.pending()).isZero();
+    }
+
+    @Test
+    void reservationOfAMissingEventIsDeadLetteredInsteadOfLeftOrphan() {
+        writer.enqueueConfirmed(reservation("a", 1, 2));
+        writer.enqueueConfirmed(reservation("orphan", 2, 1));
+
+        writer.flush();
+
+        assertThat(jdbc.queryForList("SELECT hold_id FROM reservations", String.class)).containsExactly("a");
+        assertThat(jdbc.queryForList("SELECT hold_id FROM reservations_dead_letter", String.class))
+                .containsExactly("orphan");
+        assertThat(writer.pending()).isZero();
+    }
+
+    @Test
+    void oneBadRowDoesNotBlockTheRestAndIsDeadLetteredAfterMaxAttempts() {
+        writer.enqueueConfirmed(reservation("a", 1, 2));
+        writer.enqueueConfirmed(reservation("bad", 1, -1));
+        writer.enqueueConfirmed(reservation("c", 1, 4));
+
+        writer.flush();
+
+        // Las buenas entran en el primer ciclo; la mala vuelve a la cola
+        assertThat(count("reservations")).isEqualTo(2);
+        for (int i = 1; i < MAX_ATTEMPTS && writer.pending() > 0; i++) {
+            writer.flush();
+        }
+
+        assertThat(writer.pending()).isZero();
+        assertThat(jdbc.queryForList("SELECT hold_id FROM reservations_dead_letter", String.class))
+                .containsExactly("bad");
+        assertThat(jdbc.queryForObject("SELECT attempts FROM reservations_dead_letter", Integer.class))
+                .isEqualTo(MAX_ATTEMPTS);
+        assertThat(meterRegistry.counter("reservation.writer.dead_lettered").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("reservation.writer.retries").count()).isEqualTo(MAX_ATTEMPTS - 1);
+    }
+
+    @Test
+    void alreadyInsertedRowIsNotRetried() {
+        writer.enqueueConfirmed(reservation("a", 1, 2));
+        writer.flush();
+        writer.enqueueConfirmed(reservation("a", 1, 2));
+        writer.enqueueConfirmed(reservation("b", 1, 1));
+
+        writer.flush();
+
+        assertThat(count("reservations")).isEqualTo(2);
+        assertThat(count("reservations_dead_letter")).isZero();
+        assertThat(writer.pending()).isZero();
+    }
+}
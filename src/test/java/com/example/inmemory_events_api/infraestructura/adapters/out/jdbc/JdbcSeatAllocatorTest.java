@@ -0,0 +1,68 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcSeatAllocatorTest {
+
+    private JdbcTemplate jdbc;
+    private JdbcSeatAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        jdbc = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.execute("CREATE TABLE venues (id BIGINT PRIMARY KEY, capacity INT)");
+        jdbc.execute("CREATE TABLE events (id BIGINT PRIMARY KEY, venue_id BIGINT NOT NULL)");
+        jdbc.execute("CREATE TABLE reservations (id BIGINT AUTO_INCREMENT PRIMARY KEY, hold_id VARCHAR(36), "
+                + "event_id BIGINT NOT NULL, quantity INT NOT NULL, status VARCHAR(20) NOT NULL)");
+        jdbc.execute("CREATE TABLE event_seat_allocations (event_id BIGINT NOT NULL PRIMARY KEY, "
+                + "allocated BIGINT NOT NULL)");
+        jdbc.update("INSERT INTO venues VALUES (1, 100)");
+        jdbc.update("INSERT INTO events VALUES (1, 1)");
+        allocator = new JdbcSeatAllocator(jdbc);
+    }
+
+    @Test
+    void firstLeaseStartsFromTheConfirmedReservations() {
+        jdbc.update("INSERT INTO reservations (hold_id, event_id, quantity, status) VALUES ('h', 1, 30, 'CONFIRMED')");
+
+        assertThat(allocator.tryLease(1L, 70)).isTrue();
+        assertThat(allocator.tryLease(1L, 1)).isFalse();
+        assertThat(allocator.unallocated(1L)).isZero();
+    }
+
+    @Test
+    void leasesAreBoundedByTheCurrentVenueCapacity() {
+        assertThat(allocator.tryLease(1L, 60)).isTrue();
+        jdbc.update("UPDATE venues SET capacity = 50 WHERE id = 1");
+
+        assertThat(allocator.tryLease(1L, 1)).isFalse();
+        allocator.giveBack(1L, 10);
+        assertThat(allocator.unallocated(1L)).isZero();
+        assertThat(allocator.tryLease(1L, 1)).isFalse();
+        allocator.giveBack(1L, 10);
+        assertThat(allocator.tryLease(1L, 10)).isTrue();
+    }
+
+    @Test
+    void giveBackMakesSeatsAvailableAgain() {
+        allocator.tryLease(1L, 100);
+        allocator.giveBack(1L, 40);
+
+        assertThat(allocator.unallocated(1L)).isEqualTo(40);
+        assertThat(allocator.tryLease(1L, 40)).isTrue();
+    }
+
+    @Test
+    void unknownEventGetsNoSeats() {
+        assertThat(allocator.tryLease(2L, 1)).isFalse();
+        assertThat(allocator.unallocated(2L)).isZero();
+    }
+}
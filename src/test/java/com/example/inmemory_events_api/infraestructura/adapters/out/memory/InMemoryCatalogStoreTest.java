@@ -0,0 +1,212 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.model.VenueDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryCatalogStoreTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 5, 1);
+    private static final int EVENTS_PER_VENUE = 10;
+
+    @TempDir
+    Path walDirectory;
+
+    private InMemoryCatalogStore store;
+
+    private InMemoryCatalogStore open() {
+        InMemoryCatalogStore opened = new InMemoryCatalogStore(walDirectory, DataSize.ofMegabytes(1), 16, false, 4, 8);
+        opened.open();
+        return opened;
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void replaysSavedVenuesAndEvents() {
+        store = open();
+        VenueDTO venue = store.saveVenue(new VenueDTO(null, "Sala", "Calle 1", "Madrid", 100));
+        EventDTO event = store.saveEvent(new EventDTO(null, "Concierto", venue.getId(), LocalDate.of(2026, 5, 1), null));
+        store.close();
+
+        store = open();
+
+        Optional<EventDTO> replayedEvent = store.read(snapshot -> snapshot.findEventById(event.getId()));
+        Optional<VenueDTO> replayedVenue = store.read(snapshot -> snapshot.findVenueById(venue.getId()));
+        assertThat(replayedEvent).contains(event);
+        assertThat(replayedVenue).contains(venue);
+    }
+
+    @Test
+    void rejectsOrphanEventWithoutWritingItToTheLog() {
+        store = open();
+        long version = store.version();
+        EventDTO orphan = new EventDTO(null, "Huérfano", 99L, LocalDate.of(2026, 5, 1), null);
+
+        assertThatThrownBy(() -> store.saveEvent(orphan)).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(store.version()).isEqualTo(version);
+        store.close();
+
+        // El replay no recupera nada de la escritura rechazada
+        store = open();
+        assertThat(store.version()).isEqualTo(version);
+        assertThat(store.read(InMemoryCatalogStore.Snapshot::findAllEvents)).isEmpty();
+    }
+
+    @Test
+    void aBatchIsPublishedAsOneVersion() throws Exception {
+        store = open();
+        try (ConsistencyChecker checker = new ConsistencyChecker()) {
+            for (int i = 0; i < 50; i++) {
+                long version = store.version();
+                venueWithEvents("Sala " + i);
+                assertThat(store.version()).isEqualTo(version + 1);
+            }
+            checker.assertNoViolations();
+        }
+
+        assertThat(store.read(InMemoryCatalogStore.Snapshot::findAllEvents)).hasSize(50 * EVENTS_PER_VENUE);
+    }
+
+    @Test
+    void deletingAVenueRemovesItsEventsInOneVersion() throws Exception {
+        store = open();
+        List<VenueDTO> venues = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            venues.add(venueWithEvents("Sala " + i));
+        }
+
+        try (ConsistencyChecker checker = new ConsistencyChecker()) {
+            for (VenueDTO venue : venues) {
+                long version = store.version();
+                assertThat(store.deleteVenue(venue.getId())).isTrue();
+                assertThat(store.version()).isEqualTo(version + 1);
+            }
+            checker.assertNoViolations();
+        }
+
+        assertThat(store.read(InMemoryCatalogStore.Snapshot::findAllEvents)).isEmpty();
+    }
+
+    @Test
+    void replaysABatchWhollyOrNotAtAll() throws IOException {
+        store = open();
+        VenueDTO complete = venueWithEvents("completo");
+        VenueDTO torn = venueWithEvents("a medias");
+        store.close();
+        // Caída a mitad de escribir el último registro (el segundo batch)
+        Path segment;
+        try (Stream<Path> files = Files.list(walDirectory)) {
+            segment = files.filter(path -> path.toString().endsWith(".wal")).sorted()
+                    .reduce((first, second) -> second).orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 20);
+        }
+
+        store = open();
+
+        Map<Long, Long> eventsByVenue = store.read(snapshot -> snapshot.findAllEvents().stream()
+                .collect(Collectors.groupingBy(EventDTO::getVenueId, Collectors.counting())));
+        Optional<VenueDTO> replayed = store.read(snapshot -> snapshot.findVenueById(complete.getId()));
+        Optional<VenueDTO> lost = store.read(snapshot -> snapshot.findVenueById(torn.getId()));
+        assertThat(replayed).isPresent();
+        assertThat(lost).isEmpty();
+        assertThat(eventsByVenue).containsOnlyKeys(complete.getId())
+                .containsEntry(complete.getId(), (long) EVENTS_PER_VENUE);
+    }
+
+    /** Venue con EVENTS_PER_VENUE eventos, en un solo batch. */
+    private VenueDTO venueWithEvents(String name) {
+        List<VenueDTO> created = new ArrayList<>(1);
+        store.write(batch -> {
+            VenueDTO venue = batch.saveVenue(new VenueDTO(null, name, "Calle 1", "Madrid", 100));
+            for (int e = 0; e < EVENTS_PER_VENUE; e++) {
+                batch.saveEvent(new EventDTO(null, name + " " + e, venue.getId(), DATE.plusDays(e * 7L), null));
+            }
+            created.add(venue);
+        });
+        return created.get(0);
+    }
+
+    /**
+     * Lee snapshots en otro hilo mientras el test escribe y comprueba que
+     * cada uno es consistente: todo venue visible tiene todos sus eventos y
+     * ningún evento visible apunta a un venue que no está.
+     */
+    private final class ConsistencyChecker implements AutoCloseable {
+        private final AtomicBoolean stop = new AtomicBoolean();
+        private final AtomicInteger reads = new AtomicInteger();
+        private final List<String> violations = new ArrayList<>();
+        private final CompletableFuture<Void> reader;
+
+        ConsistencyChecker() {
+            reader = CompletableFuture.runAsync(() -> {
+                while (!stop.get()) {
+                    String violation = store.read(check);
+                    reads.incrementAndGet();
+                    if (violation != null) {
+                        synchronized (violations) {
+                            violations.add(violation);
+                        }
+                    }
+                }
+            });
+        }
+
+        private final Function<InMemoryCatalogStore.Snapshot, String> check = snapshot -> {
+            Map<Long, Long> eventsByVenue = snapshot.findAllEvents().stream()
+                    .collect(Collectors.groupingBy(EventDTO::getVenueId, Collectors.counting()));
+            List<Long> venueIds = snapshot.findAllVenues().stream().map(VenueDTO::getId).toList();
+            for (Long venueId : venueIds) {
+                long events = eventsByVenue.getOrDefault(venueId, 0L);
+                if (events != EVENTS_PER_VENUE) {
+                    return "versión " + snapshot.version() + ": venue " + venueId + " con " + events + " eventos";
+                }
+            }
+            if (!venueIds.containsAll(eventsByVenue.keySet())) {
+                return "versión " + snapshot.version() + ": eventos sin venue";
+            }
+            return null;
+        };
+
+        void assertNoViolations() throws Exception {
+            stop.set(true);
+            reader.get();
+            assertThat(reads.get()).isPositive();
+            assertThat(violations).isEmpty();
+        }
+
+        @Override
+        public void close() {
+            stop.set(true);
+        }
+    }
+}
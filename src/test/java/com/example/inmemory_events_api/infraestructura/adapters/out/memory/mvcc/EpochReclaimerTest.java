@@ -0,0 +1,138 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.mvcc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EpochReclaimerTest {
+
+    private final AtomicLong version = new AtomicLong(1);
+
+    @Test
+    void releasesRetiredResourcesWhenNoReaderIsPinned() {
+        EpochReclaimer reclaimer = new EpochReclaimer(4, version::get);
+        List<String> released = new ArrayList<>();
+        reclaimer.retire(1, () -> released.add("v1"));
+        reclaimer.retire(2, () -> released.add("v2"));
+
+        assertThat(reclaimer.oldestPinned()).isEqualTo(Long.MAX_VALUE);
+        assertThat(reclaimer.reclaim()).isEqualTo(2);
+        assertThat(released).containsExactly("v1", "v2");
+        assertThat(reclaimer.pending()).isZero();
+    }
+
+    @Test
+    void keepsResourcesVisibleToOlderReaders() {
+        EpochReclaimer reclaimer = new EpochReclaimer(4, version::get);
+        List<String> released = new ArrayList<>();
+
+        EpochReclaimer.Pin reader = reclaimer.pin();
+        version.set(2);
+        // Lo retirado en la versión 2 puede seguir leyéndolo quien fijó la 1
+        reclaimer.retire(2, () -> released.add("v2"));
+
+        assertThat(reclaimer.oldestPinned()).isEqualTo(1);
+        assertThat(reclaimer.reclaim()).isZero();
+        assertThat(reclaimer.pending()).isEqualTo(1);
+
+        reader.close();
+        assertThat(reclaimer.reclaim()).isEqualTo(1);
+        assertThat(released).containsExactly("v2");
+    }
+
+    @Test
+    void releasesOnlyUpToTheOldestPinnedVersion() {
+        EpochReclaimer reclaimer = new EpochReclaimer(4, version::get);
+        List<String> released = new ArrayList<>();
+        version.set(3);
+        EpochReclaimer.Pin reader = reclaimer.pin();
+        reclaimer.retire(2, () -> released.add("v2"));
+        reclaimer.retire(3, () -> released.add("v3"));
+        reclaimer.retire(4, () -> released.add("v4"));
+
+        assertThat(reclaimer.reclaim()).isEqualTo(2);
+        assertThat(released).containsExactly("v2", "v3");
+
+        reader.close();
+        reclaimer.reclaim();
+        assertThat(released).containsExactly("v2", "v3", "v4");
+    }
+
+    @Test
+    void readerWaitsForAFreeSlotWhenAllAreTaken() throws Exception {
+        EpochReclaimer reclaimer = new EpochReclaimer(1, version::get);
+        EpochReclaimer.Pin holder = reclaimer.pin();
+        CountDownLatch pinned = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> waiting = pool.submit(() -> {
+                try (EpochReclaimer.Pin pin = reclaimer.pin()) {
+                    pinned.countDown();
+                }
+            });
+
+            assertThat(pinned.await(100, TimeUnit.MILLISECONDS)).isFalse();
+            holder.close();
+            waiting.get(5, TimeUnit.SECONDS);
+            assertThat(pinned.getCount()).isZero();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentReadersNeverSeeReleasedVersions() throws Exception {
+        // Cada versión publica un "recurso" que se marca como liberado al reclamarlo
+        int versions = 2_000;
+        boolean[] releasedFlags = new boolean[versions + 2];
+        EpochReclaimer reclaimer = new EpochReclaimer(8, version::get);
+        AtomicLong violations = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                readers.add(pool.submit(() -> {
+                    while (version.get() <= versions) {
+                        try (EpochReclaimer.Pin pin = reclaimer.pin()) {
+                            int current = (int) version.get();
+                            Thread.onSpinWait();
+                            synchronized (releasedFlags) {
+                                if (releasedFlags[current]) {
+                                    violations.incrementAndGet();
+                                }
+                            }
+                        }
+                    }
+                }));
+            }
+            for (int v = 1; v <= versions; v++) {
+                int old = v;
+                version.set(v + 1);
+                reclaimer.retire(v + 1, () -> {
+                    synchronized (releasedFlags) {
+                        releasedFlags[old] = true;
+                    }
+                });
+                reclaimer.reclaim();
+            }
+            for (Future<?> reader : readers) {
+                reader.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(violations.get()).isZero();
+        reclaimer.reclaim();
+        assertThat(reclaimer.pending()).isZero();
+    }
+}
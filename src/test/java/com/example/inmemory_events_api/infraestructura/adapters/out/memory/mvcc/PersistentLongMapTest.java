@@ -0,0 +1,97 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.mvcc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PersistentLongMapTest {
+
+    @Test
+    void plusAndMinusLeaveOlderVersionsUntouched() {
+        PersistentLongMap<String> empty = PersistentLongMap.empty();
+        PersistentLongMap<String> one = empty.plus(1, "a");
+        PersistentLongMap<String> two = one.plus(2, "b");
+        PersistentLongMap<String> replaced = two.plus(1, "z");
+        PersistentLongMap<String> removed = replaced.minus(2);
+
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(one.get(1)).isEqualTo("a");
+        assertThat(one.containsKey(2)).isFalse();
+        assertThat(two.size()).isEqualTo(2);
+        assertThat(two.get(1)).isEqualTo("a");
+        assertThat(replaced.get(1)).isEqualTo("z");
+        assertThat(replaced.size()).isEqualTo(2);
+        assertThat(removed.size()).isEqualTo(1);
+        assertThat(removed.get(2)).isNull();
+        assertThat(replaced.get(2)).isEqualTo("b");
+    }
+
+    @Test
+    void returnsSameInstanceWhenNothingChanges() {
+        String value = "a";
+        PersistentLongMap<String> map = PersistentLongMap.<String>empty().plus(7, value);
+
+        assertThat(map.plus(7, value)).isSameAs(map);
+        assertThat(map.minus(8)).isSameAs(map);
+    }
+
+    @Test
+    void removingLastEntryGivesEmptyMap() {
+        PersistentLongMap<String> map = PersistentLongMap.<String>empty().plus(5, "a").minus(5);
+
+        assertThat(map.isEmpty()).isTrue();
+        assertThat(map.get(5)).isNull();
+        assertThat(map.plus(5, "b").get(5)).isEqualTo("b");
+    }
+
+    @Test
+    void rejectsNullValues() {
+        assertThatThrownBy(() -> PersistentLongMap.<String>empty().plus(1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void handlesExtremeAndNegativeKeys() {
+        long[] keys = { 0, -1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32, -(1L << 40) };
+        PersistentLongMap<Long> map = PersistentLongMap.empty();
+        for (long key : keys) {
+            map = map.plus(key, key);
+        }
+
+        assertThat(map.size()).isEqualTo(keys.length);
+        for (long key : keys) {
+            assertThat(map.get(key)).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void matchesHashMapUnderRandomOperations() {
+        // Suficientes claves para varios niveles del trie y para colapsar nodos al borrar
+        Random random = new Random(42);
+        Map<Long, Integer> model = new HashMap<>();
+        PersistentLongMap<Integer> map = PersistentLongMap.empty();
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                model.remove(key);
+                map = map.minus(key);
+            } else {
+                model.put(key, i);
+                map = map.plus(key, i);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(model.size());
+        Map<Long, Integer> contents = new HashMap<>();
+        map.forEach(contents::put);
+        assertThat(contents).isEqualTo(model);
+        for (long key = 0; key < 5_000; key++) {
+            assertThat(map.get(key)).isEqualTo(model.get(key));
+        }
+    }
+}
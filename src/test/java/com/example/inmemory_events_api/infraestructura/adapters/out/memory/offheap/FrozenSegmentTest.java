@@ -0,0 +1,95 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrozenSegmentTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 1, 10);
+
+    private final StringDictionary names = new StringDictionary();
+
+    @Test
+    void freezesTheRowsVisibleAtTheVersionSortedById() {
+        OffHeapEventStore mutable = new OffHeapEventStore(names);
+        mutable.insert(new EventDTO(30L, "C", 1L, DATE, DATE.plusDays(1)), 1);
+        int retired = mutable.insert(new EventDTO(20L, "B", 2L, DATE, null), 1);
+        mutable.insert(new EventDTO(10L, null, null, null, null), 1);
+        mutable.retire(retired, 2);
+        mutable.insert(new EventDTO(20L, "B2", 2L, DATE.plusDays(3), null), 2);
+        int namesBefore = names.size();
+
+        FrozenSegment frozen = FrozenSegment.of(mutable, 2, names);
+
+        assertThat(frozen.size()).isEqualTo(3);
+        assertThat(collect(frozen)).containsExactly(
+                new EventDTO(10L, null, null, null, null),
+                new EventDTO(20L, "B2", 2L, DATE.plusDays(3), null),
+                new EventDTO(30L, "C", 1L, DATE, DATE.plusDays(1)));
+        assertThat(frozen.get(20L)).hasValue(new EventDTO(20L, "B2", 2L, DATE.plusDays(3), null));
+        assertThat(frozen.get(15L)).isEmpty();
+        // Los nombres se copian como códigos: el diccionario no crece
+        assertThat(names.size()).isEqualTo(namesBefore);
+        assertThat(frozen.isFrozen()).isTrue();
+        assertThat(frozen.heapBytes()).isEqualTo(3L * 28);
+    }
+
+    @Test
+    void writesReturnANewSegmentAndLeaveThisOneUntouched() {
+        FrozenSegment empty = FrozenSegment.empty(names);
+        FrozenSegment one = empty.with(new EventDTO(5L, "E", 1L, DATE, DATE), names.intern("E"));
+        FrozenSegment two = one.with(new EventDTO(2L, "B", 1L, DATE, DATE), names.intern("B"));
+        FrozenSegment replaced = two.with(new EventDTO(5L, "E2", 3L, DATE.plusDays(1), null), names.intern("E2"));
+        FrozenSegment removed = replaced.without(2L);
+
+        assertThat(empty.size()).isZero();
+        assertThat(collect(one)).extracting(EventDTO::getId).containsExactly(5L);
+        assertThat(collect(two)).extracting(EventDTO::getId).containsExactly(2L, 5L);
+        assertThat(two.get(5L)).map(EventDTO::getName).hasValue("E");
+        assertThat(replaced.size()).isEqualTo(2);
+        assertThat(replaced.get(5L)).hasValue(new EventDTO(5L, "E2", 3L, DATE.plusDays(1), null));
+        assertThat(collect(removed)).extracting(EventDTO::getId).containsExactly(5L);
+        assertThat(removed.without(2L)).isSameAs(removed);
+    }
+
+    @Test
+    void removesTheEventsOfAVenue() {
+        FrozenSegment segment = FrozenSegment.empty(names)
+                .with(new EventDTO(1L, "A", 10L, DATE, null), -1)
+                .with(new EventDTO(2L, "B", 20L, DATE, null), -1)
+                .with(new EventDTO(3L, "C", 10L, DATE, null), -1);
+        List<Long> removed = new ArrayList<>();
+
+        FrozenSegment pruned = segment.withoutVenue(10L, removed::add);
+
+        assertThat(removed).containsExactly(1L, 3L);
+        assertThat(collect(pruned)).extracting(EventDTO::getId).containsExactly(2L);
+        assertThat(segment.size()).isEqualTo(3);
+        assertThat(pruned.withoutVenue(10L, removed::add)).isSameAs(pruned);
+    }
+
+    @Test
+    void collectFiltersByDay() {
+        FrozenSegment segment = FrozenSegment.empty(names)
+                .with(new EventDTO(1L, "A", 1L, DATE, null), -1)
+                .with(new EventDTO(2L, "B", 1L, DATE.plusDays(5), null), -1)
+                .with(new EventDTO(3L, "C", 1L, null, null), -1);
+        List<EventDTO> out = new ArrayList<>();
+
+        segment.collect((int) DATE.plusDays(1).toEpochDay(), (int) DATE.plusDays(5).toEpochDay(), 0, out);
+
+        assertThat(out).extracting(EventDTO::getId).containsExactly(2L);
+    }
+
+    private static List<EventDTO> collect(FrozenSegment segment) {
+        List<EventDTO> out = new ArrayList<>();
+        segment.collect(Integer.MIN_VALUE, Integer.MAX_VALUE, 0, out);
+        return out;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapEventStoreTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 6, 1);
+
+    private final OffHeapEventStore store = new OffHeapEventStore();
+
+    @Test
+    void readsBackEveryField() {
+        EventDTO event = new EventDTO(Long.MAX_VALUE, "Concierto", 42L, DATE, DATE.plusDays(2));
+
+        int slot = store.insert(event, 1);
+
+        assertThat(store.read(slot)).isEqualTo(event);
+        assertThat(visible(1)).containsExactly(event);
+    }
+
+    @Test
+    void encodesNullFieldsWithTheirSentinels() {
+        EventDTO noDates = new EventDTO(1L, "Sin fecha", 7L, null, null);
+        EventDTO noEnd = new EventDTO(2L, "Sin fin", 7L, DATE, null);
+        EventDTO nothing = new EventDTO(3L, null, null, null, null);
+        // Fechas extremas y anteriores a 1970 (días epoch negativos)
+        EventDTO old = new EventDTO(4L, "Antiguo", 0L, LocalDate.of(1900, 1, 1), LocalDate.of(1969, 12, 31));
+
+        int[] slots = {
+                store.insert(noDates, 1), store.insert(noEnd, 1), store.insert(nothing, 1), store.insert(old, 1)
+        };
+
+        assertThat(store.read(slots[0])).isEqualTo(noDates);
+        assertThat(store.read(slots[1])).isEqualTo(noEnd);
+        assertThat(store.read(slots[2])).isEqualTo(nothing);
+        assertThat(store.read(slots[3])).isEqualTo(old);
+
+        List<Integer> days = new ArrayList<>();
+        List<Long> venues = new ArrayList<>();
+        store.forEachVisible(1, view -> {
+            days.add(view.epochDay());
+            venues.add(view.venueId());
+        });
+        assertThat(days).containsExactly(OffHeapEventStore.NULL_INT, (int) DATE.toEpochDay(),
+                OffHeapEventStore.NULL_INT, (int) LocalDate.of(1900, 1, 1).toEpochDay());
+        assertThat(venues).containsExactly(7L, 7L, OffHeapEventStore.NULL_LONG, 0L);
+    }
+
+    @Test
+    void longTitlesGoToTheDictionaryAndSlotsKeepTheirWidth() {
+        String longTitle = "Festival de música ".repeat(5_000);
+        String otherLongTitle = "ñ".repeat(300_000);
+
+        int first = store.insert(new EventDTO(1L, longTitle, 1L, DATE, DATE), 1);
+        int second = store.insert(new EventDTO(2L, otherLongTitle, 1L, DATE, DATE), 1);
+        int third = store.insert(new EventDTO(3L, longTitle, 1L, DATE, DATE), 1);
+
+        assertThat(store.read(first).getName()).isEqualTo(longTitle);
+        assertThat(store.read(second).getName()).isEqualTo(otherLongTitle);
+        assertThat(store.read(third).getName()).isEqualTo(longTitle);
+        // Slots consecutivos aunque los títulos ocupen cientos de KB
+        assertThat(List.of(first, second, third)).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void allocatesSlotsInOrderAndGrowsSlabByWholeSlabs() {
+        long perSlab = 1L << 15;
+        for (int i = 0; i < perSlab; i++) {
+            assertThat(store.insert(new EventDTO((long) i, "Evento", 1L, DATE, DATE), 1)).isEqualTo(i);
+        }
+        long oneSlab = store.offHeapBytes();
+
+        int next = store.insert(new EventDTO(perSlab, "Evento", 1L, DATE, DATE), 1);
+
+        assertThat(next).isEqualTo(perSlab);
+        assertThat(store.read(next).getId()).isEqualTo(perSlab);
+        assertThat(store.read(0).getId()).isZero();
+        assertThat(store.offHeapBytes() - oneSlab).isEqualTo(perSlab * OffHeapEventStore.SLOT_BYTES);
+        assertThat(store.size()).isEqualTo((int) perSlab + 1);
+    }
+
+    @Test
+    void aRetiredSlotIsReusedOnlyAfterItIsFreed() {
+        int first = store.insert(new EventDTO(1L, "A", 1L, DATE, DATE), 1);
+        int second = store.insert(new EventDTO(2L, "B", 1L, DATE, DATE), 1);
+
+        store.retire(first, 2);
+        int third = store.insert(new EventDTO(3L, "C", 1L, DATE, DATE), 2);
+
+        // Retirado pero sin liberar: un lector de la versión 1 aún puede leerlo
+        assertThat(third).isEqualTo(2);
+        assertThat(store.read(first).getId()).isEqualTo(1L);
+        assertThat(store.size()).isEqualTo(2);
+
+        store.free(first);
+        int reused = store.insert(new EventDTO(4L, "D", 2L, null, null), 3);
+
+        assertThat(reused).isEqualTo(first);
+        assertThat(store.read(reused)).isEqualTo(new EventDTO(4L, "D", 2L, null, null));
+        assertThat(store.read(second).getId()).isEqualTo(2L);
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(ids(3)).containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+
+    @Test
+    void freedSlotsAreReusedBeforeGrowing() {
+        int[] slots = new int[10];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = store.insert(new EventDTO((long) i, "E", 1L, DATE, DATE), 1);
+        }
+        for (int slot : slots) {
+            store.retire(slot, 2);
+            store.free(slot);
+        }
+
+        Set<Integer> reused = new HashSet<>();
+        for (int i = 0; i < slots.length; i++) {
+            reused.add(store.insert(new EventDTO(100L + i, "E", 1L, DATE, DATE), 3));
+        }
+
+        assertThat(reused).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(store.insert(new EventDTO(200L, "E", 1L, DATE, DATE), 3)).isEqualTo(10);
+        assertThat(store.size()).isEqualTo(11);
+    }
+
+    @Test
+    void eachVersionSeesOnlyTheSlotsLiveAtThatVersion() {
+        int original = store.insert(new EventDTO(1L, "v1", 1L, DATE, DATE), 1);
+        store.retire(original, 3);
+        store.insert(new EventDTO(1L, "v3", 1L, DATE, DATE), 3);
+        int deleted = store.insert(new EventDTO(2L, "borrado", 1L, DATE, DATE), 2);
+        store.retire(deleted, 4);
+
+        assertThat(visible(0)).isEmpty();
+        assertThat(names(1)).containsExactly("v1");
+        assertThat(names(2)).containsExactlyInAnyOrder("v1", "borrado");
+        assertThat(names(3)).containsExactlyInAnyOrder("v3", "borrado");
+        assertThat(names(4)).containsExactly("v3");
+    }
+
+    @Test
+    void collectKeepsOnlyTheDateRange() {
+        store.insert(new EventDTO(1L, "A", 1L, DATE, DATE), 1);
+        store.insert(new EventDTO(2L, "B", 1L, DATE.plusDays(10), DATE.plusDays(10)), 1);
+        store.insert(new EventDTO(3L, "C", 1L, null, null), 1);
+
+        List<EventDTO> out = new ArrayList<>();
+        store.collect((int) DATE.toEpochDay(), (int) DATE.plusDays(5).toEpochDay(), 1, out);
+
+        assertThat(out).extracting(EventDTO::getId).containsExactly(1L);
+    }
+
+    private List<EventDTO> visible(long version) {
+        List<EventDTO> events = new ArrayList<>();
+        store.forEachVisible(version, view -> events.add(view.toDTO()));
+        return events;
+    }
+
+    private List<String> names(long version) {
+        List<String> names = new ArrayList<>();
+        store.forEachVisible(version, view -> names.add(view.name()));
+        return names;
+    }
+
+    private List<Long> ids(long version) {
+        List<Long> ids = new ArrayList<>();
+        store.forEachVisible(version, view -> ids.add(view.id()));
+        return ids;
+    }
+}
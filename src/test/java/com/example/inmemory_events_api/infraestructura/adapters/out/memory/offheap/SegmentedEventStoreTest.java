@@ -0,0 +1,245 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.memory.mvcc.EpochReclaimer;
+import com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap.SegmentedEventStore.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentedEventStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    private long version;
+    private final EpochReclaimer reclaimer = new EpochReclaimer(4, () -> version);
+    private final SegmentedEventStore store = new SegmentedEventStore(reclaimer);
+    private State state = store.empty();
+
+    @Test
+    void routesEachEventToTheSegmentOfItsMonth() {
+        put(1L, LocalDate.of(2026, 1, 1));
+        put(2L, LocalDate.of(2026, 1, 31));
+        put(3L, LocalDate.of(2026, 2, 1));
+        put(4L, LocalDate.of(2025, 12, 31));
+        put(5L, null);
+        put(6L, LocalDate.of(2026, 3, 1));
+
+        assertThat(state.segmentCount()).isEqualTo(5);
+        assertThat(state.size()).isEqualTo(6);
+        // Agrupados por mes en orden y los que no tienen fecha al final
+        assertThat(all()).extracting(EventDTO::getId).containsExactly(4L, 1L, 2L, 3L, 6L, 5L);
+        assertThat(get(3L)).hasValue(event(3L, LocalDate.of(2026, 2, 1)));
+        assertThat(get(5L)).hasValue(event(5L, null));
+        assertThat(get(7L)).isEmpty();
+    }
+
+    @Test
+    void freezesOnlyThePastMonthsAndKeepsTheirContent() {
+        put(1L, LocalDate.of(2026, 1, 10));
+        put(2L, LocalDate.of(2026, 2, 20));
+        put(3L, LocalDate.of(2026, 2, 5));
+        put(4L, TODAY);
+        put(5L, LocalDate.of(2026, 4, 1));
+        put(6L, null);
+        State mutable = state;
+        long mutableVersion = version;
+        List<EventDTO> before = all();
+
+        state = store.freezeBefore(state, TODAY, ++version);
+
+        // Enero y febrero congelados; marzo, abril y los sin fecha siguen mutables
+        assertThat(state.frozenSegmentCount()).isEqualTo(2);
+        assertThat(state.segmentCount()).isEqualTo(5);
+        assertThat(mutable.frozenSegmentCount()).isZero();
+        assertThat(all()).containsExactlyInAnyOrderElementsOf(before);
+        // Dentro de un mes congelado, en orden de ID
+        assertThat(all()).extracting(EventDTO::getId).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        for (EventDTO event : before) {
+            assertThat(get(event.getId())).hasValue(event);
+        }
+        assertThat(store.frozenHeapBytes(state)).isEqualTo(3L * (2 * Long.BYTES + 3 * Integer.BYTES));
+        assertThat(store.toList(mutable, mutableVersion)).isEqualTo(before);
+
+        // Volver a congelar con el mismo día no cambia nada
+        assertThat(store.freezeBefore(state, TODAY, ++version)).isSameAs(state);
+    }
+
+    @Test
+    void writesToAPastMonthAfterFreezingAreCopyOnWrite() {
+        put(1L, LocalDate.of(2026, 1, 10));
+        state = store.freezeBefore(state, TODAY, ++version);
+        State frozen = state;
+        long frozenVersion = version;
+
+        put(2L, LocalDate.of(2026, 1, 5));
+        put(3L, LocalDate.of(2025, 11, 1));
+        state = store.put(state, new EventDTO(1L, "corregido", 1L, LocalDate.of(2026, 1, 10), null), ++version);
+
+        // El mes nuevo del pasado nace congelado
+        assertThat(state.frozenSegmentCount()).isEqualTo(2);
+        assertThat(get(1L)).map(EventDTO::getName).hasValue("corregido");
+        assertThat(all()).extracting(EventDTO::getId).containsExactly(3L, 1L, 2L);
+        // Quien leía la versión anterior sigue viendo el segmento de entonces
+        assertThat(store.toList(frozen, frozenVersion)).containsExactly(event(1L, LocalDate.of(2026, 1, 10)));
+        assertThat(store.get(frozen, 1L)).map(EventDTO::getName).hasValue("Evento 1");
+    }
+
+    @Test
+    void rangeQueriesCrossSegmentBoundaries() {
+        LocalDate[] dates = {
+                LocalDate.of(2026, 1, 30), LocalDate.of(2026, 1, 31), LocalDate.of(2026, 2, 1),
+                LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 2), null
+        };
+        for (int i = 0; i < dates.length; i++) {
+            put(i + 1L, dates[i]);
+        }
+        // Enero y febrero congelados, marzo mutable
+        state = store.freezeBefore(state, TODAY, ++version);
+
+        assertThat(ids(LocalDate.of(2026, 1, 31), LocalDate.of(2026, 3, 1))).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(ids(LocalDate.of(2026, 2, 28), LocalDate.of(2026, 3, 1))).containsExactly(4L, 5L);
+        assertThat(ids(LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 27))).isEmpty();
+        // Rangos abiertos: los eventos sin fecha nunca entran
+        assertThat(ids(null, LocalDate.of(2026, 2, 1))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(LocalDate.of(2026, 3, 2), null)).containsExactly(6L);
+        assertThat(ids(null, null)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+        assertThat(ids(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 1, 1))).isEmpty();
+    }
+
+    @Test
+    void rangeQueriesMatchAFilterOverRandomEvents() {
+        Random random = new Random(11);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        Map<Long, EventDTO> expected = new HashMap<>();
+        for (long id = 1; id <= 600; id++) {
+            LocalDate date = random.nextInt(20) == 0 ? null : start.plusDays(random.nextInt(730));
+            put(id, date);
+            expected.put(id, event(id, date));
+        }
+        state = store.freezeBefore(state, TODAY, ++version);
+        // Algunas actualizaciones posteriores cambian de mes en ambos sentidos
+        for (int i = 0; i < 100; i++) {
+            long id = 1 + random.nextInt(600);
+            LocalDate date = start.plusDays(random.nextInt(730));
+            put(id, date);
+            expected.put(id, event(id, date));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = random.nextInt(10) == 0 ? null : start.plusDays(random.nextInt(730));
+            LocalDate to = random.nextInt(10) == 0 ? null : start.plusDays(random.nextInt(730));
+            List<EventDTO> found = store.findByDateBetween(state, version, from, to);
+
+            assertThat(found).containsExactlyInAnyOrderElementsOf(expected.values().stream()
+                    .filter(e -> e.getDate() != null)
+                    .filter(e -> from == null || !e.getDate().isBefore(from))
+                    .filter(e -> to == null || !e.getDate().isAfter(to))
+                    .collect(Collectors.toList()));
+            assertThat(found).extracting(e -> YearMonth.from(e.getDate())).isSorted();
+        }
+        assertThat(state.size()).isEqualTo(600);
+    }
+
+    @Test
+    void anUpdateThatChangesTheMonthMovesTheEvent() {
+        put(1L, LocalDate.of(2026, 3, 20));
+        State previous = state;
+        long previousVersion = version;
+
+        put(1L, LocalDate.of(2026, 5, 2));
+
+        assertThat(get(1L)).hasValue(event(1L, LocalDate.of(2026, 5, 2)));
+        assertThat(ids(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31))).isEmpty();
+        assertThat(ids(LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 31))).containsExactly(1L);
+        assertThat(all()).hasSize(1);
+        assertThat(state.size()).isEqualTo(1);
+        // La versión anterior sigue viendo el evento en marzo hasta que se reclame
+        assertThat(store.toList(previous, previousVersion)).containsExactly(event(1L, LocalDate.of(2026, 3, 20)));
+        assertThat(reclaimer.reclaim()).isEqualTo(1);
+    }
+
+    @Test
+    void anUpdateMovesEventsOutOfAndIntoFrozenMonths() {
+        put(1L, LocalDate.of(2026, 1, 10));
+        put(2L, LocalDate.of(2026, 1, 12));
+        put(3L, LocalDate.of(2026, 4, 1));
+        state = store.freezeBefore(state, TODAY, ++version);
+        State frozen = state;
+        long frozenVersion = version;
+
+        // De un mes congelado a uno mutable, y de uno mutable a otro congelado
+        put(1L, LocalDate.of(2026, 6, 1));
+        put(3L, LocalDate.of(2026, 2, 14));
+
+        assertThat(get(1L)).hasValue(event(1L, LocalDate.of(2026, 6, 1)));
+        assertThat(get(3L)).hasValue(event(3L, LocalDate.of(2026, 2, 14)));
+        assertThat(ids(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31))).containsExactly(2L);
+        assertThat(ids(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28))).containsExactly(3L);
+        assertThat(ids(LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 30))).isEmpty();
+        assertThat(ids(LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 30))).containsExactly(1L);
+        assertThat(state.frozenSegmentCount()).isEqualTo(2);
+        assertThat(all()).hasSize(3);
+
+        // Si el mes congelado se queda vacío, desaparece
+        put(2L, LocalDate.of(2026, 7, 1));
+        assertThat(state.frozenSegmentCount()).isEqualTo(1);
+        assertThat(ids(null, LocalDate.of(2026, 1, 31))).isEmpty();
+
+        assertThat(store.toList(frozen, frozenVersion)).extracting(EventDTO::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void removesEventsFromFrozenAndMutableMonths() {
+        state = store.put(state, new EventDTO(1L, "A", 10L, LocalDate.of(2026, 1, 1), null), ++version);
+        state = store.put(state, new EventDTO(2L, "B", 10L, LocalDate.of(2026, 4, 1), null), ++version);
+        state = store.put(state, new EventDTO(3L, "C", 20L, LocalDate.of(2026, 1, 2), null), ++version);
+        state = store.put(state, new EventDTO(4L, "D", 20L, null, null), ++version);
+        state = store.freezeBefore(state, TODAY, ++version);
+
+        state = store.removeByVenue(state, 10L, ++version);
+        assertThat(all()).extracting(EventDTO::getId).containsExactly(3L, 4L);
+        assertThat(state.contains(1L)).isFalse();
+        assertThat(state.contains(2L)).isFalse();
+        assertThat(store.removeByVenue(state, 99L, ++version)).isSameAs(state);
+
+        state = store.remove(state, 3L, ++version);
+        state = store.remove(state, 4L, ++version);
+        assertThat(all()).isEmpty();
+        assertThat(state.size()).isZero();
+        assertThat(state.frozenSegmentCount()).isZero();
+        assertThat(store.remove(state, 4L, ++version)).isSameAs(state);
+    }
+
+    private void put(long id, LocalDate date) {
+        state = store.put(state, event(id, date), ++version);
+    }
+
+    private static EventDTO event(long id, LocalDate date) {
+        return new EventDTO(id, "Evento " + id, 1L, date, date);
+    }
+
+    private Optional<EventDTO> get(long id) {
+        return store.get(state, id);
+    }
+
+    private List<EventDTO> all() {
+        return store.toList(state, version);
+    }
+
+    private List<Long> ids(LocalDate from, LocalDate to) {
+        return store.findByDateBetween(state, version, from, to).stream()
+                .map(EventDTO::getId)
+                .collect(Collectors.toList());
+    }
+}
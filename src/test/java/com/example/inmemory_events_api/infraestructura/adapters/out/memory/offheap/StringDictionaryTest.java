@@ -0,0 +1,89 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.offheap;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StringDictionaryTest {
+
+    /** Tamaño de un slab de la arena (1 MB), con 4 bytes de longitud por texto. */
+    private static final int SLAB_BYTES = 1 << 20;
+
+    private final StringDictionary dictionary = new StringDictionary();
+
+    @Test
+    void internsEqualTextsToTheSameCode() {
+        int concierto = dictionary.intern("Concierto");
+        int teatro = dictionary.intern("Teatro");
+
+        assertThat(dictionary.intern(new String("Concierto".toCharArray()))).isEqualTo(concierto);
+        assertThat(teatro).isNotEqualTo(concierto);
+        assertThat(dictionary.intern("concierto")).isNotEqualTo(concierto);
+        assertThat(dictionary.size()).isEqualTo(3);
+        assertThat(dictionary.get(concierto)).isEqualTo("Concierto");
+        assertThat(dictionary.get(teatro)).isEqualTo("Teatro");
+    }
+
+    @Test
+    void keepsEmptyAndMultibyteTexts() {
+        String[] texts = { "", "Ñandú", "東京ドーム", "🎸 en directo", "a\u0000b" };
+        int[] codes = new int[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            codes[i] = dictionary.intern(texts[i]);
+        }
+
+        for (int i = 0; i < texts.length; i++) {
+            assertThat(dictionary.get(codes[i])).isEqualTo(texts[i]);
+            assertThat(dictionary.intern(texts[i])).isEqualTo(codes[i]);
+        }
+        assertThat(dictionary.size()).isEqualTo(texts.length);
+    }
+
+    @Test
+    void codesSurviveTableAndArrayGrowth() {
+        // Más textos que la tabla inicial (2048) y que offsets (1024)
+        int count = 20_000;
+        for (int i = 0; i < count; i++) {
+            assertThat(dictionary.intern("Evento " + i)).isEqualTo(i);
+        }
+
+        for (int i = 0; i < count; i++) {
+            assertThat(dictionary.intern("Evento " + i)).isEqualTo(i);
+            assertThat(dictionary.get(i)).isEqualTo("Evento " + i);
+        }
+        assertThat(dictionary.size()).isEqualTo(count);
+    }
+
+    @Test
+    void aTextThatDoesNotFitInTheCurrentSlabStartsANewOne() {
+        String first = "a".repeat(SLAB_BYTES / 2);
+        String second = "b".repeat(SLAB_BYTES / 2);
+        // El mayor texto que cabe: ocupa un slab entero con su longitud
+        String largest = "c".repeat(SLAB_BYTES - Integer.BYTES);
+
+        int a = dictionary.intern(first);
+        int b = dictionary.intern(second);
+        int c = dictionary.intern(largest);
+        int small = dictionary.intern("pequeño");
+
+        assertThat(dictionary.offHeapBytes()).isEqualTo(4L * SLAB_BYTES);
+        assertThat(dictionary.get(a)).isEqualTo(first);
+        assertThat(dictionary.get(b)).isEqualTo(second);
+        assertThat(dictionary.get(c)).isEqualTo(largest);
+        assertThat(dictionary.get(small)).isEqualTo("pequeño");
+        assertThat(dictionary.intern(second)).isEqualTo(b);
+    }
+
+    @Test
+    void rejectsTextsLargerThanASlab() {
+        String tooLong = "ñ".repeat((SLAB_BYTES - Integer.BYTES) / 2 + 1);
+        assertThat(tooLong.getBytes(StandardCharsets.UTF_8).length).isGreaterThan(SLAB_BYTES - Integer.BYTES);
+
+        assertThatThrownBy(() -> dictionary.intern(tooLong)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(dictionary.size()).isZero();
+        assertThat(dictionary.offHeapBytes()).isZero();
+    }
+}
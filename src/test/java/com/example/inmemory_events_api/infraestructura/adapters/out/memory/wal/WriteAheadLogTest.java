@@ -0,0 +1,196 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.memory.wal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<WriteAheadLog> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(WriteAheadLog::close);
+    }
+
+    private WriteAheadLog open(long segmentSize, List<String> replayed) {
+        WriteAheadLog wal = new WriteAheadLog(directory, segmentSize, 16, true);
+        wal.replay(record -> replayed.add(StandardCharsets.UTF_8.decode(record).toString()));
+        opened.add(wal);
+        return wal;
+    }
+
+    private List<String> reopen(WriteAheadLog wal, long segmentSize) {
+        wal.close();
+        List<String> replayed = new ArrayList<>();
+        open(segmentSize, replayed);
+        return replayed;
+    }
+
+    private static void append(WriteAheadLog wal, String record) {
+        wal.append(record.getBytes(StandardCharsets.UTF_8), () -> { });
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    @Test
+    void replaysRecordsInWriteOrder() {
+        WriteAheadLog wal = open(1024 * 1024, new ArrayList<>());
+        append(wal, "a");
+        append(wal, "b");
+        append(wal, "c");
+
+        assertThat(reopen(wal, 1024 * 1024)).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void rollsOverToNewSegmentsAndReplaysThemAll() throws IOException {
+        WriteAheadLog wal = open(32, new ArrayList<>());
+        for (int i = 0; i < 10; i++) {
+            append(wal, "record-" + i);
+        }
+
+        assertThat(files(".wal")).hasSizeGreaterThan(1);
+        assertThat(reopen(wal, 32)).hasSize(10).startsWith("record-0").endsWith("record-9");
+    }
+
+    @Test
+    void truncatesTornTailOfLastSegment() throws IOException {
+        WriteAheadLog wal = open(1024 * 1024, new ArrayList<>());
+        append(wal, "a");
+        append(wal, "b");
+        wal.close();
+        Path segment = files(".wal").get(0);
+        long validSize = Files.size(segment);
+
+        // Cabecera completa con un payload a medio escribir
+        Files.write(segment, ByteBuffer.allocate(11).putInt(100).putInt(0).array(), StandardOpenOption.APPEND);
+
+        List<String> replayed = new ArrayList<>();
+        WriteAheadLog reopened = open(1024 * 1024, replayed);
+        assertThat(replayed).containsExactly("a", "b");
+        assertThat(Files.size(segment)).isEqualTo(validSize);
+
+        // Lo que se escribe después queda tras el último registro válido
+        append(reopened, "c");
+        assertThat(reopen(reopened, 1024 * 1024)).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void truncatesPartialHeaderOfLastSegment() throws IOException {
+        WriteAheadLog wal = open(1024 * 1024, new ArrayList<>());
+        append(wal, "a");
+        wal.close();
+        Path segment = files(".wal").get(0);
+        long validSize = Files.size(segment);
+        Files.write(segment, new byte[] { 0, 0, 0 }, StandardOpenOption.APPEND);
+
+        List<String> replayed = new ArrayList<>();
+        open(1024 * 1024, replayed);
+
+        assertThat(replayed).containsExactly("a");
+        assertThat(Files.size(segment)).isEqualTo(validSize);
+    }
+
+    @Test
+    void rejectsCorruptRecordInEarlierSegment() throws IOException {
+        WriteAheadLog wal = open(32, new ArrayList<>());
+        for (int i = 0; i < 6; i++) {
+            append(wal, "record-" + i);
+        }
+        wal.close();
+        Path first = files(".wal").get(0);
+        byte[] bytes = Files.readAllBytes(first);
+        bytes[bytes.length - 1] ^= 0x7f;
+        Files.write(first, bytes);
+
+        WriteAheadLog reopened = new WriteAheadLog(directory, 32, 16, true);
+        assertThatThrownBy(() -> reopened.replay(record -> { }))
+                .isInstanceOf(UncheckedIOException.class);
+        // El segmento corrupto no se toca
+        assertThat(Files.readAllBytes(first)).isEqualTo(bytes);
+    }
+
+    @Test
+    void checkpointReplacesOlderSegmentsWithSnapshot() throws IOException {
+        WriteAheadLog wal = open(32, new ArrayList<>());
+        for (int i = 0; i < 5; i++) {
+            append(wal, "old-" + i);
+        }
+        wal.checkpoint(() -> List.of("state".getBytes(StandardCharsets.UTF_8)));
+        append(wal, "new");
+
+        assertThat(files(".snap")).hasSize(1);
+        assertThat(files(".wal")).hasSize(1);
+        assertThat(reopen(wal, 32)).containsExactly("state", "new");
+    }
+
+    @Test
+    void appliesConcurrentAppendsInLogOrder() throws Exception {
+        WriteAheadLog wal = open(4096, new ArrayList<>());
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                writers.add(pool.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        String record = thread + "-" + i;
+                        wal.append(record.getBytes(StandardCharsets.UTF_8), () -> applied.add(record));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(applied).hasSize(800).doesNotHaveDuplicates();
+        // El estado en memoria sigue exactamente el orden del replay
+        assertThat(reopen(wal, 4096)).containsExactlyElementsOf(applied);
+    }
+
+    @Test
+    void rejectsWritesAfterIoFailureAndReportsIt() throws IOException {
+        WriteAheadLog wal = open(16, new ArrayList<>());
+        append(wal, "first-record");
+        // Sin directorio, el rollover del siguiente registro falla
+        for (Path file : files("")) {
+            Files.delete(file);
+        }
+        Files.delete(directory);
+
+        assertThatThrownBy(() -> append(wal, "second-record")).isInstanceOf(UncheckedIOException.class);
+        assertThat(wal.failure()).isPresent();
+        assertThatThrownBy(() -> append(wal, "third")).isInstanceOf(UncheckedIOException.class);
+        Files.createDirectories(directory);
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.inmemory_events_api.infraestructura.adapters.out.sharding;
+
+import com.example.inmemory_events_api.dominio.model.EventDTO;
+import com.example.inmemory_events_api.dominio.model.VenueDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Adaptadores particionados sobre tres bases H2 en memoria.
+ */
+class ShardedEventRepositoryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2026, 6, 1);
+
+    private ShardRouter router;
+    private ShardedEventRepository events;
+    private ShardedVenueRepository venues;
+
+    @BeforeEach
+    void setUp() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setWorkerId(1);
+        for (String name : List.of("shard-a", "shard-b", "shard-c")) {
+            ShardingProperties.Shard shard = new ShardingProperties.Shard();
+            shard.setName(name);
+            shard.setUrl("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+            properties.getShards().add(shard);
+        }
+        router = new ShardRouter(properties);
+        events = new ShardedEventRepository(router);
+        venues = new ShardedVenueRepository(router);
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+
+    private VenueDTO venue(String name) {
+        return venues.save(new VenueDTO(null, name, "Calle 1", "Madrid", 100));
+    }
+
+    private EventDTO event(VenueDTO venue, LocalDate date) {
+        return events.save(new EventDTO(null, "Evento", venue.getId(), date, date));
+    }
+
+    /** Shards que tienen una fila con ese ID en la tabla. */
+    private List<JdbcTemplate> shardsWith(String table, long id) {
+        return router.shards().stream()
+                .filter(shard -> shard.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?",
+                        Integer.class, id) > 0)
+                .collect(Collectors.toList());
+    }
+
+    /** Dos venues que el anillo asigna a shards distintos. */
+    private List<VenueDTO> venuesOnDifferentShards() {
+        VenueDTO first = venue("origen");
+        VenueDTO second = venue("destino");
+        while (router.forVenue(second.getId()) == router.forVenue(first.getId())) {
+            second = venue("destino");
+        }
+        return List.of(first, second);
+    }
+
+    @Test
+    void aVenueAndItsEventsLiveOnlyOnTheShardOfTheVenue() {
+        Set<JdbcTemplate> used = new HashSet<>();
+        for (int i = 0; i < 30; i++) {
+            VenueDTO venue = venue("Sala " + i);
+            EventDTO first = event(venue, DATE);
+            EventDTO second = event(venue, DATE.plusDays(1));
+            JdbcTemplate shard = router.forVenue(venue.getId());
+            used.add(shard);
+
+            assertThat(shardsWith("venues", venue.getId())).containsExactly(shard);
+            assertThat(shardsWith("events", first.getId())).containsExactly(shard);
+            assertThat(shardsWith("events", second.getId())).containsExactly(shard);
+            assertThat(events.findByVenueId(venue.getId())).extracting(EventDTO::getId)
+                    .containsExactly(first.getId(), second.getId());
+            assertThat(events.countByVenueId(venue.getId())).isEqualTo(2);
+        }
+
+        // El hash reparte los venues entre todos los shards
+        assertThat(used).hasSize(3);
+    }
+
+    @Test
+    void findByDateBetweenMergesEveryShardInDateOrder() {
+        Random random = new Random(42);
+        List<EventDTO> all = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            VenueDTO venue = venue("Sala " + i);
+            for (int e = 0; e < 10; e++) {
+                all.add(event(venue, random.nextInt(10) == 0 ? null : DATE.plusDays(random.nextInt(60))));
+            }
+        }
+        LocalDate from = DATE.plusDays(10);
+        LocalDate to = DATE.plusDays(40);
+        Comparator<EventDTO> byDate = Comparator.comparing(EventDTO::getDate).thenComparing(EventDTO::getId);
+
+        List<EventDTO> inRange = events.findByDateBetween(from, to);
+        List<EventDTO> fromOnly = events.findByDateBetween(from, null);
+
+        assertThat(inRange).isEqualTo(all.stream()
+                .filter(e -> e.getDate() != null && !e.getDate().isBefore(from) && !e.getDate().isAfter(to))
+                .sorted(byDate)
+                .collect(Collectors.toList()));
+        assertThat(fromOnly).isEqualTo(all.stream()
+                .filter(e -> e.getDate() != null && !e.getDate().isBefore(from))
+                .sorted(byDate)
+                .collect(Collectors.toList()));
+        assertThat(events.findAll()).extracting(EventDTO::getId)
+                .isSortedAccordingTo(Comparator.naturalOrder())
+                .hasSize(all.size());
+    }
+
+    @Test
+    void snowflakeIdsAreUniqueAcrossThreadsAndWorkers() throws Exception {
+        SnowflakeIdGenerator worker1 = new SnowflakeIdGenerator(1);
+        SnowflakeIdGenerator worker2 = new SnowflakeIdGenerator(2);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> threads = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                SnowflakeIdGenerator generator = t % 2 == 0 ? worker1 : worker2;
+                threads.add(executor.submit(() -> {
+                    long previous = -1;
+                    boolean increasing = true;
+                    for (int i = 0; i < 50_000; i++) {
+                        long id = generator.nextId();
+                        increasing &= id > previous;
+                        previous = id;
+                        ids.add(id);
+                    }
+                    return increasing;
+                }));
+            }
+            for (Future<Boolean> thread : threads) {
+                assertThat(thread.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).hasSize(200_000).allMatch(id -> id > 0);
+    }
+
+    @Test
+    void savingWithAVenueOnAnotherShardMovesTheEvent() {
+        List<VenueDTO> pair = venuesOnDifferentShards();
+        EventDTO event = event(pair.get(0), DATE);
+
+        EventDTO moved = events.save(new EventDTO(event.getId(), "movido", pair.get(1).getId(), DATE, DATE));
+
+        assertThat(shardsWith("events", event.getId())).containsExactly(router.forVenue(pair.get(1).getId()));
+        assertThat(events.findById(event.getId())).contains(moved);
+        assertThat(events.findByVenueId(pair.get(0).getId())).isEmpty();
+        assertThat(events.findAll()).extracting(EventDTO::getId).containsExactly(event.getId());
+    }
+
+    @Test
+    void savingAgainFinishesAMoveThatFailedHalfway() {
+        List<VenueDTO> pair = venuesOnDifferentShards();
+        EventDTO event = event(pair.get(0), DATE);
+        // Se insertó en el shard nuevo pero falló el borrado en el antiguo
+        router.forVenue(pair.get(1).getId()).update(
+                "INSERT INTO events (id, title, venue_id, date, end_date) VALUES (?, 'movido', ?, ?, ?)",
+                event.getId(), pair.get(1).getId(), Date.valueOf(DATE), Date.valueOf(DATE));
+        assertThat(shardsWith("events", event.getId())).hasSize(2);
+
+        events.save(new EventDTO(event.getId(), "movido", pair.get(1).getId(), DATE, DATE));
+
+        assertThat(shardsWith("events", event.getId())).containsExactly(router.forVenue(pair.get(1).getId()));
+    }
+
+    @Test
+    void aMoveThatCannotBeInsertedFailsAndKeepsTheEventWhereItWas() {
+        List<VenueDTO> pair = venuesOnDifferentShards();
+        EventDTO event = event(pair.get(0), DATE);
+        long missingVenue = pair.get(1).getId() + 1;
+        while (router.forVenue(missingVenue) == router.forVenue(pair.get(0).getId())) {
+            missingVenue++;
+        }
+        long target = missingVenue;
+
+        // El venue no existe en su shard: la FK rechaza el INSERT
+        assertThatThrownBy(() -> events.save(new EventDTO(event.getId(), "movido", target, DATE, DATE)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        assertThat(shardsWith("events", event.getId())).containsExactly(router.forVenue(pair.get(0).getId()));
+        assertThat(events.findById(event.getId())).contains(event);
+    }
+
+    @Test
+    void deletingAVenueCascadesToItsEventsOnItsShard() {
+        VenueDTO venue = venue("Sala");
+        EventDTO event = event(venue, DATE);
+
+        assertThat(venues.deleteById(venue.getId())).isTrue();
+
+        assertThat(events.findById(event.getId())).isEmpty();
+        assertThat(venues.findById(venue.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.inmemory_events_api.infraestructura.queryplan;
+
+import com.example.inmemory_events_api.dominio.model.QueryPlanCheckDTO;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.ArchivedEventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.ChangeLogRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.EventViewRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.VenueRepository;
+import com.example.inmemory_events_api.infraestructura.adapters.out.jpa.entity.EventStatus;
+import com.example.inmemory_events_api.infraestructura.config.QueryPlanConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAIN de las consultas calientes sobre el esquema de las migraciones
+ * (H2 en modo MySQL): ninguna con WHERE puede recorrer una tabla entera.
+ * Es la comprobación de GET /admin/query-plans/check, pero en cada build.
+ *
+ * Las búsquedas por texto (LIKE '%texto%', LOWER(columna)) recorren la
+ * tabla a propósito y no se ejecutan aquí.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:queryplans;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/migration,classpath:db/vendor/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.show-sql=false",
+        "queryplan.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryPlanConfig.class)
+class HotQueryPlansTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    @Autowired
+    private QueryPlanInspector inspector;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EventViewRepository eventViewRepository;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ArchivedEventRepository archivedEventRepository;
+
+    private long venueId;
+    private List<Long> eventIds;
+
+    @BeforeEach
+    void seed() {
+        for (int v = 0; v < 20; v++) {
+            jdbcTemplate.update("INSERT INTO venues (name, address, city, capacity) VALUES (?, 'Calle 1', ?, 100)",
+                    "Sala " + v, "Ciudad " + (v % 5));
+        }
+        venueId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM venues", Long.class);
+        for (int e = 0; e < 200; e++) {
+            LocalDate date = TODAY.plusDays(e - 100);
+            jdbcTemplate.update("INSERT INTO events (title, description, venue_id, date, end_date, status) "
+                    + "VALUES (?, 'd', ?, ?, ?, ?)",
+                    "Evento " + e, venueId + e % 20, date, date,
+                    e % 4 == 0 ? "CANCELADO" : "ACTIVO");
+        }
+        eventIds = jdbcTemplate.queryForList("SELECT id FROM events ORDER BY id LIMIT 10", Long.class);
+        inspector.reset();
+    }
+
+    @Test
+    void hotQueriesUseAnIndex() {
+        LocalDate from = TODAY.minusDays(7);
+        LocalDate to = TODAY.plusDays(7);
+
+        eventRepository.findWithVenueById(eventIds.get(0));
+        eventRepository.findFullById(eventIds.get(0));
+        eventRepository.findAllWithVenueByIdIn(eventIds);
+        eventRepository.findScheduleViewById(eventIds.get(0));
+        eventRepository.findByVenueIdWithVenue(venueId);
+        eventRepository.countByVenueId(venueId);
+        eventRepository.findByDateRange(from, to);
+        eventRepository.findByDateRangeWithVenue(from, to);
+        eventRepository.findByStatus(EventStatus.ACTIVO);
+        eventRepository.findFutureActiveEvents(TODAY);
+        eventRepository.findByDate(TODAY);
+        eventRepository.findByDateAfter(TODAY);
+        venueRepository.findByIdWithEvents(venueId);
+        venueRepository.findAllByIdIn(List.of(venueId, venueId + 1));
+        eventViewRepository.findUpcomingByCity("ciudad 1", TODAY);
+        eventViewRepository.findByCategory("música");
+        changeLogRepository.findPageAfter(0, PageRequest.of(0, 100));
+        changeLogRepository.findByIdIn(List.of(1L, 2L));
+        changeLogRepository.findMaxIdBefore(Instant.now());
+        archivedEventRepository.findByDateRange(from, to);
+        archivedEventRepository.findAllByIdIn(List.of(1L, 2L));
+
+        QueryPlanCheckDTO check = inspector.check(1);
+
+        assertThat(check.getChecked()).isGreaterThanOrEqualTo(15);
+        assertThat(check.getRegressions()).isEmpty();
+        assertThat(check.isPassed()).isTrue();
+    }
+
+    @Test
+    void detectsAFullScan() {
+        // La comprobación no puede aprobar siempre: un filtro por una
+        // columna sin índice tiene que aparecer como regresión
+        jdbcTemplate.queryForList("SELECT id FROM events WHERE description = ?", String.class, "d");
+
+        QueryPlanCheckDTO check = inspector.check(1);
+
+        assertThat(check.isPassed()).isFalse();
+        assertThat(check.getRegressions()).singleElement()
+                .satisfies(plan -> assertThat(plan.getFullScans()).containsExactly("events"));
+    }
+}